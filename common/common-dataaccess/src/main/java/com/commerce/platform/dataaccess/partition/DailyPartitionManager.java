@@ -0,0 +1,135 @@
+package com.commerce.platform.dataaccess.partition;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * partition_date 로 일 단위 RANGE COLUMNS 파티셔닝된 테이블의 파티션을 회전시킨다.
+ * 앞으로 쓸 파티션은 p_future(MAXVALUE) 를 나눠 미리 만들고, 보관 기간이 지난 파티션은 DROP PARTITION 으로 통째로 지운다.
+ * partition_date 는 (message_id, partition_date) 유니크 키의 일부라 바꾸면 재전송 중복을 거르지 못하므로,
+ * 아직 끝나지 않은 행이 남은 파티션은 옮기지 않고 그 행이 끝날 때까지 지우지 않는다.
+ * 다만 PARKED, FAILED 처럼 스스로는 끝나지 않는 종료 상태의 행은 파티션을 붙잡지 않도록
+ * 파티셔닝하지 않은 {테이블}_archive 로 복사한 뒤 파티션과 함께 지운다.
+ * 여러 인스턴스가 동시에 DDL 을 실행하지 않도록 테이블별 named lock 을 잡은 인스턴스만 작업한다.
+ */
+@Slf4j
+public class DailyPartitionManager {
+
+    private static final String FUTURE_PARTITION = "p_future";
+    private static final DateTimeFormatter PARTITION_NAME_FORMAT = DateTimeFormatter.ofPattern("'p'yyyyMMdd");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String tableName;
+    private final String unfinishedCondition;
+    private final String terminalCondition;
+    private final int retentionDays;
+    private final int precreateDays;
+
+    public DailyPartitionManager(JdbcTemplate jdbcTemplate,
+                                 String tableName,
+                                 String unfinishedCondition,
+                                 String terminalCondition,
+                                 int retentionDays,
+                                 int precreateDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tableName = tableName;
+        this.unfinishedCondition = unfinishedCondition;
+        this.terminalCondition = terminalCondition;
+        this.retentionDays = retentionDays;
+        this.precreateDays = precreateDays;
+    }
+
+    public void rotate(LocalDate today) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            JdbcTemplate session = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+            String lockName = tableName + "_partition_rotation";
+            if (!Objects.equals(session.queryForObject("SELECT GET_LOCK(?, 0)", Integer.class, lockName), 1)) {
+                log.debug("Partition rotation for {} is running on another instance", tableName);
+                return null;
+            }
+            try {
+                List<LocalDate> partitionDates = findPartitionDates(session);
+                createPartitions(session, partitionDates, today);
+                dropExpiredPartitions(session, partitionDates, today);
+            } finally {
+                session.queryForObject("SELECT RELEASE_LOCK(?)", Integer.class, lockName);
+            }
+            return null;
+        });
+    }
+
+    private List<LocalDate> findPartitionDates(JdbcTemplate session) {
+        return session.queryForList("""
+                        SELECT PARTITION_NAME FROM information_schema.PARTITIONS
+                        WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL
+                        ORDER BY PARTITION_ORDINAL_POSITION""", String.class, tableName)
+                .stream()
+                .filter(name -> !FUTURE_PARTITION.equals(name))
+                .map(name -> LocalDate.parse(name, PARTITION_NAME_FORMAT))
+                .toList();
+    }
+
+    private void createPartitions(JdbcTemplate session, List<LocalDate> partitionDates, LocalDate today) {
+        LocalDate from = partitionDates.isEmpty() ? today : partitionDates.get(partitionDates.size() - 1).plusDays(1);
+        LocalDate until = today.plusDays(precreateDays);
+        if (from.isAfter(until)) {
+            return;
+        }
+
+        List<String> definitions = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(until); date = date.plusDays(1)) {
+            definitions.add("PARTITION " + date.format(PARTITION_NAME_FORMAT)
+                    + " VALUES LESS THAN ('" + date.plusDays(1) + "')");
+        }
+        definitions.add("PARTITION " + FUTURE_PARTITION + " VALUES LESS THAN (MAXVALUE)");
+
+        session.execute("ALTER TABLE `" + tableName + "` REORGANIZE PARTITION " + FUTURE_PARTITION
+                + " INTO (" + String.join(", ", definitions) + ")");
+        log.info("Created {} partitions for {} from {} to {}", definitions.size() - 1, tableName, from, until);
+    }
+
+    private void dropExpiredPartitions(JdbcTemplate session, List<LocalDate> partitionDates, LocalDate today) {
+        LocalDate cutoff = today.minusDays(retentionDays);
+        List<LocalDate> expired = partitionDates.stream()
+                .filter(date -> date.isBefore(cutoff))
+                .toList();
+        if (expired.isEmpty()) {
+            return;
+        }
+
+        int archived = session.update("INSERT IGNORE INTO `" + tableName + "_archive` SELECT * FROM `" + tableName + "`"
+                + " WHERE partition_date < ? AND " + terminalCondition, cutoff);
+        if (archived > 0) {
+            log.info("Archived {} terminal rows of {} older than {}", archived, tableName, cutoff);
+        }
+
+        Set<LocalDate> held = new HashSet<>(session.queryForList("SELECT DISTINCT partition_date FROM `" + tableName + "`"
+                + " WHERE partition_date < ? AND " + unfinishedCondition + " AND NOT (" + terminalCondition + ")",
+                LocalDate.class, cutoff));
+        if (!held.isEmpty()) {
+            log.warn("Keeping expired partitions of {} for {} until their unfinished rows are done", tableName, held);
+        }
+        List<LocalDate> droppable = expired.stream()
+                .filter(date -> !held.contains(date))
+                .toList();
+        if (droppable.isEmpty()) {
+            return;
+        }
+
+        session.execute("ALTER TABLE `" + tableName + "` DROP PARTITION " + droppable.stream()
+                .map(date -> date.format(PARTITION_NAME_FORMAT))
+                .collect(Collectors.joining(", ")));
+        log.info("Dropped {} partitions of {} older than {}", droppable.size(), tableName, cutoff);
+    }
+}
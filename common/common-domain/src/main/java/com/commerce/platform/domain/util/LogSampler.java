@@ -0,0 +1,37 @@
+package com.commerce.platform.domain.util;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 메시지마다 로그를 남기는 대신 key(topic 등) 별로 건수를 모아 두고, interval 마다 한 번만 요약 로그를 남길 수 있게 한다.
+ * record 가 0 보다 큰 값을 돌려준 호출자만 지난 요약 이후 누적된 건수로 로그를 남기면 된다.
+ */
+public class LogSampler {
+
+    private final long intervalNanos;
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    public LogSampler(Duration interval) {
+        this.intervalNanos = interval.toNanos();
+    }
+
+    public long record(String key, long count) {
+        Window window = windows.computeIfAbsent(key, ignored -> new Window());
+        window.count.add(count);
+        long now = System.nanoTime();
+        long startedAt = window.startedAt.get();
+        if (now - startedAt < intervalNanos || !window.startedAt.compareAndSet(startedAt, now)) {
+            return 0;
+        }
+        return window.count.sumThenReset();
+    }
+
+    private static final class Window {
+        private final LongAdder count = new LongAdder();
+        private final AtomicLong startedAt = new AtomicLong(System.nanoTime());
+    }
+}
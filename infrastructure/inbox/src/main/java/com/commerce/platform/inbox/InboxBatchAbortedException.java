@@ -0,0 +1,38 @@
+package com.commerce.platform.inbox;
+
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * 메시지 하나의 실패를 savepoint 로 되돌릴 수 없어 바깥 트랜잭션 전체를 롤백해야 할 때 던진다.
+ * 호출자는 배치를 롤백한 뒤 messageId 의 메시지만 별도 트랜잭션에서 실패로 기록해, 다음 배치가 같은 메시지에서 다시 막히지 않게 한다.
+ */
+@Getter
+public class InboxBatchAbortedException extends RuntimeException {
+
+    private final UUID messageId;
+    private final int retryCount;
+
+    public InboxBatchAbortedException(String message, Throwable cause) {
+        this(message, cause, null, 0);
+    }
+
+    private InboxBatchAbortedException(String message, Throwable cause, UUID messageId, int retryCount) {
+        super(message, cause);
+        this.messageId = messageId;
+        this.retryCount = retryCount;
+    }
+
+    public InboxBatchAbortedException forMessage(UUID messageId, int retryCount) {
+        InboxBatchAbortedException aborted = new InboxBatchAbortedException(getMessage(), getCause(), messageId, retryCount);
+        for (Throwable suppressed : getSuppressed()) {
+            aborted.addSuppressed(suppressed);
+        }
+        return aborted;
+    }
+
+    public String failureMessage() {
+        return String.valueOf(getCause() != null ? getCause().getMessage() : getMessage());
+    }
+}
@@ -0,0 +1,113 @@
+package com.commerce.platform.inbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * listener 트랜잭션 안에서 첫 수신 메시지를 바로 처리하고 message_id 를 PROCESSED 로 기록한다.
+ * 처리 중 예외가 나거나 time budget 안에 끝나지 않을 것으로 보이는 메시지는 같은 트랜잭션에서 inbox 에 RECEIVED 로 저장한다.
+ * inbox 에 아직 끝나지 않은 메시지가 있는 saga 와, 한 번 밀려난 saga 의 이후 메시지도 inbox 로 보내 saga 내부 순서를 지킨다.
+ * savepoint 로 되돌릴 수 없는 실패로 배치가 중단되면 트랜잭션을 롤백하고 새 트랜잭션에서 배치 전체를 inbox 에 저장한다.
+ */
+@Slf4j
+@Component
+public class InboxFastPath {
+
+    private final InboxSavepointExecutor inboxSavepointExecutor;
+    private final TransactionTemplate transactionTemplate;
+
+    public InboxFastPath(InboxSavepointExecutor inboxSavepointExecutor,
+                         PlatformTransactionManager transactionManager) {
+        this.inboxSavepointExecutor = inboxSavepointExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * @param unfinishedSagaFinder 주어진 saga 중 inbox 에 RECEIVED/FAILED 등 끝나지 않은 메시지가 남은 saga 를 찾는다
+     * @param inboxWriter          밀려난 메시지를 inbox 에 RECEIVED 로 저장한다
+     */
+    public <T> void process(List<T> messages,
+                            Function<T, UUID> sagaIdExtractor,
+                            Function<Set<UUID>, Set<UUID>> unfinishedSagaFinder,
+                            Duration timeBudget,
+                            FastPathHandler<T> handler,
+                            Consumer<List<T>> inboxWriter) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<T> deferred = processInTransaction(messages, sagaIdExtractor, unfinishedSagaFinder, timeBudget, handler);
+                if (!deferred.isEmpty()) {
+                    inboxWriter.accept(deferred);
+                }
+            });
+        } catch (InboxBatchAbortedException e) {
+            log.warn("Fast path aborted the batch, saving all {} messages to inbox", messages.size(), e);
+            writeToInbox(messages, inboxWriter);
+        }
+    }
+
+    /**
+     * fast path 를 거치지 않고 한 트랜잭션에서 inbox 에 저장한다.
+     */
+    public <T> void writeToInbox(List<T> messages, Consumer<List<T>> inboxWriter) {
+        transactionTemplate.executeWithoutResult(status -> inboxWriter.accept(messages));
+    }
+
+    private <T> List<T> processInTransaction(List<T> messages,
+                                             Function<T, UUID> sagaIdExtractor,
+                                             Function<Set<UUID>, Set<UUID>> unfinishedSagaFinder,
+                                             Duration timeBudget,
+                                             FastPathHandler<T> handler) {
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + timeBudget.toNanos();
+        long slowestNanos = 0;
+        List<T> deferred = new ArrayList<>();
+        Set<UUID> sagaIds = new LinkedHashSet<>();
+        messages.forEach(message -> sagaIds.add(sagaIdExtractor.apply(message)));
+        // 이전 배치에서 inbox 로 밀려나 아직 처리되지 않은 메시지보다 앞서 처리하지 않는다
+        Set<UUID> deferredSagaIds = new HashSet<>(unfinishedSagaFinder.apply(sagaIds));
+
+        for (T message : messages) {
+            UUID sagaId = sagaIdExtractor.apply(message);
+            long now = System.nanoTime();
+            // 지금까지 가장 느렸던 메시지만큼 걸린다고 보고, budget 을 넘길 메시지는 시작하지 않는다
+            if (now + slowestNanos - deadline > 0 || deferredSagaIds.contains(sagaId)) {
+                deferred.add(message);
+                deferredSagaIds.add(sagaId);
+                continue;
+            }
+
+            try {
+                inboxSavepointExecutor.execute(() -> handler.handle(message));
+            } catch (InboxBatchAbortedException e) {
+                throw e;
+            } catch (Exception e) {
+                log.warn("Fast path processing failed for saga: {}, falling back to inbox", sagaId, e);
+                deferred.add(message);
+                deferredSagaIds.add(sagaId);
+            }
+            slowestNanos = Math.max(slowestNanos, System.nanoTime() - now);
+        }
+
+        if (!deferred.isEmpty()) {
+            log.info("Deferred {} of {} messages to inbox", deferred.size(), messages.size());
+        }
+        return deferred;
+    }
+
+    @FunctionalInterface
+    public interface FastPathHandler<T> {
+        void handle(T message) throws Exception;
+    }
+}
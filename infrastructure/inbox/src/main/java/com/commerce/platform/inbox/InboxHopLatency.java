@@ -0,0 +1,56 @@
+package com.commerce.platform.inbox;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * inbox 에 저장된 메시지가 처리되기까지 걸린 시간을 topic 별 saga hop 지연 histogram 으로 기록한다.
+ * 처리 결과가 커밋된 시각까지를 재므로 트랜잭션 안에서는 커밋 후에 기록하고,
+ * 메시지 savepoint 나 트랜잭션이 롤백되면 기록하지 않는다.
+ */
+public class InboxHopLatency {
+
+    private static final String HOP = "received_to_processed";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public InboxHopLatency(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void recordProcessed(String topic, ZonedDateTime receivedAt) {
+        InboxSavepointSynchronization.afterRelease(() -> {
+            if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+                record(topic, receivedAt);
+                return;
+            }
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    record(topic, receivedAt);
+                }
+            });
+        });
+    }
+
+    private void record(String topic, ZonedDateTime receivedAt) {
+        timers.computeIfAbsent(topic, this::createTimer)
+                .record(Duration.between(receivedAt, ZonedDateTime.now(ZoneOffset.UTC)));
+    }
+
+    private Timer createTimer(String topic) {
+        return Timer.builder("saga.hop.latency")
+                .tags("hop", HOP, "topic", topic)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,27 @@
+package com.commerce.platform.inbox;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * inbox savepoint 안에서 실패한 @Transactional 참여자가 바깥 트랜잭션을 rollback-only 로 만들지 않고,
+ * 그 savepoint 로의 롤백을 요청하도록 바꾼 JpaTransactionManager.
+ * savepoint 가 잡힌 트랜잭션의 참여자에만 적용되며, savepoint 밖이나 REQUIRES_NEW 로 시작한 트랜잭션은 기본 동작을 따른다.
+ */
+public class InboxJpaTransactionManager extends JpaTransactionManager {
+
+    public InboxJpaTransactionManager(EntityManagerFactory entityManagerFactory) {
+        super(entityManagerFactory);
+    }
+
+    @Override
+    protected void doSetRollbackOnly(DefaultTransactionStatus status) {
+        Object connectionHolder = getDataSource() != null ? TransactionSynchronizationManager.getResource(getDataSource()) : null;
+        if (connectionHolder != null && InboxSavepointSynchronization.requestRollback(connectionHolder)) {
+            return;
+        }
+        super.doSetRollbackOnly(status);
+    }
+}
@@ -0,0 +1,27 @@
+package com.commerce.platform.inbox;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * inbox 파티션 키(partition_date)를 message_id 에 담긴 UUIDv7 생성 시각으로 정한다.
+ * 같은 메시지가 언제 재전송되어도 같은 날짜가 나오므로 (message_id, partition_date) 유니크 키로 중복이 걸러진다.
+ */
+public final class InboxPartitions {
+
+    private static final int UUID_V7 = 7;
+
+    private InboxPartitions() {
+    }
+
+    public static LocalDate partitionDateOf(UUID messageId, ZonedDateTime receivedAt) {
+        if (messageId.version() == UUID_V7) {
+            long epochMillis = messageId.getMostSignificantBits() >>> 16;
+            return LocalDate.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC);
+        }
+        return receivedAt.withZoneSameInstant(ZoneOffset.UTC).toLocalDate();
+    }
+}
@@ -0,0 +1,8 @@
+package com.commerce.platform.inbox;
+
+public class InboxProcessingException extends RuntimeException {
+
+    public InboxProcessingException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,103 @@
+package com.commerce.platform.inbox;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+
+/**
+ * 배치로 claim 한 inbox 메시지를 바깥 트랜잭션 connection 위의 JDBC savepoint 안에서 처리한다.
+ * 실패한 메시지는 자신의 savepoint 까지만 롤백하고 영속성 컨텍스트를 비워, 바깥 트랜잭션 커밋 시 함께 flush 되지 않도록 한다.
+ * 메시지 처리 중 실패한 @Transactional 참여자는 InboxJpaTransactionManager 를 통해 바깥 트랜잭션 대신 이 savepoint 의 롤백을 요청한다.
+ * savepoint 로 되돌릴 수 없는 실패(Hibernate 가 세션을 rollback-only 로 표시했거나 DB 가 트랜잭션 전체를 롤백한 경우)는
+ * InboxBatchAbortedException 으로 던져 배치 전체를 롤백하게 한다.
+ */
+@Component
+public class InboxSavepointExecutor {
+
+    private final DataSource dataSource;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public InboxSavepointExecutor(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    public void execute(SavepointCallback callback) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Inbox savepoints require an active transaction");
+        }
+        // 앞선 메시지의 변경을 savepoint 바깥으로 내보낸다
+        entityManager.flush();
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        Savepoint savepoint = setSavepoint(connection);
+        InboxSavepointSynchronization.begin(TransactionSynchronizationManager.getResource(dataSource));
+        try {
+            callback.doInSavepoint();
+            entityManager.flush();
+            if (InboxSavepointSynchronization.isRollbackRequested()) {
+                throw new InboxProcessingException("Rollback was requested by a participating transaction", null);
+            }
+        } catch (Exception e) {
+            InboxSavepointSynchronization.rolledBack();
+            rollbackToSavepoint(connection, savepoint, e);
+            entityManager.clear();
+            if (isMarkedRollbackOnly()) {
+                throw new InboxBatchAbortedException("Transaction was marked rollback-only by a failed message", e);
+            }
+            if (e instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new InboxProcessingException(e.getMessage(), e);
+        }
+        InboxSavepointSynchronization.released();
+        releaseSavepoint(connection, savepoint);
+    }
+
+    // 참여자의 실패는 savepoint 롤백으로 돌렸으므로 여기서 보이는 rollback-only 는 Hibernate 가 세션에 직접 표시한 것이다
+    private boolean isMarkedRollbackOnly() {
+        return EntityManagerFactoryUtils.getTransactionalEntityManager(entityManager.getEntityManagerFactory())
+                .getTransaction()
+                .getRollbackOnly();
+    }
+
+    private Savepoint setSavepoint(Connection connection) {
+        try {
+            return connection.setSavepoint();
+        } catch (SQLException e) {
+            throw new InboxBatchAbortedException("Could not create inbox savepoint", e);
+        }
+    }
+
+    private void rollbackToSavepoint(Connection connection, Savepoint savepoint, Exception failure) {
+        try {
+            connection.rollback(savepoint);
+        } catch (SQLException e) {
+            // deadlock 등으로 DB 가 트랜잭션을 통째로 롤백하면 savepoint 도 사라진다
+            InboxBatchAbortedException aborted = new InboxBatchAbortedException("Could not roll back to inbox savepoint", failure);
+            aborted.addSuppressed(e);
+            throw aborted;
+        }
+    }
+
+    private void releaseSavepoint(Connection connection, Savepoint savepoint) {
+        try {
+            connection.releaseSavepoint(savepoint);
+        } catch (SQLException e) {
+            throw new InboxBatchAbortedException("Could not release inbox savepoint", e);
+        }
+    }
+
+    @FunctionalInterface
+    public interface SavepointCallback {
+        void doInSavepoint() throws Exception;
+    }
+}
@@ -0,0 +1,96 @@
+package com.commerce.platform.inbox;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * InboxSavepointExecutor 의 savepoint 단위로 실행할 작업을 등록한다.
+ * 트랜잭션 커밋 후 작업(outbox 즉시 발행 등)은 savepoint 가 해제될 때까지 미뤄 롤백된 메시지의 작업이 커밋 후에 실행되지 않게 하고,
+ * 트랜잭션 밖 상태를 바꾼 작업은 savepoint 로 롤백될 때 되돌릴 수 있게 한다.
+ * savepoint 밖에서 호출하면 afterRelease 작업은 바로 실행하고 onRollback 작업은 등록하지 않는다.
+ * savepoint 가 잡힌 트랜잭션의 참여자가 롤백을 요청하면 바깥 트랜잭션 대신 현재 savepoint 를 롤백 대상으로 표시한다.
+ */
+public final class InboxSavepointSynchronization {
+
+    private static final ThreadLocal<Deque<Scope>> SCOPES = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private InboxSavepointSynchronization() {
+    }
+
+    public static void afterRelease(Runnable action) {
+        Scope scope = SCOPES.get().peek();
+        if (scope == null) {
+            action.run();
+            return;
+        }
+        scope.afterRelease.add(action);
+    }
+
+    public static void onRollback(Runnable action) {
+        Scope scope = SCOPES.get().peek();
+        if (scope != null) {
+            scope.onRollback.add(action);
+        }
+    }
+
+    /**
+     * @param connectionHolder 트랜잭션에 바인딩된 ConnectionHolder. 같은 트랜잭션의 참여자인지 가리는 데 쓴다
+     * @return savepoint 가 롤백 요청을 받았으면 true, savepoint 밖이거나 다른 트랜잭션이면 false
+     */
+    public static boolean requestRollback(Object connectionHolder) {
+        Scope scope = SCOPES.get().peek();
+        if (scope == null || scope.connectionHolder != connectionHolder) {
+            return false;
+        }
+        scope.rollbackRequested = true;
+        return true;
+    }
+
+    static void begin(Object connectionHolder) {
+        SCOPES.get().push(new Scope(connectionHolder));
+    }
+
+    static boolean isRollbackRequested() {
+        Scope scope = SCOPES.get().peek();
+        return scope != null && scope.rollbackRequested;
+    }
+
+    static void released() {
+        Deque<Scope> scopes = SCOPES.get();
+        Scope scope = scopes.pop();
+        Scope outer = scopes.peek();
+        if (outer != null) {
+            // 바깥 savepoint 가 롤백되면 안쪽 작업도 함께 무효가 된다
+            outer.afterRelease.addAll(scope.afterRelease);
+            outer.onRollback.addAll(scope.onRollback);
+            return;
+        }
+        SCOPES.remove();
+        scope.afterRelease.forEach(Runnable::run);
+    }
+
+    static void rolledBack() {
+        Deque<Scope> scopes = SCOPES.get();
+        Scope scope = scopes.pop();
+        if (scopes.isEmpty()) {
+            SCOPES.remove();
+        }
+        // 나중에 반영한 것부터 되돌린다
+        for (int i = scope.onRollback.size() - 1; i >= 0; i--) {
+            scope.onRollback.get(i).run();
+        }
+    }
+
+    private static final class Scope {
+        private final Object connectionHolder;
+        private final List<Runnable> afterRelease = new ArrayList<>();
+        private final List<Runnable> onRollback = new ArrayList<>();
+        private boolean rollbackRequested;
+
+        private Scope(Object connectionHolder) {
+            this.connectionHolder = connectionHolder;
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package com.commerce.platform.inbox;
 
+import java.util.Collection;
+import java.util.UUID;
+
 public interface InboxScheduler {
     void processInboxMessages();
     void retryFailedMessages();
+    void wakeUp(Collection<UUID> sagaIds);
 }
\ No newline at end of file
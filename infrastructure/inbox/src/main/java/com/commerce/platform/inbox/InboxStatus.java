@@ -3,5 +3,7 @@ package com.commerce.platform.inbox;
 public enum InboxStatus {
     RECEIVED,
     PROCESSED,
-    FAILED
+    FAILED,
+    PARKED,
+    REPLAY_QUEUED
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.commerce.platform.inbox.config;
+
+import com.commerce.platform.inbox.InboxJpaTransactionManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@Configuration
+public class InboxTransactionConfig {
+
+    // 기본 JpaTransactionManager 대신 등록한다. inbox savepoint 밖의 트랜잭션 동작은 그대로다
+    @Bean
+    public PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory,
+                                                         ObjectProvider<TransactionManagerCustomizers> transactionManagerCustomizers) {
+        InboxJpaTransactionManager transactionManager = new InboxJpaTransactionManager(entityManagerFactory);
+        transactionManagerCustomizers.ifAvailable(customizers -> customizers.customize(transactionManager));
+        return transactionManager;
+    }
+}
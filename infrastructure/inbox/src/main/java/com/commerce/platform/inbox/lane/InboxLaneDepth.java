@@ -0,0 +1,14 @@
+package com.commerce.platform.inbox.lane;
+
+import java.time.ZonedDateTime;
+
+public record InboxLaneDepth(int lane, long depth, ZonedDateTime oldestReceivedAt) {
+
+    public InboxLaneDepth merge(InboxLaneDepth other) {
+        ZonedDateTime oldest = oldestReceivedAt;
+        if (oldest == null || (other.oldestReceivedAt != null && other.oldestReceivedAt.isBefore(oldest))) {
+            oldest = other.oldestReceivedAt;
+        }
+        return new InboxLaneDepth(lane, depth + other.depth, oldest);
+    }
+}
@@ -0,0 +1,219 @@
+package com.commerce.platform.inbox.lane;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * lane 마다 전용 worker 스레드를 두고 inbox 를 병렬로 drain 한다.
+ * 같은 lane 은 이전 drain 이 끝나기 전까지 다시 제출하지 않으므로 lane 내부 순서가 유지된다.
+ * listener 가 inbox 저장 커밋 직후 signal 을 보내면 해당 lane 을 바로 깨우고,
+ * 주기적인 poll 은 빈 lane 에 대해 지수적으로 간격을 늘리는 안전망으로만 동작한다.
+ */
+@Slf4j
+public class InboxLaneExecutor {
+
+    private final String name;
+    private final int laneCount;
+    private final LaneDrain laneDrain;
+    private final long minIdleBackoffMillis;
+    private final long maxIdleBackoffMillis;
+    private final ExecutorService[] workers;
+    private final AtomicBoolean[] inFlight;
+    private final AtomicBoolean[] signalled;
+    private final AtomicLong[] nextPollAtMillis;
+    private final long[] idleBackoffMillis;
+    private final AtomicLong[] queueDepths;
+    private final AtomicLong[] oldestAgeMillis;
+    private final Timer[] drainTimers;
+    private final Counter[] messageCounters;
+
+    public InboxLaneExecutor(String name,
+                             int laneCount,
+                             LaneDrain laneDrain,
+                             Duration minIdleBackoff,
+                             Duration maxIdleBackoff,
+                             MeterRegistry meterRegistry) {
+        if (laneCount < 1 || laneCount > InboxLanes.SLOT_COUNT) {
+            throw new IllegalArgumentException("Inbox lane count must be between 1 and " + InboxLanes.SLOT_COUNT);
+        }
+        this.name = name;
+        this.laneCount = laneCount;
+        this.laneDrain = laneDrain;
+        this.minIdleBackoffMillis = minIdleBackoff.toMillis();
+        this.maxIdleBackoffMillis = Math.max(minIdleBackoff.toMillis(), maxIdleBackoff.toMillis());
+        this.workers = new ExecutorService[laneCount];
+        this.inFlight = new AtomicBoolean[laneCount];
+        this.signalled = new AtomicBoolean[laneCount];
+        this.nextPollAtMillis = new AtomicLong[laneCount];
+        this.idleBackoffMillis = new long[laneCount];
+        this.queueDepths = new AtomicLong[laneCount];
+        this.oldestAgeMillis = new AtomicLong[laneCount];
+        this.drainTimers = new Timer[laneCount];
+        this.messageCounters = new Counter[laneCount];
+
+        for (int lane = 0; lane < laneCount; lane++) {
+            String threadName = name + "-inbox-lane-" + lane;
+            Tags tags = Tags.of("service", name, "lane", String.valueOf(lane));
+
+            workers[lane] = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, threadName));
+            inFlight[lane] = new AtomicBoolean(false);
+            signalled[lane] = new AtomicBoolean(false);
+            nextPollAtMillis[lane] = new AtomicLong();
+            queueDepths[lane] = new AtomicLong();
+            oldestAgeMillis[lane] = new AtomicLong();
+
+            Gauge.builder("inbox.lane.queue.depth", queueDepths[lane], AtomicLong::get)
+                    .tags(tags)
+                    .register(meterRegistry);
+            Gauge.builder("inbox.lane.oldest.age", oldestAgeMillis[lane], AtomicLong::get)
+                    .tags(tags)
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+            drainTimers[lane] = Timer.builder("inbox.lane.drain")
+                    .tags(tags)
+                    .register(meterRegistry);
+            messageCounters[lane] = Counter.builder("inbox.lane.messages")
+                    .tags(tags)
+                    .register(meterRegistry);
+        }
+    }
+
+    public int getLaneCount() {
+        return laneCount;
+    }
+
+    public void poll() {
+        long now = System.currentTimeMillis();
+        for (int lane = 0; lane < laneCount; lane++) {
+            if (now >= nextPollAtMillis[lane].get()) {
+                submit(lane);
+            }
+        }
+    }
+
+    public void signal(Collection<UUID> sagaIds) {
+        sagaIds.stream()
+                .map(sagaId -> InboxLanes.laneOf(InboxLanes.slotOf(sagaId), laneCount))
+                .distinct()
+                .forEach(lane -> {
+                    signalled[lane].set(true);
+                    submit(lane);
+                });
+    }
+
+    public void signalAfterCommit(Collection<UUID> sagaIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            signal(sagaIds);
+            return;
+        }
+        List<UUID> committedSagaIds = List.copyOf(sagaIds);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                signal(committedSagaIds);
+            }
+        });
+    }
+
+    public void updateQueueDepths(List<InboxLaneDepth> depths) {
+        long[] depthByLane = new long[laneCount];
+        long[] ageByLane = new long[laneCount];
+        ZonedDateTime now = ZonedDateTime.now();
+
+        for (InboxLaneDepth depth : depths) {
+            if (depth.lane() < 0 || depth.lane() >= laneCount) {
+                continue;
+            }
+            depthByLane[depth.lane()] = depth.depth();
+            if (depth.oldestReceivedAt() != null) {
+                ageByLane[depth.lane()] = Math.max(0, Duration.between(depth.oldestReceivedAt(), now).toMillis());
+            }
+        }
+
+        for (int lane = 0; lane < laneCount; lane++) {
+            queueDepths[lane].set(depthByLane[lane]);
+            oldestAgeMillis[lane].set(ageByLane[lane]);
+        }
+    }
+
+    public void shutdown() {
+        for (ExecutorService worker : workers) {
+            worker.shutdown();
+        }
+        for (ExecutorService worker : workers) {
+            try {
+                if (!worker.awaitTermination(10, TimeUnit.SECONDS)) {
+                    worker.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                worker.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void submit(int lane) {
+        if (!inFlight[lane].compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            workers[lane].execute(() -> drain(lane));
+        } catch (RejectedExecutionException e) {
+            inFlight[lane].set(false);
+        }
+    }
+
+    private void drain(int lane) {
+        signalled[lane].set(false);
+        int drained = 0;
+        Timer.Sample sample = Timer.start();
+        try {
+            drained = laneDrain.drain(lane);
+            messageCounters[lane].increment(drained);
+        } catch (Exception e) {
+            log.error("Failed to drain {} inbox lane {}", name, lane, e);
+        } finally {
+            sample.stop(drainTimers[lane]);
+            updateIdleBackoff(lane, drained);
+            inFlight[lane].set(false);
+        }
+
+        if (drained > 0 || signalled[lane].get()) {
+            submit(lane);
+        }
+    }
+
+    private void updateIdleBackoff(int lane, int drained) {
+        if (drained > 0) {
+            idleBackoffMillis[lane] = 0;
+        } else if (idleBackoffMillis[lane] == 0) {
+            idleBackoffMillis[lane] = minIdleBackoffMillis;
+        } else {
+            idleBackoffMillis[lane] = Math.min(idleBackoffMillis[lane] * 2, maxIdleBackoffMillis);
+        }
+        nextPollAtMillis[lane].set(System.currentTimeMillis() + idleBackoffMillis[lane]);
+    }
+
+    @FunctionalInterface
+    public interface LaneDrain {
+        int drain(int lane);
+    }
+}
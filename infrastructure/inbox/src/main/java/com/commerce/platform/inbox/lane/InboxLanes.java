@@ -0,0 +1,42 @@
+package com.commerce.platform.inbox.lane;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * saga_id 를 고정된 개수의 slot 으로 해시하고, slot 구간을 lane 에 나눠준다.
+ * slot 은 insert 시점에 저장되므로 lane 수를 바꿔도 같은 saga 는 항상 하나의 lane 에 모인다.
+ * slot 구간은 lane 수에 따라 달라지므로 lane 수는 DB 에 한 번 기록한 값을 모든 인스턴스가 함께 쓴다.
+ */
+public final class InboxLanes {
+
+    public static final int SLOT_COUNT = 1024;
+
+    private InboxLanes() {
+    }
+
+    public static int slotOf(UUID sagaId) {
+        return Math.floorMod(sagaId.hashCode(), SLOT_COUNT);
+    }
+
+    public static int laneOf(int slot, int laneCount) {
+        return slot * laneCount / SLOT_COUNT;
+    }
+
+    public static int fromSlot(int lane, int laneCount) {
+        return (lane * SLOT_COUNT + laneCount - 1) / laneCount;
+    }
+
+    public static int toSlotExclusive(int lane, int laneCount) {
+        return fromSlot(lane + 1, laneCount);
+    }
+
+    public static List<InboxLaneDepth> mergeByLane(List<InboxLaneDepth> depths) {
+        Map<Integer, InboxLaneDepth> merged = new TreeMap<>();
+        depths.forEach(depth -> merged.merge(depth.lane(), depth, InboxLaneDepth::merge));
+        return new ArrayList<>(merged.values());
+    }
+}
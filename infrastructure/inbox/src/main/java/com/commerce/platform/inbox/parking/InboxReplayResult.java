@@ -0,0 +1,4 @@
+package com.commerce.platform.inbox.parking;
+
+public record InboxReplayResult(int requested, int queued) {
+}
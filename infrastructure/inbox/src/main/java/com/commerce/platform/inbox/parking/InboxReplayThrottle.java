@@ -0,0 +1,40 @@
+package com.commerce.platform.inbox.parking;
+
+/**
+ * 재처리 대기열(REPLAY_QUEUED)의 메시지를 RECEIVED 로 되돌리는 속도를 제한하는 token bucket.
+ * 장애 복구로 수천 건을 한꺼번에 재처리 요청해도 drain loop 에는 초당 permitsPerSecond 건, 최대 burst 건까지만 흘려보낸다.
+ * 제한은 인스턴스 단위로 적용된다.
+ */
+public class InboxReplayThrottle {
+
+    private final double permitsPerNano;
+    private final double burst;
+    private double tokens;
+    private long refilledAt;
+
+    public InboxReplayThrottle(double permitsPerSecond, int burst) {
+        this.permitsPerNano = permitsPerSecond / 1_000_000_000d;
+        this.burst = Math.max(1, burst);
+        this.tokens = this.burst;
+        this.refilledAt = System.nanoTime();
+    }
+
+    public synchronized int tryAcquire(int max) {
+        refill();
+        int acquired = (int) Math.min(max, Math.floor(tokens));
+        tokens -= acquired;
+        return acquired;
+    }
+
+    public synchronized void release(int unused) {
+        if (unused > 0) {
+            tokens = Math.min(burst, tokens + unused);
+        }
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(burst, tokens + (now - refilledAt) * permitsPerNano);
+        refilledAt = now;
+    }
+}
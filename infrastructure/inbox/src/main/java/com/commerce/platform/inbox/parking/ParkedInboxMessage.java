@@ -0,0 +1,17 @@
+package com.commerce.platform.inbox.parking;
+
+import com.commerce.platform.inbox.InboxStatus;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+public record ParkedInboxMessage(UUID id,
+                                 UUID messageId,
+                                 UUID sagaId,
+                                 String type,
+                                 InboxStatus status,
+                                 int retryCount,
+                                 String errorMessage,
+                                 ZonedDateTime receivedAt,
+                                 ZonedDateTime parkedAt) {
+}
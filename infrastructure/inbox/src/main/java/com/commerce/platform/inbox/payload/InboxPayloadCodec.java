@@ -0,0 +1,14 @@
+package com.commerce.platform.inbox.payload;
+
+/**
+ * inbox 에 저장할 메시지를 바이너리 payload 로 변환한다.
+ * schemaFingerprint 는 payload 를 쓸 때 사용한 스키마를 식별하며 payload 와 함께 저장된다.
+ */
+public interface InboxPayloadCodec<T> {
+
+    long schemaFingerprint();
+
+    byte[] encode(T message);
+
+    T decode(byte[] payload, long schemaFingerprint);
+}
@@ -0,0 +1,9 @@
+package com.commerce.platform.inbox.retry;
+
+import com.commerce.platform.inbox.InboxStatus;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+public record InboxFailure(UUID id, String errorMessage, InboxStatus status, ZonedDateTime nextAttemptAt) {
+}
@@ -0,0 +1,42 @@
+package com.commerce.platform.inbox.retry;
+
+import com.commerce.platform.inbox.InboxStatus;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 실패한 inbox 메시지의 다음 시도 시각을 exponential backoff 와 jitter 로 계산한다.
+ * 같은 장애로 함께 실패한 메시지들이 같은 시각에 다시 몰리지 않도록 backoff 의 절반 구간을 무작위로 분산한다.
+ * 최대 재시도 횟수에 도달한 메시지는 PARKED 로 옮기고, next_attempt_at 에는 실패 시각을 남긴다.
+ */
+public class InboxRetryPolicy {
+
+    private static final int MAX_BACKOFF_SHIFT = 20;
+
+    private final int maxRetryCount;
+    private final long baseBackoffMillis;
+    private final long maxBackoffMillis;
+
+    public InboxRetryPolicy(int maxRetryCount, Duration baseBackoff, Duration maxBackoff) {
+        this.maxRetryCount = maxRetryCount;
+        this.baseBackoffMillis = Math.max(1, baseBackoff.toMillis());
+        this.maxBackoffMillis = Math.max(baseBackoffMillis, maxBackoff.toMillis());
+    }
+
+    public InboxFailure failure(UUID id, int retryCount, String errorMessage, ZonedDateTime failedAt) {
+        int attempts = retryCount + 1;
+        if (attempts >= maxRetryCount) {
+            return new InboxFailure(id, errorMessage, InboxStatus.PARKED, failedAt);
+        }
+        return new InboxFailure(id, errorMessage, InboxStatus.FAILED, failedAt.plus(backoff(attempts)));
+    }
+
+    Duration backoff(int attempts) {
+        long ceiling = Math.min(maxBackoffMillis, baseBackoffMillis << Math.min(attempts - 1, MAX_BACKOFF_SHIFT));
+        long half = ceiling / 2;
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(ceiling - half + 1));
+    }
+}
@@ -24,6 +24,12 @@ public class KafkaConsumerConfigData {
     private Integer maxPollRecords;
     private Integer maxPartitionFetchBytesDefault;
     private Integer maxPartitionFetchBytesBoostFactor;
+    private String deadLetterTopicSuffix = ".DLT";
+    private Long errorHandlerBackOffIntervalMs = 1000L;
+    private Long errorHandlerMaxRetries = 2L;
+    private Long errorHandlerTransientBackOffInitialIntervalMs = 1000L;
+    private Long errorHandlerTransientBackOffMaxIntervalMs = 30000L;
+    private Long logSummaryIntervalMs = 10000L;
     private String productReservationConsumerGroupId;
     private String customerGroupId;
     private String paymentConsumerGroupId;
@@ -0,0 +1,9 @@
+package com.commerce.platform.kafka.config.data;
+
+import lombok.Data;
+
+@Data
+public class KafkaPinnedValueType {
+    private String topic;
+    private String type;
+}
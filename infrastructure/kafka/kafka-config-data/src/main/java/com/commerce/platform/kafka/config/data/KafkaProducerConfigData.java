@@ -4,6 +4,11 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 @Data
 @Configuration
 @ConfigurationProperties(prefix = "kafka-producer-config")
@@ -19,4 +24,7 @@ public class KafkaProducerConfigData {
     private Integer metadataMaxAgeMs;
     private Integer schemaRegistryCacheSize;
     private Boolean autoRegisterSchemas;
+    private Long logSummaryIntervalMs = 10000L;
+    private Map<String, KafkaProducerProfile> profiles = new LinkedHashMap<>();
+    private List<KafkaPinnedValueType> pinnedValueTypes = new ArrayList<>();
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.commerce.platform.kafka.config.data;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class KafkaProducerProfile {
+    private List<String> topics = new ArrayList<>();
+    private Boolean enableIdempotence;
+    private String acks;
+    private Integer lingerMs;
+    private Integer batchSize;
+    private String compressionType;
+    private Integer maxInFlightRequestsPerConnection;
+}
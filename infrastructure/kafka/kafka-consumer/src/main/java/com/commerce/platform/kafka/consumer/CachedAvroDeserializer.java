@@ -0,0 +1,100 @@
+package com.commerce.platform.kafka.consumer;
+
+import com.commerce.platform.kafka.avro.AvroWireFormat;
+import io.confluent.kafka.schemaregistry.ParsedSchema;
+import io.confluent.kafka.schemaregistry.client.CachedSchemaRegistryClient;
+import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.kafka.schemaregistry.client.rest.exceptions.RestClientException;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaNormalization;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.specific.SpecificData;
+import org.apache.avro.specific.SpecificDatumReader;
+import org.apache.avro.specific.SpecificRecordBase;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 생성된 Avro 타입 전용 value deserializer. writer schema 는 schema id 별로 한 번만 조회해 datum reader 와 함께 고정하고,
+ * decoder 는 스레드별로 재사용하며 레코드 버퍼를 복사하지 않고 바로 읽는다.
+ */
+public class CachedAvroDeserializer implements Deserializer<SpecificRecordBase> {
+
+    private static final String SCHEMA_REGISTRY_URL_CONFIG = "schema.registry.url";
+    private static final int DEFAULT_CACHE_SIZE = 1000;
+
+    private final Map<Integer, SpecificDatumReader<SpecificRecordBase>> readers = new ConcurrentHashMap<>();
+    private final ThreadLocal<BinaryDecoder> decoders = new ThreadLocal<>();
+    private SchemaRegistryClient schemaRegistryClient;
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        this.schemaRegistryClient = new CachedSchemaRegistryClient(
+                String.valueOf(configs.get(SCHEMA_REGISTRY_URL_CONFIG)), DEFAULT_CACHE_SIZE);
+    }
+
+    @Override
+    public SpecificRecordBase deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        return read(data, 0, data.length);
+    }
+
+    @Override
+    public SpecificRecordBase deserialize(String topic, Headers headers, ByteBuffer data) {
+        if (data == null) {
+            return null;
+        }
+        if (data.hasArray()) {
+            return read(data.array(), data.arrayOffset() + data.position(), data.remaining());
+        }
+        byte[] copy = new byte[data.remaining()];
+        data.duplicate().get(copy);
+        return read(copy, 0, copy.length);
+    }
+
+    private SpecificRecordBase read(byte[] buffer, int offset, int length) {
+        try {
+            int schemaId = AvroWireFormat.readSchemaId(buffer, offset, length);
+            SpecificDatumReader<SpecificRecordBase> reader = readers.computeIfAbsent(schemaId, this::createReader);
+            BinaryDecoder decoder = DecoderFactory.get().binaryDecoder(buffer,
+                    offset + AvroWireFormat.HEADER_SIZE,
+                    length - AvroWireFormat.HEADER_SIZE,
+                    decoders.get());
+            decoders.set(decoder);
+            return reader.read(null, decoder);
+        } catch (IOException | RuntimeException e) {
+            throw new SerializationException("Could not deserialize Avro record", e);
+        }
+    }
+
+    private SpecificDatumReader<SpecificRecordBase> createReader(int schemaId) {
+        Schema writerSchema = fetchSchema(schemaId);
+        Class<?> type = SpecificData.get().getClass(writerSchema);
+        if (type == null || !SpecificRecordBase.class.isAssignableFrom(type)) {
+            throw new SerializationException("No generated Avro type for schema: " + writerSchema.getFullName());
+        }
+        Schema readerSchema = SpecificData.get().getSchema(type);
+        if (SchemaNormalization.parsingFingerprint64(writerSchema) == SchemaNormalization.parsingFingerprint64(readerSchema)) {
+            return new SpecificDatumReader<>(readerSchema);
+        }
+        return new SpecificDatumReader<>(writerSchema, readerSchema);
+    }
+
+    private Schema fetchSchema(int schemaId) {
+        try {
+            ParsedSchema parsedSchema = schemaRegistryClient.getSchemaById(schemaId);
+            return (Schema) parsedSchema.rawSchema();
+        } catch (IOException | RestClientException e) {
+            throw new SerializationException("Could not fetch schema with id: " + schemaId, e);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.commerce.platform.kafka.consumer;
+
+import org.springframework.kafka.listener.BatchListenerFailedException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * batch listener 에서 실패한 레코드의 위치를 BatchListenerFailedException 으로 알려준다.
+ * 에러 핸들러는 그 앞까지의 offset 을 커밋하고, 실패한 레코드만 재시도 후 DLT 로 보낸 뒤 나머지를 다시 받는다.
+ * DB 장애처럼 일시적인 실패는 DLT 로 보내지 않고 복구될 때까지 재시도한다.
+ */
+public final class KafkaBatchRecords {
+
+    private KafkaBatchRecords() {
+    }
+
+    /**
+     * 역직렬화에 실패한 레코드(ErrorHandlingDeserializer 가 null 로 넘긴 값)나 변환에 실패한 레코드는
+     * KafkaRecordMappingException 으로 알려 재시도 없이 DLT 로 보내게 한다.
+     */
+    public static <T, R> List<R> mapEach(List<T> records, Function<T, R> mapper) {
+        List<R> mapped = new ArrayList<>(records.size());
+        for (int i = 0; i < records.size(); i++) {
+            T record = records.get(i);
+            if (record == null) {
+                throw new BatchListenerFailedException("Could not deserialize record at index " + i,
+                        new KafkaRecordMappingException("Record at index " + i + " could not be deserialized"), i);
+            }
+            try {
+                mapped.add(mapper.apply(record));
+            } catch (RuntimeException e) {
+                throw new BatchListenerFailedException("Could not map record at index " + i,
+                        new KafkaRecordMappingException("Could not map record at index " + i, e), i);
+            }
+        }
+        return mapped;
+    }
+
+    /**
+     * 배치 전체를 한 번에 처리하고, 실패하면 한 건씩 다시 처리해 처음 실패한 레코드의 index 를 찾는다.
+     * 한 건씩 처리한 레코드는 이미 반영되었으므로 handler 는 중복 전달에 대해 멱등해야 한다.
+     */
+    public static <T> void handleIsolatingFailures(List<T> records, Consumer<List<T>> handler) {
+        try {
+            handler.accept(records);
+            return;
+        } catch (RuntimeException e) {
+            if (records.size() == 1) {
+                throw new BatchListenerFailedException("Could not handle record at index 0", e, 0);
+            }
+        }
+
+        for (int i = 0; i < records.size(); i++) {
+            try {
+                handler.accept(List.of(records.get(i)));
+            } catch (RuntimeException e) {
+                throw new BatchListenerFailedException("Could not handle record at index " + i, e, i);
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.commerce.platform.kafka.consumer;
+
+import com.commerce.platform.domain.util.LogSampler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.listener.BatchInterceptor;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * listener 로 넘어가는 배치마다 topic 별 배치 크기, 수신 건수, poll 부터 처리 완료까지의 지연과
+ * producer 가 기록한 timestamp 부터 수신까지의 saga hop 지연을 기록한다. 수신 로그는 topic 별로 주기마다 한 번만 요약해 남긴다.
+ */
+@Slf4j
+public class KafkaConsumerMetricsInterceptor<K, V> implements BatchInterceptor<K, V> {
+
+    private static final String RECEIVE_HOP = "produced_to_received";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, TopicMeters> topicMeters = new ConcurrentHashMap<>();
+    private final ThreadLocal<Long> batchStartedAt = new ThreadLocal<>();
+    private final LogSampler receivedSummary;
+
+    public KafkaConsumerMetricsInterceptor(MeterRegistry meterRegistry, Duration logSummaryInterval) {
+        this.meterRegistry = meterRegistry;
+        this.receivedSummary = new LogSampler(logSummaryInterval);
+    }
+
+    @Override
+    public ConsumerRecords<K, V> intercept(ConsumerRecords<K, V> records, Consumer<K, V> consumer) {
+        batchStartedAt.set(System.nanoTime());
+        long now = System.currentTimeMillis();
+        for (TopicPartition partition : records.partitions()) {
+            List<ConsumerRecord<K, V>> partitionRecords = records.records(partition);
+            TopicMeters meters = metersOf(partition.topic());
+            meters.batchSize().record(partitionRecords.size());
+            meters.records().increment(partitionRecords.size());
+            for (ConsumerRecord<K, V> record : partitionRecords) {
+                meters.producedToReceived().record(Math.max(0, now - record.timestamp()), TimeUnit.MILLISECONDS);
+            }
+            long received = receivedSummary.record(partition.topic(), partitionRecords.size());
+            if (received > 0) {
+                log.info("Received {} records from topic {} since last summary", received, partition.topic());
+            }
+        }
+        return records;
+    }
+
+    @Override
+    public void success(ConsumerRecords<K, V> records, Consumer<K, V> consumer) {
+        recordProcessLatency(records);
+    }
+
+    @Override
+    public void failure(ConsumerRecords<K, V> records, Exception exception, Consumer<K, V> consumer) {
+        recordProcessLatency(records);
+    }
+
+    private void recordProcessLatency(ConsumerRecords<K, V> records) {
+        Long startedAt = batchStartedAt.get();
+        batchStartedAt.remove();
+        if (startedAt == null) {
+            return;
+        }
+        long elapsedNanos = System.nanoTime() - startedAt;
+        records.partitions().stream()
+                .map(TopicPartition::topic)
+                .distinct()
+                .forEach(topic -> metersOf(topic).processLatency().record(elapsedNanos, TimeUnit.NANOSECONDS));
+    }
+
+    private TopicMeters metersOf(String topic) {
+        return topicMeters.computeIfAbsent(topic, this::createMeters);
+    }
+
+    private TopicMeters createMeters(String topic) {
+        return new TopicMeters(
+                DistributionSummary.builder("kafka.consumer.batch.size")
+                        .tag("topic", topic)
+                        .register(meterRegistry),
+                Counter.builder("kafka.consumer.records")
+                        .tag("topic", topic)
+                        .register(meterRegistry),
+                Timer.builder("kafka.consumer.batch.process.latency")
+                        .tag("topic", topic)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry),
+                Timer.builder("saga.hop.latency")
+                        .tags("hop", RECEIVE_HOP, "topic", topic)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry));
+    }
+
+    private record TopicMeters(DistributionSummary batchSize,
+                               Counter records,
+                               Timer processLatency,
+                               Timer producedToReceived) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.commerce.platform.kafka.consumer;
+
+/**
+ * 레코드를 역직렬화하거나 도메인 메시지로 바꾸지 못한 경우. 다시 받아도 결과가 같으므로 에러 핸들러는 재시도 없이 DLT 로 보낸다.
+ */
+public class KafkaRecordMappingException extends RuntimeException {
+
+    public KafkaRecordMappingException(String message) {
+        super(message);
+    }
+
+    public KafkaRecordMappingException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -2,18 +2,43 @@ package com.commerce.platform.kafka.consumer.config;
 
 import com.commerce.platform.kafka.config.data.KafkaConfigData;
 import com.commerce.platform.kafka.config.data.KafkaConsumerConfigData;
+import com.commerce.platform.kafka.consumer.KafkaConsumerMetricsInterceptor;
+import com.commerce.platform.kafka.consumer.KafkaRecordMappingException;
+import io.confluent.kafka.serializers.KafkaAvroSerializer;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.avro.specific.SpecificRecordBase;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.config.KafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaOperations;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.MicrometerConsumerListener;
 import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.transaction.TransactionException;
+import org.springframework.util.backoff.BackOff;
+import org.springframework.util.backoff.ExponentialBackOff;
+import org.springframework.util.backoff.FixedBackOff;
 
 import java.io.Serializable;
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @Configuration
@@ -21,11 +46,14 @@ public class KafkaConsumerConfig<K extends Serializable, V extends SpecificRecor
 
     private final KafkaConfigData kafkaConfigData;
     private final KafkaConsumerConfigData kafkaConsumerConfigData;
+    private final MeterRegistry meterRegistry;
 
     public KafkaConsumerConfig(KafkaConfigData kafkaConfigData,
-                               KafkaConsumerConfigData kafkaConsumerConfigData) {
+                               KafkaConsumerConfigData kafkaConsumerConfigData,
+                               MeterRegistry meterRegistry) {
         this.kafkaConfigData = kafkaConfigData;
         this.kafkaConsumerConfigData = kafkaConsumerConfigData;
+        this.meterRegistry = meterRegistry;
     }
 
     @Bean
@@ -33,7 +61,9 @@ public class KafkaConsumerConfig<K extends Serializable, V extends SpecificRecor
         Map<String, Object> props = new HashMap<>();
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaConfigData.getBootstrapServers());
         props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, kafkaConsumerConfigData.getKeyDeserializer());
-        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, kafkaConsumerConfigData.getValueDeserializer());
+        // 역직렬화 실패를 poll 루프의 예외 대신 null 값과 헤더로 넘겨 해당 레코드만 DLT 로 보낼 수 있게 한다
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+        props.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, kafkaConsumerConfigData.getValueDeserializer());
         props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, kafkaConsumerConfigData.getAutoOffsetReset());
         props.put(kafkaConfigData.getSchemaRegistryUrlKey(), kafkaConfigData.getSchemaRegistryUrl());
         props.put(kafkaConsumerConfigData.getSpecificAvroReaderKey(), kafkaConsumerConfigData.getSpecificAvroReader());
@@ -49,7 +79,9 @@ public class KafkaConsumerConfig<K extends Serializable, V extends SpecificRecor
 
     @Bean
     public ConsumerFactory<K, V> consumerFactory() {
-        return new DefaultKafkaConsumerFactory<>(consumerConfigs());
+        DefaultKafkaConsumerFactory<K, V> consumerFactory = new DefaultKafkaConsumerFactory<>(consumerConfigs());
+        consumerFactory.addListener(new MicrometerConsumerListener<>(meterRegistry));
+        return consumerFactory;
     }
 
     @Bean
@@ -60,6 +92,75 @@ public class KafkaConsumerConfig<K extends Serializable, V extends SpecificRecor
         factory.setConcurrency(kafkaConsumerConfigData.getConcurrencyLevel());
         factory.setAutoStartup(kafkaConsumerConfigData.getAutoStartup());
         factory.getContainerProperties().setPollTimeout(kafkaConsumerConfigData.getPollTimeoutMs());
+        factory.setCommonErrorHandler(kafkaErrorHandler());
+        factory.setBatchInterceptor(new KafkaConsumerMetricsInterceptor<>(meterRegistry,
+                Duration.ofMillis(kafkaConsumerConfigData.getLogSummaryIntervalMs())));
         return factory;
     }
+
+    /**
+     * 역직렬화·변환 실패는 재시도하지 않고 바로 DLT 로 보내고, DB 나 트랜잭션 장애는 DLT 로 보내지 않고 복구될 때까지 간격을 늘리며 재시도한다.
+     * 그 밖의 실패는 정해진 횟수만큼 재시도한 뒤 DLT 로 보낸다.
+     */
+    @Bean
+    public DefaultErrorHandler kafkaErrorHandler() {
+        Map<Class<?>, KafkaOperations<?, ?>> deadLetterTemplates = new LinkedHashMap<>();
+        // 역직렬화에 실패한 레코드는 원본 byte[] 그대로 보낸다
+        deadLetterTemplates.put(byte[].class, deadLetterBytesKafkaTemplate());
+        deadLetterTemplates.put(Object.class, deadLetterKafkaTemplate());
+        DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(deadLetterTemplates,
+                (record, exception) -> new TopicPartition(
+                        record.topic() + kafkaConsumerConfigData.getDeadLetterTopicSuffix(), record.partition()));
+        DefaultErrorHandler errorHandler = new DefaultErrorHandler(recoverer,
+                new FixedBackOff(kafkaConsumerConfigData.getErrorHandlerBackOffIntervalMs(),
+                        kafkaConsumerConfigData.getErrorHandlerMaxRetries()));
+        errorHandler.addNotRetryableExceptions(KafkaRecordMappingException.class, DeserializationException.class);
+        errorHandler.setBackOffFunction(this::transientFailureBackOff);
+        errorHandler.setCommitRecovered(true);
+        return errorHandler;
+    }
+
+    @Bean
+    public KafkaTemplate<String, Object> deadLetterKafkaTemplate() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaConfigData.getBootstrapServers());
+        props.put(kafkaConfigData.getSchemaRegistryUrlKey(), kafkaConfigData.getSchemaRegistryUrl());
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, KafkaAvroSerializer.class);
+        props.put("auto.register.schemas", true);
+        return new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(props));
+    }
+
+    private KafkaTemplate<String, byte[]> deadLetterBytesKafkaTemplate() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaConfigData.getBootstrapServers());
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        return new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(props));
+    }
+
+    /**
+     * null 을 돌려주면 에러 핸들러의 기본 FixedBackOff 를 쓴다.
+     */
+    private BackOff transientFailureBackOff(ConsumerRecord<?, ?> record, Exception exception) {
+        if (!isTransientFailure(exception)) {
+            return null;
+        }
+        ExponentialBackOff backOff = new ExponentialBackOff(
+                kafkaConsumerConfigData.getErrorHandlerTransientBackOffInitialIntervalMs(), 2.0);
+        backOff.setMaxInterval(kafkaConsumerConfigData.getErrorHandlerTransientBackOffMaxIntervalMs());
+        return backOff;
+    }
+
+    private boolean isTransientFailure(Throwable exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DataIntegrityViolationException) {
+                return false;
+            }
+            if (cause instanceof DataAccessException || cause instanceof TransactionException) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -0,0 +1,115 @@
+package com.commerce.platform.kafka.avro;
+
+import org.apache.avro.AvroRuntimeException;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaCompatibility;
+import org.apache.avro.SchemaNormalization;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.io.EncoderFactory;
+import org.apache.avro.specific.SpecificData;
+import org.apache.avro.specific.SpecificDatumReader;
+import org.apache.avro.specific.SpecificDatumWriter;
+import org.apache.avro.specific.SpecificRecord;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 생성된 Avro 타입을 schema registry 헤더 없이 순수 binary 로 인코딩/디코딩한다.
+ * 다른 버전의 서비스가 쓴 payload 는 fingerprint 로 writer schema 를 찾아 현재 타입으로 resolve 해 읽는다.
+ * writer schema 는 classpath 의 avro/history/{schema full name}.v{n}.avsc (n 은 1부터 연속) 에서 읽거나 registerWriterSchema 로 등록한다.
+ * datum reader/writer 는 인스턴스 단위로 재사용하고 encoder/decoder 는 스레드별로 재사용한다.
+ */
+public class AvroBinaryCodec<T extends SpecificRecord> {
+
+    private static final int INITIAL_BUFFER_SIZE = 256;
+    private static final String WRITER_SCHEMA_HISTORY = "avro/history/";
+
+    private final Class<T> type;
+    private final Schema schema;
+    private final long schemaFingerprint;
+    private final SpecificDatumWriter<T> writer;
+    private final Map<Long, SpecificDatumReader<T>> readers = new ConcurrentHashMap<>();
+    private final ThreadLocal<BinaryEncoder> encoders = new ThreadLocal<>();
+    private final ThreadLocal<BinaryDecoder> decoders = new ThreadLocal<>();
+
+    public AvroBinaryCodec(Class<T> type) {
+        this.type = type;
+        this.schema = SpecificData.get().getSchema(type);
+        this.schemaFingerprint = SchemaNormalization.parsingFingerprint64(schema);
+        this.writer = new SpecificDatumWriter<>(type);
+        this.readers.put(schemaFingerprint, new SpecificDatumReader<>(type));
+        loadWriterSchemaHistory();
+    }
+
+    public long getSchemaFingerprint() {
+        return schemaFingerprint;
+    }
+
+    /**
+     * writerSchema 로 쓴 payload 를 읽을 수 있게 한다. 현재 schema 로 resolve 할 수 없는 schema 는 거부한다.
+     */
+    public void registerWriterSchema(Schema writerSchema) {
+        SchemaCompatibility.SchemaPairCompatibility compatibility =
+                SchemaCompatibility.checkReaderWriterCompatibility(schema, writerSchema);
+        if (compatibility.getType() != SchemaCompatibility.SchemaCompatibilityType.COMPATIBLE) {
+            throw new AvroRuntimeException("Writer schema " + writerSchema.getFullName() + " cannot be read as "
+                    + type.getSimpleName() + ": " + compatibility.getDescription());
+        }
+        readers.putIfAbsent(SchemaNormalization.parsingFingerprint64(writerSchema),
+                new SpecificDatumReader<>(writerSchema, schema));
+    }
+
+    public byte[] encode(T record) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(INITIAL_BUFFER_SIZE);
+        encode(record, out);
+        return out.toByteArray();
+    }
+
+    public void encode(T record, OutputStream out) {
+        BinaryEncoder encoder = EncoderFactory.get().binaryEncoder(out, encoders.get());
+        encoders.set(encoder);
+        try {
+            writer.write(record, encoder);
+            encoder.flush();
+        } catch (IOException e) {
+            throw new AvroRuntimeException("Could not encode " + type.getSimpleName(), e);
+        }
+    }
+
+    public T decode(byte[] payload, long payloadSchemaFingerprint) {
+        SpecificDatumReader<T> reader = readers.get(payloadSchemaFingerprint);
+        if (reader == null) {
+            throw new AvroRuntimeException("Unknown schema fingerprint " + payloadSchemaFingerprint +
+                    " for " + type.getSimpleName());
+        }
+        BinaryDecoder decoder = DecoderFactory.get().binaryDecoder(payload, decoders.get());
+        decoders.set(decoder);
+        try {
+            return reader.read(null, decoder);
+        } catch (IOException e) {
+            throw new AvroRuntimeException("Could not decode " + type.getSimpleName(), e);
+        }
+    }
+
+    private void loadWriterSchemaHistory() {
+        ClassLoader classLoader = type.getClassLoader();
+        for (int version = 1; ; version++) {
+            String resource = WRITER_SCHEMA_HISTORY + schema.getFullName() + ".v" + version + ".avsc";
+            try (InputStream in = classLoader.getResourceAsStream(resource)) {
+                if (in == null) {
+                    return;
+                }
+                registerWriterSchema(new Schema.Parser().parse(in));
+            } catch (IOException e) {
+                throw new AvroRuntimeException("Could not read writer schema " + resource, e);
+            }
+        }
+    }
+}
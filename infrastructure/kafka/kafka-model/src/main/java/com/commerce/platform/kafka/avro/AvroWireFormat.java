@@ -0,0 +1,35 @@
+package com.commerce.platform.kafka.avro;
+
+import org.apache.avro.AvroRuntimeException;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * schema registry wire format(magic byte + 4바이트 schema id + Avro binary)의 헤더를 쓰고 읽는다.
+ */
+public final class AvroWireFormat {
+
+    public static final byte MAGIC_BYTE = 0x0;
+    public static final int HEADER_SIZE = 1 + Integer.BYTES;
+
+    private AvroWireFormat() {
+    }
+
+    public static void writeHeader(ByteArrayOutputStream out, int schemaId) {
+        out.write(MAGIC_BYTE);
+        out.write(schemaId >>> 24);
+        out.write(schemaId >>> 16);
+        out.write(schemaId >>> 8);
+        out.write(schemaId);
+    }
+
+    public static int readSchemaId(byte[] buffer, int offset, int length) {
+        if (length < HEADER_SIZE || buffer[offset] != MAGIC_BYTE) {
+            throw new AvroRuntimeException("Unknown magic byte or truncated Avro payload");
+        }
+        return ((buffer[offset + 1] & 0xFF) << 24)
+                | ((buffer[offset + 2] & 0xFF) << 16)
+                | ((buffer[offset + 3] & 0xFF) << 8)
+                | (buffer[offset + 4] & 0xFF);
+    }
+}
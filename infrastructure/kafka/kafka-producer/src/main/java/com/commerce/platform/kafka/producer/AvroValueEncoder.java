@@ -0,0 +1,85 @@
+package com.commerce.platform.kafka.producer;
+
+import com.commerce.platform.kafka.avro.AvroBinaryCodec;
+import com.commerce.platform.kafka.avro.AvroWireFormat;
+import com.commerce.platform.kafka.config.data.KafkaConfigData;
+import com.commerce.platform.kafka.config.data.KafkaProducerConfigData;
+import com.commerce.platform.kafka.producer.exception.KafkaProducerException;
+import com.commerce.platform.outbox.payload.SerializedOutboxPayload;
+import io.confluent.kafka.schemaregistry.avro.AvroSchema;
+import io.confluent.kafka.schemaregistry.client.CachedSchemaRegistryClient;
+import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.kafka.schemaregistry.client.rest.exceptions.RestClientException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.Schema;
+import org.apache.avro.specific.SpecificData;
+import org.apache.avro.specific.SpecificRecordBase;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Avro 레코드를 KafkaAvroSerializer 와 같은 wire format(magic byte + schema id + binary)으로 미리 인코딩한다.
+ * 결과 바이트는 pass-through serializer 로 그대로 보낼 수 있다.
+ * schema id 는 기동 시 pin 으로 topic 마다 한 번 조회해 고정하고, 비즈니스 트랜잭션 안에서 schema registry 를 호출하지 않는다.
+ */
+@Slf4j
+@Component
+public class AvroValueEncoder {
+
+    private static final int INITIAL_BUFFER_SIZE = 256;
+
+    private final SchemaRegistryClient schemaRegistryClient;
+    private final boolean autoRegisterSchemas;
+    private final Map<String, PinnedSchema> pinnedSchemas = new ConcurrentHashMap<>();
+
+    public AvroValueEncoder(KafkaConfigData kafkaConfigData,
+                            KafkaProducerConfigData kafkaProducerConfigData) {
+        this.schemaRegistryClient = new CachedSchemaRegistryClient(
+                kafkaConfigData.getSchemaRegistryUrl(),
+                kafkaProducerConfigData.getSchemaRegistryCacheSize());
+        this.autoRegisterSchemas = Boolean.TRUE.equals(kafkaProducerConfigData.getAutoRegisterSchemas());
+    }
+
+    /**
+     * topic 의 value schema id 를 조회해 고정한다. 조회에 실패하면 기동을 멈추도록 예외를 던진다.
+     */
+    public <T extends SpecificRecordBase> void pin(String topicName, Class<T> type) {
+        AvroBinaryCodec<T> codec = new AvroBinaryCodec<>(type);
+        String subject = topicName + "-value";
+        int schemaId = lookupSchemaId(subject, SpecificData.get().getSchema(type));
+        pinnedSchemas.put(topicName, new PinnedSchema(type, schemaId, codec));
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T extends SpecificRecordBase> SerializedOutboxPayload encode(String topicName, T record) {
+        PinnedSchema pinnedSchema = pinnedSchemas.get(topicName);
+        if (pinnedSchema == null || pinnedSchema.type() != record.getClass()) {
+            throw new KafkaProducerException("No schema pinned for " + record.getClass().getSimpleName() + " on topic: " + topicName);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(INITIAL_BUFFER_SIZE);
+        AvroWireFormat.writeHeader(out, pinnedSchema.schemaId());
+        ((AvroBinaryCodec<T>) pinnedSchema.codec()).encode(record, out);
+        return new SerializedOutboxPayload(out.toByteArray(), pinnedSchema.schemaId());
+    }
+
+    private int lookupSchemaId(String subject, Schema schema) {
+        try {
+            AvroSchema avroSchema = new AvroSchema(schema);
+            int schemaId = autoRegisterSchemas
+                    ? schemaRegistryClient.register(subject, avroSchema)
+                    : schemaRegistryClient.getId(subject, avroSchema);
+            log.info("Resolved schema id: {} for subject: {}", schemaId, subject);
+            return schemaId;
+        } catch (IOException | RestClientException e) {
+            log.error("Could not resolve schema id for subject: {}", subject, e);
+            throw new KafkaProducerException("Could not resolve schema id for subject: " + subject);
+        }
+    }
+
+    private record PinnedSchema(Class<?> type, int schemaId, AvroBinaryCodec<?> codec) {
+    }
+}
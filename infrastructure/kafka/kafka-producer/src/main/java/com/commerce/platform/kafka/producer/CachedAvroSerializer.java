@@ -0,0 +1,113 @@
+package com.commerce.platform.kafka.producer;
+
+import com.commerce.platform.kafka.avro.AvroBinaryCodec;
+import com.commerce.platform.kafka.avro.AvroWireFormat;
+import io.confluent.kafka.schemaregistry.avro.AvroSchema;
+import io.confluent.kafka.schemaregistry.client.CachedSchemaRegistryClient;
+import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.kafka.schemaregistry.client.rest.exceptions.RestClientException;
+import org.apache.avro.Schema;
+import org.apache.avro.specific.SpecificData;
+import org.apache.avro.specific.SpecificRecordBase;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 생성된 Avro 타입 전용 value serializer. KafkaAvroSerializer 와 같은 wire format 을 쓰지만
+ * schema id 는 configure 에서 cached.avro.pinned.value.types 에 적힌 topic/타입마다 한 번 조회해 고정하며,
+ * schema registry 에 닿지 않으면 configure 가 실패한다. 고정되지 않은 topic/타입은 보내지 않는다.
+ * encoder 와 출력 버퍼는 스레드별로 재사용한다.
+ */
+public class CachedAvroSerializer implements Serializer<SpecificRecordBase> {
+
+    public static final String PINNED_VALUE_TYPES_CONFIG = "cached.avro.pinned.value.types";
+
+    private static final String SCHEMA_REGISTRY_URL_CONFIG = "schema.registry.url";
+    private static final String SCHEMA_REGISTRY_CACHE_SIZE_CONFIG = "schema.registry.cache.size";
+    private static final String AUTO_REGISTER_SCHEMAS_CONFIG = "auto.register.schemas";
+    private static final int DEFAULT_CACHE_SIZE = 1000;
+    private static final int INITIAL_BUFFER_SIZE = 512;
+    private static final int MAX_RETAINED_BUFFER_SIZE = 64 * 1024;
+
+    private final Map<SchemaKey, Integer> schemaIds = new ConcurrentHashMap<>();
+    private final Map<Class<?>, AvroBinaryCodec<?>> codecs = new ConcurrentHashMap<>();
+    private final ThreadLocal<ByteArrayOutputStream> buffers =
+            ThreadLocal.withInitial(() -> new ByteArrayOutputStream(INITIAL_BUFFER_SIZE));
+    private SchemaRegistryClient schemaRegistryClient;
+    private boolean autoRegisterSchemas;
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        Object cacheSize = configs.get(SCHEMA_REGISTRY_CACHE_SIZE_CONFIG);
+        this.schemaRegistryClient = new CachedSchemaRegistryClient(
+                String.valueOf(configs.get(SCHEMA_REGISTRY_URL_CONFIG)),
+                cacheSize == null ? DEFAULT_CACHE_SIZE : Integer.parseInt(cacheSize.toString()));
+        Object autoRegister = configs.get(AUTO_REGISTER_SCHEMAS_CONFIG);
+        this.autoRegisterSchemas = autoRegister == null || Boolean.parseBoolean(autoRegister.toString());
+        Object pinnedTypes = configs.get(PINNED_VALUE_TYPES_CONFIG);
+        if (pinnedTypes instanceof Map<?, ?> types) {
+            types.forEach((topic, type) -> pin(topic.toString(), type.toString()));
+        }
+    }
+
+    @Override
+    public byte[] serialize(String topic, SpecificRecordBase record) {
+        if (record == null) {
+            return null;
+        }
+        Integer schemaId = schemaIds.get(new SchemaKey(topic, record.getClass()));
+        if (schemaId == null) {
+            throw new SerializationException("No schema pinned for " + record.getClass().getSimpleName() + " on topic: " + topic);
+        }
+
+        ByteArrayOutputStream out = buffers.get();
+        out.reset();
+        AvroWireFormat.writeHeader(out, schemaId);
+        codecOf(record).encode(record, out);
+        byte[] value = out.toByteArray();
+        if (value.length > MAX_RETAINED_BUFFER_SIZE) {
+            buffers.remove();
+        }
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends SpecificRecordBase> AvroBinaryCodec<T> codecOf(T record) {
+        return (AvroBinaryCodec<T>) codecs.computeIfAbsent(record.getClass(), this::newCodec);
+    }
+
+    @SuppressWarnings("unchecked")
+    private AvroBinaryCodec<?> newCodec(Class<?> type) {
+        return new AvroBinaryCodec<>((Class<? extends SpecificRecordBase>) type);
+    }
+
+    private void pin(String topic, String typeName) {
+        Class<?> type;
+        try {
+            type = Class.forName(typeName);
+        } catch (ClassNotFoundException e) {
+            throw new SerializationException("Unknown Avro type pinned for topic " + topic + ": " + typeName, e);
+        }
+        codecs.computeIfAbsent(type, this::newCodec);
+        schemaIds.put(new SchemaKey(topic, type), lookupSchemaId(topic + "-value", SpecificData.get().getSchema(type)));
+    }
+
+    private int lookupSchemaId(String subject, Schema schema) {
+        try {
+            AvroSchema avroSchema = new AvroSchema(schema);
+            return autoRegisterSchemas
+                    ? schemaRegistryClient.register(subject, avroSchema)
+                    : schemaRegistryClient.getId(subject, avroSchema);
+        } catch (IOException | RestClientException e) {
+            throw new SerializationException("Could not resolve schema id for subject: " + subject, e);
+        }
+    }
+
+    private record SchemaKey(String topic, Class<?> type) {
+    }
+}
@@ -2,24 +2,41 @@ package com.commerce.platform.kafka.producer;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.commerce.platform.domain.util.LogSampler;
+import com.commerce.platform.kafka.config.data.KafkaProducerConfigData;
 import com.commerce.platform.order.service.domain.exception.OrderDomainException;
 import com.commerce.platform.outbox.OutboxStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.producer.RecordMetadata;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiConsumer;
 
 @Slf4j
 @Component
 public class KafkaMessageHelper {
 
+    private static final String OUTBOX_HOP = "created_to_produced";
+
     private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> outboxHopTimers = new ConcurrentHashMap<>();
+    private final LogSampler producedSummary;
 
-    public KafkaMessageHelper(ObjectMapper objectMapper) {
+    public KafkaMessageHelper(ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry,
+                              KafkaProducerConfigData kafkaProducerConfigData) {
         this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.producedSummary = new LogSampler(Duration.ofMillis(kafkaProducerConfigData.getLogSummaryIntervalMs()));
     }
 
     public <T> T getOrderEventPayload(String payload, Class<T> outputType) {
@@ -35,6 +52,7 @@ public class KafkaMessageHelper {
     getKafkaCallback(String responseTopicName,
                      T avroModel,
                      U outboxMessage,
+                     ZonedDateTime outboxCreatedAt,
                      BiConsumer<U, OutboxStatus> outboxCallback,
                      UUID orderId, String avroModelName
     ) {
@@ -45,15 +63,68 @@ public class KafkaMessageHelper {
                 outboxCallback.accept(outboxMessage, OutboxStatus.FAILED);
             } else {
                 RecordMetadata metadata = result.getRecordMetadata();
-                log.info("Received successful response from Kafka for order id: {}" +
-                                " Topic: {} Partition: {} Offset: {} Timestamp: {}",
-                        orderId,
-                        metadata.topic(),
-                        metadata.partition(),
-                        metadata.offset(),
-                        metadata.timestamp());
+                if (log.isDebugEnabled()) {
+                    log.debug("Received successful response from Kafka for order id: {}" +
+                                    " Topic: {} Partition: {} Offset: {} Timestamp: {}",
+                            orderId,
+                            metadata.topic(),
+                            metadata.partition(),
+                            metadata.offset(),
+                            metadata.timestamp());
+                }
+                logProducedSummary(metadata.topic());
+                recordOutboxHop(metadata.topic(), outboxCreatedAt);
+                outboxCallback.accept(outboxMessage, OutboxStatus.COMPLETED);
+            }
+        };
+    }
+
+    public <K, U> BiConsumer<SendResult<K, byte[]>, Throwable>
+    getSerializedKafkaCallback(String topicName,
+                               U outboxMessage,
+                               ZonedDateTime outboxCreatedAt,
+                               BiConsumer<U, OutboxStatus> outboxCallback,
+                               UUID sagaId,
+                               String avroModelName
+    ) {
+        return (result, ex) -> {
+            if (ex != null) {
+                log.error("Error while sending {} for saga id: {} to topic {}",
+                        avroModelName, sagaId, topicName, ex);
+                outboxCallback.accept(outboxMessage, OutboxStatus.FAILED);
+            } else {
+                RecordMetadata metadata = result.getRecordMetadata();
+                if (log.isDebugEnabled()) {
+                    log.debug("Received successful response from Kafka for saga id: {}" +
+                                    " Topic: {} Partition: {} Offset: {} Timestamp: {}",
+                            sagaId,
+                            metadata.topic(),
+                            metadata.partition(),
+                            metadata.offset(),
+                            metadata.timestamp());
+                }
+                logProducedSummary(metadata.topic());
+                recordOutboxHop(metadata.topic(), outboxCreatedAt);
                 outboxCallback.accept(outboxMessage, OutboxStatus.COMPLETED);
             }
         };
     }
+
+    private void logProducedSummary(String topicName) {
+        long produced = producedSummary.record(topicName, 1);
+        if (produced > 0) {
+            log.info("Produced {} messages to topic {} since last summary", produced, topicName);
+        }
+    }
+
+    private void recordOutboxHop(String topicName, ZonedDateTime outboxCreatedAt) {
+        if (outboxCreatedAt == null) {
+            return;
+        }
+        outboxHopTimers.computeIfAbsent(topicName, topic -> Timer.builder("saga.hop.latency")
+                        .tags("hop", OUTBOX_HOP, "topic", topic)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry))
+                .record(Duration.between(outboxCreatedAt, ZonedDateTime.now()));
+    }
 }
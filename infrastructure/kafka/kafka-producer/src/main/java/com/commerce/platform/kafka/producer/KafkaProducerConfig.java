@@ -2,17 +2,25 @@ package com.commerce.platform.kafka.producer;
 
 import com.commerce.platform.kafka.config.data.KafkaConfigData;
 import com.commerce.platform.kafka.config.data.KafkaProducerConfigData;
+import com.commerce.platform.kafka.config.data.KafkaProducerProfile;
 import org.apache.avro.specific.SpecificRecordBase;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.beans.BeanUtils;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.util.ClassUtils;
 
 import java.io.Serializable;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.function.Supplier;
 
 @Configuration
 public class KafkaProducerConfig<K extends Serializable, V extends SpecificRecordBase> {
@@ -43,17 +51,87 @@ public class KafkaProducerConfig<K extends Serializable, V extends SpecificRecor
         props.put(ProducerConfig.METADATA_MAX_AGE_CONFIG, kafkaProducerConfigData.getMetadataMaxAgeMs());
         props.put("schema.registry.cache.size", kafkaProducerConfigData.getSchemaRegistryCacheSize());
         props.put("auto.register.schemas", kafkaProducerConfigData.getAutoRegisterSchemas());
+        Map<String, String> pinnedValueTypes = new LinkedHashMap<>();
+        kafkaProducerConfigData.getPinnedValueTypes().forEach(pinned -> pinnedValueTypes.put(pinned.getTopic(), pinned.getType()));
+        props.put(CachedAvroSerializer.PINNED_VALUE_TYPES_CONFIG, pinnedValueTypes);
         
         return props;
     }
 
+    /**
+     * value serializer 를 기동 시 한 번 만들어 configure 하고 모든 producer 가 공유한다.
+     * producer 는 첫 전송 때 만들어지므로, 여기서 configure 해야 schema id 고정이 기동 중에 끝나고 실패하면 기동이 멈춘다.
+     */
+    @Bean
+    @SuppressWarnings("unchecked")
+    public Serializer<V> valueSerializer() {
+        Class<?> serializerClass = ClassUtils.resolveClassName(kafkaProducerConfigData.getValueSerializerClass(), null);
+        Serializer<V> serializer = BeanUtils.instantiateClass(serializerClass, Serializer.class);
+        serializer.configure(producerConfig(), false);
+        return serializer;
+    }
+
     @Bean
     public ProducerFactory<K, V> producerFactory() {
-        return new DefaultKafkaProducerFactory<>(producerConfig());
+        return new DefaultKafkaProducerFactory<>(producerConfig(), (Serializer<K>) null, valueSerializer(), false);
     }
 
     @Bean
+    @Primary
     public KafkaTemplate<K, V> kafkaTemplate() {
         return new KafkaTemplate<>(producerFactory());
     }
+
+    @Bean
+    public ProducerFactory<K, byte[]> serializedProducerFactory() {
+        return new DefaultKafkaProducerFactory<>(serializedProducerConfig());
+    }
+
+    @Bean
+    public KafkaTemplate<K, byte[]> serializedKafkaTemplate() {
+        return new KafkaTemplate<>(serializedProducerFactory());
+    }
+
+    @Bean
+    @Primary
+    public KafkaProfileTemplates<K, V> kafkaProfileTemplates() {
+        return profileTemplates(kafkaTemplate(), () -> new HashMap<>(producerConfig()), valueSerializer());
+    }
+
+    @Bean
+    public KafkaProfileTemplates<K, byte[]> serializedKafkaProfileTemplates() {
+        return profileTemplates(serializedKafkaTemplate(), this::serializedProducerConfig, null);
+    }
+
+    private Map<String, Object> serializedProducerConfig() {
+        Map<String, Object> props = new HashMap<>(producerConfig());
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        return props;
+    }
+
+    private <T> KafkaProfileTemplates<K, T> profileTemplates(KafkaTemplate<K, T> defaultTemplate,
+                                                             Supplier<Map<String, Object>> baseConfig,
+                                                             Serializer<T> valueSerializer) {
+        KafkaProfileTemplates<K, T> templates = new KafkaProfileTemplates<>(defaultTemplate);
+        kafkaProducerConfigData.getProfiles().forEach((name, profile) ->
+                templates.addProfile(name, profileConfig(baseConfig.get(), profile), profile.getTopics(), valueSerializer));
+        return templates;
+    }
+
+    private Map<String, Object> profileConfig(Map<String, Object> props, KafkaProducerProfile profile) {
+        putIfSet(props, ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, profile.getEnableIdempotence());
+        putIfSet(props, ProducerConfig.ACKS_CONFIG, profile.getAcks());
+        putIfSet(props, ProducerConfig.LINGER_MS_CONFIG, profile.getLingerMs());
+        putIfSet(props, ProducerConfig.BATCH_SIZE_CONFIG, profile.getBatchSize());
+        putIfSet(props, ProducerConfig.COMPRESSION_TYPE_CONFIG, profile.getCompressionType());
+        putIfSet(props, ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION_CONFIG,
+                profile.getMaxInFlightRequestsPerConnection());
+        return props;
+    }
+
+    private static void putIfSet(Map<String, Object> props, String key, Object value) {
+        if (value != null) {
+            props.put(key, value);
+        }
+    }
 }
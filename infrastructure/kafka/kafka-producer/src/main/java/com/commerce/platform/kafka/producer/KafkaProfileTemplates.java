@@ -0,0 +1,50 @@
+package com.commerce.platform.kafka.producer;
+
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * producer profile 마다 별도의 ProducerFactory/KafkaTemplate 을 두고, topic 이 속한 profile 의 template 을 돌려준다.
+ * 어떤 profile 에도 속하지 않은 topic 은 기본 template 으로 보낸다.
+ */
+public class KafkaProfileTemplates<K, V> {
+
+    private final KafkaTemplate<K, V> defaultTemplate;
+    private final Map<String, KafkaTemplate<K, V>> topicTemplates = new HashMap<>();
+    private final Map<String, DefaultKafkaProducerFactory<K, V>> profileFactories = new HashMap<>();
+
+    public KafkaProfileTemplates(KafkaTemplate<K, V> defaultTemplate) {
+        this.defaultTemplate = defaultTemplate;
+    }
+
+    /**
+     * valueSerializer 가 있으면 configure 를 마친 그 인스턴스를 공유하고, 없으면 producerConfig 의 serializer 클래스로 만든다.
+     */
+    public void addProfile(String profileName, Map<String, Object> producerConfig, List<String> topics, Serializer<V> valueSerializer) {
+        DefaultKafkaProducerFactory<K, V> producerFactory = valueSerializer != null
+                ? new DefaultKafkaProducerFactory<>(producerConfig, (Serializer<K>) null, valueSerializer, false)
+                : new DefaultKafkaProducerFactory<>(producerConfig);
+        KafkaTemplate<K, V> template = new KafkaTemplate<>(producerFactory);
+        profileFactories.put(profileName, producerFactory);
+        for (String topic : topics) {
+            KafkaTemplate<K, V> previous = topicTemplates.putIfAbsent(topic, template);
+            if (previous != null) {
+                throw new IllegalStateException("Topic " + topic + " is assigned to more than one producer profile");
+            }
+        }
+    }
+
+    public KafkaTemplate<K, V> forTopic(String topicName) {
+        return topicTemplates.getOrDefault(topicName, defaultTemplate);
+    }
+
+    public void destroy() {
+        defaultTemplate.destroy();
+        profileFactories.values().forEach(DefaultKafkaProducerFactory::destroy);
+    }
+}
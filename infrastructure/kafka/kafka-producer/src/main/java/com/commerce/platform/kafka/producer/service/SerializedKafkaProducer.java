@@ -0,0 +1,10 @@
+package com.commerce.platform.kafka.producer.service;
+
+import org.springframework.kafka.support.SendResult;
+
+import java.io.Serializable;
+import java.util.concurrent.CompletableFuture;
+
+public interface SerializedKafkaProducer<K extends Serializable> {
+    CompletableFuture<SendResult<K, byte[]>> send(String topicName, K key, byte[] value);
+}
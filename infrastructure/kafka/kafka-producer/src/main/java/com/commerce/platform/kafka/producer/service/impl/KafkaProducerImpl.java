@@ -1,12 +1,12 @@
 package com.commerce.platform.kafka.producer.service.impl;
 
+import com.commerce.platform.kafka.producer.KafkaProfileTemplates;
 import com.commerce.platform.kafka.producer.exception.KafkaProducerException;
 import com.commerce.platform.kafka.producer.service.KafkaProducer;
 import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.avro.specific.SpecificRecordBase;
 import org.springframework.kafka.KafkaException;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
 
@@ -17,17 +17,19 @@ import java.util.concurrent.CompletableFuture;
 @Component
 public class KafkaProducerImpl<K extends Serializable, V extends SpecificRecordBase> implements KafkaProducer<K, V> {
 
-    private final KafkaTemplate<K, V> kafkaTemplate;
+    private final KafkaProfileTemplates<K, V> kafkaProfileTemplates;
 
-    public KafkaProducerImpl(KafkaTemplate<K, V> kafkaTemplate) {
-        this.kafkaTemplate = kafkaTemplate;
+    public KafkaProducerImpl(KafkaProfileTemplates<K, V> kafkaProfileTemplates) {
+        this.kafkaProfileTemplates = kafkaProfileTemplates;
     }
 
     @Override
     public CompletableFuture<SendResult<K, V>> send(String topicName, K key, V message) {
-        log.info("Sending message={} to topic={}", message, topicName);
+        if (log.isDebugEnabled()) {
+            log.debug("Sending message={} to topic={}", message, topicName);
+        }
         try {
-            return kafkaTemplate.send(topicName, key, message);
+            return kafkaProfileTemplates.forTopic(topicName).send(topicName, key, message);
         } catch (KafkaException e) {
             log.error("Error on kafka producer with key: {}, message: {} and exception: {}", key, message,
                     e.getMessage());
@@ -37,9 +39,9 @@ public class KafkaProducerImpl<K extends Serializable, V extends SpecificRecordB
 
     @PreDestroy
     public void close() {
-        if (kafkaTemplate != null) {
+        if (kafkaProfileTemplates != null) {
             log.info("Closing kafka producer!");
-            kafkaTemplate.destroy();
+            kafkaProfileTemplates.destroy();
         }
     }
 }
@@ -0,0 +1,47 @@
+package com.commerce.platform.kafka.producer.service.impl;
+
+import com.commerce.platform.kafka.producer.KafkaProfileTemplates;
+import com.commerce.platform.kafka.producer.exception.KafkaProducerException;
+import com.commerce.platform.kafka.producer.service.SerializedKafkaProducer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Component;
+
+import java.io.Serializable;
+import java.util.concurrent.CompletableFuture;
+
+@Slf4j
+@Component
+public class SerializedKafkaProducerImpl<K extends Serializable> implements SerializedKafkaProducer<K> {
+
+    private final KafkaProfileTemplates<K, byte[]> serializedKafkaProfileTemplates;
+
+    public SerializedKafkaProducerImpl(@Qualifier("serializedKafkaProfileTemplates")
+                                       KafkaProfileTemplates<K, byte[]> serializedKafkaProfileTemplates) {
+        this.serializedKafkaProfileTemplates = serializedKafkaProfileTemplates;
+    }
+
+    @Override
+    public CompletableFuture<SendResult<K, byte[]>> send(String topicName, K key, byte[] value) {
+        if (log.isDebugEnabled()) {
+            log.debug("Sending {} bytes with key={} to topic={}", value.length, key, topicName);
+        }
+        try {
+            return serializedKafkaProfileTemplates.forTopic(topicName).send(topicName, key, value);
+        } catch (KafkaException e) {
+            log.error("Error on kafka producer with key: {} and exception: {}", key, e.getMessage());
+            throw new KafkaProducerException("Error on kafka producer with key: " + key);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (serializedKafkaProfileTemplates != null) {
+            log.info("Closing serialized kafka producer!");
+            serializedKafkaProfileTemplates.destroy();
+        }
+    }
+}
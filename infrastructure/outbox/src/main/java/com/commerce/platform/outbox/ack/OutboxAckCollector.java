@@ -0,0 +1,106 @@
+package com.commerce.platform.outbox.ack;
+
+import com.commerce.platform.outbox.OutboxStatus;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Kafka producer callback 에서 들어오는 outbox 완료 상태를 버퍼에 모아 status 별로 묶어서 반영한다.
+ * callback 스레드는 큐에 넣기만 하고, 전용 스레드가 flushInterval 마다 또는 batchSize 만큼 쌓이면 flush 한다.
+ * flush 에 실패한 메시지는 PROCESSING 으로 남아 lease 가 만료되면 다시 발행된다.
+ */
+@Slf4j
+public class OutboxAckCollector {
+
+    private final String name;
+    private final int batchSize;
+    private final AckFlush ackFlush;
+    private final Queue<OutboxAck> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicBoolean flushRequested = new AtomicBoolean(false);
+    private final ScheduledExecutorService flusher;
+
+    public OutboxAckCollector(String name,
+                              int batchSize,
+                              Duration flushInterval,
+                              AckFlush ackFlush) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Outbox ack batch size must be positive");
+        }
+        this.name = name;
+        this.batchSize = batchSize;
+        this.ackFlush = ackFlush;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> new Thread(runnable, name + "-outbox-ack"));
+
+        long flushIntervalMillis = Math.max(1, flushInterval.toMillis());
+        flusher.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void acknowledge(UUID outboxId, OutboxStatus status) {
+        pending.add(new OutboxAck(outboxId, status));
+        if (pendingCount.incrementAndGet() >= batchSize && flushRequested.compareAndSet(false, true)) {
+            try {
+                flusher.execute(this::flush);
+            } catch (RejectedExecutionException e) {
+                flushRequested.set(false);
+            }
+        }
+    }
+
+    public void shutdown() {
+        flusher.shutdown();
+        try {
+            if (!flusher.awaitTermination(10, TimeUnit.SECONDS)) {
+                flusher.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            flusher.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    private void flush() {
+        flushRequested.set(false);
+        Map<OutboxStatus, List<UUID>> idsByStatus = new EnumMap<>(OutboxStatus.class);
+        OutboxAck ack;
+        while ((ack = pending.poll()) != null) {
+            pendingCount.decrementAndGet();
+            idsByStatus.computeIfAbsent(ack.status(), status -> new ArrayList<>()).add(ack.outboxId());
+        }
+
+        idsByStatus.forEach((status, ids) -> {
+            for (int from = 0; from < ids.size(); from += batchSize) {
+                List<UUID> chunk = ids.subList(from, Math.min(from + batchSize, ids.size()));
+                try {
+                    ackFlush.flush(chunk, status);
+                } catch (Exception e) {
+                    log.error("Failed to flush {} {} outbox acknowledgements with status {}",
+                            chunk.size(), name, status, e);
+                }
+            }
+        });
+    }
+
+    private record OutboxAck(UUID outboxId, OutboxStatus status) {
+    }
+
+    @FunctionalInterface
+    public interface AckFlush {
+        void flush(List<UUID> outboxIds, OutboxStatus status);
+    }
+}
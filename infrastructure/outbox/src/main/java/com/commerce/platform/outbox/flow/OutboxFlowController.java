@@ -0,0 +1,151 @@
+package com.commerce.platform.outbox.flow;
+
+import com.commerce.platform.outbox.OutboxStatus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Kafka 전송 지연과 in-flight 수를 보고 outbox claim 크기와 in-flight 한도를 AIMD 방식으로 조절한다.
+ * 직전 조절 이후 성공한 ack 가 있고 지연이 목표 이하이며 backlog 가 남아 있으면 step 만큼 늘리고,
+ * 지연이 목표를 넘거나 전송이 실패하면 절반으로 줄인다.
+ * 지연 평균은 ack 가 없는 동안 시간에 따라 반감시켜, 트래픽이 끊긴 뒤 오래된 높은 지연이 한도를 계속 묶어 두지 않게 한다.
+ * sendExpiry 안에 ack 되지 않은 전송은 실패로 보고 in-flight 에서 뺀다.
+ * claim 크기는 남은 in-flight 여유를 넘지 않으므로 브로커가 느려지면 새로 점유하는 행도 함께 줄어든다.
+ */
+@Slf4j
+public class OutboxFlowController {
+
+    private static final int LATENCY_SMOOTHING = 8;
+    // ack 없이 이 시간(목표 지연의 배수)이 지날 때마다 지연 평균을 절반으로 줄인다
+    private static final int LATENCY_HALF_LIFE_TARGETS = 8;
+
+    private final String name;
+    private final int minBatchSize;
+    private final int maxBatchSize;
+    private final int maxInFlight;
+    private final int step;
+    private final long targetLatencyNanos;
+    private final long latencyHalfLifeNanos;
+    private final long sendExpiryNanos;
+    private final Map<UUID, Long> sendStartedAt = new ConcurrentHashMap<>();
+    private final AtomicInteger batchSize;
+    private final AtomicInteger inFlightLimit;
+    private final AtomicLong smoothedLatencyNanos = new AtomicLong();
+    private final AtomicLong lastLatencySampleAt = new AtomicLong(System.nanoTime());
+    private final AtomicInteger succeededSinceAdjust = new AtomicInteger();
+    private final AtomicBoolean sendFailed = new AtomicBoolean(false);
+    private final Timer sendTimer;
+
+    public OutboxFlowController(String name,
+                                int initialBatchSize,
+                                int minBatchSize,
+                                int maxBatchSize,
+                                int maxInFlight,
+                                int step,
+                                Duration targetLatency,
+                                Duration sendExpiry,
+                                MeterRegistry meterRegistry) {
+        if (minBatchSize < 1 || maxBatchSize < minBatchSize || maxInFlight < maxBatchSize) {
+            throw new IllegalArgumentException("Outbox flow bounds must satisfy 1 <= min <= max <= max in-flight");
+        }
+        this.name = name;
+        this.minBatchSize = minBatchSize;
+        this.maxBatchSize = maxBatchSize;
+        this.maxInFlight = maxInFlight;
+        this.step = Math.max(1, step);
+        this.targetLatencyNanos = targetLatency.toNanos();
+        this.latencyHalfLifeNanos = Math.max(1, targetLatencyNanos * LATENCY_HALF_LIFE_TARGETS);
+        this.sendExpiryNanos = sendExpiry.toNanos();
+        this.batchSize = new AtomicInteger(clamp(initialBatchSize, minBatchSize, maxBatchSize));
+        this.inFlightLimit = new AtomicInteger(clamp(initialBatchSize, minBatchSize, maxInFlight));
+
+        Tags tags = Tags.of("service", name);
+        Gauge.builder("outbox.flow.batch.size", batchSize, AtomicInteger::get)
+                .tags(tags)
+                .register(meterRegistry);
+        Gauge.builder("outbox.flow.inflight.limit", inFlightLimit, AtomicInteger::get)
+                .tags(tags)
+                .register(meterRegistry);
+        Gauge.builder("outbox.flow.inflight", sendStartedAt, Map::size)
+                .tags(tags)
+                .register(meterRegistry);
+        this.sendTimer = Timer.builder("outbox.send.latency")
+                .tags(tags)
+                .register(meterRegistry);
+    }
+
+    public int nextClaimSize() {
+        expireStaleSends();
+        int available = inFlightLimit.get() - sendStartedAt.size();
+        return Math.max(0, Math.min(batchSize.get(), available));
+    }
+
+    public void onClaimed(int requested, int claimed) {
+        boolean latencyExceeded = currentLatencyNanos() > targetLatencyNanos;
+        boolean acknowledged = succeededSinceAdjust.getAndSet(0) > 0;
+        if (sendFailed.getAndSet(false) || latencyExceeded) {
+            int newBatchSize = batchSize.updateAndGet(size -> Math.max(minBatchSize, size / 2));
+            int newLimit = inFlightLimit.updateAndGet(limit -> Math.max(minBatchSize, limit / 2));
+            log.debug("{} outbox flow decreased to batch size {} and in-flight limit {}", name, newBatchSize, newLimit);
+        } else if (acknowledged && (requested == 0 || claimed >= requested)) {
+            // in-flight 가 가득 찼더라도(requested == 0) 그 사이 전송이 성공했을 때만 늘린다
+            batchSize.updateAndGet(size -> Math.min(maxBatchSize, size + step));
+            inFlightLimit.updateAndGet(limit -> Math.min(maxInFlight, limit + step));
+        }
+    }
+
+    public void onDispatched(UUID outboxId) {
+        sendStartedAt.put(outboxId, System.nanoTime());
+    }
+
+    public void onAcknowledged(UUID outboxId, OutboxStatus status) {
+        Long startedAt = sendStartedAt.remove(outboxId);
+        if (startedAt == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        long latencyNanos = now - startedAt;
+        sendTimer.record(latencyNanos, TimeUnit.NANOSECONDS);
+        long decayed = currentLatencyNanos();
+        smoothedLatencyNanos.set(decayed == 0 ? latencyNanos : decayed + (latencyNanos - decayed) / LATENCY_SMOOTHING);
+        lastLatencySampleAt.set(now);
+        if (status == OutboxStatus.FAILED) {
+            sendFailed.set(true);
+        } else {
+            succeededSinceAdjust.incrementAndGet();
+        }
+    }
+
+    private long currentLatencyNanos() {
+        long elapsed = System.nanoTime() - lastLatencySampleAt.get();
+        return (long) (smoothedLatencyNanos.get() * Math.pow(0.5, (double) elapsed / latencyHalfLifeNanos));
+    }
+
+    private void expireStaleSends() {
+        long now = System.nanoTime();
+        int before = sendStartedAt.size();
+        sendStartedAt.values().removeIf(startedAt -> now - startedAt > sendExpiryNanos);
+        int expired = before - sendStartedAt.size();
+        if (expired > 0) {
+            log.warn("{} outbox flow dropped {} sends that were not acknowledged within {} ms",
+                    name, expired, TimeUnit.NANOSECONDS.toMillis(sendExpiryNanos));
+            sendFailed.set(true);
+        }
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}
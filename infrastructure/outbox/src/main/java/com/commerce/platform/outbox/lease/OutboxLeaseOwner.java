@@ -0,0 +1,28 @@
+package com.commerce.platform.outbox.lease;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * outbox 행을 lease 로 점유할 때 기록할 owner 값을 만든다.
+ * claim 마다 인스턴스 식별자에 순번을 붙인 값을 써서, 한 번의 UPDATE 로 점유한 행을 그 값으로 다시 조회할 수 있게 한다.
+ * 인스턴스 식별자는 서비스 이름과 기동 시 만든 UUID 전체로 정하며, 서비스마다 bean 하나를 만들어 outbox claim 과 shard 소유에 함께 쓴다.
+ */
+public class OutboxLeaseOwner {
+
+    private final String instanceId;
+    private final AtomicLong claimSequence = new AtomicLong();
+
+    public OutboxLeaseOwner(String serviceName, UUID instanceUuid) {
+        // lease_owner 컬럼(VARCHAR(64))에 순번까지 들어가도록 하이픈을 뺀다
+        this.instanceId = serviceName + "-" + instanceUuid.toString().replace("-", "");
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    public String nextClaim() {
+        return instanceId + ":" + claimSequence.incrementAndGet();
+    }
+}
@@ -0,0 +1,8 @@
+package com.commerce.platform.outbox.payload;
+
+/**
+ * outbox 에 저장되는 발행 직전의 메시지 값.
+ * value 는 그대로 Kafka 로 보낼 수 있는 바이트이고, schemaId 는 value 를 인코딩할 때 사용한 스키마의 registry id 이다.
+ */
+public record SerializedOutboxPayload(byte[] value, int schemaId) {
+}
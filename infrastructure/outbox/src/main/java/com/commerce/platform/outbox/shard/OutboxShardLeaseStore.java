@@ -0,0 +1,27 @@
+package com.commerce.platform.outbox.shard;
+
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxShardLeaseStore {
+
+    void createShards(int shardCount);
+
+    void heartbeat(String instanceId, ZonedDateTime expiresAt);
+
+    void removeExpiredInstances(ZonedDateTime now);
+
+    void removeInstance(String instanceId);
+
+    int countLiveInstances(ZonedDateTime now);
+
+    List<Integer> renewShards(String owner, ZonedDateTime expiresAt);
+
+    /**
+     * 비어있거나 lease 가 만료된 shard 를 limit 개까지 가져오고, 가져온 뒤 owner 가 가진 전체 shard 를 돌려준다.
+     */
+    List<Integer> acquireShards(String owner, ZonedDateTime now, ZonedDateTime expiresAt, int limit);
+
+    void releaseShards(String owner, Collection<Integer> shards);
+}
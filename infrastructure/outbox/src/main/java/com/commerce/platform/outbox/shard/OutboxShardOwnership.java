@@ -0,0 +1,78 @@
+package com.commerce.platform.outbox.shard;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 인스턴스가 lease 테이블에서 독점으로 가져간 outbox shard 목록을 관리한다.
+ * rebalance 마다 heartbeat 를 남기고, 살아있는 인스턴스 수로 나눈 몫보다 많이 가진 shard 는 내려놓고 모자라면 비어있거나 만료된 shard 를 가져온다.
+ * lease 를 갱신하지 못한 채 만료 시각이 지나면 다른 인스턴스가 가져갈 수 있으므로 스스로도 더 이상 소유하지 않은 것으로 본다.
+ */
+@Slf4j
+public class OutboxShardOwnership {
+
+    private final String instanceId;
+    private final Duration leaseDuration;
+    private final OutboxShardLeaseStore outboxShardLeaseStore;
+    private volatile OwnedShards ownedShards = new OwnedShards(Set.of(), ZonedDateTime.now());
+
+    public OutboxShardOwnership(String instanceId,
+                                Duration leaseDuration,
+                                OutboxShardLeaseStore outboxShardLeaseStore) {
+        this.instanceId = instanceId;
+        this.leaseDuration = leaseDuration;
+        this.outboxShardLeaseStore = outboxShardLeaseStore;
+    }
+
+    public void createShards() {
+        outboxShardLeaseStore.createShards(OutboxShards.SHARD_COUNT);
+    }
+
+    public Set<Integer> rebalance() {
+        ZonedDateTime now = ZonedDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        ZonedDateTime expiresAt = now.plus(leaseDuration);
+
+        outboxShardLeaseStore.heartbeat(instanceId, expiresAt);
+        outboxShardLeaseStore.removeExpiredInstances(now);
+        int target = OutboxShards.fairShare(outboxShardLeaseStore.countLiveInstances(now));
+
+        List<Integer> owned = new ArrayList<>(outboxShardLeaseStore.renewShards(instanceId, expiresAt));
+        if (owned.size() > target) {
+            List<Integer> surplus = owned.subList(target, owned.size());
+            outboxShardLeaseStore.releaseShards(instanceId, List.copyOf(surplus));
+            log.info("{} released outbox shards {}", instanceId, surplus);
+            surplus.clear();
+        } else if (owned.size() < target) {
+            List<Integer> acquired = outboxShardLeaseStore.acquireShards(instanceId, now, expiresAt, target - owned.size());
+            if (acquired.size() > owned.size()) {
+                log.info("{} now owns outbox shards {}", instanceId, acquired);
+            }
+            owned = acquired;
+        }
+
+        ownedShards = new OwnedShards(Set.copyOf(owned), expiresAt);
+        return ownedShards.shards();
+    }
+
+    public Set<Integer> getOwnedShards() {
+        OwnedShards current = ownedShards;
+        return current.validUntil().isAfter(ZonedDateTime.now()) ? current.shards() : Set.of();
+    }
+
+    public void release() {
+        OwnedShards current = ownedShards;
+        ownedShards = new OwnedShards(Set.of(), ZonedDateTime.now());
+        outboxShardLeaseStore.releaseShards(instanceId, current.shards());
+        outboxShardLeaseStore.removeInstance(instanceId);
+        log.info("{} released all outbox shards", instanceId);
+    }
+
+    private record OwnedShards(Set<Integer> shards, ZonedDateTime validUntil) {
+    }
+}
@@ -0,0 +1,25 @@
+package com.commerce.platform.outbox.shard;
+
+import java.util.UUID;
+
+/**
+ * saga_id 의 마지막 바이트로 고정된 개수의 shard 를 정한다.
+ * shard 는 outbox 행을 쓸 때 저장되므로 같은 saga 의 메시지는 항상 같은 shard 를 가진 인스턴스가 발행한다.
+ * SQL 에서도 ORD(SUBSTRING(saga_id, 16, 1)) % SHARD_COUNT 로 같은 값을 계산할 수 있다.
+ */
+public final class OutboxShards {
+
+    public static final int SHARD_COUNT = 32;
+
+    private OutboxShards() {
+    }
+
+    public static int shardOf(UUID sagaId) {
+        return (int) (sagaId.getLeastSignificantBits() & 0xFF) % SHARD_COUNT;
+    }
+
+    public static int fairShare(int instanceCount) {
+        int instances = Math.max(1, instanceCount);
+        return (SHARD_COUNT + instances - 1) / instances;
+    }
+}
@@ -0,0 +1,55 @@
+package com.commerce.platform.order.service.application.rest;
+
+import com.commerce.platform.inbox.parking.InboxReplayResult;
+import com.commerce.platform.inbox.parking.ParkedInboxMessage;
+import com.commerce.platform.order.service.domain.ports.input.service.OrderInboxParkingLotService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Slf4j
+@RestController
+@RequestMapping(value = "/api/v1/admin/inbox/parked")
+@Tag(name = "Inbox parking lot", description = "Parked inbox message admin API")
+public class OrderInboxParkingLotController {
+
+    private final OrderInboxParkingLotService orderInboxParkingLotService;
+
+    public OrderInboxParkingLotController(OrderInboxParkingLotService orderInboxParkingLotService) {
+        this.orderInboxParkingLotService = orderInboxParkingLotService;
+    }
+
+    @GetMapping
+    @Operation(summary = "List parked inbox messages",
+            description = "Lists inbox messages that exhausted their retries, most recently parked first, with the last error")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Parked messages returned")
+    })
+    public ResponseEntity<List<ParkedInboxMessage>> getParkedMessages(
+            @Parameter(description = "Only messages parked before this time")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime parkedBefore,
+            @Parameter(description = "Maximum number of messages") @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(orderInboxParkingLotService.findParkedMessages(parkedBefore, limit));
+    }
+
+    @PostMapping("/replay")
+    @Operation(summary = "Replay parked inbox messages",
+            description = "Queues the given parked inbox messages for rate-limited replay")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Messages queued for replay")
+    })
+    public ResponseEntity<InboxReplayResult> replayParkedMessages(@RequestBody List<UUID> inboxMessageIds) {
+        log.info("Replay requested for {} parked inbox messages", inboxMessageIds.size());
+        return ResponseEntity.accepted().body(orderInboxParkingLotService.replayParkedMessages(inboxMessageIds));
+    }
+}
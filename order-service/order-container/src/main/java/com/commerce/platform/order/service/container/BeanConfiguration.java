@@ -1,7 +1,9 @@
 package com.commerce.platform.order.service.container;
 
+import com.commerce.platform.domain.util.UuidGenerator;
 import com.commerce.platform.order.service.domain.OrderDomainService;
 import com.commerce.platform.order.service.domain.OrderDomainServiceImpl;
+import com.commerce.platform.outbox.lease.OutboxLeaseOwner;
 import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -21,6 +23,11 @@ public class BeanConfiguration {
         return new OrderDomainServiceImpl();
     }
 
+    @Bean
+    public OutboxLeaseOwner outboxLeaseOwner() {
+        return new OutboxLeaseOwner("order-service", UuidGenerator.generate());
+    }
+
     @Bean
     public RestClient restClient() {
         var requestConfig = RequestConfig.custom()
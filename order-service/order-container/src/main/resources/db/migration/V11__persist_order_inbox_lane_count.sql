@@ -0,0 +1,11 @@
+-- lane 별 slot 구간은 lane 수로 정해지므로 모든 인스턴스가 같은 lane 수를 쓰도록 DB 에 한 번만 기록한다
+CREATE TABLE IF NOT EXISTS `order_inbox_lane_config`
+(
+    id         TINYINT NOT NULL,
+    lane_count INT     NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- 이미 lane 을 만든 환경은 그 lane 수를 그대로 이어 쓴다
+INSERT INTO `order_inbox_lane_config` (id, lane_count)
+SELECT 1, COUNT(*) FROM `order_inbox_lane` HAVING COUNT(*) > 0;
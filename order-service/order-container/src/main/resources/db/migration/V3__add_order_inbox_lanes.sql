@@ -0,0 +1,10 @@
+ALTER TABLE `order_inbox`
+    ADD COLUMN lane_slot INT NOT NULL DEFAULT 0 AFTER saga_id;
+
+CREATE INDEX `idx_order_inbox_status_lane_received` ON `order_inbox` (status, lane_slot, received_at);
+
+CREATE TABLE IF NOT EXISTS `order_inbox_lane`
+(
+    lane INT NOT NULL,
+    PRIMARY KEY (lane)
+);
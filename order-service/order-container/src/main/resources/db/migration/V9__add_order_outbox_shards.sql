@@ -0,0 +1,21 @@
+ALTER TABLE `order_outbox`
+    ADD COLUMN shard INT NOT NULL DEFAULT 0 AFTER saga_id;
+
+UPDATE `order_outbox` SET shard = ORD(SUBSTRING(saga_id, 16, 1)) % 32 WHERE outbox_status IN ('STARTED', 'PROCESSING');
+
+CREATE INDEX `idx_order_outbox_shard_status` ON `order_outbox` (shard, outbox_status, created_at);
+
+CREATE TABLE IF NOT EXISTS `order_outbox_shard`
+(
+    shard            INT         NOT NULL,
+    owner            VARCHAR(64) NULL,
+    lease_expires_at DATETIME(3) NULL,
+    PRIMARY KEY (shard)
+);
+
+CREATE TABLE IF NOT EXISTS `order_outbox_dispatcher`
+(
+    instance_id          VARCHAR(64) NOT NULL,
+    heartbeat_expires_at DATETIME(3) NOT NULL,
+    PRIMARY KEY (instance_id)
+);
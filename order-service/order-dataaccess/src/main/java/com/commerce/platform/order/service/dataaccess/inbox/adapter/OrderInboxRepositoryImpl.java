@@ -3,7 +3,12 @@ package com.commerce.platform.order.service.dataaccess.inbox.adapter;
 import com.commerce.platform.domain.event.ServiceMessageType;
 import com.commerce.platform.order.service.dataaccess.inbox.mapper.OrderInboxDataAccessMapper;
 import com.commerce.platform.order.service.dataaccess.inbox.repository.OrderInboxJpaRepository;
+import com.commerce.platform.inbox.InboxPartitions;
 import com.commerce.platform.inbox.InboxStatus;
+import com.commerce.platform.inbox.lane.InboxLaneDepth;
+import com.commerce.platform.inbox.lane.InboxLanes;
+import com.commerce.platform.inbox.parking.ParkedInboxMessage;
+import com.commerce.platform.inbox.retry.InboxFailure;
 import com.commerce.platform.order.service.domain.inbox.model.OrderInboxMessage;
 import com.commerce.platform.order.service.domain.ports.output.repository.OrderInboxRepository;
 import lombok.extern.slf4j.Slf4j;
@@ -11,17 +16,25 @@ import org.jooq.DSLContext;
 import org.jooq.Record;
 import org.jooq.Result;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.sql.Timestamp;
-import org.jooq.JSON;
 
 import static com.commerce.platform.order.service.dataaccess.jooq.tables.OrderInbox.ORDER_INBOX;
+import static com.commerce.platform.order.service.dataaccess.jooq.tables.OrderInboxLane.ORDER_INBOX_LANE;
+import static com.commerce.platform.order.service.dataaccess.jooq.tables.OrderInboxLaneConfig.ORDER_INBOX_LANE_CONFIG;
 import static org.jooq.impl.DSL.*;
+import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -32,6 +45,9 @@ public class OrderInboxRepositoryImpl implements OrderInboxRepository {
     private final OrderInboxJpaRepository orderInboxJpaRepository;
     private final OrderInboxDataAccessMapper orderInboxDataAccessMapper;
     private final DSLContext dsl;
+    
+    @Value("${order-service.inbox-insert-chunk-size:100}")
+    private int insertChunkSize;
 
     public OrderInboxRepositoryImpl(OrderInboxJpaRepository orderInboxJpaRepository,
                                     OrderInboxDataAccessMapper orderInboxDataAccessMapper,
@@ -56,37 +72,91 @@ public class OrderInboxRepositoryImpl implements OrderInboxRepository {
             return orderInboxMessages;
         }
         
-        int insertedCount = 0;
-        for (OrderInboxMessage message : orderInboxMessages) {
-            int result = dsl.insertInto(ORDER_INBOX)
-                .columns(
-                    ORDER_INBOX.ID,
-                    ORDER_INBOX.MESSAGE_ID,
-                    ORDER_INBOX.SAGA_ID,
-                    ORDER_INBOX.TYPE,
-                    ORDER_INBOX.PAYLOAD,
-                    ORDER_INBOX.STATUS,
-                    ORDER_INBOX.RECEIVED_AT,
-                    ORDER_INBOX.RETRY_COUNT
-                )
-                .values(
+        List<OrderInboxMessage> inserted = new ArrayList<>(orderInboxMessages.size());
+        for (int from = 0; from < orderInboxMessages.size(); from += insertChunkSize) {
+            List<OrderInboxMessage> chunk = orderInboxMessages.subList(from,
+                Math.min(from + insertChunkSize, orderInboxMessages.size()));
+            
+            var insertQuery = dsl.insertInto(ORDER_INBOX,
+                ORDER_INBOX.ID,
+                ORDER_INBOX.MESSAGE_ID,
+                ORDER_INBOX.SAGA_ID,
+                ORDER_INBOX.LANE_SLOT,
+                ORDER_INBOX.TYPE,
+                ORDER_INBOX.PAYLOAD,
+                ORDER_INBOX.PAYLOAD_SCHEMA_FINGERPRINT,
+                ORDER_INBOX.STATUS,
+                ORDER_INBOX.RECEIVED_AT,
+                ORDER_INBOX.PARTITION_DATE,
+                ORDER_INBOX.RETRY_COUNT);
+            
+            for (OrderInboxMessage message : chunk) {
+                insertQuery = insertQuery.values(
                     message.getId(),
                     message.getMessageId(),
                     message.getSagaId(),
+                    InboxLanes.slotOf(message.getSagaId()),
                     message.getType().name(),
-                    JSON.json(message.getPayload()),
+                    message.getPayload(),
+                    message.getPayloadSchemaFingerprint(),
                     message.getStatus().name(),
                     message.getReceivedAt().toLocalDateTime(),
+                    InboxPartitions.partitionDateOf(message.getMessageId(), message.getReceivedAt()),
                     message.getRetryCount()
-                )
-                .onDuplicateKeyIgnore()
-                .execute();
-            insertedCount += result;
+                );
+            }
+            
+            int insertedCount = insertQuery.onDuplicateKeyIgnore().execute();
+            if (insertedCount == chunk.size()) {
+                inserted.addAll(chunk);
+                continue;
+            }
+            // 중복으로 무시된 메시지는 이미 다른 id 로 저장돼 있으므로 이번에 넣은 id 로 실제 저장된 행만 고른다
+            Set<UUID> insertedIds = dsl.select(ORDER_INBOX.ID)
+                .from(ORDER_INBOX)
+                .where(ORDER_INBOX.ID.in(chunk.stream().map(OrderInboxMessage::getId).toList()))
+                .fetchSet(ORDER_INBOX.ID);
+            chunk.stream()
+                .filter(message -> insertedIds.contains(message.getId()))
+                .forEach(inserted::add);
         }
         
-        log.info("Inserted {} new messages out of {} total messages to inbox", insertedCount, orderInboxMessages.size());
+        log.debug("Inserted {} new messages out of {} total messages to inbox, {} duplicates ignored",
+            inserted.size(), orderInboxMessages.size(), orderInboxMessages.size() - inserted.size());
         
-        return orderInboxMessages;
+        return inserted;
+    }
+
+    @Override
+    public boolean saveIfAbsent(OrderInboxMessage orderInboxMessage) {
+        return dsl.insertInto(ORDER_INBOX)
+            .set(ORDER_INBOX.ID, orderInboxMessage.getId())
+            .set(ORDER_INBOX.MESSAGE_ID, orderInboxMessage.getMessageId())
+            .set(ORDER_INBOX.SAGA_ID, orderInboxMessage.getSagaId())
+            .set(ORDER_INBOX.LANE_SLOT, InboxLanes.slotOf(orderInboxMessage.getSagaId()))
+            .set(ORDER_INBOX.TYPE, orderInboxMessage.getType().name())
+            .set(ORDER_INBOX.PAYLOAD, orderInboxMessage.getPayload())
+            .set(ORDER_INBOX.PAYLOAD_SCHEMA_FINGERPRINT, orderInboxMessage.getPayloadSchemaFingerprint())
+            .set(ORDER_INBOX.STATUS, orderInboxMessage.getStatus().name())
+            .set(ORDER_INBOX.RECEIVED_AT, orderInboxMessage.getReceivedAt().toLocalDateTime())
+            .set(ORDER_INBOX.PARTITION_DATE, InboxPartitions.partitionDateOf(orderInboxMessage.getMessageId(), orderInboxMessage.getReceivedAt()))
+            .set(ORDER_INBOX.PROCESSED_AT, orderInboxMessage.getProcessedAt() != null ? orderInboxMessage.getProcessedAt().toLocalDateTime() : null)
+            .set(ORDER_INBOX.RETRY_COUNT, orderInboxMessage.getRetryCount())
+            .onDuplicateKeyIgnore()
+            .execute() == 1;
+    }
+
+    @Override
+    public Set<UUID> findSagaIdsWithUnfinishedMessages(Collection<UUID> sagaIds) {
+        if (sagaIds.isEmpty()) {
+            return Set.of();
+        }
+
+        return dsl.selectDistinct(ORDER_INBOX.SAGA_ID)
+            .from(ORDER_INBOX)
+            .where(ORDER_INBOX.SAGA_ID.in(sagaIds)
+                .and(ORDER_INBOX.STATUS.in(InboxStatus.RECEIVED.name(), InboxStatus.FAILED.name(), InboxStatus.REPLAY_QUEUED.name())))
+            .fetchSet(ORDER_INBOX.SAGA_ID);
     }
 
     @Override
@@ -108,10 +178,31 @@ public class OrderInboxRepositoryImpl implements OrderInboxRepository {
     }
     
     @Override
-    public List<OrderInboxMessage> findByStatusAndRetryCountLessThanOrderByReceivedAtWithSkipLock(InboxStatus status, int maxRetryCount, int limit) {
+    public List<OrderInboxMessage> findByStatusAndNextAttemptAtBeforeOrderByNextAttemptAtWithSkipLock(InboxStatus status, ZonedDateTime now, int limit) {
+        var result = dsl.selectFrom(ORDER_INBOX)
+            .where(ORDER_INBOX.STATUS.eq(status.name())
+                .and(ORDER_INBOX.NEXT_ATTEMPT_AT.le(now.toLocalDateTime())))
+            .orderBy(ORDER_INBOX.NEXT_ATTEMPT_AT)
+            .limit(limit)
+            .forUpdate().skipLocked()
+            .fetch();
+        
+        return result.map(this::mapToOrderInboxMessage);
+    }
+    
+    @Override
+    public List<OrderInboxMessage> findByStatusAndLaneSlotRangeOrderByReceivedAtWithSkipLock(InboxStatus status, int fromSlot, int toSlot, int limit) {
+        // 같은 saga 의 앞선 메시지가 재시도나 replay 를 기다리거나 PARKED 로 멈춰 있는 동안에는 뒤 메시지를 가져오지 않는다
+        var earlier = ORDER_INBOX.as("earlier");
         var result = dsl.selectFrom(ORDER_INBOX)
             .where(ORDER_INBOX.STATUS.eq(status.name())
-                .and(ORDER_INBOX.RETRY_COUNT.lt(maxRetryCount)))
+                .and(ORDER_INBOX.LANE_SLOT.ge(fromSlot))
+                .and(ORDER_INBOX.LANE_SLOT.lt(toSlot))
+                .and(notExists(selectOne()
+                    .from(earlier)
+                    .where(earlier.SAGA_ID.eq(ORDER_INBOX.SAGA_ID)
+                        .and(earlier.STATUS.in(InboxStatus.FAILED.name(), InboxStatus.PARKED.name(), InboxStatus.REPLAY_QUEUED.name()))
+                        .and(earlier.RECEIVED_AT.lt(ORDER_INBOX.RECEIVED_AT))))))
             .orderBy(ORDER_INBOX.RECEIVED_AT)
             .limit(limit)
             .forUpdate().skipLocked()
@@ -120,13 +211,149 @@ public class OrderInboxRepositoryImpl implements OrderInboxRepository {
         return result.map(this::mapToOrderInboxMessage);
     }
     
+    @Override
+    public List<InboxLaneDepth> countByStatusGroupByLane(InboxStatus status, int laneCount) {
+        var depths = dsl.select(ORDER_INBOX.LANE_SLOT, count(), min(ORDER_INBOX.RECEIVED_AT))
+            .from(ORDER_INBOX)
+            .where(ORDER_INBOX.STATUS.eq(status.name()))
+            .groupBy(ORDER_INBOX.LANE_SLOT)
+            .fetch(record -> new InboxLaneDepth(
+                InboxLanes.laneOf(record.value1(), laneCount),
+                record.value2(),
+                record.value3() != null ? record.value3().atZone(ZoneOffset.UTC) : null));
+        
+        return InboxLanes.mergeByLane(depths);
+    }
+    
+    @Override
+    public boolean tryLockLane(int lane) {
+        return dsl.select(ORDER_INBOX_LANE.LANE)
+            .from(ORDER_INBOX_LANE)
+            .where(ORDER_INBOX_LANE.LANE.eq(lane))
+            .forUpdate().skipLocked()
+            .fetchOptional()
+            .isPresent();
+    }
+    
+    @Override
+    public int findOrCreateLaneCount(int laneCount) {
+        // 먼저 기록한 인스턴스의 lane 수가 남는다
+        dsl.insertInto(ORDER_INBOX_LANE_CONFIG)
+            .set(ORDER_INBOX_LANE_CONFIG.ID, (byte) 1)
+            .set(ORDER_INBOX_LANE_CONFIG.LANE_COUNT, laneCount)
+            .onDuplicateKeyIgnore()
+            .execute();
+        return dsl.select(ORDER_INBOX_LANE_CONFIG.LANE_COUNT)
+            .from(ORDER_INBOX_LANE_CONFIG)
+            .where(ORDER_INBOX_LANE_CONFIG.ID.eq((byte) 1))
+            .fetchSingle(ORDER_INBOX_LANE_CONFIG.LANE_COUNT);
+    }
+    
+    @Override
+    public void createLanes(int laneCount) {
+        var insert = dsl.insertInto(ORDER_INBOX_LANE, ORDER_INBOX_LANE.LANE);
+        for (int lane = 0; lane < laneCount; lane++) {
+            insert = insert.values(lane);
+        }
+        insert.onDuplicateKeyIgnore().execute();
+    }
+
+    @Override
+    public int bulkUpdateToProcessed(List<UUID> ids, ZonedDateTime processedAt) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        return dsl.update(ORDER_INBOX)
+            .set(ORDER_INBOX.STATUS, InboxStatus.PROCESSED.name())
+            .set(ORDER_INBOX.PROCESSED_AT, processedAt.toLocalDateTime())
+            .where(ORDER_INBOX.ID.in(ids))
+            .execute();
+    }
+
+    @Override
+    public int bulkUpdateToFailed(List<InboxFailure> failures) {
+        if (failures.isEmpty()) {
+            return 0;
+        }
+
+        Map<UUID, String> statuses = new HashMap<>();
+        Map<UUID, String> errorMessages = new HashMap<>();
+        Map<UUID, LocalDateTime> nextAttemptAts = new HashMap<>();
+        for (InboxFailure failure : failures) {
+            statuses.put(failure.id(), failure.status().name());
+            errorMessages.put(failure.id(), failure.errorMessage());
+            nextAttemptAts.put(failure.id(), failure.nextAttemptAt().toLocalDateTime());
+        }
+
+        return dsl.update(ORDER_INBOX)
+            .set(ORDER_INBOX.STATUS, case_(ORDER_INBOX.ID)
+                .mapValues(statuses)
+                .otherwise(ORDER_INBOX.STATUS))
+            .set(ORDER_INBOX.RETRY_COUNT, ORDER_INBOX.RETRY_COUNT.plus(1))
+            .set(ORDER_INBOX.ERROR_MESSAGE, case_(ORDER_INBOX.ID)
+                .mapValues(errorMessages)
+                .otherwise(ORDER_INBOX.ERROR_MESSAGE))
+            .set(ORDER_INBOX.NEXT_ATTEMPT_AT, case_(ORDER_INBOX.ID)
+                .mapValues(nextAttemptAts)
+                .otherwise(ORDER_INBOX.NEXT_ATTEMPT_AT))
+            .where(ORDER_INBOX.ID.in(statuses.keySet()))
+            .execute();
+    }
+    
+    @Override
+    public int bulkUpdateToReceived(List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        return dsl.update(ORDER_INBOX)
+            .set(ORDER_INBOX.STATUS, InboxStatus.RECEIVED.name())
+            .setNull(ORDER_INBOX.NEXT_ATTEMPT_AT)
+            .where(ORDER_INBOX.ID.in(ids))
+            .execute();
+    }
+    
+    @Override
+    public List<ParkedInboxMessage> findByStatusAndNextAttemptAtBeforeOrderByNextAttemptAtDesc(InboxStatus status, ZonedDateTime before, int limit) {
+        return dsl.selectFrom(ORDER_INBOX)
+            .where(ORDER_INBOX.STATUS.eq(status.name())
+                .and(ORDER_INBOX.NEXT_ATTEMPT_AT.lt(before.withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime())))
+            .orderBy(ORDER_INBOX.NEXT_ATTEMPT_AT.desc())
+            .limit(limit)
+            .fetch(record -> new ParkedInboxMessage(
+                record.getValue(ORDER_INBOX.ID),
+                record.getValue(ORDER_INBOX.MESSAGE_ID),
+                record.getValue(ORDER_INBOX.SAGA_ID),
+                record.getValue(ORDER_INBOX.TYPE),
+                InboxStatus.valueOf(record.getValue(ORDER_INBOX.STATUS)),
+                record.getValue(ORDER_INBOX.RETRY_COUNT),
+                record.getValue(ORDER_INBOX.ERROR_MESSAGE),
+                record.getValue(ORDER_INBOX.RECEIVED_AT).atZone(ZoneOffset.UTC),
+                record.getValue(ORDER_INBOX.NEXT_ATTEMPT_AT).atZone(ZoneOffset.UTC)));
+    }
+
+    @Override
+    public int bulkUpdateToReplayQueued(List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        return dsl.update(ORDER_INBOX)
+            .set(ORDER_INBOX.STATUS, InboxStatus.REPLAY_QUEUED.name())
+            .where(ORDER_INBOX.ID.in(ids)
+                .and(ORDER_INBOX.STATUS.eq(InboxStatus.PARKED.name())))
+            .execute();
+    }
+
     private OrderInboxMessage mapToOrderInboxMessage(Record record) {
         return OrderInboxMessage.builder()
                 .id(record.getValue(ORDER_INBOX.ID))
                 .messageId(record.getValue(ORDER_INBOX.MESSAGE_ID))
                 .sagaId(record.getValue(ORDER_INBOX.SAGA_ID))
                 .type(ServiceMessageType.valueOf(record.getValue(ORDER_INBOX.TYPE)))
-                .payload(record.getValue(ORDER_INBOX.PAYLOAD).data())
+                .payload(record.getValue(ORDER_INBOX.PAYLOAD))
+                .payloadSchemaFingerprint(record.getValue(ORDER_INBOX.PAYLOAD_SCHEMA_FINGERPRINT))
                 .status(InboxStatus.valueOf(record.getValue(ORDER_INBOX.STATUS)))
                 .receivedAt(record.getValue(ORDER_INBOX.RECEIVED_AT).atZone(ZoneOffset.UTC))
                 .processedAt(record.getValue(ORDER_INBOX.PROCESSED_AT) != null ? 
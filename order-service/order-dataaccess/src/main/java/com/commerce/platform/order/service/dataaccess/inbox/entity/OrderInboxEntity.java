@@ -24,7 +24,8 @@ public class OrderInboxEntity {
     private UUID sagaId;
     @Enumerated(EnumType.STRING)
     private ServiceMessageType type;
-    private String payload;
+    private byte[] payload;
+    private Long payloadSchemaFingerprint;
     @Enumerated(EnumType.STRING)
     private InboxStatus status;
     private ZonedDateTime receivedAt;
@@ -14,6 +14,7 @@ public class OrderInboxDataAccessMapper {
                 .sagaId(orderInboxMessage.getSagaId())
                 .type(orderInboxMessage.getType())
                 .payload(orderInboxMessage.getPayload())
+                .payloadSchemaFingerprint(orderInboxMessage.getPayloadSchemaFingerprint())
                 .status(orderInboxMessage.getStatus())
                 .receivedAt(orderInboxMessage.getReceivedAt())
                 .processedAt(orderInboxMessage.getProcessedAt())
@@ -29,6 +30,7 @@ public class OrderInboxDataAccessMapper {
                 .sagaId(orderInboxEntity.getSagaId())
                 .type(orderInboxEntity.getType())
                 .payload(orderInboxEntity.getPayload())
+                .payloadSchemaFingerprint(orderInboxEntity.getPayloadSchemaFingerprint())
                 .status(orderInboxEntity.getStatus())
                 .receivedAt(orderInboxEntity.getReceivedAt())
                 .processedAt(orderInboxEntity.getProcessedAt())
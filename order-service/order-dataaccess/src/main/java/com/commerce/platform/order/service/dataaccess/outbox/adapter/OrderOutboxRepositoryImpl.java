@@ -17,6 +17,7 @@ import org.springframework.transaction.annotation.Transactional;
 import static com.commerce.platform.order.service.dataaccess.jooq.tables.OrderOutbox.ORDER_OUTBOX;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -53,18 +54,6 @@ public class OrderOutboxRepositoryImpl implements OrderOutboxRepository {
                 .collect(Collectors.toList());
     }
 
-    @Override
-    public List<OrderOutboxMessage> findByOutboxStatusWithSkipLock(OutboxStatus outboxStatus, int limit) {
-        var result = dsl.selectFrom(ORDER_OUTBOX)
-            .where(ORDER_OUTBOX.OUTBOX_STATUS.eq(outboxStatus.name()))
-            .orderBy(ORDER_OUTBOX.CREATED_AT)
-            .limit(limit)
-            .forUpdate().skipLocked()
-            .fetch();
-        
-        return result.map(this::mapToOrderOutboxMessage);
-    }
-
     @Override
     public List<OrderOutboxMessage> saveAll(List<OrderOutboxMessage> orderOutboxMessages) {
         List<OrderOutboxEntity> entities = orderOutboxMessages.stream()
@@ -76,47 +65,55 @@ public class OrderOutboxRepositoryImpl implements OrderOutboxRepository {
     }
 
     @Override
-    public List<OrderOutboxMessage> findByOutboxStatusAndFetchedAtBefore(OutboxStatus outboxStatus,
-                                                                         ZonedDateTime fetchedAtBefore,
-                                                                         int limit) {
-        var result = dsl.selectFrom(ORDER_OUTBOX)
-            .where(ORDER_OUTBOX.OUTBOX_STATUS.eq(outboxStatus.name())
-                .and(ORDER_OUTBOX.FETCHED_AT.lt(fetchedAtBefore.toLocalDateTime())))
-            .orderBy(ORDER_OUTBOX.CREATED_AT)
-            .limit(limit)
-            .fetch();
-        
-        return result.map(this::mapToOrderOutboxMessage);
+    public Optional<OrderOutboxMessage> findById(UUID id) {
+        return orderOutboxJpaRepository.findById(id)
+                .map(orderOutboxDataAccessMapper::orderOutboxEntityToOrderOutboxMessage);
     }
 
     @Override
-    public int deleteByOutboxStatus(OutboxStatus outboxStatus, int limit) {
-        List<OrderOutboxEntity> entitiesToDelete = orderOutboxJpaRepository
-                .findByOutboxStatusOrderByCreatedAt(outboxStatus, PageRequest.of(0, limit));
-        int deletedCount = entitiesToDelete.size();
-        if (deletedCount > 0) {
-            orderOutboxJpaRepository.deleteAllInBatch(entitiesToDelete);
+    @Transactional
+    public List<OrderOutboxMessage> claimByLease(Collection<Integer> shards, String leaseOwner, ZonedDateTime now, ZonedDateTime leaseExpiresAt, int limit) {
+        if (shards.isEmpty()) {
+            return List.of();
         }
-        return deletedCount;
-    }
 
-    @Override
-    public Optional<OrderOutboxMessage> findById(UUID id) {
-        return orderOutboxJpaRepository.findById(id)
-                .map(orderOutboxDataAccessMapper::orderOutboxEntityToOrderOutboxMessage);
+        int claimedCount = dsl.update(ORDER_OUTBOX)
+            .set(ORDER_OUTBOX.OUTBOX_STATUS, OutboxStatus.PROCESSING.name())
+            .set(ORDER_OUTBOX.FETCHED_AT, now.toLocalDateTime())
+            .set(ORDER_OUTBOX.LEASE_OWNER, leaseOwner)
+            .set(ORDER_OUTBOX.LEASE_EXPIRES_AT, leaseExpiresAt.toLocalDateTime())
+            .where(ORDER_OUTBOX.SHARD.in(shards)
+                .and(ORDER_OUTBOX.OUTBOX_STATUS.eq(OutboxStatus.STARTED.name())
+                    .or(ORDER_OUTBOX.OUTBOX_STATUS.eq(OutboxStatus.PROCESSING.name())
+                        .and(ORDER_OUTBOX.LEASE_EXPIRES_AT.lt(now.toLocalDateTime())))))
+            .orderBy(ORDER_OUTBOX.CREATED_AT)
+            .limit(limit)
+            .execute();
+
+        if (claimedCount == 0) {
+            return List.of();
+        }
+
+        return dsl.selectFrom(ORDER_OUTBOX)
+            .where(ORDER_OUTBOX.OUTBOX_STATUS.eq(OutboxStatus.PROCESSING.name())
+                .and(ORDER_OUTBOX.LEASE_EXPIRES_AT.eq(leaseExpiresAt.toLocalDateTime()))
+                .and(ORDER_OUTBOX.LEASE_OWNER.eq(leaseOwner)))
+            .orderBy(ORDER_OUTBOX.CREATED_AT)
+            .fetch()
+            .map(this::mapToOrderOutboxMessage);
     }
 
     @Override
     @Transactional
-    public int bulkUpdateStatusAndFetchedAt(List<UUID> ids, OutboxStatus status, ZonedDateTime fetchedAt) {
+    public int bulkUpdateStatusAndProcessedAt(List<UUID> ids, OutboxStatus status, ZonedDateTime processedAt) {
         if (ids.isEmpty()) {
             return 0;
         }
 
         return dsl.update(ORDER_OUTBOX)
             .set(ORDER_OUTBOX.OUTBOX_STATUS, status.name())
-            .set(ORDER_OUTBOX.FETCHED_AT, fetchedAt != null ? 
-                fetchedAt.toLocalDateTime() : null)
+            .set(ORDER_OUTBOX.PROCESSED_AT, processedAt.toLocalDateTime())
+            .set(ORDER_OUTBOX.VERSION, ORDER_OUTBOX.VERSION.plus(1))
             .where(ORDER_OUTBOX.ID.in(ids))
             .execute();
     }
@@ -126,14 +123,19 @@ public class OrderOutboxRepositoryImpl implements OrderOutboxRepository {
                 .id(record.getValue(ORDER_OUTBOX.ID))
                 .messageId(record.getValue(ORDER_OUTBOX.MESSAGE_ID))
                 .sagaId(record.getValue(ORDER_OUTBOX.SAGA_ID))
+                .shard(record.getValue(ORDER_OUTBOX.SHARD))
                 .type(record.getValue(ORDER_OUTBOX.TYPE))
-                .payload(record.getValue(ORDER_OUTBOX.PAYLOAD).data())
+                .payload(record.getValue(ORDER_OUTBOX.PAYLOAD))
+                .payloadSchemaId(record.getValue(ORDER_OUTBOX.PAYLOAD_SCHEMA_ID))
                 .outboxStatus(OutboxStatus.valueOf(record.getValue(ORDER_OUTBOX.OUTBOX_STATUS)))
                 .createdAt(record.getValue(ORDER_OUTBOX.CREATED_AT).atZone(ZoneOffset.UTC))
                 .processedAt(record.getValue(ORDER_OUTBOX.PROCESSED_AT) != null ? 
                     record.getValue(ORDER_OUTBOX.PROCESSED_AT).atZone(ZoneOffset.UTC) : null)
                 .fetchedAt(record.getValue(ORDER_OUTBOX.FETCHED_AT) != null ? 
                     record.getValue(ORDER_OUTBOX.FETCHED_AT).atZone(ZoneOffset.UTC) : null)
+                .leaseOwner(record.getValue(ORDER_OUTBOX.LEASE_OWNER))
+                .leaseExpiresAt(record.getValue(ORDER_OUTBOX.LEASE_EXPIRES_AT) != null ? 
+                    record.getValue(ORDER_OUTBOX.LEASE_EXPIRES_AT).atZone(ZoneOffset.UTC) : null)
                 .version(record.getValue(ORDER_OUTBOX.VERSION))
                 .build();
     }
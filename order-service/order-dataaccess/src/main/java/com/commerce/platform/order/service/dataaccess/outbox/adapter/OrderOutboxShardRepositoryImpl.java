@@ -0,0 +1,105 @@
+package com.commerce.platform.order.service.dataaccess.outbox.adapter;
+
+import com.commerce.platform.order.service.domain.ports.output.repository.OrderOutboxShardRepository;
+import lombok.RequiredArgsConstructor;
+import org.jooq.DSLContext;
+import org.springframework.stereotype.Component;
+
+import static com.commerce.platform.order.service.dataaccess.jooq.tables.OrderOutboxDispatcher.ORDER_OUTBOX_DISPATCHER;
+import static com.commerce.platform.order.service.dataaccess.jooq.tables.OrderOutboxShard.ORDER_OUTBOX_SHARD;
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class OrderOutboxShardRepositoryImpl implements OrderOutboxShardRepository {
+
+    private final DSLContext dsl;
+
+    @Override
+    public void createShards(int shardCount) {
+        var insert = dsl.insertInto(ORDER_OUTBOX_SHARD, ORDER_OUTBOX_SHARD.SHARD);
+        for (int shard = 0; shard < shardCount; shard++) {
+            insert = insert.values(shard);
+        }
+        insert.onDuplicateKeyIgnore().execute();
+    }
+
+    @Override
+    public void heartbeat(String instanceId, ZonedDateTime expiresAt) {
+        dsl.insertInto(ORDER_OUTBOX_DISPATCHER)
+                .set(ORDER_OUTBOX_DISPATCHER.INSTANCE_ID, instanceId)
+                .set(ORDER_OUTBOX_DISPATCHER.HEARTBEAT_EXPIRES_AT, expiresAt.toLocalDateTime())
+                .onDuplicateKeyUpdate()
+                .set(ORDER_OUTBOX_DISPATCHER.HEARTBEAT_EXPIRES_AT, expiresAt.toLocalDateTime())
+                .execute();
+    }
+
+    @Override
+    public void removeExpiredInstances(ZonedDateTime now) {
+        dsl.deleteFrom(ORDER_OUTBOX_DISPATCHER)
+                .where(ORDER_OUTBOX_DISPATCHER.HEARTBEAT_EXPIRES_AT.lt(now.toLocalDateTime()))
+                .execute();
+    }
+
+    @Override
+    public void removeInstance(String instanceId) {
+        dsl.deleteFrom(ORDER_OUTBOX_DISPATCHER)
+                .where(ORDER_OUTBOX_DISPATCHER.INSTANCE_ID.eq(instanceId))
+                .execute();
+    }
+
+    @Override
+    public int countLiveInstances(ZonedDateTime now) {
+        return dsl.fetchCount(ORDER_OUTBOX_DISPATCHER,
+                ORDER_OUTBOX_DISPATCHER.HEARTBEAT_EXPIRES_AT.ge(now.toLocalDateTime()));
+    }
+
+    @Override
+    public List<Integer> renewShards(String owner, ZonedDateTime expiresAt) {
+        dsl.update(ORDER_OUTBOX_SHARD)
+                .set(ORDER_OUTBOX_SHARD.LEASE_EXPIRES_AT, expiresAt.toLocalDateTime())
+                .where(ORDER_OUTBOX_SHARD.OWNER.eq(owner))
+                .execute();
+
+        return findOwnedShards(owner);
+    }
+
+    @Override
+    public List<Integer> acquireShards(String owner, ZonedDateTime now, ZonedDateTime expiresAt, int limit) {
+        dsl.update(ORDER_OUTBOX_SHARD)
+                .set(ORDER_OUTBOX_SHARD.OWNER, owner)
+                .set(ORDER_OUTBOX_SHARD.LEASE_EXPIRES_AT, expiresAt.toLocalDateTime())
+                .where(ORDER_OUTBOX_SHARD.OWNER.isNull()
+                        .or(ORDER_OUTBOX_SHARD.LEASE_EXPIRES_AT.lt(now.toLocalDateTime())))
+                .orderBy(ORDER_OUTBOX_SHARD.SHARD)
+                .limit(limit)
+                .execute();
+
+        return findOwnedShards(owner);
+    }
+
+    @Override
+    public void releaseShards(String owner, Collection<Integer> shards) {
+        if (shards.isEmpty()) {
+            return;
+        }
+
+        dsl.update(ORDER_OUTBOX_SHARD)
+                .set(ORDER_OUTBOX_SHARD.OWNER, (String) null)
+                .set(ORDER_OUTBOX_SHARD.LEASE_EXPIRES_AT, (LocalDateTime) null)
+                .where(ORDER_OUTBOX_SHARD.OWNER.eq(owner)
+                        .and(ORDER_OUTBOX_SHARD.SHARD.in(shards)))
+                .execute();
+    }
+
+    private List<Integer> findOwnedShards(String owner) {
+        return dsl.select(ORDER_OUTBOX_SHARD.SHARD)
+                .from(ORDER_OUTBOX_SHARD)
+                .where(ORDER_OUTBOX_SHARD.OWNER.eq(owner))
+                .orderBy(ORDER_OUTBOX_SHARD.SHARD)
+                .fetch(ORDER_OUTBOX_SHARD.SHARD);
+    }
+}
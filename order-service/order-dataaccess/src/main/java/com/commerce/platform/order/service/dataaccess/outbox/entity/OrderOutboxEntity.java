@@ -21,11 +21,15 @@ public class OrderOutboxEntity {
     private UUID id;
     private UUID messageId;
     private UUID sagaId;
+    private int shard;
     private ZonedDateTime createdAt;
     private ZonedDateTime fetchedAt;
+    private String leaseOwner;
+    private ZonedDateTime leaseExpiresAt;
     private ZonedDateTime processedAt;
     private String type;
-    private String payload;
+    private byte[] payload;
+    private Integer payloadSchemaId;
     @Enumerated(EnumType.STRING)
     private OutboxStatus outboxStatus;
     @Version
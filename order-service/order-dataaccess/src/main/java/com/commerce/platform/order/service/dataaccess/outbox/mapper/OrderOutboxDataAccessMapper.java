@@ -12,10 +12,14 @@ public class OrderOutboxDataAccessMapper {
                 .id(orderOutboxMessage.getId())
                 .messageId(orderOutboxMessage.getMessageId())
                 .sagaId(orderOutboxMessage.getSagaId())
+                .shard(orderOutboxMessage.getShard())
                 .createdAt(orderOutboxMessage.getCreatedAt())
                 .fetchedAt(orderOutboxMessage.getFetchedAt())
+                .leaseOwner(orderOutboxMessage.getLeaseOwner())
+                .leaseExpiresAt(orderOutboxMessage.getLeaseExpiresAt())
                 .type(orderOutboxMessage.getType())
                 .payload(orderOutboxMessage.getPayload())
+                .payloadSchemaId(orderOutboxMessage.getPayloadSchemaId())
                 .outboxStatus(orderOutboxMessage.getOutboxStatus())
                 .processedAt(orderOutboxMessage.getProcessedAt())
                 .version(orderOutboxMessage.getVersion())
@@ -27,10 +31,14 @@ public class OrderOutboxDataAccessMapper {
                 .id(orderOutboxEntity.getId())
                 .messageId(orderOutboxEntity.getMessageId())
                 .sagaId(orderOutboxEntity.getSagaId())
+                .shard(orderOutboxEntity.getShard())
                 .createdAt(orderOutboxEntity.getCreatedAt())
                 .fetchedAt(orderOutboxEntity.getFetchedAt())
+                .leaseOwner(orderOutboxEntity.getLeaseOwner())
+                .leaseExpiresAt(orderOutboxEntity.getLeaseExpiresAt())
                 .type(orderOutboxEntity.getType())
                 .payload(orderOutboxEntity.getPayload())
+                .payloadSchemaId(orderOutboxEntity.getPayloadSchemaId())
                 .outboxStatus(orderOutboxEntity.getOutboxStatus())
                 .processedAt(orderOutboxEntity.getProcessedAt())
                 .version(orderOutboxEntity.getVersion())
@@ -0,0 +1,39 @@
+package com.commerce.platform.order.service.dataaccess.partition.adapter;
+
+import com.commerce.platform.dataaccess.partition.DailyPartitionManager;
+import com.commerce.platform.order.service.domain.ports.output.repository.OrderMessagePartitionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+@Component
+public class OrderMessagePartitionRepositoryImpl implements OrderMessagePartitionRepository {
+
+    private final DailyPartitionManager inboxPartitionManager;
+    private final DailyPartitionManager outboxPartitionManager;
+
+    public OrderMessagePartitionRepositoryImpl(JdbcTemplate jdbcTemplate,
+                                               @Value("${order-service.message-partition-retention-days:7}") int retentionDays,
+                                               @Value("${order-service.message-partition-precreate-days:3}") int precreateDays) {
+        this.inboxPartitionManager = new DailyPartitionManager(jdbcTemplate,
+                "order_inbox",
+                "status <> 'PROCESSED'",
+                "status = 'PARKED'",
+                retentionDays,
+                precreateDays);
+        this.outboxPartitionManager = new DailyPartitionManager(jdbcTemplate,
+                "order_outbox",
+                "outbox_status <> 'COMPLETED'",
+                "outbox_status = 'FAILED'",
+                retentionDays,
+                precreateDays);
+    }
+
+    @Override
+    public void rotatePartitions(LocalDate today) {
+        inboxPartitionManager.rotate(today);
+        outboxPartitionManager.rotate(today);
+    }
+}
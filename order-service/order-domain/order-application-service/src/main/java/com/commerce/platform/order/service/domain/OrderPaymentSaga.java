@@ -1,6 +1,7 @@
 package com.commerce.platform.order.service.domain;
 
 import com.commerce.platform.domain.valueobject.OrderId;
+import com.commerce.platform.domain.valueobject.OrderStatus;
 import com.commerce.platform.order.service.domain.dto.message.PaymentResponse;
 import com.commerce.platform.order.service.domain.entity.Order;
 import com.commerce.platform.order.service.domain.event.OrderCancelledEvent;
@@ -44,7 +45,13 @@ public class OrderPaymentSaga implements SagaStep<PaymentResponse> {
     @Override
     @Transactional
     public void process(PaymentResponse paymentResponse) {
-        OrderPaidEvent domainEvent = completePaymentForOrder(paymentResponse);
+        Order order = findOrder(paymentResponse.getOrderId());
+        if (isCancellingOrCancelled(order)) {
+            // 재고 예약이 만료되어 결제 취소 요청을 이미 보냈다. payment-service 가 그 요청으로 환불한다
+            log.info("Order with id: {} is {}, ignoring completed payment", order.getId().getValue(), order.getOrderStatus());
+            return;
+        }
+        OrderPaidEvent domainEvent = completePaymentForOrder(order);
 
         orderOutboxHelper.saveOrderOutboxMessage(
                 ServiceMessageType.PRODUCT_RESERVATION_REQUEST,
@@ -58,7 +65,21 @@ public class OrderPaymentSaga implements SagaStep<PaymentResponse> {
     @Override
     @Transactional
     public void rollback(PaymentResponse paymentResponse) {
-        OrderCancelledEvent domainEvent = rollbackReservationForOrder(paymentResponse);
+        Order order = findOrder(paymentResponse.getOrderId());
+        if (order.getOrderStatus() == OrderStatus.CANCELLED) {
+            log.info("Order with id: {} is already cancelled, ignoring payment response: {}",
+                    order.getId().getValue(), paymentResponse.getPaymentStatus());
+            return;
+        }
+        if (order.getOrderStatus() == OrderStatus.CANCELLING) {
+            // 만료된 재고 예약은 product-service 가 이미 풀었으므로 결제 취소(또는 실패) 응답으로 주문 취소를 끝낸다
+            orderDomainService.cancelOrder(order, paymentResponse.getFailureMessages());
+            orderRepository.save(order);
+            log.info("Order with id: {} is cancelled after its payment was {}",
+                    order.getId().getValue(), paymentResponse.getPaymentStatus());
+            return;
+        }
+        OrderCancelledEvent domainEvent = rollbackReservationForOrder(order, paymentResponse);
 
         orderOutboxHelper.saveOrderOutboxMessage(
                 ServiceMessageType.PRODUCT_RESERVATION_REQUEST,
@@ -80,18 +101,20 @@ public class OrderPaymentSaga implements SagaStep<PaymentResponse> {
     }
 
 
-    private OrderPaidEvent completePaymentForOrder(PaymentResponse paymentResponse) {
-        log.info("Completing payment for order with id: {}", paymentResponse.getOrderId());
-        Order order = findOrder(paymentResponse.getOrderId());
+    private boolean isCancellingOrCancelled(Order order) {
+        return order.getOrderStatus() == OrderStatus.CANCELLING || order.getOrderStatus() == OrderStatus.CANCELLED;
+    }
+
+    private OrderPaidEvent completePaymentForOrder(Order order) {
+        log.info("Completing payment for order with id: {}", order.getId().getValue());
         OrderPaidEvent domainEvent = orderDomainService.payOrder(order);
         orderRepository.save(order);
         return domainEvent;
     }
 
 
-    private OrderCancelledEvent rollbackReservationForOrder(PaymentResponse paymentResponse) {
+    private OrderCancelledEvent rollbackReservationForOrder(Order order, PaymentResponse paymentResponse) {
         log.info("Cancelling order with id: {}", paymentResponse.getOrderId());
-        Order order = findOrder(paymentResponse.getOrderId());
         OrderCancelledEvent domainEvent = orderDomainService.cancelOrderReservation(order, paymentResponse.getFailureMessages());
         orderRepository.save(order);
         return domainEvent;
@@ -2,19 +2,21 @@ package com.commerce.platform.order.service.domain;
 
 import com.commerce.platform.domain.event.ServiceMessageType;
 import com.commerce.platform.domain.util.UuidGenerator;
+import com.commerce.platform.inbox.InboxFastPath;
+import com.commerce.platform.inbox.InboxScheduler;
 import com.commerce.platform.inbox.InboxStatus;
+import com.commerce.platform.inbox.payload.InboxPayloadCodec;
 import com.commerce.platform.order.service.domain.dto.message.PaymentResponse;
-import com.commerce.platform.order.service.domain.exception.OrderDomainException;
 import com.commerce.platform.order.service.domain.inbox.model.OrderInboxMessage;
+import com.commerce.platform.order.service.domain.inbox.scheduler.OrderInboxTransactionService;
 import com.commerce.platform.order.service.domain.ports.input.message.listener.payment.PaymentResponseMessageListener;
 import com.commerce.platform.order.service.domain.ports.output.repository.OrderInboxRepository;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 
+import java.time.Duration;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.List;
@@ -25,52 +27,77 @@ import java.util.List;
 public class PaymentResponseMessageListenerImpl implements PaymentResponseMessageListener {
 
     private final OrderInboxRepository orderInboxRepository;
-    private final ObjectMapper objectMapper;
+    private final InboxPayloadCodec<PaymentResponse> paymentResponseInboxPayloadCodec;
+    private final InboxScheduler inboxScheduler;
+    private final InboxFastPath inboxFastPath;
+    private final OrderInboxTransactionService orderInboxTransactionService;
+    
+    @Value("${order-service.inbox-fast-path-enabled:false}")
+    private boolean fastPathEnabled;
+    
+    @Value("${order-service.inbox-fast-path-time-budget-ms:200}")
+    private long fastPathTimeBudgetMs;
 
     public PaymentResponseMessageListenerImpl(OrderInboxRepository orderInboxRepository,
-                                             ObjectMapper objectMapper) {
+                                             InboxPayloadCodec<PaymentResponse> paymentResponseInboxPayloadCodec,
+                                             InboxScheduler inboxScheduler,
+                                             InboxFastPath inboxFastPath,
+                                             OrderInboxTransactionService orderInboxTransactionService) {
         this.orderInboxRepository = orderInboxRepository;
-        this.objectMapper = objectMapper;
+        this.paymentResponseInboxPayloadCodec = paymentResponseInboxPayloadCodec;
+        this.inboxScheduler = inboxScheduler;
+        this.inboxFastPath = inboxFastPath;
+        this.orderInboxTransactionService = orderInboxTransactionService;
     }
 
     @Override
-    @Transactional
     public void saveToInbox(List<PaymentResponse> paymentResponses) {
         if (paymentResponses.isEmpty()) {
             return;
         }
         
         ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC);
+        if (fastPathEnabled) {
+            inboxFastPath.process(paymentResponses,
+                    PaymentResponse::getSagaId,
+                    orderInboxRepository::findSagaIdsWithUnfinishedMessages,
+                    Duration.ofMillis(fastPathTimeBudgetMs),
+                    response -> {
+                        if (orderInboxRepository.saveIfAbsent(createInboxMessage(response, now, InboxStatus.PROCESSED))) {
+                            orderInboxTransactionService.processPaymentResponse(response);
+                            orderInboxTransactionService.recordProcessed(ServiceMessageType.PAYMENT_RESPONSE, now);
+                        }
+                    },
+                    pendingResponses -> saveReceived(pendingResponses, now));
+            return;
+        }
+        
+        inboxFastPath.writeToInbox(paymentResponses, pendingResponses -> saveReceived(pendingResponses, now));
+    }
+
+    private void saveReceived(List<PaymentResponse> paymentResponses, ZonedDateTime receivedAt) {
         List<OrderInboxMessage> inboxMessages = paymentResponses.stream()
-                .map(response -> createInboxMessage(response, now))
+                .map(response -> createInboxMessage(response, receivedAt, InboxStatus.RECEIVED))
                 .toList();
         
-        orderInboxRepository.saveAll(inboxMessages);
+        List<OrderInboxMessage> savedMessages = orderInboxRepository.saveAll(inboxMessages);
+        inboxScheduler.wakeUp(savedMessages.stream().map(OrderInboxMessage::getSagaId).toList());
         
-        log.info("Saved {} PaymentResponse messages to inbox", inboxMessages.size());
+        log.debug("Saved {} of {} PaymentResponse messages to inbox", savedMessages.size(), inboxMessages.size());
     }
 
-    private OrderInboxMessage createInboxMessage(PaymentResponse paymentResponse, ZonedDateTime receivedAt) {
+    private OrderInboxMessage createInboxMessage(PaymentResponse paymentResponse, ZonedDateTime receivedAt, InboxStatus status) {
         return OrderInboxMessage.builder()
                 .id(UuidGenerator.generate())
                 .messageId(paymentResponse.getId())
                 .sagaId(paymentResponse.getSagaId())
                 .type(ServiceMessageType.PAYMENT_RESPONSE)
-                .payload(createPayload(paymentResponse))
-                .status(InboxStatus.RECEIVED)
+                .payload(paymentResponseInboxPayloadCodec.encode(paymentResponse))
+                .payloadSchemaFingerprint(paymentResponseInboxPayloadCodec.schemaFingerprint())
+                .status(status)
                 .receivedAt(receivedAt)
+                .processedAt(status == InboxStatus.PROCESSED ? receivedAt : null)
                 .retryCount(0)
                 .build();
     }
-
-    private String createPayload(PaymentResponse paymentResponse) {
-        try {
-            return objectMapper.writeValueAsString(paymentResponse);
-        } catch (JsonProcessingException e) {
-            log.error("Could not create PaymentResponse object for saga id: {}",
-                    paymentResponse.getSagaId(), e);
-            throw new OrderDomainException("Could not create PaymentResponse object for saga id " +
-                    paymentResponse.getSagaId(), e);
-        }
-    }
 }
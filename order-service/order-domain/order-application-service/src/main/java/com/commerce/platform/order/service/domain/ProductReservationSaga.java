@@ -3,6 +3,7 @@ package com.commerce.platform.order.service.domain;
 import com.commerce.platform.order.service.domain.dto.message.ProductReservationResponse;
 import com.commerce.platform.domain.valueobject.ProductReservationStatus;
 import com.commerce.platform.order.service.domain.entity.Order;
+import com.commerce.platform.order.service.domain.event.OrderCancelledEvent;
 import com.commerce.platform.order.service.domain.event.OrderReservedEvent;
 import com.commerce.platform.order.service.domain.mapper.OrderDataMapper;
 import com.commerce.platform.order.service.domain.outbox.scheduler.OrderOutboxHelper;
@@ -74,8 +75,26 @@ public class ProductReservationSaga implements SagaStep<ProductReservationRespon
     @Override
     @Transactional
     public void rollback(ProductReservationResponse reservationResponse) {
-        Order order = rollbackOrder(reservationResponse);
-        log.info("Order with id: {} is cancelled", order.getId().getValue());
+        Order order = orderSagaHelper.findOrder(reservationResponse.getOrderId());
+        switch (order.getOrderStatus()) {
+            case RESERVED, PAID -> {
+                // 결제 응답을 기다리는 사이 product-service 가 재고 예약을 만료시켰다. 결제를 취소한 뒤 주문을 취소한다
+                OrderCancelledEvent domainEvent = expireOrderReservation(order, reservationResponse);
+                orderOutboxHelper.saveOrderOutboxMessage(
+                        ServiceMessageType.PAYMENT_REQUEST,
+                        orderDataMapper.orderCancelledEventToPaymentCancelEventPayload(domainEvent),
+                        OutboxStatus.STARTED,
+                        reservationResponse.getSagaId());
+                log.info("Product reservation of order with id: {} expired, sending payment cancel request",
+                        order.getId().getValue());
+            }
+            case CANCELLED -> log.info("Order with id: {} is already cancelled, ignoring product reservation response: {}",
+                    order.getId().getValue(), reservationResponse.getProductReservationStatus());
+            default -> {
+                rollbackOrder(order, reservationResponse);
+                log.info("Order with id: {} is cancelled", order.getId().getValue());
+            }
+        }
     }
 
     private OrderReservedEvent reserveOrder(ProductReservationResponse reservationResponse) {
@@ -88,12 +107,17 @@ public class ProductReservationSaga implements SagaStep<ProductReservationRespon
     }
 
 
-    private Order rollbackOrder(ProductReservationResponse reservationResponse) {
+    private void rollbackOrder(Order order, ProductReservationResponse reservationResponse) {
         log.info("Cancelling order with id: {}", reservationResponse.getOrderId());
-        Order order = orderSagaHelper.findOrder(reservationResponse.getOrderId());
         orderDomainService.cancelOrder(order, reservationResponse.getFailureMessages());
         orderSagaHelper.saveOrder(order);
+    }
+
+    private OrderCancelledEvent expireOrderReservation(Order order, ProductReservationResponse reservationResponse) {
+        log.info("Cancelling order with id: {} after its product reservation expired", reservationResponse.getOrderId());
+        OrderCancelledEvent domainEvent = orderDomainService.cancelOrderReservation(order, reservationResponse.getFailureMessages());
+        orderSagaHelper.saveOrder(order);
 
-        return order;
+        return domainEvent;
     }
 }
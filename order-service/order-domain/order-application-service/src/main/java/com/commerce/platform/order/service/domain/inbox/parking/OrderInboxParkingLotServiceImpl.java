@@ -0,0 +1,50 @@
+package com.commerce.platform.order.service.domain.inbox.parking;
+
+import com.commerce.platform.inbox.InboxStatus;
+import com.commerce.platform.inbox.parking.InboxReplayResult;
+import com.commerce.platform.inbox.parking.ParkedInboxMessage;
+import com.commerce.platform.order.service.domain.ports.input.service.OrderInboxParkingLotService;
+import com.commerce.platform.order.service.domain.ports.output.repository.OrderInboxRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 재시도를 모두 소진해 PARKED 된 inbox 메시지를 조회하고 재처리 대기열(REPLAY_QUEUED)에 올린다.
+ * 대기열의 메시지는 inbox scheduler 가 InboxReplayThrottle 의 속도로 RECEIVED 로 되돌린다.
+ */
+@Slf4j
+@Service
+public class OrderInboxParkingLotServiceImpl implements OrderInboxParkingLotService {
+
+    private final OrderInboxRepository orderInboxRepository;
+    private final int maxQueryLimit;
+
+    public OrderInboxParkingLotServiceImpl(OrderInboxRepository orderInboxRepository,
+                                           @Value("${order-service.inbox-parked-query-max-limit:500}") int maxQueryLimit) {
+        this.orderInboxRepository = orderInboxRepository;
+        this.maxQueryLimit = maxQueryLimit;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ParkedInboxMessage> findParkedMessages(ZonedDateTime parkedBefore, int limit) {
+        return orderInboxRepository.findByStatusAndNextAttemptAtBeforeOrderByNextAttemptAtDesc(InboxStatus.PARKED,
+                parkedBefore != null ? parkedBefore : ZonedDateTime.now(ZoneOffset.UTC),
+                Math.max(1, Math.min(limit, maxQueryLimit)));
+    }
+
+    @Override
+    @Transactional
+    public InboxReplayResult replayParkedMessages(List<UUID> inboxMessageIds) {
+        int queued = orderInboxRepository.bulkUpdateToReplayQueued(inboxMessageIds);
+        log.info("Queued {} of {} requested parked messages for replay", queued, inboxMessageIds.size());
+        return new InboxReplayResult(inboxMessageIds.size(), queued);
+    }
+}
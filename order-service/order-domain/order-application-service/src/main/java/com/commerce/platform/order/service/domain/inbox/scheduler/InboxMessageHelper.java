@@ -1,24 +1,12 @@
 package com.commerce.platform.order.service.domain.inbox.scheduler;
 
-import com.commerce.platform.domain.event.ServiceMessageType;
-import com.commerce.platform.domain.valueobject.PaymentStatus;
-import com.commerce.platform.domain.valueobject.ProductReservationStatus;
-import com.commerce.platform.order.service.domain.OrderPaymentSaga;
-import com.commerce.platform.order.service.domain.ProductReservationSaga;
-import com.commerce.platform.order.service.domain.dto.message.PaymentResponse;
-import com.commerce.platform.order.service.domain.dto.message.ProductReservationResponse;
-import com.commerce.platform.inbox.InboxStatus;
-import com.commerce.platform.order.service.domain.inbox.model.OrderInboxMessage;
-import com.commerce.platform.order.service.domain.ports.output.repository.OrderInboxRepository;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.commerce.platform.inbox.InboxBatchAbortedException;
+import com.commerce.platform.inbox.lane.InboxLaneDepth;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.time.ZonedDateTime;
 import java.util.List;
-
-import static com.commerce.platform.order.service.domain.entity.Order.FAILURE_MESSAGE_DELIMITER;
+import java.util.UUID;
 
 @Slf4j
 @Service
@@ -30,17 +18,30 @@ public class InboxMessageHelper {
         this.orderInboxTransactionService = orderInboxTransactionService;
     }
     
-    public void processInboxMessages(int batchSize) {
-        for (int i = 0; i < batchSize; i++) {
-            if (!orderInboxTransactionService.processNextMessage()) {
-                break;
-            }
+    public int processInboxMessages(int lane, int laneCount, int batchSize) {
+        try {
+            return orderInboxTransactionService.processLaneMessages(lane, laneCount, batchSize);
+        } catch (InboxBatchAbortedException e) {
+            // 배치는 롤백됐으므로 원인 메시지만 실패로 기록하고 나머지는 다음 배치에서 다시 처리한다
+            log.error("Inbox batch of lane {} was rolled back because of message: {}", lane, e.getMessageId(), e);
+            orderInboxTransactionService.recordAbortedMessage(e);
+            return 1;
         }
     }
     
-    public void retryFailedMessages(int maxRetryCount, int batchSize) {
-        orderInboxTransactionService.retryFailedMessages(maxRetryCount, batchSize);
+    public List<InboxLaneDepth> getLaneDepths(int laneCount) {
+        return orderInboxTransactionService.getLaneDepths(laneCount);
     }
     
-
-}
\ No newline at end of file
+    public int resolveLaneCount(int configuredLaneCount) {
+        return orderInboxTransactionService.resolveLaneCount(configuredLaneCount);
+    }
+    
+    public List<UUID> retryFailedMessages(int batchSize) {
+        return orderInboxTransactionService.retryFailedMessages(batchSize);
+    }
+    
+    public List<UUID> releaseReplayQueuedMessages(int limit) {
+        return orderInboxTransactionService.releaseReplayQueuedMessages(limit);
+    }
+}
@@ -3,7 +3,15 @@ package com.commerce.platform.order.service.domain.inbox.scheduler;
 import com.commerce.platform.domain.event.ServiceMessageType;
 import com.commerce.platform.domain.valueobject.PaymentStatus;
 import com.commerce.platform.domain.valueobject.ProductReservationStatus;
+import com.commerce.platform.inbox.InboxBatchAbortedException;
+import com.commerce.platform.inbox.InboxHopLatency;
+import com.commerce.platform.inbox.InboxSavepointExecutor;
 import com.commerce.platform.inbox.InboxStatus;
+import com.commerce.platform.inbox.payload.InboxPayloadCodec;
+import com.commerce.platform.inbox.lane.InboxLaneDepth;
+import com.commerce.platform.inbox.lane.InboxLanes;
+import com.commerce.platform.inbox.retry.InboxFailure;
+import com.commerce.platform.inbox.retry.InboxRetryPolicy;
 import com.commerce.platform.order.service.domain.OrderPaymentSaga;
 import com.commerce.platform.order.service.domain.ProductReservationSaga;
 import com.commerce.platform.order.service.domain.dto.message.PaymentResponse;
@@ -11,12 +19,22 @@ import com.commerce.platform.order.service.domain.dto.message.ProductReservation
 import com.commerce.platform.order.service.domain.inbox.model.OrderInboxMessage;
 import com.commerce.platform.order.service.domain.ports.output.repository.OrderInboxRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.commerce.platform.order.service.domain.config.OrderServiceConfigData;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 
 import static com.commerce.platform.order.service.domain.entity.Order.FAILURE_MESSAGE_DELIMITER;
 
@@ -28,100 +46,219 @@ public class OrderInboxTransactionService {
     private final ProductReservationSaga productReservationSaga;
     private final OrderPaymentSaga orderPaymentSaga;
     private final ObjectMapper objectMapper;
+    private final InboxPayloadCodec<ProductReservationResponse> productReservationResponseInboxPayloadCodec;
+    private final InboxPayloadCodec<PaymentResponse> paymentResponseInboxPayloadCodec;
+    private final InboxSavepointExecutor inboxSavepointExecutor;
+    private final InboxRetryPolicy inboxRetryPolicy;
+    private final OrderServiceConfigData orderServiceConfigData;
+    private final InboxHopLatency inboxHopLatency;
     
     public OrderInboxTransactionService(OrderInboxRepository orderInboxRepository,
                                       ProductReservationSaga productReservationSaga,
                                       OrderPaymentSaga orderPaymentSaga,
-                                      ObjectMapper objectMapper) {
+                                      ObjectMapper objectMapper,
+                                      InboxPayloadCodec<ProductReservationResponse> productReservationResponseInboxPayloadCodec,
+                                      InboxPayloadCodec<PaymentResponse> paymentResponseInboxPayloadCodec,
+                                      InboxSavepointExecutor inboxSavepointExecutor,
+                                      OrderServiceConfigData orderServiceConfigData,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${order-service.inbox-max-retry-count:3}") int maxRetryCount,
+                                      @Value("${order-service.inbox-retry-backoff-base-ms:1000}") long retryBackoffBaseMs,
+                                      @Value("${order-service.inbox-retry-backoff-max-ms:60000}") long retryBackoffMaxMs) {
         this.orderInboxRepository = orderInboxRepository;
         this.productReservationSaga = productReservationSaga;
         this.orderPaymentSaga = orderPaymentSaga;
         this.objectMapper = objectMapper;
+        this.productReservationResponseInboxPayloadCodec = productReservationResponseInboxPayloadCodec;
+        this.paymentResponseInboxPayloadCodec = paymentResponseInboxPayloadCodec;
+        this.inboxSavepointExecutor = inboxSavepointExecutor;
+        this.inboxRetryPolicy = new InboxRetryPolicy(maxRetryCount,
+                Duration.ofMillis(retryBackoffBaseMs),
+                Duration.ofMillis(retryBackoffMaxMs));
+        this.orderServiceConfigData = orderServiceConfigData;
+        this.inboxHopLatency = new InboxHopLatency(meterRegistry);
     }
     
     @Transactional
-    public boolean processNextMessage() {
+    public int processLaneMessages(int lane, int laneCount, int batchSize) {
+        if (!orderInboxRepository.tryLockLane(lane)) {
+            return 0;
+        }
+        
         List<OrderInboxMessage> messages = orderInboxRepository
-                .findByStatusOrderByReceivedAtWithSkipLock(InboxStatus.RECEIVED, 1);
+                .findByStatusAndLaneSlotRangeOrderByReceivedAtWithSkipLock(InboxStatus.RECEIVED,
+                        InboxLanes.fromSlot(lane, laneCount),
+                        InboxLanes.toSlotExclusive(lane, laneCount),
+                        batchSize);
         
         if (messages.isEmpty()) {
-            return false;
+            return 0;
         }
         
-        OrderInboxMessage inboxMessage = messages.getFirst();
-        ZonedDateTime processedAt = ZonedDateTime.now();
+        List<UUID> processedIds = new ArrayList<>(messages.size());
+        List<InboxFailure> failures = new ArrayList<>();
         
-        try {
-            if (inboxMessage.getType() == ServiceMessageType.PRODUCT_RESERVATION_RESPONSE) {
-                processProductReservationResponse(inboxMessage);
-            } else if (inboxMessage.getType() == ServiceMessageType.PAYMENT_RESPONSE) {
-                processPaymentResponse(inboxMessage);
+        Set<UUID> failedSagaIds = new HashSet<>();
+        for (OrderInboxMessage inboxMessage : messages) {
+            if (failedSagaIds.contains(inboxMessage.getSagaId())) {
+                // 앞선 메시지가 실패한 saga 의 뒤 메시지는 RECEIVED 로 남겨 재시도 뒤에 처리한다
+                continue;
+            }
+            try {
+                inboxSavepointExecutor.execute(() -> processMessage(inboxMessage));
+                processedIds.add(inboxMessage.getId());
+                inboxHopLatency.recordProcessed(topicOf(inboxMessage.getType()),
+                        inboxMessage.getReceivedAt());
+                
+                log.debug("Successfully processed inbox message: {} for saga: {}", 
+                        inboxMessage.getId(), inboxMessage.getSagaId());
+                
+            } catch (InboxBatchAbortedException e) {
+                throw e.forMessage(inboxMessage.getId(), inboxMessage.getRetryCount());
+            } catch (Exception e) {
+                log.error("Failed to process inbox message: {}", inboxMessage.getId(), e);
+                failedSagaIds.add(inboxMessage.getSagaId());
+                InboxFailure failure = inboxRetryPolicy.failure(inboxMessage.getId(),
+                        inboxMessage.getRetryCount(),
+                        String.valueOf(e.getMessage()),
+                        ZonedDateTime.now(ZoneOffset.UTC));
+                failures.add(failure);
+                if (failure.status() == InboxStatus.PARKED) {
+                    log.warn("Inbox message: {} for saga: {} is parked after {} attempts",
+                            inboxMessage.getId(), inboxMessage.getSagaId(), inboxMessage.getRetryCount() + 1);
+                }
             }
-            
-            inboxMessage.setStatus(InboxStatus.PROCESSED);
-            inboxMessage.setProcessedAt(processedAt);
-            
-            log.info("Successfully processed inbox message: {} for saga: {}", 
-                    inboxMessage.getId(), inboxMessage.getSagaId());
-            
-        } catch (Exception e) {
-            log.error("Failed to process inbox message: {}", inboxMessage.getId(), e);
-            
-            inboxMessage.setStatus(InboxStatus.FAILED);
-            inboxMessage.setErrorMessage(e.getMessage());
-            inboxMessage.setRetryCount(inboxMessage.getRetryCount() + 1);
         }
         
-        orderInboxRepository.save(inboxMessage);
-        return true;
+        orderInboxRepository.bulkUpdateToProcessed(processedIds, ZonedDateTime.now());
+        orderInboxRepository.bulkUpdateToFailed(failures);
+        return messages.size();
+    }
+    
+    /**
+     * fast path 로 처리한 메시지의 hop 지연을 기록한다. 커밋된 뒤에만 기록된다.
+     */
+    public void recordProcessed(ServiceMessageType type, ZonedDateTime receivedAt) {
+        inboxHopLatency.recordProcessed(topicOf(type), receivedAt);
+    }
+    
+    @Transactional
+    public void recordAbortedMessage(InboxBatchAbortedException aborted) {
+        orderInboxRepository.bulkUpdateToFailed(List.of(inboxRetryPolicy.failure(aborted.getMessageId(),
+                aborted.getRetryCount(),
+                aborted.failureMessage(),
+                ZonedDateTime.now(ZoneOffset.UTC))));
+    }
+    
+    @Transactional(readOnly = true)
+    public List<InboxLaneDepth> getLaneDepths(int laneCount) {
+        return orderInboxRepository.countByStatusGroupByLane(InboxStatus.RECEIVED, laneCount);
     }
     
     @Transactional
-    public void retryFailedMessages(int maxRetryCount, int batchSize) {
-        List<OrderInboxMessage> failedMessages = orderInboxRepository
-                .findByStatusAndRetryCountLessThanOrderByReceivedAtWithSkipLock(InboxStatus.FAILED, maxRetryCount, batchSize);
+    public int resolveLaneCount(int configuredLaneCount) {
+        int laneCount = orderInboxRepository.findOrCreateLaneCount(configuredLaneCount);
+        if (laneCount != configuredLaneCount) {
+            log.warn("Using persisted inbox lane count {} instead of configured {}", laneCount, configuredLaneCount);
+        }
+        orderInboxRepository.createLanes(laneCount);
+        return laneCount;
+    }
+    
+    @Transactional
+    public List<UUID> retryFailedMessages(int batchSize) {
+        List<OrderInboxMessage> dueMessages = orderInboxRepository
+                .findByStatusAndNextAttemptAtBeforeOrderByNextAttemptAtWithSkipLock(InboxStatus.FAILED,
+                        ZonedDateTime.now(ZoneOffset.UTC),
+                        batchSize);
         
-        if (!failedMessages.isEmpty()) {
-            log.info("Retrying {} failed messages", failedMessages.size());
-            
-            failedMessages.forEach(message -> message.setStatus(InboxStatus.RECEIVED));
-            
-            orderInboxRepository.saveAll(failedMessages);
+        if (dueMessages.isEmpty()) {
+            return List.of();
         }
+        
+        log.info("Retrying {} failed messages", dueMessages.size());
+        orderInboxRepository.bulkUpdateToReceived(dueMessages.stream().map(OrderInboxMessage::getId).toList());
+        return dueMessages.stream().map(OrderInboxMessage::getSagaId).toList();
     }
     
-    private void processProductReservationResponse(OrderInboxMessage inboxMessage) throws Exception {
-        ProductReservationResponse response = objectMapper.readValue(
-                inboxMessage.getPayload(), 
-                ProductReservationResponse.class
-        );
+    @Transactional
+    public List<UUID> releaseReplayQueuedMessages(int limit) {
+        List<OrderInboxMessage> queuedMessages = orderInboxRepository
+                .findByStatusAndNextAttemptAtBeforeOrderByNextAttemptAtWithSkipLock(InboxStatus.REPLAY_QUEUED,
+                        ZonedDateTime.now(ZoneOffset.UTC),
+                        limit);
         
+        if (queuedMessages.isEmpty()) {
+            return List.of();
+        }
+        
+        log.info("Replaying {} parked messages", queuedMessages.size());
+        orderInboxRepository.bulkUpdateToReceived(queuedMessages.stream().map(OrderInboxMessage::getId).toList());
+        return queuedMessages.stream().map(OrderInboxMessage::getSagaId).toList();
+    }
+    
+    private String topicOf(ServiceMessageType type) {
+        return type == ServiceMessageType.PAYMENT_RESPONSE
+                ? orderServiceConfigData.getPaymentResponseTopicName()
+                : orderServiceConfigData.getProductReservationResponseTopicName();
+    }
+    
+    private void processMessage(OrderInboxMessage inboxMessage) throws Exception {
+        if (inboxMessage.getType() == ServiceMessageType.PRODUCT_RESERVATION_RESPONSE) {
+            processProductReservationResponse(inboxMessage);
+        } else if (inboxMessage.getType() == ServiceMessageType.PAYMENT_RESPONSE) {
+            processPaymentResponse(inboxMessage);
+        }
+    }
+    
+    private void processProductReservationResponse(OrderInboxMessage inboxMessage) throws Exception {
+        ProductReservationResponse response = decodePayload(inboxMessage, productReservationResponseInboxPayloadCodec, ProductReservationResponse.class);
+        processProductReservationResponse(response);
+    }
+    
+    public void processProductReservationResponse(ProductReservationResponse response) {
         if (response.getProductReservationStatus() == ProductReservationStatus.APPROVED ||
             response.getProductReservationStatus() == ProductReservationStatus.BOOKED) {
             productReservationSaga.process(response);
-            log.info("Order is approved for order id: {}", response.getOrderId());
+            if (log.isDebugEnabled()) {
+                log.debug("Order is approved for order id: {}", response.getOrderId());
+            }
         } else {
             productReservationSaga.rollback(response);
-            log.info("Product Reservation Saga rollback operation is completed for order id: {} with failure messages: {}",
-                    response.getOrderId(),
-                    String.join(FAILURE_MESSAGE_DELIMITER, response.getFailureMessages()));
+            if (log.isDebugEnabled()) {
+                log.debug("Product Reservation Saga rollback operation is completed for order id: {} with failure messages: {}",
+                        response.getOrderId(),
+                        String.join(FAILURE_MESSAGE_DELIMITER, response.getFailureMessages()));
+            }
         }
     }
     
     private void processPaymentResponse(OrderInboxMessage inboxMessage) throws Exception {
-        PaymentResponse response = objectMapper.readValue(
-                inboxMessage.getPayload(), 
-                PaymentResponse.class
-        );
-        
+        PaymentResponse response = decodePayload(inboxMessage, paymentResponseInboxPayloadCodec, PaymentResponse.class);
+        processPaymentResponse(response);
+    }
+    
+    public void processPaymentResponse(PaymentResponse response) {
         if (response.getPaymentStatus() == PaymentStatus.COMPLETED) {
             orderPaymentSaga.process(response);
-            log.info("Payment completed for order id: {}", response.getOrderId());
+            if (log.isDebugEnabled()) {
+                log.debug("Payment completed for order id: {}", response.getOrderId());
+            }
         } else {
             orderPaymentSaga.rollback(response);
-            log.info("Payment failed for order id: {} with failure messages: {}",
-                    response.getOrderId(),
-                    String.join(FAILURE_MESSAGE_DELIMITER, response.getFailureMessages()));
+            if (log.isDebugEnabled()) {
+                log.debug("Payment failed for order id: {} with failure messages: {}",
+                        response.getOrderId(),
+                        String.join(FAILURE_MESSAGE_DELIMITER, response.getFailureMessages()));
+            }
+        }
+    }
+    
+    private <T> T decodePayload(OrderInboxMessage inboxMessage, InboxPayloadCodec<T> codec, Class<T> type) throws IOException {
+        if (inboxMessage.getPayloadSchemaFingerprint() == null) {
+            // Avro 저장 이전에 JSON 으로 쌓인 메시지
+            return objectMapper.readValue(inboxMessage.getPayload(), type);
         }
+        return codec.decode(inboxMessage.getPayload(), inboxMessage.getPayloadSchemaFingerprint());
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
@@ -108,6 +108,16 @@ public class OrderDataMapper {
                 .build();
     }
 
+    public OrderPaymentEventPayload orderCancelledEventToPaymentCancelEventPayload(OrderCancelledEvent domainEvent) {
+        return OrderPaymentEventPayload.builder()
+                .customerId(domainEvent.getOrder().getCustomerId().getValue())
+                .orderId(domainEvent.getOrder().getId().getValue())
+                .price(domainEvent.getOrder().getPrice().getAmount())
+                .createdAt(domainEvent.getCreatedAt())
+                .paymentOrderStatus(PaymentOrderStatus.CANCELLED.name())
+                .build();
+    }
+
     public Product productResponseToProduct(ProductResponse productResponse) {
         return Product.builder()
                 .id(new ProductId(productResponse.getProductId()))
@@ -13,11 +13,15 @@ public class OrderOutboxMessage {
     private UUID id;
     private UUID messageId;
     private UUID sagaId;
+    private int shard;
     private ZonedDateTime createdAt;
     private ZonedDateTime fetchedAt;
+    private String leaseOwner;
+    private ZonedDateTime leaseExpiresAt;
     private ZonedDateTime processedAt;
     private String type;
-    private String payload;
+    private byte[] payload;
+    private Integer payloadSchemaId;
     private OutboxStatus outboxStatus;
     private int version;
 
@@ -32,4 +36,12 @@ public class OrderOutboxMessage {
     public void setFetchedAt(ZonedDateTime fetchedAt) {
         this.fetchedAt = fetchedAt;
     }
+
+    public void setLeaseOwner(String leaseOwner) {
+        this.leaseOwner = leaseOwner;
+    }
+
+    public void setLeaseExpiresAt(ZonedDateTime leaseExpiresAt) {
+        this.leaseExpiresAt = leaseExpiresAt;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,4 @@
+package com.commerce.platform.order.service.domain.outbox.model;
+
+public record OrderOutboxSavedEvent(OrderOutboxMessage outboxMessage) {
+}
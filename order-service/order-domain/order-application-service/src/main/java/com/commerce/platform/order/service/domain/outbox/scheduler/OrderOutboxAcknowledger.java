@@ -0,0 +1,38 @@
+package com.commerce.platform.order.service.domain.outbox.scheduler;
+
+import com.commerce.platform.outbox.OutboxStatus;
+import com.commerce.platform.outbox.ack.OutboxAckCollector;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+
+@Component
+public class OrderOutboxAcknowledger implements DisposableBean {
+
+    private final OutboxAckCollector outboxAckCollector;
+    private final OrderOutboxFlowControl orderOutboxFlowControl;
+
+    public OrderOutboxAcknowledger(OrderOutboxHelper orderOutboxHelper,
+                                   OrderOutboxFlowControl orderOutboxFlowControl,
+                                   @Value("${order-service.outbox-ack-batch-size:100}") int batchSize,
+                                   @Value("${order-service.outbox-ack-flush-interval-ms:5}") long flushIntervalMs) {
+        this.orderOutboxFlowControl = orderOutboxFlowControl;
+        this.outboxAckCollector = new OutboxAckCollector("order-service",
+                batchSize,
+                Duration.ofMillis(flushIntervalMs),
+                orderOutboxHelper::bulkUpdateOutboxMessageStatus);
+    }
+
+    public void acknowledge(UUID outboxId, OutboxStatus status) {
+        orderOutboxFlowControl.onAcknowledged(outboxId, status);
+        outboxAckCollector.acknowledge(outboxId, status);
+    }
+
+    @Override
+    public void destroy() {
+        outboxAckCollector.shutdown();
+    }
+}
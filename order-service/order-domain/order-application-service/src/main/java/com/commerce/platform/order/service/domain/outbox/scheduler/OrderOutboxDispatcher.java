@@ -0,0 +1,64 @@
+package com.commerce.platform.order.service.domain.outbox.scheduler;
+
+import com.commerce.platform.domain.event.ServiceMessageType;
+import com.commerce.platform.order.service.domain.outbox.model.OrderOutboxMessage;
+import com.commerce.platform.order.service.domain.outbox.model.OrderOutboxSavedEvent;
+import com.commerce.platform.order.service.domain.ports.output.message.publisher.payment.PaymentRequestMessagePublisher;
+import com.commerce.platform.order.service.domain.ports.output.message.publisher.product.ProductReservationRequestMessagePublisher;
+import com.commerce.platform.outbox.OutboxStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.function.Consumer;
+
+/**
+ * outbox 메시지를 타입별 publisher 로 발행한다.
+ * 저장 트랜잭션이 커밋되면 바로 발행하고, 실패하거나 유실된 메시지는 OrderOutboxScheduler 가 lease 만료 후 다시 발행한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderOutboxDispatcher {
+
+    private final PaymentRequestMessagePublisher paymentRequestMessagePublisher;
+    private final ProductReservationRequestMessagePublisher productReservationRequestMessagePublisher;
+    private final OrderOutboxFlowControl orderOutboxFlowControl;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void dispatchAfterCommit(OrderOutboxSavedEvent event) {
+        OrderOutboxMessage outboxMessage = event.outboxMessage();
+        try {
+            dispatch(outboxMessage);
+        } catch (Exception e) {
+            log.error("Could not dispatch OrderOutboxMessage with outbox id: {} after commit, " +
+                    "it will be republished by the scheduler", outboxMessage.getId(), e);
+        }
+    }
+
+    public void dispatch(OrderOutboxMessage outboxMessage) {
+        ServiceMessageType messageType = ServiceMessageType.valueOf(outboxMessage.getType());
+        switch (messageType) {
+            case PAYMENT_REQUEST:
+                publish(outboxMessage, paymentRequestMessagePublisher::publish);
+                break;
+            case PRODUCT_RESERVATION_REQUEST:
+                publish(outboxMessage, productReservationRequestMessagePublisher::publish);
+                break;
+            default:
+                log.warn("Unknown outbox message type: {}", outboxMessage.getType());
+        }
+    }
+
+    private void publish(OrderOutboxMessage outboxMessage, Consumer<OrderOutboxMessage> publisher) {
+        orderOutboxFlowControl.onDispatched(outboxMessage.getId());
+        try {
+            publisher.accept(outboxMessage);
+        } catch (RuntimeException e) {
+            orderOutboxFlowControl.onAcknowledged(outboxMessage.getId(), OutboxStatus.FAILED);
+            throw e;
+        }
+    }
+}
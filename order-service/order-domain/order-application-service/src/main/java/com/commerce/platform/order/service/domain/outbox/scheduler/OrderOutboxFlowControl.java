@@ -0,0 +1,51 @@
+package com.commerce.platform.order.service.domain.outbox.scheduler;
+
+import com.commerce.platform.outbox.OutboxStatus;
+import com.commerce.platform.outbox.flow.OutboxFlowController;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+
+@Component
+public class OrderOutboxFlowControl {
+
+    private final OutboxFlowController outboxFlowController;
+
+    public OrderOutboxFlowControl(MeterRegistry meterRegistry,
+                                  @Value("${order-service.outbox-scheduler-batch-size:10}") int initialBatchSize,
+                                  @Value("${order-service.outbox-scheduler-min-batch-size:1}") int minBatchSize,
+                                  @Value("${order-service.outbox-scheduler-max-batch-size:500}") int maxBatchSize,
+                                  @Value("${order-service.outbox-max-in-flight:2000}") int maxInFlight,
+                                  @Value("${order-service.outbox-batch-size-step:10}") int step,
+                                  @Value("${order-service.outbox-target-send-latency-ms:200}") long targetSendLatencyMs,
+                                  @Value("${order-service.outbox-send-expiry-ms:120000}") long sendExpiryMs) {
+        this.outboxFlowController = new OutboxFlowController("order-service",
+                initialBatchSize,
+                minBatchSize,
+                maxBatchSize,
+                maxInFlight,
+                step,
+                Duration.ofMillis(targetSendLatencyMs),
+                Duration.ofMillis(sendExpiryMs),
+                meterRegistry);
+    }
+
+    public int nextClaimSize() {
+        return outboxFlowController.nextClaimSize();
+    }
+
+    public void onClaimed(int requested, int claimed) {
+        outboxFlowController.onClaimed(requested, claimed);
+    }
+
+    public void onDispatched(UUID outboxId) {
+        outboxFlowController.onDispatched(outboxId);
+    }
+
+    public void onAcknowledged(UUID outboxId, OutboxStatus status) {
+        outboxFlowController.onAcknowledged(outboxId, status);
+    }
+}
@@ -3,17 +3,25 @@ package com.commerce.platform.order.service.domain.outbox.scheduler;
 import com.commerce.platform.domain.event.ServiceMessageType;
 import com.commerce.platform.order.service.domain.exception.OrderDomainException;
 import com.commerce.platform.order.service.domain.outbox.model.OrderOutboxMessage;
+import com.commerce.platform.order.service.domain.outbox.model.OrderOutboxSavedEvent;
+import com.commerce.platform.order.service.domain.ports.output.message.publisher.OrderOutboxPayloadSerializer;
 import com.commerce.platform.order.service.domain.ports.output.repository.OrderOutboxRepository;
+import com.commerce.platform.inbox.InboxSavepointSynchronization;
 import com.commerce.platform.outbox.OutboxStatus;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.commerce.platform.outbox.lease.OutboxLeaseOwner;
+import com.commerce.platform.outbox.payload.SerializedOutboxPayload;
+import com.commerce.platform.outbox.shard.OutboxShards;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 import com.commerce.platform.domain.util.UuidGenerator;
 
 import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -24,23 +32,21 @@ import java.util.UUID;
 public class OrderOutboxHelper {
 
     private final OrderOutboxRepository orderOutboxRepository;
-    private final ObjectMapper objectMapper;
+    private final OrderOutboxPayloadSerializer orderOutboxPayloadSerializer;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    private final OutboxLeaseOwner outboxLeaseOwner;
+
+    @Value("${order-service.outbox-immediate-dispatch-enabled:true}")
+    private boolean immediateDispatchEnabled;
+
+    @Value("${order-service.outbox-lease-duration-seconds:300}")
+    private long leaseDurationSeconds;
 
     @Transactional(readOnly = true)
     public List<OrderOutboxMessage> getOrderOutboxMessageByOutboxStatus(OutboxStatus outboxStatus, int limit) {
         return orderOutboxRepository.findByOutboxStatus(outboxStatus, limit);
     }
-    
-    @Transactional(readOnly = true)
-    public List<OrderOutboxMessage> getOrderOutboxMessageByOutboxStatusWithSkipLock(OutboxStatus outboxStatus, int limit) {
-        return orderOutboxRepository.findByOutboxStatusWithSkipLock(outboxStatus, limit);
-    }
-    
-    @Transactional(readOnly = true)
-    public List<OrderOutboxMessage> getOrderOutboxMessageByOutboxStatusAndFetchedAtBefore(
-            OutboxStatus outboxStatus, ZonedDateTime fetchedAtBefore, int limit) {
-        return orderOutboxRepository.findByOutboxStatusAndFetchedAtBefore(outboxStatus, fetchedAtBefore, limit);
-    }
 
 
     @Transactional
@@ -51,7 +57,7 @@ public class OrderOutboxHelper {
             throw new OrderDomainException("Could not save OrderOutboxMessage with outbox id: " +
                     orderOutboxMessage.getId());
         }
-        log.info("OrderOutboxMessage saved with outbox id: {} and type: {}", orderOutboxMessage.getId(), orderOutboxMessage.getType());
+        log.debug("OrderOutboxMessage saved with outbox id: {} and type: {}", orderOutboxMessage.getId(), orderOutboxMessage.getType());
     }
 
     @Transactional
@@ -59,92 +65,51 @@ public class OrderOutboxHelper {
                                        Object eventPayload,
                                        OutboxStatus outboxStatus,
                                        UUID sagaId) {
-        save(OrderOutboxMessage.builder()
+        boolean dispatchAfterCommit = immediateDispatchEnabled && outboxStatus == OutboxStatus.STARTED;
+        ZonedDateTime now = ZonedDateTime.now();
+        UUID messageId = UuidGenerator.generate();
+        SerializedOutboxPayload serializedPayload =
+                orderOutboxPayloadSerializer.serialize(messageType, messageId, sagaId, eventPayload);
+        OrderOutboxMessage orderOutboxMessage = OrderOutboxMessage.builder()
                 .id(UuidGenerator.generate())
-                .messageId(UuidGenerator.generate())
+                .messageId(messageId)
                 .sagaId(sagaId)
-                .createdAt(ZonedDateTime.now())
+                .shard(OutboxShards.shardOf(sagaId))
+                .createdAt(now)
+                .fetchedAt(dispatchAfterCommit ? now : null)
+                .leaseOwner(dispatchAfterCommit ? outboxLeaseOwner.getInstanceId() : null)
+                .leaseExpiresAt(dispatchAfterCommit ? now.plusSeconds(leaseDurationSeconds) : null)
                 .type(messageType.name())
-                .payload(createPayload(eventPayload))
-                .outboxStatus(outboxStatus)
+                .payload(serializedPayload.value())
+                .payloadSchemaId(serializedPayload.schemaId())
+                .outboxStatus(dispatchAfterCommit ? OutboxStatus.PROCESSING : outboxStatus)
                 .version(0)
-                .build());
+                .build();
+        save(orderOutboxMessage);
+        if (dispatchAfterCommit) {
+            // inbox 메시지 단위 savepoint 가 롤백되면 저장되지 않은 메시지를 커밋 후 발행하지 않도록 해제될 때 등록한다
+            InboxSavepointSynchronization.afterRelease(() ->
+                    applicationEventPublisher.publishEvent(new OrderOutboxSavedEvent(orderOutboxMessage)));
+        }
     }
 
 
     @Transactional
-    public int deleteOrderOutboxMessageByOutboxStatus(OutboxStatus outboxStatus, int limit) {
-        return orderOutboxRepository.deleteByOutboxStatus(outboxStatus, limit);
-    }
-    
-    @Transactional
-    public void updateOutboxMessageStatus(UUID messageId, OutboxStatus status) {
-        OrderOutboxMessage message = orderOutboxRepository.findById(messageId)
-                .orElseThrow(() -> new OrderDomainException("OrderOutboxMessage not found with id: " + messageId));
-        
-        message.setOutboxStatus(status);
-        if (status == OutboxStatus.COMPLETED || status == OutboxStatus.FAILED) {
-            message.setProcessedAt(ZonedDateTime.now());
-        }
-        
-        save(message);
-        log.info("OrderOutboxMessage {} updated with status: {}", messageId, status);
+    public void bulkUpdateOutboxMessageStatus(List<UUID> outboxIds, OutboxStatus status) {
+        int updatedCount = orderOutboxRepository.bulkUpdateStatusAndProcessedAt(outboxIds, status, ZonedDateTime.now());
+        log.debug("Updated {} OrderOutboxMessages with status: {}", updatedCount, status);
     }
 
     @Transactional
-    public List<OrderOutboxMessage> updateMessagesToProcessing(int batchSize) {
-        List<OrderOutboxMessage> outboxMessages = getOrderOutboxMessageByOutboxStatusWithSkipLock(OutboxStatus.STARTED, batchSize);
-        
-        if (!outboxMessages.isEmpty()) {
-            ZonedDateTime now = ZonedDateTime.now();
-            List<UUID> ids = outboxMessages.stream()
-                    .map(OrderOutboxMessage::getId)
-                    .toList();
-            
-            int updatedCount = orderOutboxRepository.bulkUpdateStatusAndFetchedAt(ids, OutboxStatus.PROCESSING, now);
-            log.info("Updated {} messages to PROCESSING status", updatedCount);
-            
-            outboxMessages.forEach(message -> {
-                message.setOutboxStatus(OutboxStatus.PROCESSING);
-                message.setFetchedAt(now);
-            });
-        }
-        
-        return outboxMessages;
-    }
+    public List<OrderOutboxMessage> claimMessages(Collection<Integer> shards, int batchSize) {
+        ZonedDateTime now = ZonedDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        ZonedDateTime leaseExpiresAt = now.plusSeconds(leaseDurationSeconds);
+        List<OrderOutboxMessage> outboxMessages = orderOutboxRepository.claimByLease(shards, outboxLeaseOwner.nextClaim(), now, leaseExpiresAt, batchSize);
 
-    @Transactional
-    public void resetTimedOutMessages(int processingTimeoutMinutes, int batchSize) {
-        ZonedDateTime timeoutThreshold = ZonedDateTime.now().minusMinutes(processingTimeoutMinutes);
-        List<OrderOutboxMessage> timedOutMessages = getOrderOutboxMessageByOutboxStatusAndFetchedAtBefore(
-                OutboxStatus.PROCESSING, 
-                timeoutThreshold,
-                batchSize);
-        
-        if (!timedOutMessages.isEmpty()) {
-            log.warn("Found {} timed out PROCESSING messages, resetting to STARTED", 
-                    timedOutMessages.size());
-            
-            List<UUID> ids = timedOutMessages.stream()
-                    .map(OrderOutboxMessage::getId)
-                    .toList();
-            
-            int updatedCount = orderOutboxRepository.bulkUpdateStatusAndFetchedAt(ids, OutboxStatus.STARTED, null);
-            log.info("Reset {} messages to STARTED status", updatedCount);
-            
-            timedOutMessages.forEach(message -> {
-                message.setOutboxStatus(OutboxStatus.STARTED);
-                message.setFetchedAt(null);
-            });
+        if (!outboxMessages.isEmpty()) {
+            log.debug("Claimed {} OrderOutboxMessages with lease until {}", outboxMessages.size(), leaseExpiresAt);
         }
-    }
 
-    private String createPayload(Object eventPayload) {
-        try {
-            return objectMapper.writeValueAsString(eventPayload);
-        } catch (JsonProcessingException e) {
-            log.error("Could not create payload object", e);
-            throw new OrderDomainException("Could not create payload object", e);
-        }
+        return outboxMessages;
     }
 }
\ No newline at end of file
@@ -1,13 +1,10 @@
 package com.commerce.platform.order.service.domain.outbox.scheduler;
 
 import com.commerce.platform.order.service.domain.outbox.model.OrderOutboxMessage;
-import com.commerce.platform.order.service.domain.ports.output.message.publisher.payment.PaymentRequestMessagePublisher;
-import com.commerce.platform.order.service.domain.ports.output.message.publisher.product.ProductReservationRequestMessagePublisher;
 import com.commerce.platform.outbox.OutboxScheduler;
 import com.commerce.platform.outbox.OutboxStatus;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
@@ -15,55 +12,41 @@ import org.springframework.stereotype.Component;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import com.commerce.platform.domain.event.ServiceMessageType;
-
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class OrderOutboxScheduler implements OutboxScheduler {
 
     private final OrderOutboxHelper orderOutboxHelper;
-    private final PaymentRequestMessagePublisher paymentRequestMessagePublisher;
-    private final ProductReservationRequestMessagePublisher productReservationRequestMessagePublisher;
-    
-    @Value("${order-service.outbox-scheduler-batch-size:10}")
-    private int batchSize;
-    
-    @Value("${order-service.outbox-processing-timeout-minutes:5}")
-    private int processingTimeoutMinutes;
+    private final OrderOutboxDispatcher orderOutboxDispatcher;
+    private final OrderOutboxShardManager orderOutboxShardManager;
+    private final OrderOutboxFlowControl orderOutboxFlowControl;
 
     @Override
     @Scheduled(fixedRateString = "${order-service.outbox-scheduler-fixed-rate}",
             initialDelayString = "${order-service.outbox-scheduler-initial-delay}")
     @Async("outboxTaskExecutor")
     public void processOutboxMessage() {
-        orderOutboxHelper.resetTimedOutMessages(processingTimeoutMinutes, batchSize);
-        List<OrderOutboxMessage> messagesToProcess = orderOutboxHelper.updateMessagesToProcessing(batchSize);
+        int claimSize = orderOutboxFlowControl.nextClaimSize();
+        List<OrderOutboxMessage> messagesToProcess = claimSize > 0
+                ? orderOutboxHelper.claimMessages(orderOutboxShardManager.getOwnedShards(), claimSize)
+                : List.of();
+        orderOutboxFlowControl.onClaimed(claimSize, messagesToProcess.size());
         
         if (!messagesToProcess.isEmpty()) {
-            log.info("Processing {} OrderOutboxMessages with ids: {}",
-                    messagesToProcess.size(),
-                    messagesToProcess.stream()
-                            .map(msg -> msg.getId().toString())
-                            .collect(Collectors.joining(",")));
+            if (log.isDebugEnabled()) {
+                log.debug("Processing {} OrderOutboxMessages with ids: {}",
+                        messagesToProcess.size(),
+                        messagesToProcess.stream()
+                                .map(msg -> msg.getId().toString())
+                                .collect(Collectors.joining(",")));
+            }
             
-            messagesToProcess.forEach(this::publishMessage);
+            messagesToProcess.forEach(orderOutboxDispatcher::dispatch);
             
-            log.info("{} OrderOutboxMessages processed", messagesToProcess.size());
-        }
-    }
-    
-    private void publishMessage(OrderOutboxMessage outboxMessage) {
-        ServiceMessageType messageType = ServiceMessageType.valueOf(outboxMessage.getType());
-        switch (messageType) {
-            case PAYMENT_REQUEST:
-                paymentRequestMessagePublisher.publish(outboxMessage);
-                break;
-            case PRODUCT_RESERVATION_REQUEST:
-                productReservationRequestMessagePublisher.publish(outboxMessage);
-                break;
-            default:
-                log.warn("Unknown outbox message type: {}", outboxMessage.getType());
+            if (log.isDebugEnabled()) {
+                log.debug("{} OrderOutboxMessages processed", messagesToProcess.size());
+            }
         }
     }
 }
\ No newline at end of file
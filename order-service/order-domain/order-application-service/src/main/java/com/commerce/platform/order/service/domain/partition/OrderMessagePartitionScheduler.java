@@ -0,0 +1,32 @@
+package com.commerce.platform.order.service.domain.partition;
+
+import com.commerce.platform.order.service.domain.ports.output.repository.OrderMessagePartitionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+@Slf4j
+@Component
+public class OrderMessagePartitionScheduler {
+    
+    private final OrderMessagePartitionRepository orderMessagePartitionRepository;
+    
+    public OrderMessagePartitionScheduler(OrderMessagePartitionRepository orderMessagePartitionRepository) {
+        this.orderMessagePartitionRepository = orderMessagePartitionRepository;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${order-service.message-partition-cron:0 0 * * * *}")
+    public void rotatePartitions() {
+        try {
+            orderMessagePartitionRepository.rotatePartitions(LocalDate.now(ZoneOffset.UTC));
+        } catch (Exception e) {
+            log.error("Failed to rotate inbox/outbox partitions", e);
+        }
+    }
+}
@@ -2,16 +2,34 @@ package com.commerce.platform.order.service.domain.ports.output.repository;
 
 import com.commerce.platform.domain.event.ServiceMessageType;
 import com.commerce.platform.inbox.InboxStatus;
+import com.commerce.platform.inbox.lane.InboxLaneDepth;
+import com.commerce.platform.inbox.parking.ParkedInboxMessage;
+import com.commerce.platform.inbox.retry.InboxFailure;
 import com.commerce.platform.order.service.domain.inbox.model.OrderInboxMessage;
 
+import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 public interface OrderInboxRepository {
     OrderInboxMessage save(OrderInboxMessage orderInboxMessage);
     List<OrderInboxMessage> saveAll(List<OrderInboxMessage> orderInboxMessages);
+    boolean saveIfAbsent(OrderInboxMessage orderInboxMessage);
+    Set<UUID> findSagaIdsWithUnfinishedMessages(Collection<UUID> sagaIds);
     Optional<OrderInboxMessage> findByMessageId(UUID messageId);
     List<OrderInboxMessage> findByStatusOrderByReceivedAtWithSkipLock(InboxStatus status, int limit);
-    List<OrderInboxMessage> findByStatusAndRetryCountLessThanOrderByReceivedAtWithSkipLock(InboxStatus status, int maxRetryCount, int limit);
+    List<OrderInboxMessage> findByStatusAndNextAttemptAtBeforeOrderByNextAttemptAtWithSkipLock(InboxStatus status, ZonedDateTime now, int limit);
+    List<OrderInboxMessage> findByStatusAndLaneSlotRangeOrderByReceivedAtWithSkipLock(InboxStatus status, int fromSlot, int toSlot, int limit);
+    List<InboxLaneDepth> countByStatusGroupByLane(InboxStatus status, int laneCount);
+    boolean tryLockLane(int lane);
+    int findOrCreateLaneCount(int laneCount);
+    void createLanes(int laneCount);
+    int bulkUpdateToProcessed(List<UUID> ids, ZonedDateTime processedAt);
+    int bulkUpdateToFailed(List<InboxFailure> failures);
+    int bulkUpdateToReceived(List<UUID> ids);
+    List<ParkedInboxMessage> findByStatusAndNextAttemptAtBeforeOrderByNextAttemptAtDesc(InboxStatus status, ZonedDateTime before, int limit);
+    int bulkUpdateToReplayQueued(List<UUID> ids);
 }
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.commerce.platform.order.service.domain.ports.output.repository;
+
+import java.time.LocalDate;
+
+public interface OrderMessagePartitionRepository {
+    void rotatePartitions(LocalDate today);
+}
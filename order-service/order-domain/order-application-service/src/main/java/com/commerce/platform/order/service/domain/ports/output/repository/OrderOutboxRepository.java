@@ -4,6 +4,7 @@ import com.commerce.platform.order.service.domain.outbox.model.OrderOutboxMessag
 import com.commerce.platform.outbox.OutboxStatus;
 
 import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -16,15 +17,9 @@ public interface OrderOutboxRepository {
     
     List<OrderOutboxMessage> findByOutboxStatus(OutboxStatus outboxStatus, int limit);
 
-    List<OrderOutboxMessage> findByOutboxStatusWithSkipLock(OutboxStatus outboxStatus, int limit);
-    
-    List<OrderOutboxMessage> findByOutboxStatusAndFetchedAtBefore(OutboxStatus outboxStatus, 
-                                                                  ZonedDateTime fetchedAtBefore, 
-                                                                  int limit);
-
-    int deleteByOutboxStatus(OutboxStatus outboxStatus, int limit);
-    
     Optional<OrderOutboxMessage> findById(UUID id);
     
-    int bulkUpdateStatusAndFetchedAt(List<UUID> ids, OutboxStatus status, ZonedDateTime fetchedAt);
+    List<OrderOutboxMessage> claimByLease(Collection<Integer> shards, String leaseOwner, ZonedDateTime now, ZonedDateTime leaseExpiresAt, int limit);
+    
+    int bulkUpdateStatusAndProcessedAt(List<UUID> ids, OutboxStatus status, ZonedDateTime processedAt);
 }
\ No newline at end of file
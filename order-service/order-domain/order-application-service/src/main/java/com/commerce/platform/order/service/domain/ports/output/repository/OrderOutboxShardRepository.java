@@ -0,0 +1,6 @@
+package com.commerce.platform.order.service.domain.ports.output.repository;
+
+import com.commerce.platform.outbox.shard.OutboxShardLeaseStore;
+
+public interface OrderOutboxShardRepository extends OutboxShardLeaseStore {
+}
@@ -160,7 +160,8 @@ public class Order extends AggregateRoot<OrderId>
     }
 
     public void initCancel(List<String> failureMessages) {
-        if (orderStatus != OrderStatus.RESERVED) {
+        // PAID: 결제가 끝난 뒤에 product-service 가 재고 예약을 만료시킨 경우
+        if (!(orderStatus == OrderStatus.RESERVED || orderStatus == OrderStatus.PAID)) {
             throw new OrderDomainException("Order is not in correct state for initCancel operation!");
         }
         orderStatus = OrderStatus.CANCELLING;
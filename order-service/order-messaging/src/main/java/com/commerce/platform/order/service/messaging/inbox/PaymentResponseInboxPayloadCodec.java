@@ -0,0 +1,34 @@
+package com.commerce.platform.order.service.messaging.inbox;
+
+import com.commerce.platform.inbox.payload.InboxPayloadCodec;
+import com.commerce.platform.kafka.avro.AvroBinaryCodec;
+import com.commerce.platform.kafka.order.avro.model.PaymentResponseAvroModel;
+import com.commerce.platform.order.service.domain.dto.message.PaymentResponse;
+import com.commerce.platform.order.service.messaging.mapper.OrderMessagingDataMapper;
+import org.springframework.stereotype.Component;
+
+@Component
+public class PaymentResponseInboxPayloadCodec implements InboxPayloadCodec<PaymentResponse> {
+
+    private final AvroBinaryCodec<PaymentResponseAvroModel> avroBinaryCodec = new AvroBinaryCodec<>(PaymentResponseAvroModel.class);
+    private final OrderMessagingDataMapper orderMessagingDataMapper;
+
+    public PaymentResponseInboxPayloadCodec(OrderMessagingDataMapper orderMessagingDataMapper) {
+        this.orderMessagingDataMapper = orderMessagingDataMapper;
+    }
+
+    @Override
+    public long schemaFingerprint() {
+        return avroBinaryCodec.getSchemaFingerprint();
+    }
+
+    @Override
+    public byte[] encode(PaymentResponse message) {
+        return avroBinaryCodec.encode(orderMessagingDataMapper.paymentResponseToPaymentResponseAvroModel(message));
+    }
+
+    @Override
+    public PaymentResponse decode(byte[] payload, long schemaFingerprint) {
+        return orderMessagingDataMapper.paymentResponseAvroModelToPaymentResponse(avroBinaryCodec.decode(payload, schemaFingerprint));
+    }
+}
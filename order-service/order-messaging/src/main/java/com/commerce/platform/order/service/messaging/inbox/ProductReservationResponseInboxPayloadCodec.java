@@ -0,0 +1,34 @@
+package com.commerce.platform.order.service.messaging.inbox;
+
+import com.commerce.platform.inbox.payload.InboxPayloadCodec;
+import com.commerce.platform.kafka.avro.AvroBinaryCodec;
+import com.commerce.platform.kafka.order.avro.model.ProductReservationResponseAvroModel;
+import com.commerce.platform.order.service.domain.dto.message.ProductReservationResponse;
+import com.commerce.platform.order.service.messaging.mapper.OrderMessagingDataMapper;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ProductReservationResponseInboxPayloadCodec implements InboxPayloadCodec<ProductReservationResponse> {
+
+    private final AvroBinaryCodec<ProductReservationResponseAvroModel> avroBinaryCodec = new AvroBinaryCodec<>(ProductReservationResponseAvroModel.class);
+    private final OrderMessagingDataMapper orderMessagingDataMapper;
+
+    public ProductReservationResponseInboxPayloadCodec(OrderMessagingDataMapper orderMessagingDataMapper) {
+        this.orderMessagingDataMapper = orderMessagingDataMapper;
+    }
+
+    @Override
+    public long schemaFingerprint() {
+        return avroBinaryCodec.getSchemaFingerprint();
+    }
+
+    @Override
+    public byte[] encode(ProductReservationResponse message) {
+        return avroBinaryCodec.encode(orderMessagingDataMapper.productReservationResponseToProductReservationResponseAvroModel(message));
+    }
+
+    @Override
+    public ProductReservationResponse decode(byte[] payload, long schemaFingerprint) {
+        return orderMessagingDataMapper.productReservationResponseAvroModelToProductReservationResponse(avroBinaryCodec.decode(payload, schemaFingerprint));
+    }
+}
@@ -2,6 +2,7 @@ package com.commerce.platform.order.service.messaging.listener.kafka;
 
 import com.commerce.platform.kafka.order.avro.model.PaymentResponseAvroModel;
 import com.commerce.platform.order.service.messaging.mapper.OrderMessagingDataMapper;
+import com.commerce.platform.kafka.consumer.KafkaBatchRecords;
 import com.commerce.platform.kafka.consumer.KafkaConsumer;
 import com.commerce.platform.order.service.domain.dto.message.PaymentResponse;
 import com.commerce.platform.order.service.domain.ports.input.message.listener.payment.PaymentResponseMessageListener;
@@ -33,17 +34,18 @@ public class PaymentResponseKafkaListener implements KafkaConsumer<PaymentRespon
                         @Header(KafkaHeaders.RECEIVED_KEY) List<String> keys,
                         @Header(KafkaHeaders.RECEIVED_PARTITION) List<Integer> partitions,
                         @Header(KafkaHeaders.OFFSET) List<Long> offsets) {
-        log.info("{} number of payment responses received with keys:{}, partitions:{} and offsets: {}",
-                messages.size(),
-                keys.toString(),
-                partitions.toString(),
-                offsets.toString());
-
-        List<PaymentResponse> responses = messages.stream()
-                .map(orderMessagingDataMapper::paymentResponseAvroModelToPaymentResponse)
-                .toList();
-                
-        paymentResponseMessageListener.saveToInbox(responses);
+        if (log.isDebugEnabled()) {
+            log.debug("{} number of payment responses received with keys:{}, partitions:{} and offsets: {}",
+                    messages.size(),
+                    keys,
+                    partitions,
+                    offsets);
+        }
+
+        List<PaymentResponse> responses = KafkaBatchRecords.mapEach(messages,
+                orderMessagingDataMapper::paymentResponseAvroModelToPaymentResponse);
+
+        KafkaBatchRecords.handleIsolatingFailures(responses, paymentResponseMessageListener::saveToInbox);
     }
 }
 
@@ -2,6 +2,7 @@ package com.commerce.platform.order.service.messaging.listener.kafka;
 
 import com.commerce.platform.kafka.order.avro.model.ProductReservationResponseAvroModel;
 import com.commerce.platform.order.service.messaging.mapper.OrderMessagingDataMapper;
+import com.commerce.platform.kafka.consumer.KafkaBatchRecords;
 import com.commerce.platform.kafka.consumer.KafkaConsumer;
 import com.commerce.platform.order.service.domain.dto.message.ProductReservationResponse;
 import com.commerce.platform.order.service.domain.ports.input.message.listener.product.ProductReservationResponseMessageListener;
@@ -35,17 +36,18 @@ public class ProductReservationResponseKafkaListener implements KafkaConsumer<Pr
                         @Header(KafkaHeaders.RECEIVED_KEY) List<String> keys,
                         @Header(KafkaHeaders.RECEIVED_PARTITION) List<Integer> partitions,
                         @Header(KafkaHeaders.OFFSET) List<Long> offsets) {
-        log.info("{} number of product reservation responses received with keys {}, partitions {} and offsets {}",
-                messages.size(),
-                keys.toString(),
-                partitions.toString(),
-                offsets.toString());
-
-        List<ProductReservationResponse> responses = messages.stream()
-                .map(orderMessagingDataMapper::productReservationResponseAvroModelToProductReservationResponse)
-                .toList();
-                
-        reservationResponseMessageListener.saveToInbox(responses);
+        if (log.isDebugEnabled()) {
+            log.debug("{} number of product reservation responses received with keys {}, partitions {} and offsets {}",
+                    messages.size(),
+                    keys,
+                    partitions,
+                    offsets);
+        }
+
+        List<ProductReservationResponse> responses = KafkaBatchRecords.mapEach(messages,
+                orderMessagingDataMapper::productReservationResponseAvroModelToProductReservationResponse);
+
+        KafkaBatchRecords.handleIsolatingFailures(responses, reservationResponseMessageListener::saveToInbox);
 
     }
 }
@@ -7,6 +7,7 @@ import com.commerce.platform.order.service.domain.outbox.model.payment.OrderPaym
 import com.commerce.platform.order.service.domain.outbox.model.product.ProductReservationEventPayload;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -27,6 +28,26 @@ public class OrderMessagingDataMapper {
                 .build();
     }
 
+    public ProductReservationResponseAvroModel
+    productReservationResponseToProductReservationResponseAvroModel(ProductReservationResponse
+                                                                            productReservationResponse) {
+        return ProductReservationResponseAvroModel.newBuilder()
+                .setId(productReservationResponse.getId())
+                .setSagaId(productReservationResponse.getSagaId())
+                .setOrderId(productReservationResponse.getOrderId())
+                .setCreatedAt(productReservationResponse.getCreatedAt())
+                .setProductReservationStatus(com.commerce.platform.kafka.order.avro.model.ProductReservationStatus.valueOf(
+                        productReservationResponse.getProductReservationStatus().name()))
+                .setProducts(productReservationResponse.getProducts() == null ? List.of() :
+                        productReservationResponse.getProducts().stream().map(product ->
+                                com.commerce.platform.kafka.order.avro.model.Product.newBuilder()
+                                        .setId(product.getProductId())
+                                        .setQuantity(product.getQuantity())
+                                        .build()).collect(Collectors.toList()))
+                .setFailureMessages(productReservationResponse.getFailureMessages())
+                .build();
+    }
+
     public ProductReservationRequestAvroModel
     productReservationEventToRequestAvroModel(UUID messageId, UUID sagaId, ProductReservationEventPayload
             reservationEventPayload) {
@@ -62,6 +83,21 @@ public class OrderMessagingDataMapper {
                 .build();
     }
 
+    public PaymentResponseAvroModel paymentResponseToPaymentResponseAvroModel(PaymentResponse paymentResponse) {
+        return PaymentResponseAvroModel.newBuilder()
+                .setId(paymentResponse.getId())
+                .setSagaId(paymentResponse.getSagaId())
+                .setPaymentId(paymentResponse.getPaymentId())
+                .setCustomerId(paymentResponse.getCustomerId())
+                .setOrderId(paymentResponse.getOrderId())
+                .setPrice(paymentResponse.getPrice())
+                .setCreatedAt(paymentResponse.getCreatedAt())
+                .setPaymentStatus(com.commerce.platform.kafka.order.avro.model.PaymentStatus.valueOf(
+                        paymentResponse.getPaymentStatus().name()))
+                .setFailureMessages(paymentResponse.getFailureMessages())
+                .build();
+    }
+
     public PaymentRequestAvroModel orderPaymentEventToPaymentRequestAvroModel(UUID messageId, UUID sagaId, OrderPaymentEventPayload
             orderPaymentEventPayload) {
         return PaymentRequestAvroModel.newBuilder()
@@ -0,0 +1,46 @@
+package com.commerce.platform.order.service.messaging.publisher.kafka;
+
+import com.commerce.platform.domain.event.ServiceMessageType;
+import com.commerce.platform.kafka.order.avro.model.PaymentRequestAvroModel;
+import com.commerce.platform.kafka.order.avro.model.ProductReservationRequestAvroModel;
+import com.commerce.platform.kafka.producer.AvroValueEncoder;
+import com.commerce.platform.order.service.domain.config.OrderServiceConfigData;
+import com.commerce.platform.order.service.domain.exception.OrderDomainException;
+import com.commerce.platform.order.service.domain.outbox.model.payment.OrderPaymentEventPayload;
+import com.commerce.platform.order.service.domain.outbox.model.product.ProductReservationEventPayload;
+import com.commerce.platform.order.service.domain.ports.output.message.publisher.OrderOutboxPayloadSerializer;
+import com.commerce.platform.order.service.messaging.mapper.OrderMessagingDataMapper;
+import com.commerce.platform.outbox.payload.SerializedOutboxPayload;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+public class OrderOutboxPayloadKafkaSerializer implements OrderOutboxPayloadSerializer, InitializingBean {
+
+    private final OrderMessagingDataMapper orderMessagingDataMapper;
+    private final OrderServiceConfigData orderServiceConfigData;
+    private final AvroValueEncoder avroValueEncoder;
+
+    @Override
+    public void afterPropertiesSet() {
+        avroValueEncoder.pin(orderServiceConfigData.getPaymentRequestTopicName(), PaymentRequestAvroModel.class);
+        avroValueEncoder.pin(orderServiceConfigData.getProductReservationRequestTopicName(), ProductReservationRequestAvroModel.class);
+    }
+
+    @Override
+    public SerializedOutboxPayload serialize(ServiceMessageType messageType, UUID messageId, UUID sagaId, Object eventPayload) {
+        return switch (messageType) {
+            case PAYMENT_REQUEST -> avroValueEncoder.encode(orderServiceConfigData.getPaymentRequestTopicName(),
+                    orderMessagingDataMapper.orderPaymentEventToPaymentRequestAvroModel(messageId, sagaId,
+                            (OrderPaymentEventPayload) eventPayload));
+            case PRODUCT_RESERVATION_REQUEST -> avroValueEncoder.encode(orderServiceConfigData.getProductReservationRequestTopicName(),
+                    orderMessagingDataMapper.productReservationEventToRequestAvroModel(messageId, sagaId,
+                            (ProductReservationEventPayload) eventPayload));
+            default -> throw new OrderDomainException("Unsupported outbox message type: " + messageType);
+        };
+    }
+}
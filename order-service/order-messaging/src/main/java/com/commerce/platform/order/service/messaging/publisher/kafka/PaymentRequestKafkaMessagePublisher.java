@@ -4,6 +4,7 @@ import com.commerce.platform.kafka.order.avro.model.PaymentRequestAvroModel;
 import com.commerce.platform.order.service.messaging.mapper.OrderMessagingDataMapper;
 import com.commerce.platform.kafka.producer.KafkaMessageHelper;
 import com.commerce.platform.kafka.producer.service.KafkaProducer;
+import com.commerce.platform.kafka.producer.service.SerializedKafkaProducer;
 import com.commerce.platform.order.service.domain.config.OrderServiceConfigData;
 import com.commerce.platform.order.service.domain.outbox.model.payment.OrderPaymentEventPayload;
 import com.commerce.platform.order.service.domain.outbox.model.OrderOutboxMessage;
@@ -11,8 +12,9 @@ import com.commerce.platform.order.service.domain.ports.output.message.publisher
 import com.commerce.platform.outbox.OutboxStatus;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
-import com.commerce.platform.order.service.domain.outbox.scheduler.OrderOutboxHelper;
+import com.commerce.platform.order.service.domain.outbox.scheduler.OrderOutboxAcknowledger;
 
+import java.nio.charset.StandardCharsets;
 import java.util.UUID;
 
 @Slf4j
@@ -21,31 +23,63 @@ public class PaymentRequestKafkaMessagePublisher implements PaymentRequestMessag
 
     private final OrderMessagingDataMapper orderMessagingDataMapper;
     private final KafkaProducer<UUID, PaymentRequestAvroModel> kafkaProducer;
+    private final SerializedKafkaProducer<UUID> serializedKafkaProducer;
     private final OrderServiceConfigData orderServiceConfigData;
     private final KafkaMessageHelper kafkaMessageHelper;
-    private final OrderOutboxHelper orderOutboxHelper;
+    private final OrderOutboxAcknowledger orderOutboxAcknowledger;
 
     public PaymentRequestKafkaMessagePublisher(OrderMessagingDataMapper orderMessagingDataMapper,
                                            KafkaProducer<UUID, PaymentRequestAvroModel> kafkaProducer,
+                                           SerializedKafkaProducer<UUID> serializedKafkaProducer,
                                            OrderServiceConfigData orderServiceConfigData,
                                            KafkaMessageHelper kafkaMessageHelper,
-                                           OrderOutboxHelper orderOutboxHelper) {
+                                           OrderOutboxAcknowledger orderOutboxAcknowledger) {
         this.orderMessagingDataMapper = orderMessagingDataMapper;
         this.kafkaProducer = kafkaProducer;
+        this.serializedKafkaProducer = serializedKafkaProducer;
         this.orderServiceConfigData = orderServiceConfigData;
         this.kafkaMessageHelper = kafkaMessageHelper;
-        this.orderOutboxHelper = orderOutboxHelper;
+        this.orderOutboxAcknowledger = orderOutboxAcknowledger;
     }
 
     @Override
     public void publish(OrderOutboxMessage orderOutboxMessage) {
+        if (orderOutboxMessage.getPayloadSchemaId() == null) {
+            publishLegacyPayload(orderOutboxMessage);
+            return;
+        }
+
+        UUID sagaId = orderOutboxMessage.getSagaId();
+        String topicName = orderServiceConfigData.getPaymentRequestTopicName();
+
+        try {
+            serializedKafkaProducer.send(topicName, sagaId, orderOutboxMessage.getPayload())
+                    .whenComplete(kafkaMessageHelper.getSerializedKafkaCallback(topicName,
+                            orderOutboxMessage,
+                            orderOutboxMessage.getCreatedAt(),
+                            (message, status) -> {
+                                log.debug("Kafka callback invoked for message id: {} with status: {}", message.getId(), status);
+                                orderOutboxAcknowledger.acknowledge(message.getId(), status);
+                            },
+                            sagaId,
+                            "PaymentRequestAvroModel"));
+
+            log.debug("PaymentRequestAvroModel sent to Kafka for saga id: {}", sagaId);
+        } catch (Exception e) {
+            log.error("Error while sending PaymentRequestAvroModel to kafka with saga id: {}, error: {}",
+                    sagaId, e.getMessage());
+            orderOutboxAcknowledger.acknowledge(orderOutboxMessage.getId(), OutboxStatus.FAILED);
+        }
+    }
+
+    private void publishLegacyPayload(OrderOutboxMessage orderOutboxMessage) {
         OrderPaymentEventPayload orderPaymentEventPayload =
-                kafkaMessageHelper.getOrderEventPayload(orderOutboxMessage.getPayload(),
+                kafkaMessageHelper.getOrderEventPayload(new String(orderOutboxMessage.getPayload(), StandardCharsets.UTF_8),
                         OrderPaymentEventPayload.class);
 
         UUID sagaId = orderOutboxMessage.getSagaId();
 
-        log.info("Received OrderOutboxMessage for order id: {} and saga id: {}",
+        log.debug("Received OrderOutboxMessage for order id: {} and saga id: {}",
                 orderPaymentEventPayload.getOrderId(),
                 sagaId);
 
@@ -59,20 +93,21 @@ public class PaymentRequestKafkaMessagePublisher implements PaymentRequestMessag
                     .whenComplete(kafkaMessageHelper.getKafkaCallback(orderServiceConfigData.getPaymentRequestTopicName(),
                             paymentRequestAvroModel,
                             orderOutboxMessage,
+                            orderOutboxMessage.getCreatedAt(),
                             (message, status) -> {
-                                log.info("Kafka callback invoked for message id: {} with status: {}", message.getId(), status);
-                                orderOutboxHelper.updateOutboxMessageStatus(message.getId(), status);
+                                log.debug("Kafka callback invoked for message id: {} with status: {}", message.getId(), status);
+                                orderOutboxAcknowledger.acknowledge(message.getId(), status);
                             },
                             orderPaymentEventPayload.getOrderId(),
                             "PaymentRequestAvroModel"));
 
-            log.info("OrderPaymentEventPayload sent to Kafka for order id: {} and saga id: {}",
+            log.debug("OrderPaymentEventPayload sent to Kafka for order id: {} and saga id: {}",
                     orderPaymentEventPayload.getOrderId(), sagaId);
         } catch (Exception e) {
             log.error("Error while sending OrderPaymentEventPayload" +
                             " to kafka with order id: {} and saga id: {}, error: {}",
                     orderPaymentEventPayload.getOrderId(), sagaId, e.getMessage());
-            orderOutboxHelper.updateOutboxMessageStatus(orderOutboxMessage.getId(), OutboxStatus.FAILED);
+            orderOutboxAcknowledger.acknowledge(orderOutboxMessage.getId(), OutboxStatus.FAILED);
         }
 
 
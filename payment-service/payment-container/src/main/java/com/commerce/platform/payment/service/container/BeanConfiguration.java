@@ -1,5 +1,7 @@
 package com.commerce.platform.payment.service.container;
 
+import com.commerce.platform.domain.util.UuidGenerator;
+import com.commerce.platform.outbox.lease.OutboxLeaseOwner;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
@@ -9,6 +11,11 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 public class BeanConfiguration {
     
+    @Bean
+    public OutboxLeaseOwner outboxLeaseOwner() {
+        return new OutboxLeaseOwner("payment-service", UuidGenerator.generate());
+    }
+    
     @Bean
     public ObjectMapper objectMapper() {
         ObjectMapper objectMapper = new ObjectMapper();
@@ -0,0 +1,7 @@
+-- 보관 기간이 지난 파티션의 PARKED inbox 행과 FAILED outbox 행을 DROP PARTITION 전에 옮겨 두는 테이블
+-- DailyPartitionManager 가 SELECT * 로 복사하므로 원본 테이블에 컬럼을 더하면 여기에도 같은 순서로 더한다
+CREATE TABLE IF NOT EXISTS `payment_inbox_archive` LIKE `payment_inbox`;
+ALTER TABLE `payment_inbox_archive` REMOVE PARTITIONING;
+
+CREATE TABLE IF NOT EXISTS `payment_outbox_archive` LIKE `payment_outbox`;
+ALTER TABLE `payment_outbox_archive` REMOVE PARTITIONING;
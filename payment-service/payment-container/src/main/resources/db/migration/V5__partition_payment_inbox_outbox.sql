@@ -0,0 +1,37 @@
+ALTER TABLE `payment_inbox`
+    ADD COLUMN partition_date DATE NOT NULL DEFAULT (UTC_DATE()) AFTER received_at;
+
+-- InboxPartitions.partitionDateOf 와 같이 UUIDv7 message_id 의 생성 시각(앞 48bit, epoch millis)으로 UTC 날짜를 정한다
+UPDATE `payment_inbox`
+SET partition_date = CASE
+    WHEN ASCII(SUBSTRING(message_id, 7, 1)) >> 4 = 7
+        THEN DATE_ADD('1970-01-01', INTERVAL CONV(HEX(SUBSTRING(message_id, 1, 6)), 16, 10) DIV 86400000 DAY)
+    ELSE DATE(received_at)
+END;
+
+ALTER TABLE `payment_inbox`
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (id, partition_date),
+    DROP INDEX `uk_payment_inbox_message_id`,
+    ADD CONSTRAINT `uk_payment_inbox_message_id` UNIQUE (message_id, partition_date);
+
+ALTER TABLE `payment_inbox`
+    PARTITION BY RANGE COLUMNS (partition_date) (
+        PARTITION p_future VALUES LESS THAN (MAXVALUE)
+    );
+
+ALTER TABLE `payment_outbox`
+    ADD COLUMN partition_date DATE NOT NULL DEFAULT (UTC_DATE()) AFTER created_at;
+
+UPDATE `payment_outbox` SET partition_date = DATE(created_at);
+
+ALTER TABLE `payment_outbox`
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (id, partition_date),
+    DROP INDEX `uk_payment_outbox_message_id`,
+    ADD CONSTRAINT `uk_payment_outbox_message_id` UNIQUE (message_id, partition_date);
+
+ALTER TABLE `payment_outbox`
+    PARTITION BY RANGE COLUMNS (partition_date) (
+        PARTITION p_future VALUES LESS THAN (MAXVALUE)
+    );
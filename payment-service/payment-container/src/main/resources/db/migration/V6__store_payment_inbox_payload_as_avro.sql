@@ -0,0 +1,3 @@
+ALTER TABLE `payment_inbox`
+    MODIFY COLUMN payload MEDIUMBLOB NOT NULL,
+    ADD COLUMN payload_schema_fingerprint BIGINT NULL AFTER payload;
@@ -0,0 +1,9 @@
+ALTER TABLE `payment_outbox`
+    ADD COLUMN lease_owner VARCHAR(64) NULL AFTER fetched_at,
+    ADD COLUMN lease_expires_at DATETIME(3) NULL AFTER lease_owner;
+
+UPDATE `payment_outbox` SET lease_expires_at = COALESCE(fetched_at, created_at) WHERE outbox_status = 'PROCESSING';
+
+DROP INDEX `idx_payment_outbox_fetch` ON `payment_outbox`;
+
+CREATE INDEX `idx_payment_outbox_lease` ON `payment_outbox` (outbox_status, lease_expires_at);
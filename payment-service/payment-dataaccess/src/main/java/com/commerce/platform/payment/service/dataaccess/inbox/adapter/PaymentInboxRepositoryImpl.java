@@ -1,25 +1,42 @@
 package com.commerce.platform.payment.service.dataaccess.inbox.adapter;
 
 import com.commerce.platform.domain.event.ServiceMessageType;
+import com.commerce.platform.inbox.InboxPartitions;
 import com.commerce.platform.inbox.InboxStatus;
+import com.commerce.platform.inbox.lane.InboxLaneDepth;
+import com.commerce.platform.inbox.lane.InboxLanes;
+import com.commerce.platform.inbox.parking.ParkedInboxMessage;
+import com.commerce.platform.inbox.retry.InboxFailure;
 import com.commerce.platform.payment.service.dataaccess.inbox.mapper.PaymentInboxDataAccessMapper;
 import com.commerce.platform.payment.service.domain.inbox.model.PaymentInboxMessage;
 import com.commerce.platform.payment.service.domain.ports.output.repository.PaymentInboxRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jooq.DSLContext;
-import org.jooq.JSON;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 import static com.commerce.platform.payment.service.dataaccess.jooq.Tables.PAYMENT_INBOX;
+import static com.commerce.platform.payment.service.dataaccess.jooq.Tables.PAYMENT_INBOX_LANE;
+import static com.commerce.platform.payment.service.dataaccess.jooq.Tables.PAYMENT_INBOX_LANE_CONFIG;
+import static org.jooq.impl.DSL.case_;
+import static org.jooq.impl.DSL.count;
+import static org.jooq.impl.DSL.min;
+import static org.jooq.impl.DSL.notExists;
+import static org.jooq.impl.DSL.selectOne;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -29,16 +46,22 @@ public class PaymentInboxRepositoryImpl implements PaymentInboxRepository {
     private final DSLContext dsl;
     private final PaymentInboxDataAccessMapper paymentInboxDataAccessMapper;
     
+    @Value("${payment-service.inbox-insert-chunk-size:100}")
+    private int insertChunkSize;
+    
     @Override
     public PaymentInboxMessage save(PaymentInboxMessage paymentInboxMessage) {
         dsl.insertInto(PAYMENT_INBOX)
                 .set(PAYMENT_INBOX.ID, paymentInboxMessage.getId())
                 .set(PAYMENT_INBOX.MESSAGE_ID, paymentInboxMessage.getMessageId())
                 .set(PAYMENT_INBOX.SAGA_ID, paymentInboxMessage.getSagaId())
+                .set(PAYMENT_INBOX.LANE_SLOT, InboxLanes.slotOf(paymentInboxMessage.getSagaId()))
                 .set(PAYMENT_INBOX.TYPE, paymentInboxMessage.getType().name())
-                .set(PAYMENT_INBOX.PAYLOAD, JSON.json(paymentInboxMessage.getPayload()))
+                .set(PAYMENT_INBOX.PAYLOAD, paymentInboxMessage.getPayload())
+                .set(PAYMENT_INBOX.PAYLOAD_SCHEMA_FINGERPRINT, paymentInboxMessage.getPayloadSchemaFingerprint())
                 .set(PAYMENT_INBOX.STATUS, paymentInboxMessage.getStatus().name())
                 .set(PAYMENT_INBOX.RECEIVED_AT, paymentInboxMessage.getReceivedAt().toLocalDateTime())
+                .set(PAYMENT_INBOX.PARTITION_DATE, InboxPartitions.partitionDateOf(paymentInboxMessage.getMessageId(), paymentInboxMessage.getReceivedAt()))
                 .set(PAYMENT_INBOX.PROCESSED_AT, paymentInboxMessage.getProcessedAt() != null ? paymentInboxMessage.getProcessedAt().toLocalDateTime() : null)
                 .set(PAYMENT_INBOX.RETRY_COUNT, paymentInboxMessage.getRetryCount())
                 .set(PAYMENT_INBOX.ERROR_MESSAGE, paymentInboxMessage.getErrorMessage())
@@ -52,6 +75,38 @@ public class PaymentInboxRepositoryImpl implements PaymentInboxRepository {
         return paymentInboxMessage;
     }
     
+    @Override
+    public boolean saveIfAbsent(PaymentInboxMessage paymentInboxMessage) {
+        return dsl.insertInto(PAYMENT_INBOX)
+            .set(PAYMENT_INBOX.ID, paymentInboxMessage.getId())
+            .set(PAYMENT_INBOX.MESSAGE_ID, paymentInboxMessage.getMessageId())
+            .set(PAYMENT_INBOX.SAGA_ID, paymentInboxMessage.getSagaId())
+            .set(PAYMENT_INBOX.LANE_SLOT, InboxLanes.slotOf(paymentInboxMessage.getSagaId()))
+            .set(PAYMENT_INBOX.TYPE, paymentInboxMessage.getType().name())
+            .set(PAYMENT_INBOX.PAYLOAD, paymentInboxMessage.getPayload())
+            .set(PAYMENT_INBOX.PAYLOAD_SCHEMA_FINGERPRINT, paymentInboxMessage.getPayloadSchemaFingerprint())
+            .set(PAYMENT_INBOX.STATUS, paymentInboxMessage.getStatus().name())
+            .set(PAYMENT_INBOX.RECEIVED_AT, paymentInboxMessage.getReceivedAt().toLocalDateTime())
+            .set(PAYMENT_INBOX.PARTITION_DATE, InboxPartitions.partitionDateOf(paymentInboxMessage.getMessageId(), paymentInboxMessage.getReceivedAt()))
+            .set(PAYMENT_INBOX.PROCESSED_AT, paymentInboxMessage.getProcessedAt() != null ? paymentInboxMessage.getProcessedAt().toLocalDateTime() : null)
+            .set(PAYMENT_INBOX.RETRY_COUNT, paymentInboxMessage.getRetryCount())
+            .onDuplicateKeyIgnore()
+            .execute() == 1;
+    }
+    
+    @Override
+    public Set<UUID> findSagaIdsWithUnfinishedMessages(Collection<UUID> sagaIds) {
+        if (sagaIds.isEmpty()) {
+            return Set.of();
+        }
+
+        return dsl.selectDistinct(PAYMENT_INBOX.SAGA_ID)
+            .from(PAYMENT_INBOX)
+            .where(PAYMENT_INBOX.SAGA_ID.in(sagaIds)
+                .and(PAYMENT_INBOX.STATUS.in(InboxStatus.RECEIVED.name(), InboxStatus.FAILED.name(), InboxStatus.REPLAY_QUEUED.name())))
+            .fetchSet(PAYMENT_INBOX.SAGA_ID);
+    }
+
     @Override
     public Optional<PaymentInboxMessage> findByMessageId(UUID messageId) {
         var record = dsl.selectFrom(PAYMENT_INBOX)
@@ -71,33 +126,59 @@ public class PaymentInboxRepositoryImpl implements PaymentInboxRepository {
             return paymentInboxMessages;
         }
         
-        var insertQuery = dsl.insertInto(PAYMENT_INBOX,
-                PAYMENT_INBOX.ID,
-                PAYMENT_INBOX.MESSAGE_ID,
-                PAYMENT_INBOX.SAGA_ID,
-                PAYMENT_INBOX.TYPE,
-                PAYMENT_INBOX.PAYLOAD,
-                PAYMENT_INBOX.STATUS,
-                PAYMENT_INBOX.RECEIVED_AT,
-                PAYMENT_INBOX.RETRY_COUNT);
-        
-        for (PaymentInboxMessage message : paymentInboxMessages) {
-            insertQuery = insertQuery.values(
-                    message.getId(),
-                    message.getMessageId(),
-                    message.getSagaId(),
-                    message.getType().name(),
-                    JSON.json(message.getPayload()),
-                    message.getStatus().name(),
-                    message.getReceivedAt().toLocalDateTime(),
-                    message.getRetryCount()
-            );
+        List<PaymentInboxMessage> inserted = new ArrayList<>(paymentInboxMessages.size());
+        for (int from = 0; from < paymentInboxMessages.size(); from += insertChunkSize) {
+            List<PaymentInboxMessage> chunk = paymentInboxMessages.subList(from,
+                    Math.min(from + insertChunkSize, paymentInboxMessages.size()));
+            
+            var insertQuery = dsl.insertInto(PAYMENT_INBOX,
+                    PAYMENT_INBOX.ID,
+                    PAYMENT_INBOX.MESSAGE_ID,
+                    PAYMENT_INBOX.SAGA_ID,
+                    PAYMENT_INBOX.LANE_SLOT,
+                    PAYMENT_INBOX.TYPE,
+                    PAYMENT_INBOX.PAYLOAD,
+                    PAYMENT_INBOX.PAYLOAD_SCHEMA_FINGERPRINT,
+                    PAYMENT_INBOX.STATUS,
+                    PAYMENT_INBOX.RECEIVED_AT,
+                    PAYMENT_INBOX.PARTITION_DATE,
+                    PAYMENT_INBOX.RETRY_COUNT);
+            
+            for (PaymentInboxMessage message : chunk) {
+                insertQuery = insertQuery.values(
+                        message.getId(),
+                        message.getMessageId(),
+                        message.getSagaId(),
+                        InboxLanes.slotOf(message.getSagaId()),
+                        message.getType().name(),
+                        message.getPayload(),
+                        message.getPayloadSchemaFingerprint(),
+                        message.getStatus().name(),
+                        message.getReceivedAt().toLocalDateTime(),
+                        InboxPartitions.partitionDateOf(message.getMessageId(), message.getReceivedAt()),
+                        message.getRetryCount()
+                );
+            }
+            
+            int insertedCount = insertQuery.onDuplicateKeyIgnore().execute();
+            if (insertedCount == chunk.size()) {
+                inserted.addAll(chunk);
+                continue;
+            }
+            // 중복으로 무시된 메시지는 이미 다른 id 로 저장돼 있으므로 이번에 넣은 id 로 실제 저장된 행만 고른다
+            Set<UUID> insertedIds = dsl.select(PAYMENT_INBOX.ID)
+                    .from(PAYMENT_INBOX)
+                    .where(PAYMENT_INBOX.ID.in(chunk.stream().map(PaymentInboxMessage::getId).toList()))
+                    .fetchSet(PAYMENT_INBOX.ID);
+            chunk.stream()
+                    .filter(message -> insertedIds.contains(message.getId()))
+                    .forEach(inserted::add);
         }
         
-        int insertedCount = insertQuery.onDuplicateKeyIgnore().execute();
-        log.info("Inserted {} new messages out of {} total messages to inbox", insertedCount, paymentInboxMessages.size());
+        log.debug("Inserted {} new messages out of {} total messages to inbox, {} duplicates ignored",
+                inserted.size(), paymentInboxMessages.size(), paymentInboxMessages.size() - inserted.size());
         
-        return paymentInboxMessages;
+        return inserted;
     }
     
     @Override
@@ -115,10 +196,33 @@ public class PaymentInboxRepositoryImpl implements PaymentInboxRepository {
     }
     
     @Override
-    public List<PaymentInboxMessage> findByStatusAndRetryCountLessThanOrderByReceivedAtWithSkipLock(InboxStatus status, int maxRetryCount, int limit) {
+    public List<PaymentInboxMessage> findByStatusAndNextAttemptAtBeforeOrderByNextAttemptAtWithSkipLock(InboxStatus status, ZonedDateTime now, int limit) {
         var result = dsl.selectFrom(PAYMENT_INBOX)
                 .where(PAYMENT_INBOX.STATUS.eq(status.name())
-                        .and(PAYMENT_INBOX.RETRY_COUNT.lt(maxRetryCount)))
+                        .and(PAYMENT_INBOX.NEXT_ATTEMPT_AT.le(now.toLocalDateTime())))
+                .orderBy(PAYMENT_INBOX.NEXT_ATTEMPT_AT)
+                .limit(limit)
+                .forUpdate().skipLocked()
+                .fetch();
+        
+        return result.stream()
+                .map(this::mapToPaymentInboxMessage)
+                .collect(Collectors.toList());
+    }
+    
+    @Override
+    public List<PaymentInboxMessage> findByStatusAndLaneSlotRangeOrderByReceivedAtWithSkipLock(InboxStatus status, int fromSlot, int toSlot, int limit) {
+        // 같은 saga 의 앞선 메시지가 재시도나 replay 를 기다리거나 PARKED 로 멈춰 있는 동안에는 뒤 메시지를 가져오지 않는다
+        var earlier = PAYMENT_INBOX.as("earlier");
+        var result = dsl.selectFrom(PAYMENT_INBOX)
+                .where(PAYMENT_INBOX.STATUS.eq(status.name())
+                        .and(PAYMENT_INBOX.LANE_SLOT.ge(fromSlot))
+                        .and(PAYMENT_INBOX.LANE_SLOT.lt(toSlot))
+                        .and(notExists(selectOne()
+                                .from(earlier)
+                                .where(earlier.SAGA_ID.eq(PAYMENT_INBOX.SAGA_ID)
+                                        .and(earlier.STATUS.in(InboxStatus.FAILED.name(), InboxStatus.PARKED.name(), InboxStatus.REPLAY_QUEUED.name()))
+                                        .and(earlier.RECEIVED_AT.lt(PAYMENT_INBOX.RECEIVED_AT))))))
                 .orderBy(PAYMENT_INBOX.RECEIVED_AT)
                 .limit(limit)
                 .forUpdate().skipLocked()
@@ -129,13 +233,149 @@ public class PaymentInboxRepositoryImpl implements PaymentInboxRepository {
                 .collect(Collectors.toList());
     }
     
+    @Override
+    public List<InboxLaneDepth> countByStatusGroupByLane(InboxStatus status, int laneCount) {
+        var depths = dsl.select(PAYMENT_INBOX.LANE_SLOT, count(), min(PAYMENT_INBOX.RECEIVED_AT))
+                .from(PAYMENT_INBOX)
+                .where(PAYMENT_INBOX.STATUS.eq(status.name()))
+                .groupBy(PAYMENT_INBOX.LANE_SLOT)
+                .fetch(record -> new InboxLaneDepth(
+                        InboxLanes.laneOf(record.value1(), laneCount),
+                        record.value2(),
+                        record.value3() != null ? record.value3().atZone(ZoneOffset.UTC) : null));
+        
+        return InboxLanes.mergeByLane(depths);
+    }
+    
+    @Override
+    public boolean tryLockLane(int lane) {
+        return dsl.select(PAYMENT_INBOX_LANE.LANE)
+                .from(PAYMENT_INBOX_LANE)
+                .where(PAYMENT_INBOX_LANE.LANE.eq(lane))
+                .forUpdate().skipLocked()
+                .fetchOptional()
+                .isPresent();
+    }
+    
+    @Override
+    public int findOrCreateLaneCount(int laneCount) {
+        // 먼저 기록한 인스턴스의 lane 수가 남는다
+        dsl.insertInto(PAYMENT_INBOX_LANE_CONFIG)
+                .set(PAYMENT_INBOX_LANE_CONFIG.ID, (byte) 1)
+                .set(PAYMENT_INBOX_LANE_CONFIG.LANE_COUNT, laneCount)
+                .onDuplicateKeyIgnore()
+                .execute();
+        return dsl.select(PAYMENT_INBOX_LANE_CONFIG.LANE_COUNT)
+                .from(PAYMENT_INBOX_LANE_CONFIG)
+                .where(PAYMENT_INBOX_LANE_CONFIG.ID.eq((byte) 1))
+                .fetchSingle(PAYMENT_INBOX_LANE_CONFIG.LANE_COUNT);
+    }
+    
+    @Override
+    public void createLanes(int laneCount) {
+        var insert = dsl.insertInto(PAYMENT_INBOX_LANE, PAYMENT_INBOX_LANE.LANE);
+        for (int lane = 0; lane < laneCount; lane++) {
+            insert = insert.values(lane);
+        }
+        insert.onDuplicateKeyIgnore().execute();
+    }
+    
+    @Override
+    public int bulkUpdateToProcessed(List<UUID> ids, ZonedDateTime processedAt) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        
+        return dsl.update(PAYMENT_INBOX)
+                .set(PAYMENT_INBOX.STATUS, InboxStatus.PROCESSED.name())
+                .set(PAYMENT_INBOX.PROCESSED_AT, processedAt.toLocalDateTime())
+                .where(PAYMENT_INBOX.ID.in(ids))
+                .execute();
+    }
+    
+    @Override
+    public int bulkUpdateToFailed(List<InboxFailure> failures) {
+        if (failures.isEmpty()) {
+            return 0;
+        }
+        
+        Map<UUID, String> statuses = new HashMap<>();
+        Map<UUID, String> errorMessages = new HashMap<>();
+        Map<UUID, LocalDateTime> nextAttemptAts = new HashMap<>();
+        for (InboxFailure failure : failures) {
+            statuses.put(failure.id(), failure.status().name());
+            errorMessages.put(failure.id(), failure.errorMessage());
+            nextAttemptAts.put(failure.id(), failure.nextAttemptAt().toLocalDateTime());
+        }
+        
+        return dsl.update(PAYMENT_INBOX)
+                .set(PAYMENT_INBOX.STATUS, case_(PAYMENT_INBOX.ID)
+                        .mapValues(statuses)
+                        .otherwise(PAYMENT_INBOX.STATUS))
+                .set(PAYMENT_INBOX.RETRY_COUNT, PAYMENT_INBOX.RETRY_COUNT.plus(1))
+                .set(PAYMENT_INBOX.ERROR_MESSAGE, case_(PAYMENT_INBOX.ID)
+                        .mapValues(errorMessages)
+                        .otherwise(PAYMENT_INBOX.ERROR_MESSAGE))
+                .set(PAYMENT_INBOX.NEXT_ATTEMPT_AT, case_(PAYMENT_INBOX.ID)
+                        .mapValues(nextAttemptAts)
+                        .otherwise(PAYMENT_INBOX.NEXT_ATTEMPT_AT))
+                .where(PAYMENT_INBOX.ID.in(statuses.keySet()))
+                .execute();
+    }
+    
+    @Override
+    public int bulkUpdateToReceived(List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        
+        return dsl.update(PAYMENT_INBOX)
+                .set(PAYMENT_INBOX.STATUS, InboxStatus.RECEIVED.name())
+                .setNull(PAYMENT_INBOX.NEXT_ATTEMPT_AT)
+                .where(PAYMENT_INBOX.ID.in(ids))
+                .execute();
+    }
+    
+    @Override
+    public List<ParkedInboxMessage> findByStatusAndNextAttemptAtBeforeOrderByNextAttemptAtDesc(InboxStatus status, ZonedDateTime before, int limit) {
+        return dsl.selectFrom(PAYMENT_INBOX)
+                .where(PAYMENT_INBOX.STATUS.eq(status.name())
+                    .and(PAYMENT_INBOX.NEXT_ATTEMPT_AT.lt(before.withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime())))
+                .orderBy(PAYMENT_INBOX.NEXT_ATTEMPT_AT.desc())
+                .limit(limit)
+                .fetch(record -> new ParkedInboxMessage(
+                    record.get(PAYMENT_INBOX.ID),
+                    record.get(PAYMENT_INBOX.MESSAGE_ID),
+                    record.get(PAYMENT_INBOX.SAGA_ID),
+                    record.get(PAYMENT_INBOX.TYPE),
+                    InboxStatus.valueOf(record.get(PAYMENT_INBOX.STATUS)),
+                    record.get(PAYMENT_INBOX.RETRY_COUNT),
+                    record.get(PAYMENT_INBOX.ERROR_MESSAGE),
+                    record.get(PAYMENT_INBOX.RECEIVED_AT).atZone(ZoneOffset.UTC),
+                    record.get(PAYMENT_INBOX.NEXT_ATTEMPT_AT).atZone(ZoneOffset.UTC)));
+    }
+    
+    @Override
+    public int bulkUpdateToReplayQueued(List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+    
+        return dsl.update(PAYMENT_INBOX)
+                .set(PAYMENT_INBOX.STATUS, InboxStatus.REPLAY_QUEUED.name())
+                .where(PAYMENT_INBOX.ID.in(ids)
+                    .and(PAYMENT_INBOX.STATUS.eq(InboxStatus.PARKED.name())))
+                .execute();
+    }
+    
     private PaymentInboxMessage mapToPaymentInboxMessage(org.jooq.Record record) {
         return PaymentInboxMessage.builder()
                 .id(record.get(PAYMENT_INBOX.ID))
                 .messageId(record.get(PAYMENT_INBOX.MESSAGE_ID))
                 .sagaId(record.get(PAYMENT_INBOX.SAGA_ID))
                 .type(ServiceMessageType.valueOf(record.get(PAYMENT_INBOX.TYPE)))
-                .payload(record.get(PAYMENT_INBOX.PAYLOAD).data())
+                .payload(record.get(PAYMENT_INBOX.PAYLOAD))
+                .payloadSchemaFingerprint(record.get(PAYMENT_INBOX.PAYLOAD_SCHEMA_FINGERPRINT))
                 .status(InboxStatus.valueOf(record.get(PAYMENT_INBOX.STATUS)))
                 .receivedAt(record.get(PAYMENT_INBOX.RECEIVED_AT).atZone(ZoneOffset.UTC))
                 .processedAt(record.get(PAYMENT_INBOX.PROCESSED_AT) != null ? 
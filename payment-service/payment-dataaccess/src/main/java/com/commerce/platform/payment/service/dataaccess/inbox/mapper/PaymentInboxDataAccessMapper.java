@@ -14,6 +14,7 @@ public class PaymentInboxDataAccessMapper {
                 .sagaId(paymentInboxMessage.getSagaId())
                 .type(paymentInboxMessage.getType())
                 .payload(paymentInboxMessage.getPayload())
+                .payloadSchemaFingerprint(paymentInboxMessage.getPayloadSchemaFingerprint())
                 .status(paymentInboxMessage.getStatus())
                 .receivedAt(paymentInboxMessage.getReceivedAt())
                 .processedAt(paymentInboxMessage.getProcessedAt())
@@ -29,6 +30,7 @@ public class PaymentInboxDataAccessMapper {
                 .sagaId(paymentInboxEntity.getSagaId())
                 .type(paymentInboxEntity.getType())
                 .payload(paymentInboxEntity.getPayload())
+                .payloadSchemaFingerprint(paymentInboxEntity.getPayloadSchemaFingerprint())
                 .status(paymentInboxEntity.getStatus())
                 .receivedAt(paymentInboxEntity.getReceivedAt())
                 .processedAt(paymentInboxEntity.getProcessedAt())
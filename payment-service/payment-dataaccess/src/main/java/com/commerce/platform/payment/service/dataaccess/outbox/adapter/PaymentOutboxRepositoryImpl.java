@@ -7,13 +7,12 @@ import com.commerce.platform.payment.service.domain.outbox.model.PaymentOutboxMe
 import com.commerce.platform.payment.service.domain.ports.output.repository.PaymentOutboxRepository;
 import lombok.RequiredArgsConstructor;
 import org.jooq.DSLContext;
-import org.jooq.JSON;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -34,15 +33,21 @@ public class PaymentOutboxRepositoryImpl implements PaymentOutboxRepository {
                 .set(PAYMENT_OUTBOX.ID, paymentOutboxMessage.getId())
                 .set(PAYMENT_OUTBOX.MESSAGE_ID, paymentOutboxMessage.getMessageId())
                 .set(PAYMENT_OUTBOX.SAGA_ID, paymentOutboxMessage.getSagaId())
+                .set(PAYMENT_OUTBOX.SHARD, paymentOutboxMessage.getShard())
                 .set(PAYMENT_OUTBOX.CREATED_AT, paymentOutboxMessage.getCreatedAt().toLocalDateTime())
                 .set(PAYMENT_OUTBOX.FETCHED_AT, paymentOutboxMessage.getFetchedAt() != null ? paymentOutboxMessage.getFetchedAt().toLocalDateTime() : null)
+                .set(PAYMENT_OUTBOX.LEASE_OWNER, paymentOutboxMessage.getLeaseOwner())
+                .set(PAYMENT_OUTBOX.LEASE_EXPIRES_AT, paymentOutboxMessage.getLeaseExpiresAt() != null ? paymentOutboxMessage.getLeaseExpiresAt().toLocalDateTime() : null)
                 .set(PAYMENT_OUTBOX.PROCESSED_AT, paymentOutboxMessage.getProcessedAt() != null ? paymentOutboxMessage.getProcessedAt().toLocalDateTime() : null)
                 .set(PAYMENT_OUTBOX.TYPE, paymentOutboxMessage.getType().name())
-                .set(PAYMENT_OUTBOX.PAYLOAD, JSON.json(paymentOutboxMessage.getPayload()))
+                .set(PAYMENT_OUTBOX.PAYLOAD, paymentOutboxMessage.getPayload())
+                .set(PAYMENT_OUTBOX.PAYLOAD_SCHEMA_ID, paymentOutboxMessage.getPayloadSchemaId())
                 .set(PAYMENT_OUTBOX.OUTBOX_STATUS, paymentOutboxMessage.getOutboxStatus().name())
                 .set(PAYMENT_OUTBOX.VERSION, paymentOutboxMessage.getVersion())
                 .onDuplicateKeyUpdate()
                 .set(PAYMENT_OUTBOX.FETCHED_AT, paymentOutboxMessage.getFetchedAt() != null ? paymentOutboxMessage.getFetchedAt().toLocalDateTime() : null)
+                .set(PAYMENT_OUTBOX.LEASE_OWNER, paymentOutboxMessage.getLeaseOwner())
+                .set(PAYMENT_OUTBOX.LEASE_EXPIRES_AT, paymentOutboxMessage.getLeaseExpiresAt() != null ? paymentOutboxMessage.getLeaseExpiresAt().toLocalDateTime() : null)
                 .set(PAYMENT_OUTBOX.PROCESSED_AT, paymentOutboxMessage.getProcessedAt() != null ? paymentOutboxMessage.getProcessedAt().toLocalDateTime() : null)
                 .set(PAYMENT_OUTBOX.OUTBOX_STATUS, paymentOutboxMessage.getOutboxStatus().name())
                 .set(PAYMENT_OUTBOX.VERSION, paymentOutboxMessage.getVersion())
@@ -61,11 +66,15 @@ public class PaymentOutboxRepositoryImpl implements PaymentOutboxRepository {
                 PAYMENT_OUTBOX.ID,
                 PAYMENT_OUTBOX.MESSAGE_ID,
                 PAYMENT_OUTBOX.SAGA_ID,
+                PAYMENT_OUTBOX.SHARD,
                 PAYMENT_OUTBOX.CREATED_AT,
                 PAYMENT_OUTBOX.FETCHED_AT,
+                PAYMENT_OUTBOX.LEASE_OWNER,
+                PAYMENT_OUTBOX.LEASE_EXPIRES_AT,
                 PAYMENT_OUTBOX.PROCESSED_AT,
                 PAYMENT_OUTBOX.TYPE,
                 PAYMENT_OUTBOX.PAYLOAD,
+                PAYMENT_OUTBOX.PAYLOAD_SCHEMA_ID,
                 PAYMENT_OUTBOX.OUTBOX_STATUS,
                 PAYMENT_OUTBOX.VERSION);
         
@@ -74,11 +83,15 @@ public class PaymentOutboxRepositoryImpl implements PaymentOutboxRepository {
                     message.getId(),
                     message.getMessageId(),
                     message.getSagaId(),
+                    message.getShard(),
                     message.getCreatedAt().toLocalDateTime(),
                     message.getFetchedAt() != null ? message.getFetchedAt().toLocalDateTime() : null,
+                    message.getLeaseOwner(),
+                    message.getLeaseExpiresAt() != null ? message.getLeaseExpiresAt().toLocalDateTime() : null,
                     message.getProcessedAt() != null ? message.getProcessedAt().toLocalDateTime() : null,
                     message.getType().name(),
-                    JSON.json(message.getPayload()),
+                    message.getPayload(),
+                    message.getPayloadSchemaId(),
                     message.getOutboxStatus().name(),
                     message.getVersion()
             );
@@ -115,63 +128,49 @@ public class PaymentOutboxRepositoryImpl implements PaymentOutboxRepository {
     }
     
     @Override
-    public List<PaymentOutboxMessage> findByOutboxStatusWithSkipLock(OutboxStatus outboxStatus, int limit) {
-        var result = dsl.selectFrom(PAYMENT_OUTBOX)
-                .where(PAYMENT_OUTBOX.OUTBOX_STATUS.eq(outboxStatus.name()))
-                .orderBy(PAYMENT_OUTBOX.CREATED_AT)
-                .limit(limit)
-                .forUpdate().skipLocked()
-                .fetch();
-        
-        return result.stream()
-                .map(this::mapToPaymentOutboxMessage)
-                .collect(Collectors.toList());
-    }
-    
-    @Override
-    public List<PaymentOutboxMessage> findByOutboxStatusAndFetchedAtBefore(OutboxStatus outboxStatus, ZonedDateTime fetchedAtBefore, int limit) {
-        var result = dsl.selectFrom(PAYMENT_OUTBOX)
-                .where(PAYMENT_OUTBOX.OUTBOX_STATUS.eq(outboxStatus.name())
-                        .and(PAYMENT_OUTBOX.FETCHED_AT.lt(fetchedAtBefore.toLocalDateTime())))
-                .orderBy(PAYMENT_OUTBOX.CREATED_AT)
-                .limit(limit)
-                .fetch();
+    @Transactional
+    public List<PaymentOutboxMessage> claimByLease(Collection<Integer> shards, String leaseOwner, ZonedDateTime now, ZonedDateTime leaseExpiresAt, int limit) {
+        if (shards.isEmpty()) {
+            return List.of();
+        }
         
-        return result.stream()
-                .map(this::mapToPaymentOutboxMessage)
-                .collect(Collectors.toList());
-    }
-    
-    @Override
-    public int deleteByOutboxStatus(OutboxStatus outboxStatus, int limit) {
-        var idsToDelete = dsl.select(PAYMENT_OUTBOX.ID)
-                .from(PAYMENT_OUTBOX)
-                .where(PAYMENT_OUTBOX.OUTBOX_STATUS.eq(outboxStatus.name()))
+        int claimedCount = dsl.update(PAYMENT_OUTBOX)
+                .set(PAYMENT_OUTBOX.OUTBOX_STATUS, OutboxStatus.PROCESSING.name())
+                .set(PAYMENT_OUTBOX.FETCHED_AT, now.toLocalDateTime())
+                .set(PAYMENT_OUTBOX.LEASE_OWNER, leaseOwner)
+                .set(PAYMENT_OUTBOX.LEASE_EXPIRES_AT, leaseExpiresAt.toLocalDateTime())
+                .where(PAYMENT_OUTBOX.SHARD.in(shards)
+                        .and(PAYMENT_OUTBOX.OUTBOX_STATUS.eq(OutboxStatus.STARTED.name())
+                                .or(PAYMENT_OUTBOX.OUTBOX_STATUS.eq(OutboxStatus.PROCESSING.name())
+                                        .and(PAYMENT_OUTBOX.LEASE_EXPIRES_AT.lt(now.toLocalDateTime())))))
                 .orderBy(PAYMENT_OUTBOX.CREATED_AT)
                 .limit(limit)
-                .fetch(PAYMENT_OUTBOX.ID);
+                .execute();
         
-        if (idsToDelete.isEmpty()) {
-            return 0;
+        if (claimedCount == 0) {
+            return List.of();
         }
         
-        return dsl.deleteFrom(PAYMENT_OUTBOX)
-                .where(PAYMENT_OUTBOX.ID.in(idsToDelete))
-                .execute();
+        return dsl.selectFrom(PAYMENT_OUTBOX)
+                .where(PAYMENT_OUTBOX.OUTBOX_STATUS.eq(OutboxStatus.PROCESSING.name())
+                        .and(PAYMENT_OUTBOX.LEASE_EXPIRES_AT.eq(leaseExpiresAt.toLocalDateTime()))
+                        .and(PAYMENT_OUTBOX.LEASE_OWNER.eq(leaseOwner)))
+                .orderBy(PAYMENT_OUTBOX.CREATED_AT)
+                .fetch()
+                .map(this::mapToPaymentOutboxMessage);
     }
     
     @Override
     @Transactional
-    public int bulkUpdateStatusAndFetchedAt(List<UUID> ids, OutboxStatus status, ZonedDateTime fetchedAt) {
+    public int bulkUpdateStatusAndProcessedAt(List<UUID> ids, OutboxStatus status, ZonedDateTime processedAt) {
         if (ids.isEmpty()) {
             return 0;
         }
         
-        LocalDateTime fetchedAtLocal = fetchedAt != null ? fetchedAt.toLocalDateTime() : null;
-        
         return dsl.update(PAYMENT_OUTBOX)
                 .set(PAYMENT_OUTBOX.OUTBOX_STATUS, status.name())
-                .set(PAYMENT_OUTBOX.FETCHED_AT, fetchedAtLocal)
+                .set(PAYMENT_OUTBOX.PROCESSED_AT, processedAt.toLocalDateTime())
+                .set(PAYMENT_OUTBOX.VERSION, PAYMENT_OUTBOX.VERSION.plus(1))
                 .where(PAYMENT_OUTBOX.ID.in(ids))
                 .execute();
     }
@@ -181,13 +180,18 @@ public class PaymentOutboxRepositoryImpl implements PaymentOutboxRepository {
                 .id(record.get(PAYMENT_OUTBOX.ID))
                 .messageId(record.get(PAYMENT_OUTBOX.MESSAGE_ID))
                 .sagaId(record.get(PAYMENT_OUTBOX.SAGA_ID))
+                .shard(record.get(PAYMENT_OUTBOX.SHARD))
                 .createdAt(record.get(PAYMENT_OUTBOX.CREATED_AT).atZone(ZoneOffset.UTC))
                 .fetchedAt(record.get(PAYMENT_OUTBOX.FETCHED_AT) != null ? 
                         record.get(PAYMENT_OUTBOX.FETCHED_AT).atZone(ZoneOffset.UTC) : null)
+                .leaseOwner(record.get(PAYMENT_OUTBOX.LEASE_OWNER))
+                .leaseExpiresAt(record.get(PAYMENT_OUTBOX.LEASE_EXPIRES_AT) != null ? 
+                    record.get(PAYMENT_OUTBOX.LEASE_EXPIRES_AT).atZone(ZoneOffset.UTC) : null)
                 .processedAt(record.get(PAYMENT_OUTBOX.PROCESSED_AT) != null ? 
                         record.get(PAYMENT_OUTBOX.PROCESSED_AT).atZone(ZoneOffset.UTC) : null)
                 .type(ServiceMessageType.valueOf(record.get(PAYMENT_OUTBOX.TYPE)))
-                .payload(record.get(PAYMENT_OUTBOX.PAYLOAD).data())
+                .payload(record.get(PAYMENT_OUTBOX.PAYLOAD))
+                .payloadSchemaId(record.get(PAYMENT_OUTBOX.PAYLOAD_SCHEMA_ID))
                 .outboxStatus(OutboxStatus.valueOf(record.get(PAYMENT_OUTBOX.OUTBOX_STATUS)))
                 .version(record.get(PAYMENT_OUTBOX.VERSION))
                 .build();
@@ -0,0 +1,105 @@
+package com.commerce.platform.payment.service.dataaccess.outbox.adapter;
+
+import com.commerce.platform.payment.service.domain.ports.output.repository.PaymentOutboxShardRepository;
+import lombok.RequiredArgsConstructor;
+import org.jooq.DSLContext;
+import org.springframework.stereotype.Component;
+
+import static com.commerce.platform.payment.service.dataaccess.jooq.tables.PaymentOutboxDispatcher.PAYMENT_OUTBOX_DISPATCHER;
+import static com.commerce.platform.payment.service.dataaccess.jooq.tables.PaymentOutboxShard.PAYMENT_OUTBOX_SHARD;
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class PaymentOutboxShardRepositoryImpl implements PaymentOutboxShardRepository {
+    
+    private final DSLContext dsl;
+    
+    @Override
+    public void createShards(int shardCount) {
+        var insert = dsl.insertInto(PAYMENT_OUTBOX_SHARD, PAYMENT_OUTBOX_SHARD.SHARD);
+        for (int shard = 0; shard < shardCount; shard++) {
+            insert = insert.values(shard);
+        }
+        insert.onDuplicateKeyIgnore().execute();
+    }
+    
+    @Override
+    public void heartbeat(String instanceId, ZonedDateTime expiresAt) {
+        dsl.insertInto(PAYMENT_OUTBOX_DISPATCHER)
+                .set(PAYMENT_OUTBOX_DISPATCHER.INSTANCE_ID, instanceId)
+                .set(PAYMENT_OUTBOX_DISPATCHER.HEARTBEAT_EXPIRES_AT, expiresAt.toLocalDateTime())
+                .onDuplicateKeyUpdate()
+                .set(PAYMENT_OUTBOX_DISPATCHER.HEARTBEAT_EXPIRES_AT, expiresAt.toLocalDateTime())
+                .execute();
+    }
+    
+    @Override
+    public void removeExpiredInstances(ZonedDateTime now) {
+        dsl.deleteFrom(PAYMENT_OUTBOX_DISPATCHER)
+                .where(PAYMENT_OUTBOX_DISPATCHER.HEARTBEAT_EXPIRES_AT.lt(now.toLocalDateTime()))
+                .execute();
+    }
+    
+    @Override
+    public void removeInstance(String instanceId) {
+        dsl.deleteFrom(PAYMENT_OUTBOX_DISPATCHER)
+                .where(PAYMENT_OUTBOX_DISPATCHER.INSTANCE_ID.eq(instanceId))
+                .execute();
+    }
+    
+    @Override
+    public int countLiveInstances(ZonedDateTime now) {
+        return dsl.fetchCount(PAYMENT_OUTBOX_DISPATCHER,
+                PAYMENT_OUTBOX_DISPATCHER.HEARTBEAT_EXPIRES_AT.ge(now.toLocalDateTime()));
+    }
+    
+    @Override
+    public List<Integer> renewShards(String owner, ZonedDateTime expiresAt) {
+        dsl.update(PAYMENT_OUTBOX_SHARD)
+                .set(PAYMENT_OUTBOX_SHARD.LEASE_EXPIRES_AT, expiresAt.toLocalDateTime())
+                .where(PAYMENT_OUTBOX_SHARD.OWNER.eq(owner))
+                .execute();
+    
+        return findOwnedShards(owner);
+    }
+    
+    @Override
+    public List<Integer> acquireShards(String owner, ZonedDateTime now, ZonedDateTime expiresAt, int limit) {
+        dsl.update(PAYMENT_OUTBOX_SHARD)
+                .set(PAYMENT_OUTBOX_SHARD.OWNER, owner)
+                .set(PAYMENT_OUTBOX_SHARD.LEASE_EXPIRES_AT, expiresAt.toLocalDateTime())
+                .where(PAYMENT_OUTBOX_SHARD.OWNER.isNull()
+                        .or(PAYMENT_OUTBOX_SHARD.LEASE_EXPIRES_AT.lt(now.toLocalDateTime())))
+                .orderBy(PAYMENT_OUTBOX_SHARD.SHARD)
+                .limit(limit)
+                .execute();
+    
+        return findOwnedShards(owner);
+    }
+    
+    @Override
+    public void releaseShards(String owner, Collection<Integer> shards) {
+        if (shards.isEmpty()) {
+            return;
+        }
+    
+        dsl.update(PAYMENT_OUTBOX_SHARD)
+                .set(PAYMENT_OUTBOX_SHARD.OWNER, (String) null)
+                .set(PAYMENT_OUTBOX_SHARD.LEASE_EXPIRES_AT, (LocalDateTime) null)
+                .where(PAYMENT_OUTBOX_SHARD.OWNER.eq(owner)
+                        .and(PAYMENT_OUTBOX_SHARD.SHARD.in(shards)))
+                .execute();
+    }
+    
+    private List<Integer> findOwnedShards(String owner) {
+        return dsl.select(PAYMENT_OUTBOX_SHARD.SHARD)
+                .from(PAYMENT_OUTBOX_SHARD)
+                .where(PAYMENT_OUTBOX_SHARD.OWNER.eq(owner))
+                .orderBy(PAYMENT_OUTBOX_SHARD.SHARD)
+                .fetch(PAYMENT_OUTBOX_SHARD.SHARD);
+    }
+}
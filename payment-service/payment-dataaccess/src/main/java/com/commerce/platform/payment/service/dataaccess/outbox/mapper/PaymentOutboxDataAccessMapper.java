@@ -12,11 +12,15 @@ public class PaymentOutboxDataAccessMapper {
                 .id(paymentOutboxMessage.getId())
                 .messageId(paymentOutboxMessage.getMessageId())
                 .sagaId(paymentOutboxMessage.getSagaId())
+                .shard(paymentOutboxMessage.getShard())
                 .createdAt(paymentOutboxMessage.getCreatedAt())
                 .fetchedAt(paymentOutboxMessage.getFetchedAt())
+                .leaseOwner(paymentOutboxMessage.getLeaseOwner())
+                .leaseExpiresAt(paymentOutboxMessage.getLeaseExpiresAt())
                 .processedAt(paymentOutboxMessage.getProcessedAt())
                 .type(paymentOutboxMessage.getType())
                 .payload(paymentOutboxMessage.getPayload())
+                .payloadSchemaId(paymentOutboxMessage.getPayloadSchemaId())
                 .outboxStatus(paymentOutboxMessage.getOutboxStatus())
                 .version(paymentOutboxMessage.getVersion())
                 .build();
@@ -27,11 +31,15 @@ public class PaymentOutboxDataAccessMapper {
                 .id(paymentOutboxEntity.getId())
                 .messageId(paymentOutboxEntity.getMessageId())
                 .sagaId(paymentOutboxEntity.getSagaId())
+                .shard(paymentOutboxEntity.getShard())
                 .createdAt(paymentOutboxEntity.getCreatedAt())
                 .fetchedAt(paymentOutboxEntity.getFetchedAt())
+                .leaseOwner(paymentOutboxEntity.getLeaseOwner())
+                .leaseExpiresAt(paymentOutboxEntity.getLeaseExpiresAt())
                 .processedAt(paymentOutboxEntity.getProcessedAt())
                 .type(paymentOutboxEntity.getType())
                 .payload(paymentOutboxEntity.getPayload())
+                .payloadSchemaId(paymentOutboxEntity.getPayloadSchemaId())
                 .outboxStatus(paymentOutboxEntity.getOutboxStatus())
                 .version(paymentOutboxEntity.getVersion())
                 .build();
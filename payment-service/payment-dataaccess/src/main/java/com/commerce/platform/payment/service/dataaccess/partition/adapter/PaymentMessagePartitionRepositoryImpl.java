@@ -0,0 +1,39 @@
+package com.commerce.platform.payment.service.dataaccess.partition.adapter;
+
+import com.commerce.platform.dataaccess.partition.DailyPartitionManager;
+import com.commerce.platform.payment.service.domain.ports.output.repository.PaymentMessagePartitionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+@Component
+public class PaymentMessagePartitionRepositoryImpl implements PaymentMessagePartitionRepository {
+
+    private final DailyPartitionManager inboxPartitionManager;
+    private final DailyPartitionManager outboxPartitionManager;
+
+    public PaymentMessagePartitionRepositoryImpl(JdbcTemplate jdbcTemplate,
+                                                 @Value("${payment-service.message-partition-retention-days:7}") int retentionDays,
+                                                 @Value("${payment-service.message-partition-precreate-days:3}") int precreateDays) {
+        this.inboxPartitionManager = new DailyPartitionManager(jdbcTemplate,
+                "payment_inbox",
+                "status <> 'PROCESSED'",
+                "status = 'PARKED'",
+                retentionDays,
+                precreateDays);
+        this.outboxPartitionManager = new DailyPartitionManager(jdbcTemplate,
+                "payment_outbox",
+                "outbox_status <> 'COMPLETED'",
+                "outbox_status = 'FAILED'",
+                retentionDays,
+                precreateDays);
+    }
+
+    @Override
+    public void rotatePartitions(LocalDate today) {
+        inboxPartitionManager.rotate(today);
+        outboxPartitionManager.rotate(today);
+    }
+}
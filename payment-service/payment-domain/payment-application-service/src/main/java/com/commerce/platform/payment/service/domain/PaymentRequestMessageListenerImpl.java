@@ -2,19 +2,21 @@ package com.commerce.platform.payment.service.domain;
 
 import com.commerce.platform.domain.event.ServiceMessageType;
 import com.commerce.platform.domain.util.UuidGenerator;
+import com.commerce.platform.inbox.InboxFastPath;
+import com.commerce.platform.inbox.InboxScheduler;
 import com.commerce.platform.inbox.InboxStatus;
+import com.commerce.platform.inbox.payload.InboxPayloadCodec;
 import com.commerce.platform.payment.service.domain.dto.PaymentRequest;
-import com.commerce.platform.payment.service.domain.exception.PaymentDomainException;
 import com.commerce.platform.payment.service.domain.inbox.model.PaymentInboxMessage;
+import com.commerce.platform.payment.service.domain.inbox.scheduler.PaymentInboxTransactionService;
 import com.commerce.platform.payment.service.domain.ports.input.message.listener.PaymentRequestMessageListener;
 import com.commerce.platform.payment.service.domain.ports.output.repository.PaymentInboxRepository;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 
+import java.time.Duration;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.List;
@@ -25,52 +27,77 @@ import java.util.List;
 public class PaymentRequestMessageListenerImpl implements PaymentRequestMessageListener {
     
     private final PaymentInboxRepository paymentInboxRepository;
-    private final ObjectMapper objectMapper;
+    private final InboxPayloadCodec<PaymentRequest> paymentRequestInboxPayloadCodec;
+    private final InboxScheduler inboxScheduler;
+    private final InboxFastPath inboxFastPath;
+    private final PaymentInboxTransactionService paymentInboxTransactionService;
+    
+    @Value("${payment-service.inbox-fast-path-enabled:false}")
+    private boolean fastPathEnabled;
+    
+    @Value("${payment-service.inbox-fast-path-time-budget-ms:200}")
+    private long fastPathTimeBudgetMs;
     
     public PaymentRequestMessageListenerImpl(PaymentInboxRepository paymentInboxRepository,
-                                           ObjectMapper objectMapper) {
+                                           InboxPayloadCodec<PaymentRequest> paymentRequestInboxPayloadCodec,
+                                           InboxScheduler inboxScheduler,
+                                           InboxFastPath inboxFastPath,
+                                           PaymentInboxTransactionService paymentInboxTransactionService) {
         this.paymentInboxRepository = paymentInboxRepository;
-        this.objectMapper = objectMapper;
+        this.paymentRequestInboxPayloadCodec = paymentRequestInboxPayloadCodec;
+        this.inboxScheduler = inboxScheduler;
+        this.inboxFastPath = inboxFastPath;
+        this.paymentInboxTransactionService = paymentInboxTransactionService;
     }
     
     @Override
-    @Transactional
     public void saveToInbox(List<PaymentRequest> paymentRequests) {
         if (paymentRequests.isEmpty()) {
             return;
         }
         
         ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC);
+        if (fastPathEnabled) {
+            inboxFastPath.process(paymentRequests,
+                    PaymentRequest::getSagaId,
+                    paymentInboxRepository::findSagaIdsWithUnfinishedMessages,
+                    Duration.ofMillis(fastPathTimeBudgetMs),
+                    request -> {
+                        if (paymentInboxRepository.saveIfAbsent(createInboxMessage(request, now, InboxStatus.PROCESSED))) {
+                            paymentInboxTransactionService.processPaymentRequest(request, request.getSagaId());
+                            paymentInboxTransactionService.recordProcessed(now);
+                        }
+                    },
+                    pendingRequests -> saveReceived(pendingRequests, now));
+            return;
+        }
+        
+        inboxFastPath.writeToInbox(paymentRequests, pendingRequests -> saveReceived(pendingRequests, now));
+    }
+
+    private void saveReceived(List<PaymentRequest> paymentRequests, ZonedDateTime receivedAt) {
         List<PaymentInboxMessage> inboxMessages = paymentRequests.stream()
-                .map(request -> createInboxMessage(request, now))
+                .map(request -> createInboxMessage(request, receivedAt, InboxStatus.RECEIVED))
                 .toList();
         
-        paymentInboxRepository.saveAll(inboxMessages);
+        List<PaymentInboxMessage> savedMessages = paymentInboxRepository.saveAll(inboxMessages);
+        inboxScheduler.wakeUp(savedMessages.stream().map(PaymentInboxMessage::getSagaId).toList());
         
-        log.info("Saved {} PaymentRequest messages to inbox", inboxMessages.size());
+        log.debug("Saved {} of {} PaymentRequest messages to inbox", savedMessages.size(), inboxMessages.size());
     }
     
-    private PaymentInboxMessage createInboxMessage(PaymentRequest paymentRequest, ZonedDateTime receivedAt) {
+    private PaymentInboxMessage createInboxMessage(PaymentRequest paymentRequest, ZonedDateTime receivedAt, InboxStatus status) {
         return PaymentInboxMessage.builder()
                 .id(UuidGenerator.generate())
                 .messageId(paymentRequest.getId())
                 .sagaId(paymentRequest.getSagaId())
                 .type(ServiceMessageType.PAYMENT_REQUEST)
-                .payload(createPayload(paymentRequest))
-                .status(InboxStatus.RECEIVED)
+                .payload(paymentRequestInboxPayloadCodec.encode(paymentRequest))
+                .payloadSchemaFingerprint(paymentRequestInboxPayloadCodec.schemaFingerprint())
+                .status(status)
                 .receivedAt(receivedAt)
+                .processedAt(status == InboxStatus.PROCESSED ? receivedAt : null)
                 .retryCount(0)
                 .build();
     }
-    
-    private String createPayload(PaymentRequest paymentRequest) {
-        try {
-            return objectMapper.writeValueAsString(paymentRequest);
-        } catch (JsonProcessingException e) {
-            log.error("Could not create PaymentRequest object for saga id: {}",
-                    paymentRequest.getSagaId(), e);
-            throw new PaymentDomainException("Could not create PaymentRequest object for saga id " +
-                    paymentRequest.getSagaId(), e);
-        }
-    }
 }
\ No newline at end of file
@@ -19,7 +19,8 @@ public class PaymentInboxMessage {
     private final UUID messageId;
     private final UUID sagaId;
     private final ServiceMessageType type;
-    private final String payload;
+    private final byte[] payload;
+    private final Long payloadSchemaFingerprint;
     private InboxStatus status;
     private final ZonedDateTime receivedAt;
     private ZonedDateTime processedAt;
@@ -2,7 +2,9 @@ package com.commerce.platform.payment.service.domain.inbox.scheduler;
 
 import com.commerce.platform.domain.event.ServiceMessageType;
 import com.commerce.platform.domain.valueobject.PaymentOrderStatus;
+import com.commerce.platform.inbox.InboxBatchAbortedException;
 import com.commerce.platform.inbox.InboxStatus;
+import com.commerce.platform.inbox.lane.InboxLaneDepth;
 import com.commerce.platform.payment.service.domain.PaymentRequestHelper;
 import com.commerce.platform.payment.service.domain.dto.PaymentRequest;
 import com.commerce.platform.payment.service.domain.event.PaymentEvent;
@@ -18,6 +20,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.UUID;
 
 @Slf4j
 @Service
@@ -29,16 +32,31 @@ public class InboxMessageHelper {
         this.paymentInboxTransactionService = paymentInboxTransactionService;
     }
     
-    public void processInboxMessages(int batchSize) {
-        for (int i = 0; i < batchSize; i++) {
-            if (!paymentInboxTransactionService.processNextMessage()) {
-                break;
-            }
+    public int processInboxMessages(int lane, int laneCount, int batchSize) {
+        try {
+            return paymentInboxTransactionService.processLaneMessages(lane, laneCount, batchSize);
+        } catch (InboxBatchAbortedException e) {
+            // 배치는 롤백됐으므로 원인 메시지만 실패로 기록하고 나머지는 다음 배치에서 다시 처리한다
+            log.error("Inbox batch of lane {} was rolled back because of message: {}", lane, e.getMessageId(), e);
+            paymentInboxTransactionService.recordAbortedMessage(e);
+            return 1;
         }
     }
     
-    public void retryFailedMessages(int maxRetryCount, int batchSize) {
-        paymentInboxTransactionService.retryFailedMessages(maxRetryCount, batchSize);
+    public List<InboxLaneDepth> getLaneDepths(int laneCount) {
+        return paymentInboxTransactionService.getLaneDepths(laneCount);
+    }
+    
+    public int resolveLaneCount(int configuredLaneCount) {
+        return paymentInboxTransactionService.resolveLaneCount(configuredLaneCount);
+    }
+    
+    public List<UUID> retryFailedMessages(int batchSize) {
+        return paymentInboxTransactionService.retryFailedMessages(batchSize);
+    }
+    
+    public List<UUID> releaseReplayQueuedMessages(int limit) {
+        return paymentInboxTransactionService.releaseReplayQueuedMessages(limit);
     }
 
 }
\ No newline at end of file
@@ -1,33 +1,67 @@
 package com.commerce.platform.payment.service.domain.inbox.scheduler;
 
 import com.commerce.platform.inbox.InboxScheduler;
-import lombok.RequiredArgsConstructor;
+import com.commerce.platform.inbox.lane.InboxLaneExecutor;
+import com.commerce.platform.inbox.parking.InboxReplayThrottle;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
 @Slf4j
 @Component
-@RequiredArgsConstructor
-public class PaymentInboxScheduler implements InboxScheduler {
+public class PaymentInboxScheduler implements InboxScheduler, DisposableBean {
     
     private final InboxMessageHelper inboxMessageHelper;
+    private final InboxLaneExecutor inboxLaneExecutor;
+    private final InboxReplayThrottle inboxReplayThrottle;
     
     @Value("${payment-service.inbox-scheduler-batch-size:10}")
     private int batchSize;
     
-    @Value("${payment-service.inbox-max-retry-count:3}")
-    private int maxRetryCount;
+    @Value("${payment-service.inbox-retry-batch-size:10}")
+    private int retryBatchSize;
+    
+    @Value("${payment-service.inbox-replay-batch-size:50}")
+    private int replayBatchSize;
+    
+    public PaymentInboxScheduler(InboxMessageHelper inboxMessageHelper,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${payment-service.inbox-lane-count:4}") int configuredLaneCount,
+                                 @Value("${payment-service.inbox-idle-backoff-min-ms:100}") long minIdleBackoffMs,
+                                 @Value("${payment-service.inbox-idle-backoff-max-ms:5000}") long maxIdleBackoffMs,
+                                 @Value("${payment-service.inbox-replay-rate-per-second:20}") double replayRatePerSecond,
+                                 @Value("${payment-service.inbox-replay-burst:50}") int replayBurst) {
+        this.inboxMessageHelper = inboxMessageHelper;
+        // slot 구간은 lane 수로 정해지므로 인스턴스마다 lane 수가 다르면 같은 saga 를 두 lane 이 동시에 처리한다
+        int laneCount = inboxMessageHelper.resolveLaneCount(configuredLaneCount);
+        this.inboxLaneExecutor = new InboxLaneExecutor("payment-service",
+                laneCount,
+                lane -> inboxMessageHelper.processInboxMessages(lane, laneCount, batchSize),
+                Duration.ofMillis(minIdleBackoffMs),
+                Duration.ofMillis(maxIdleBackoffMs),
+                meterRegistry);
+        this.inboxReplayThrottle = new InboxReplayThrottle(replayRatePerSecond, replayBurst);
+    }
     
     @Override
     @Scheduled(fixedRateString = "${payment-service.inbox-scheduler-fixed-rate}",
             initialDelayString = "${payment-service.inbox-scheduler-initial-delay}")
-    @Async("inboxTaskExecutor")
     public void processInboxMessages() {
         log.debug("Processing payment inbox messages...");
-        inboxMessageHelper.processInboxMessages(batchSize);
+        try {
+            inboxLaneExecutor.poll();
+        } catch (Exception e) {
+            log.error("Failed to process inbox messages", e);
+        }
     }
     
     @Scheduled(fixedRateString = "${payment-service.inbox-retry-scheduler-fixed-rate}",
@@ -35,6 +69,48 @@ public class PaymentInboxScheduler implements InboxScheduler {
     @Async("inboxTaskExecutor")
     public void retryFailedMessages() {
         log.debug("Retrying failed payment inbox messages...");
-        inboxMessageHelper.retryFailedMessages(maxRetryCount, batchSize);
+        try {
+            inboxLaneExecutor.signal(inboxMessageHelper.retryFailedMessages(retryBatchSize));
+        } catch (Exception e) {
+            log.error("Failed to retry failed messages", e);
+        }
+    }
+    
+    @Scheduled(fixedRateString = "${payment-service.inbox-replay-scheduler-fixed-rate:1000}")
+    public void replayParkedMessages() {
+        int permits = inboxReplayThrottle.tryAcquire(replayBatchSize);
+        if (permits == 0) {
+            return;
+        }
+        int replayed = 0;
+        try {
+            List<UUID> sagaIds = inboxMessageHelper.releaseReplayQueuedMessages(permits);
+            replayed = sagaIds.size();
+            inboxLaneExecutor.signal(sagaIds);
+        } catch (Exception e) {
+            log.error("Failed to replay parked messages", e);
+        } finally {
+            // 실제로 재생한 메시지 몫만 쓰고, 실패로 롤백된 몫을 포함한 나머지 permit 은 돌려준다
+            inboxReplayThrottle.release(permits - replayed);
+        }
+    }
+    
+    @Scheduled(fixedRateString = "${payment-service.inbox-lane-metrics-fixed-rate:5000}")
+    public void updateLaneMetrics() {
+        try {
+            inboxLaneExecutor.updateQueueDepths(inboxMessageHelper.getLaneDepths(inboxLaneExecutor.getLaneCount()));
+        } catch (Exception e) {
+            log.error("Failed to update inbox lane metrics", e);
+        }
+    }
+    
+    @Override
+    public void wakeUp(Collection<UUID> sagaIds) {
+        inboxLaneExecutor.signalAfterCommit(sagaIds);
+    }
+    
+    @Override
+    public void destroy() {
+        inboxLaneExecutor.shutdown();
     }
 }
\ No newline at end of file
@@ -2,7 +2,15 @@ package com.commerce.platform.payment.service.domain.inbox.scheduler;
 
 import com.commerce.platform.domain.event.ServiceMessageType;
 import com.commerce.platform.domain.valueobject.PaymentOrderStatus;
+import com.commerce.platform.inbox.InboxBatchAbortedException;
+import com.commerce.platform.inbox.InboxHopLatency;
+import com.commerce.platform.inbox.InboxSavepointExecutor;
 import com.commerce.platform.inbox.InboxStatus;
+import com.commerce.platform.inbox.payload.InboxPayloadCodec;
+import com.commerce.platform.inbox.lane.InboxLaneDepth;
+import com.commerce.platform.inbox.lane.InboxLanes;
+import com.commerce.platform.inbox.retry.InboxFailure;
+import com.commerce.platform.inbox.retry.InboxRetryPolicy;
 import com.commerce.platform.payment.service.domain.PaymentRequestHelper;
 import com.commerce.platform.payment.service.domain.dto.PaymentRequest;
 import com.commerce.platform.payment.service.domain.entity.Payment;
@@ -13,13 +21,22 @@ import com.commerce.platform.payment.service.domain.outbox.scheduler.PaymentOutb
 import com.commerce.platform.payment.service.domain.ports.output.repository.PaymentInboxRepository;
 import com.commerce.platform.outbox.OutboxStatus;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.commerce.platform.payment.service.domain.config.PaymentServiceConfigData;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Slf4j
@@ -31,74 +48,166 @@ public class PaymentInboxTransactionService {
     private final PaymentOutboxHelper paymentOutboxHelper;
     private final PaymentDataMapper paymentDataMapper;
     private final ObjectMapper objectMapper;
+    private final InboxPayloadCodec<PaymentRequest> paymentRequestInboxPayloadCodec;
+    private final InboxSavepointExecutor inboxSavepointExecutor;
+    private final InboxRetryPolicy inboxRetryPolicy;
+    private final PaymentServiceConfigData paymentServiceConfigData;
+    private final InboxHopLatency inboxHopLatency;
     
     public PaymentInboxTransactionService(PaymentInboxRepository paymentInboxRepository,
                                         PaymentRequestHelper paymentRequestHelper,
                                         PaymentOutboxHelper paymentOutboxHelper,
                                         PaymentDataMapper paymentDataMapper,
-                                        ObjectMapper objectMapper) {
+                                        ObjectMapper objectMapper,
+                                        InboxPayloadCodec<PaymentRequest> paymentRequestInboxPayloadCodec,
+                                        InboxSavepointExecutor inboxSavepointExecutor,
+                                        PaymentServiceConfigData paymentServiceConfigData,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${payment-service.inbox-max-retry-count:3}") int maxRetryCount,
+                                        @Value("${payment-service.inbox-retry-backoff-base-ms:1000}") long retryBackoffBaseMs,
+                                        @Value("${payment-service.inbox-retry-backoff-max-ms:60000}") long retryBackoffMaxMs) {
         this.paymentInboxRepository = paymentInboxRepository;
         this.paymentRequestHelper = paymentRequestHelper;
         this.paymentOutboxHelper = paymentOutboxHelper;
         this.paymentDataMapper = paymentDataMapper;
         this.objectMapper = objectMapper;
+        this.paymentRequestInboxPayloadCodec = paymentRequestInboxPayloadCodec;
+        this.inboxSavepointExecutor = inboxSavepointExecutor;
+        this.inboxRetryPolicy = new InboxRetryPolicy(maxRetryCount,
+                Duration.ofMillis(retryBackoffBaseMs),
+                Duration.ofMillis(retryBackoffMaxMs));
+        this.paymentServiceConfigData = paymentServiceConfigData;
+        this.inboxHopLatency = new InboxHopLatency(meterRegistry);
     }
     
     @Transactional
-    public boolean processNextMessage() {
+    public int processLaneMessages(int lane, int laneCount, int batchSize) {
+        if (!paymentInboxRepository.tryLockLane(lane)) {
+            return 0;
+        }
+        
         List<PaymentInboxMessage> messages = paymentInboxRepository
-                .findByStatusOrderByReceivedAtWithSkipLock(InboxStatus.RECEIVED, 1);
+                .findByStatusAndLaneSlotRangeOrderByReceivedAtWithSkipLock(InboxStatus.RECEIVED,
+                        InboxLanes.fromSlot(lane, laneCount),
+                        InboxLanes.toSlotExclusive(lane, laneCount),
+                        batchSize);
         
         if (messages.isEmpty()) {
-            return false;
+            return 0;
         }
         
-        PaymentInboxMessage inboxMessage = messages.getFirst();
-        ZonedDateTime processedAt = ZonedDateTime.now();
+        List<UUID> processedIds = new ArrayList<>(messages.size());
+        List<InboxFailure> failures = new ArrayList<>();
         
-        try {
-            if (inboxMessage.getType() == ServiceMessageType.PAYMENT_REQUEST) {
-                processPaymentRequest(inboxMessage);
+        Set<UUID> failedSagaIds = new HashSet<>();
+        for (PaymentInboxMessage inboxMessage : messages) {
+            if (failedSagaIds.contains(inboxMessage.getSagaId())) {
+                // 앞선 메시지가 실패한 saga 의 뒤 메시지는 RECEIVED 로 남겨 재시도 뒤에 처리한다
+                continue;
+            }
+            try {
+                inboxSavepointExecutor.execute(() -> {
+                    if (inboxMessage.getType() == ServiceMessageType.PAYMENT_REQUEST) {
+                        processPaymentRequest(inboxMessage);
+                    }
+                });
+                processedIds.add(inboxMessage.getId());
+                inboxHopLatency.recordProcessed(paymentServiceConfigData.getPaymentRequestTopicName(),
+                        inboxMessage.getReceivedAt());
+                
+                log.debug("Successfully processed inbox message: {} for saga: {}", 
+                        inboxMessage.getId(), inboxMessage.getSagaId());
+                
+            } catch (InboxBatchAbortedException e) {
+                throw e.forMessage(inboxMessage.getId(), inboxMessage.getRetryCount());
+            } catch (Exception e) {
+                log.error("Failed to process inbox message: {}", inboxMessage.getId(), e);
+                failedSagaIds.add(inboxMessage.getSagaId());
+                InboxFailure failure = inboxRetryPolicy.failure(inboxMessage.getId(),
+                        inboxMessage.getRetryCount(),
+                        String.valueOf(e.getMessage()),
+                        ZonedDateTime.now(ZoneOffset.UTC));
+                failures.add(failure);
+                if (failure.status() == InboxStatus.PARKED) {
+                    log.warn("Inbox message: {} for saga: {} is parked after {} attempts",
+                            inboxMessage.getId(), inboxMessage.getSagaId(), inboxMessage.getRetryCount() + 1);
+                }
             }
-            
-            inboxMessage.setStatus(InboxStatus.PROCESSED);
-            inboxMessage.setProcessedAt(processedAt);
-            
-            log.info("Successfully processed inbox message: {} for saga: {}", 
-                    inboxMessage.getId(), inboxMessage.getSagaId());
-            
-        } catch (Exception e) {
-            log.error("Failed to process inbox message: {}", inboxMessage.getId(), e);
-            
-            inboxMessage.setStatus(InboxStatus.FAILED);
-            inboxMessage.setErrorMessage(e.getMessage());
-            inboxMessage.setRetryCount(inboxMessage.getRetryCount() + 1);
         }
         
-        paymentInboxRepository.save(inboxMessage);
-        return true;
+        paymentInboxRepository.bulkUpdateToProcessed(processedIds, ZonedDateTime.now());
+        paymentInboxRepository.bulkUpdateToFailed(failures);
+        return messages.size();
+    }
+    
+    /**
+     * fast path 로 처리한 메시지의 hop 지연을 기록한다. 커밋된 뒤에만 기록된다.
+     */
+    public void recordProcessed(ZonedDateTime receivedAt) {
+        inboxHopLatency.recordProcessed(paymentServiceConfigData.getPaymentRequestTopicName(), receivedAt);
     }
     
     @Transactional
-    public void retryFailedMessages(int maxRetryCount, int batchSize) {
-        List<PaymentInboxMessage> failedMessages = paymentInboxRepository
-                .findByStatusAndRetryCountLessThanOrderByReceivedAtWithSkipLock(InboxStatus.FAILED, maxRetryCount, batchSize);
+    public void recordAbortedMessage(InboxBatchAbortedException aborted) {
+        paymentInboxRepository.bulkUpdateToFailed(List.of(inboxRetryPolicy.failure(aborted.getMessageId(),
+                aborted.getRetryCount(),
+                aborted.failureMessage(),
+                ZonedDateTime.now(ZoneOffset.UTC))));
+    }
+    
+    @Transactional(readOnly = true)
+    public List<InboxLaneDepth> getLaneDepths(int laneCount) {
+        return paymentInboxRepository.countByStatusGroupByLane(InboxStatus.RECEIVED, laneCount);
+    }
+    
+    @Transactional
+    public int resolveLaneCount(int configuredLaneCount) {
+        int laneCount = paymentInboxRepository.findOrCreateLaneCount(configuredLaneCount);
+        if (laneCount != configuredLaneCount) {
+            log.warn("Using persisted inbox lane count {} instead of configured {}", laneCount, configuredLaneCount);
+        }
+        paymentInboxRepository.createLanes(laneCount);
+        return laneCount;
+    }
+    
+    @Transactional
+    public List<UUID> retryFailedMessages(int batchSize) {
+        List<PaymentInboxMessage> dueMessages = paymentInboxRepository
+                .findByStatusAndNextAttemptAtBeforeOrderByNextAttemptAtWithSkipLock(InboxStatus.FAILED,
+                        ZonedDateTime.now(ZoneOffset.UTC),
+                        batchSize);
         
-        if (!failedMessages.isEmpty()) {
-            log.info("Retrying {} failed messages", failedMessages.size());
-            
-            failedMessages.forEach(message -> message.setStatus(InboxStatus.RECEIVED));
-            
-            paymentInboxRepository.saveAll(failedMessages);
+        if (dueMessages.isEmpty()) {
+            return List.of();
         }
+        
+        log.info("Retrying {} failed messages", dueMessages.size());
+        paymentInboxRepository.bulkUpdateToReceived(dueMessages.stream().map(PaymentInboxMessage::getId).toList());
+        return dueMessages.stream().map(PaymentInboxMessage::getSagaId).toList();
     }
     
-    private void processPaymentRequest(PaymentInboxMessage inboxMessage) throws Exception {
-        PaymentRequest request = objectMapper.readValue(
-                inboxMessage.getPayload(), 
-                PaymentRequest.class
-        );
+    @Transactional
+    public List<UUID> releaseReplayQueuedMessages(int limit) {
+        List<PaymentInboxMessage> queuedMessages = paymentInboxRepository
+                .findByStatusAndNextAttemptAtBeforeOrderByNextAttemptAtWithSkipLock(InboxStatus.REPLAY_QUEUED,
+                        ZonedDateTime.now(ZoneOffset.UTC),
+                        limit);
         
+        if (queuedMessages.isEmpty()) {
+            return List.of();
+        }
+        
+        log.info("Replaying {} parked messages", queuedMessages.size());
+        paymentInboxRepository.bulkUpdateToReceived(queuedMessages.stream().map(PaymentInboxMessage::getId).toList());
+        return queuedMessages.stream().map(PaymentInboxMessage::getSagaId).toList();
+    }
+    
+    private void processPaymentRequest(PaymentInboxMessage inboxMessage) throws Exception {
+        PaymentRequest request = decodePayload(inboxMessage, paymentRequestInboxPayloadCodec, PaymentRequest.class);
+        processPaymentRequest(request, inboxMessage.getSagaId());
+    }
+    
+    public void processPaymentRequest(PaymentRequest request, UUID sagaId) {
         PaymentEvent paymentEvent;
         if (request.getPaymentOrderStatus() == PaymentOrderStatus.PENDING) {
             paymentEvent = paymentRequestHelper.persistPayment(request);
@@ -110,13 +219,23 @@ public class PaymentInboxTransactionService {
         
         paymentOutboxHelper.savePaymentOutboxMessage(
                 ServiceMessageType.PAYMENT_RESPONSE,
-                paymentDataMapper.paymentEventToPaymentResponse(paymentEvent, inboxMessage.getSagaId()),
+                paymentDataMapper.paymentEventToPaymentResponse(paymentEvent, sagaId),
                 OutboxStatus.STARTED,
-                inboxMessage.getSagaId()
+                sagaId
         );
         
-        log.info("Payment processed for order id: {} with status: {}", 
-                paymentEvent.getPayment().getOrderId().getValue(),
-                paymentEvent.getPayment().getPaymentStatus());
+        if (log.isDebugEnabled()) {
+            log.debug("Payment processed for order id: {} with status: {}",
+                    paymentEvent.getPayment().getOrderId().getValue(),
+                    paymentEvent.getPayment().getPaymentStatus());
+        }
+    }
+    
+    private <T> T decodePayload(PaymentInboxMessage inboxMessage, InboxPayloadCodec<T> codec, Class<T> type) throws IOException {
+        if (inboxMessage.getPayloadSchemaFingerprint() == null) {
+            // Avro 저장 이전에 JSON 으로 쌓인 메시지
+            return objectMapper.readValue(inboxMessage.getPayload(), type);
+        }
+        return codec.decode(inboxMessage.getPayload(), inboxMessage.getPayloadSchemaFingerprint());
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
@@ -5,15 +5,8 @@ import com.commerce.platform.domain.valueobject.Money;
 import com.commerce.platform.domain.valueobject.OrderId;
 import com.commerce.platform.payment.service.domain.dto.PaymentRequest;
 import com.commerce.platform.payment.service.domain.dto.PaymentResponse;
-import com.commerce.platform.domain.event.ServiceMessageType;
 import com.commerce.platform.payment.service.domain.entity.Payment;
 import com.commerce.platform.payment.service.domain.event.PaymentEvent;
-import com.commerce.platform.payment.service.domain.event.PaymentCompletedEvent;
-import com.commerce.platform.payment.service.domain.event.PaymentFailedEvent;
-import com.commerce.platform.payment.service.domain.event.PaymentCancelledEvent;
-import com.commerce.platform.payment.service.domain.outbox.model.PaymentOutboxMessage;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
@@ -23,12 +16,6 @@ import java.util.UUID;
 @Component
 public class PaymentDataMapper {
     
-    private final ObjectMapper objectMapper;
-    
-    public PaymentDataMapper(ObjectMapper objectMapper) {
-        this.objectMapper = objectMapper;
-    }
-    
     public Payment paymentRequestToPayment(PaymentRequest paymentRequest) {
         return Payment.builder()
                 .orderId(new OrderId(paymentRequest.getOrderId()))
@@ -37,28 +24,6 @@ public class PaymentDataMapper {
                 .build();
     }
     
-    public PaymentOutboxMessage paymentEventToPaymentOutboxMessage(PaymentEvent paymentEvent, 
-                                                                  UUID sagaId) {
-        return PaymentOutboxMessage.builder()
-                .id(UUID.randomUUID())
-                .messageId(UUID.randomUUID())
-                .sagaId(sagaId)
-                .type(mapEventTypeToMessageType(paymentEvent))
-                .payload(createPayload(paymentEvent))
-                .createdAt(paymentEvent.getCreatedAt())
-                .build();
-    }
-    
-    private ServiceMessageType mapEventTypeToMessageType(PaymentEvent paymentEvent) {
-        if (paymentEvent instanceof PaymentCompletedEvent || 
-            paymentEvent instanceof PaymentFailedEvent || 
-            paymentEvent instanceof PaymentCancelledEvent) {
-            return ServiceMessageType.PAYMENT_RESPONSE;
-        }
-        
-        throw new IllegalArgumentException("Unknown payment event type: " + paymentEvent.getClass().getSimpleName());
-    }
-    
     public PaymentResponse paymentEventToPaymentResponse(PaymentEvent paymentEvent, UUID sagaId) {
         return PaymentResponse.builder()
                 .id(sagaId)
@@ -72,23 +37,4 @@ public class PaymentDataMapper {
                 .failureMessages(paymentEvent.getFailureMessages())
                 .build();
     }
-    
-    private String createPayload(PaymentEvent paymentEvent) {
-        try {
-            PaymentResponse paymentResponse = PaymentResponse.builder()
-                    .paymentId(paymentEvent.getPayment().getId().getValue())
-                    .customerId(paymentEvent.getPayment().getCustomerId().getValue())
-                    .orderId(paymentEvent.getPayment().getOrderId().getValue())
-                    .price(paymentEvent.getPayment().getPrice().getAmount())
-                    .createdAt(paymentEvent.getCreatedAt())
-                    .paymentStatus(paymentEvent.getPayment().getPaymentStatus())
-                    .failureMessages(paymentEvent.getFailureMessages())
-                    .build();
-            
-            return objectMapper.writeValueAsString(paymentResponse);
-        } catch (JsonProcessingException e) {
-            log.error("Could not create payload for payment event", e);
-            throw new RuntimeException("Could not create payload for payment event", e);
-        }
-    }
-}
\ No newline at end of file
+}
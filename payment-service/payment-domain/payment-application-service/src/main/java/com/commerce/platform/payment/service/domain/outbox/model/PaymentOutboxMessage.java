@@ -14,13 +14,19 @@ public class PaymentOutboxMessage {
     private UUID id;
     private UUID messageId;
     private UUID sagaId;
+    private int shard;
     private ZonedDateTime createdAt;
     @Setter
     private ZonedDateTime fetchedAt;
     @Setter
+    private String leaseOwner;
+    @Setter
+    private ZonedDateTime leaseExpiresAt;
+    @Setter
     private ZonedDateTime processedAt;
     private ServiceMessageType type;
-    private String payload;
+    private byte[] payload;
+    private Integer payloadSchemaId;
     @Setter
     private OutboxStatus outboxStatus;
     private int version;
@@ -0,0 +1,4 @@
+package com.commerce.platform.payment.service.domain.outbox.model;
+
+public record PaymentOutboxSavedEvent(PaymentOutboxMessage outboxMessage) {
+}
@@ -0,0 +1,38 @@
+package com.commerce.platform.payment.service.domain.outbox.scheduler;
+
+import com.commerce.platform.outbox.OutboxStatus;
+import com.commerce.platform.outbox.ack.OutboxAckCollector;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+
+@Component
+public class PaymentOutboxAcknowledger implements DisposableBean {
+
+    private final OutboxAckCollector outboxAckCollector;
+    private final PaymentOutboxFlowControl paymentOutboxFlowControl;
+
+    public PaymentOutboxAcknowledger(PaymentOutboxHelper paymentOutboxHelper,
+                                     PaymentOutboxFlowControl paymentOutboxFlowControl,
+                                     @Value("${payment-service.outbox-ack-batch-size:100}") int batchSize,
+                                     @Value("${payment-service.outbox-ack-flush-interval-ms:5}") long flushIntervalMs) {
+        this.paymentOutboxFlowControl = paymentOutboxFlowControl;
+        this.outboxAckCollector = new OutboxAckCollector("payment-service",
+                batchSize,
+                Duration.ofMillis(flushIntervalMs),
+                paymentOutboxHelper::bulkUpdateOutboxMessageStatus);
+    }
+
+    public void acknowledge(UUID outboxId, OutboxStatus status) {
+        paymentOutboxFlowControl.onAcknowledged(outboxId, status);
+        outboxAckCollector.acknowledge(outboxId, status);
+    }
+
+    @Override
+    public void destroy() {
+        outboxAckCollector.shutdown();
+    }
+}
@@ -0,0 +1,53 @@
+package com.commerce.platform.payment.service.domain.outbox.scheduler;
+
+import com.commerce.platform.domain.event.ServiceMessageType;
+import com.commerce.platform.outbox.OutboxStatus;
+import com.commerce.platform.payment.service.domain.outbox.model.PaymentOutboxMessage;
+import com.commerce.platform.payment.service.domain.outbox.model.PaymentOutboxSavedEvent;
+import com.commerce.platform.payment.service.domain.ports.output.message.publisher.PaymentResponseMessagePublisher;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Objects;
+
+/**
+ * outbox 메시지를 타입별 publisher 로 발행한다.
+ * 저장 트랜잭션이 커밋되면 바로 발행하고, 실패하거나 유실된 메시지는 PaymentOutboxScheduler 가 lease 만료 후 다시 발행한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PaymentOutboxDispatcher {
+    
+    private final PaymentResponseMessagePublisher paymentResponseMessagePublisher;
+    private final PaymentOutboxFlowControl paymentOutboxFlowControl;
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void dispatchAfterCommit(PaymentOutboxSavedEvent event) {
+        PaymentOutboxMessage outboxMessage = event.outboxMessage();
+        try {
+            dispatch(outboxMessage);
+        } catch (Exception e) {
+            log.error("Could not dispatch PaymentOutboxMessage with outbox id: {} after commit, " +
+                    "it will be republished by the scheduler", outboxMessage.getId(), e);
+        }
+    }
+    
+    public void dispatch(PaymentOutboxMessage outboxMessage) {
+        ServiceMessageType messageType = outboxMessage.getType();
+        if (Objects.requireNonNull(messageType) == ServiceMessageType.PAYMENT_RESPONSE) {
+            paymentOutboxFlowControl.onDispatched(outboxMessage.getId());
+            try {
+                paymentResponseMessagePublisher.publish(outboxMessage);
+            } catch (RuntimeException e) {
+                paymentOutboxFlowControl.onAcknowledged(outboxMessage.getId(), OutboxStatus.FAILED);
+                throw e;
+            }
+        } else {
+            log.warn("Unknown outbox message type: {}", messageType);
+        }
+    }
+}
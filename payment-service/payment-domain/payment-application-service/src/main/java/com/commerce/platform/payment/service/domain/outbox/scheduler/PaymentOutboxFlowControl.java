@@ -0,0 +1,51 @@
+package com.commerce.platform.payment.service.domain.outbox.scheduler;
+
+import com.commerce.platform.outbox.OutboxStatus;
+import com.commerce.platform.outbox.flow.OutboxFlowController;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+
+@Component
+public class PaymentOutboxFlowControl {
+
+    private final OutboxFlowController outboxFlowController;
+
+    public PaymentOutboxFlowControl(MeterRegistry meterRegistry,
+                                    @Value("${payment-service.outbox-scheduler-batch-size:10}") int initialBatchSize,
+                                    @Value("${payment-service.outbox-scheduler-min-batch-size:1}") int minBatchSize,
+                                    @Value("${payment-service.outbox-scheduler-max-batch-size:500}") int maxBatchSize,
+                                    @Value("${payment-service.outbox-max-in-flight:2000}") int maxInFlight,
+                                    @Value("${payment-service.outbox-batch-size-step:10}") int step,
+                                    @Value("${payment-service.outbox-target-send-latency-ms:200}") long targetSendLatencyMs,
+                                    @Value("${payment-service.outbox-send-expiry-ms:120000}") long sendExpiryMs) {
+        this.outboxFlowController = new OutboxFlowController("payment-service",
+                initialBatchSize,
+                minBatchSize,
+                maxBatchSize,
+                maxInFlight,
+                step,
+                Duration.ofMillis(targetSendLatencyMs),
+                Duration.ofMillis(sendExpiryMs),
+                meterRegistry);
+    }
+
+    public int nextClaimSize() {
+        return outboxFlowController.nextClaimSize();
+    }
+
+    public void onClaimed(int requested, int claimed) {
+        outboxFlowController.onClaimed(requested, claimed);
+    }
+
+    public void onDispatched(UUID outboxId) {
+        outboxFlowController.onDispatched(outboxId);
+    }
+
+    public void onAcknowledged(UUID outboxId, OutboxStatus status) {
+        outboxFlowController.onAcknowledged(outboxId, status);
+    }
+}
@@ -2,18 +2,26 @@ package com.commerce.platform.payment.service.domain.outbox.scheduler;
 
 import com.commerce.platform.domain.event.ServiceMessageType;
 import com.commerce.platform.domain.util.UuidGenerator;
+import com.commerce.platform.inbox.InboxSavepointSynchronization;
 import com.commerce.platform.outbox.OutboxStatus;
+import com.commerce.platform.outbox.lease.OutboxLeaseOwner;
+import com.commerce.platform.outbox.payload.SerializedOutboxPayload;
+import com.commerce.platform.outbox.shard.OutboxShards;
 import com.commerce.platform.payment.service.domain.exception.PaymentDomainException;
 import com.commerce.platform.payment.service.domain.outbox.model.PaymentOutboxMessage;
+import com.commerce.platform.payment.service.domain.outbox.model.PaymentOutboxSavedEvent;
+import com.commerce.platform.payment.service.domain.ports.output.message.publisher.PaymentOutboxPayloadSerializer;
 import com.commerce.platform.payment.service.domain.ports.output.repository.PaymentOutboxRepository;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -25,22 +33,20 @@ import java.util.stream.Collectors;
 public class PaymentOutboxHelper {
     
     private final PaymentOutboxRepository paymentOutboxRepository;
-    private final ObjectMapper objectMapper;
+    private final PaymentOutboxPayloadSerializer paymentOutboxPayloadSerializer;
+    private final ApplicationEventPublisher applicationEventPublisher;
     
-    @Transactional(readOnly = true)
-    public List<PaymentOutboxMessage> getPaymentOutboxMessageByOutboxStatus(OutboxStatus outboxStatus, int limit) {
-        return paymentOutboxRepository.findByOutboxStatus(outboxStatus, limit);
-    }
+    private final OutboxLeaseOwner outboxLeaseOwner;
     
-    @Transactional(readOnly = true)
-    public List<PaymentOutboxMessage> getPaymentOutboxMessageByOutboxStatusWithSkipLock(OutboxStatus outboxStatus, int limit) {
-        return paymentOutboxRepository.findByOutboxStatusWithSkipLock(outboxStatus, limit);
-    }
+    @Value("${payment-service.outbox-immediate-dispatch-enabled:true}")
+    private boolean immediateDispatchEnabled;
+    
+    @Value("${payment-service.outbox-lease-duration-seconds:300}")
+    private long leaseDurationSeconds;
     
     @Transactional(readOnly = true)
-    public List<PaymentOutboxMessage> getPaymentOutboxMessageByOutboxStatusAndFetchedAtBefore(
-            OutboxStatus outboxStatus, ZonedDateTime fetchedAtBefore, int limit) {
-        return paymentOutboxRepository.findByOutboxStatusAndFetchedAtBefore(outboxStatus, fetchedAtBefore, limit);
+    public List<PaymentOutboxMessage> getPaymentOutboxMessageByOutboxStatus(OutboxStatus outboxStatus, int limit) {
+        return paymentOutboxRepository.findByOutboxStatus(outboxStatus, limit);
     }
     
     @Transactional
@@ -51,7 +57,7 @@ public class PaymentOutboxHelper {
             throw new PaymentDomainException("Could not save PaymentOutboxMessage with outbox id: " +
                     paymentOutboxMessage.getId());
         }
-        log.info("PaymentOutboxMessage saved with outbox id: {} and type: {}", 
+        log.debug("PaymentOutboxMessage saved with outbox id: {} and type: {}", 
                 paymentOutboxMessage.getId(), paymentOutboxMessage.getType());
     }
     
@@ -60,92 +66,51 @@ public class PaymentOutboxHelper {
                                         Object eventPayload,
                                         OutboxStatus outboxStatus,
                                         UUID sagaId) {
-        save(PaymentOutboxMessage.builder()
+        boolean dispatchAfterCommit = immediateDispatchEnabled && outboxStatus == OutboxStatus.STARTED;
+        ZonedDateTime now = ZonedDateTime.now();
+        UUID messageId = UuidGenerator.generate();
+        SerializedOutboxPayload serializedPayload =
+                paymentOutboxPayloadSerializer.serialize(messageType, messageId, sagaId, eventPayload);
+        PaymentOutboxMessage paymentOutboxMessage = PaymentOutboxMessage.builder()
                 .id(UuidGenerator.generate())
-                .messageId(UuidGenerator.generate())
+                .messageId(messageId)
                 .sagaId(sagaId)
-                .createdAt(ZonedDateTime.now())
+                .shard(OutboxShards.shardOf(sagaId))
+                .createdAt(now)
+                .fetchedAt(dispatchAfterCommit ? now : null)
+                .leaseOwner(dispatchAfterCommit ? outboxLeaseOwner.getInstanceId() : null)
+                .leaseExpiresAt(dispatchAfterCommit ? now.plusSeconds(leaseDurationSeconds) : null)
                 .type(messageType)
-                .payload(createPayload(eventPayload))
-                .outboxStatus(outboxStatus)
+                .payload(serializedPayload.value())
+                .payloadSchemaId(serializedPayload.schemaId())
+                .outboxStatus(dispatchAfterCommit ? OutboxStatus.PROCESSING : outboxStatus)
                 .version(0)
-                .build());
+                .build();
+        save(paymentOutboxMessage);
+        if (dispatchAfterCommit) {
+            // inbox 메시지 단위 savepoint 가 롤백되면 저장되지 않은 메시지를 커밋 후 발행하지 않도록 해제될 때 등록한다
+            InboxSavepointSynchronization.afterRelease(() ->
+                    applicationEventPublisher.publishEvent(new PaymentOutboxSavedEvent(paymentOutboxMessage)));
+        }
     }
     
     
     @Transactional
-    public int deletePaymentOutboxMessageByOutboxStatus(OutboxStatus outboxStatus, int limit) {
-        return paymentOutboxRepository.deleteByOutboxStatus(outboxStatus, limit);
-    }
-    
-    @Transactional
-    public void updateOutboxMessageStatus(UUID messageId, OutboxStatus status) {
-        PaymentOutboxMessage message = paymentOutboxRepository.findById(messageId)
-                .orElseThrow(() -> new PaymentDomainException("PaymentOutboxMessage not found with id: " + messageId));
-        
-        message.setOutboxStatus(status);
-        if (status == OutboxStatus.COMPLETED || status == OutboxStatus.FAILED) {
-            message.setProcessedAt(ZonedDateTime.now());
-        }
-        
-        save(message);
-        log.info("PaymentOutboxMessage {} updated with status: {}", messageId, status);
+    public void bulkUpdateOutboxMessageStatus(List<UUID> outboxIds, OutboxStatus status) {
+        int updatedCount = paymentOutboxRepository.bulkUpdateStatusAndProcessedAt(outboxIds, status, ZonedDateTime.now());
+        log.debug("Updated {} PaymentOutboxMessages with status: {}", updatedCount, status);
     }
     
     @Transactional
-    public List<PaymentOutboxMessage> updateMessagesToProcessing(int batchSize) {
-        List<PaymentOutboxMessage> outboxMessages = getPaymentOutboxMessageByOutboxStatusWithSkipLock(OutboxStatus.STARTED, batchSize);
+    public List<PaymentOutboxMessage> claimMessages(Collection<Integer> shards, int batchSize) {
+        ZonedDateTime now = ZonedDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        ZonedDateTime leaseExpiresAt = now.plusSeconds(leaseDurationSeconds);
+        List<PaymentOutboxMessage> outboxMessages = paymentOutboxRepository.claimByLease(shards, outboxLeaseOwner.nextClaim(), now, leaseExpiresAt, batchSize);
         
         if (!outboxMessages.isEmpty()) {
-            ZonedDateTime now = ZonedDateTime.now();
-            List<UUID> ids = outboxMessages.stream()
-                    .map(PaymentOutboxMessage::getId)
-                    .toList();
-            
-            int updatedCount = paymentOutboxRepository.bulkUpdateStatusAndFetchedAt(ids, OutboxStatus.PROCESSING, now);
-            log.info("Updated {} messages to PROCESSING status", updatedCount);
-            
-            outboxMessages.forEach(message -> {
-                message.setOutboxStatus(OutboxStatus.PROCESSING);
-                message.setFetchedAt(now);
-            });
+            log.debug("Claimed {} PaymentOutboxMessages with lease until {}", outboxMessages.size(), leaseExpiresAt);
         }
         
         return outboxMessages;
     }
-
-    @Transactional
-    public void resetTimedOutMessages(int processingTimeoutMinutes, int batchSize) {
-        ZonedDateTime timeoutThreshold = ZonedDateTime.now().minusMinutes(processingTimeoutMinutes);
-        List<PaymentOutboxMessage> timedOutMessages = getPaymentOutboxMessageByOutboxStatusAndFetchedAtBefore(
-                OutboxStatus.PROCESSING, 
-                timeoutThreshold,
-                batchSize);
-        
-        if (!timedOutMessages.isEmpty()) {
-            log.warn("Found {} timed out PROCESSING messages, resetting to STARTED", 
-                    timedOutMessages.size());
-            
-            List<UUID> ids = timedOutMessages.stream()
-                    .map(PaymentOutboxMessage::getId)
-                    .toList();
-            
-            int updatedCount = paymentOutboxRepository.bulkUpdateStatusAndFetchedAt(ids, OutboxStatus.STARTED, null);
-            log.info("Reset {} messages to STARTED status", updatedCount);
-            
-            timedOutMessages.forEach(message -> {
-                message.setOutboxStatus(OutboxStatus.STARTED);
-                message.setFetchedAt(null);
-            });
-        }
-    }
-
-    private String createPayload(Object eventPayload) {
-        try {
-            return objectMapper.writeValueAsString(eventPayload);
-        } catch (JsonProcessingException e) {
-            log.error("Could not create payload object", e);
-            throw new PaymentDomainException("Could not create payload object", e);
-        }
-    }
 }
\ No newline at end of file
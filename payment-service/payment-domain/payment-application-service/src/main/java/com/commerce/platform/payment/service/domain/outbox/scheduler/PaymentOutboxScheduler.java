@@ -1,19 +1,15 @@
 package com.commerce.platform.payment.service.domain.outbox.scheduler;
 
-import com.commerce.platform.domain.event.ServiceMessageType;
 import com.commerce.platform.outbox.OutboxScheduler;
 import com.commerce.platform.outbox.OutboxStatus;
 import com.commerce.platform.payment.service.domain.outbox.model.PaymentOutboxMessage;
-import com.commerce.platform.payment.service.domain.ports.output.message.publisher.PaymentResponseMessagePublisher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import java.time.ZonedDateTime;
 import java.util.List;
-import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -22,41 +18,35 @@ import java.util.stream.Collectors;
 public class PaymentOutboxScheduler implements OutboxScheduler {
     
     private final PaymentOutboxHelper paymentOutboxHelper;
-    private final PaymentResponseMessagePublisher paymentResponseMessagePublisher;
-    
-    @Value("${payment-service.outbox-scheduler-batch-size:10}")
-    private int batchSize;
-    
-    @Value("${payment-service.outbox-processing-timeout-minutes:5}")
-    private int processingTimeoutMinutes;
+    private final PaymentOutboxDispatcher paymentOutboxDispatcher;
+    private final PaymentOutboxShardManager paymentOutboxShardManager;
+    private final PaymentOutboxFlowControl paymentOutboxFlowControl;
     
     @Override
     @Scheduled(fixedRateString = "${payment-service.outbox-scheduler-fixed-rate}",
             initialDelayString = "${payment-service.outbox-scheduler-initial-delay}")
     @Async("outboxTaskExecutor")
     public void processOutboxMessage() {
-        paymentOutboxHelper.resetTimedOutMessages(processingTimeoutMinutes, batchSize);
-        List<PaymentOutboxMessage> messagesToProcess = paymentOutboxHelper.updateMessagesToProcessing(batchSize);
+        int claimSize = paymentOutboxFlowControl.nextClaimSize();
+        List<PaymentOutboxMessage> messagesToProcess = claimSize > 0
+                ? paymentOutboxHelper.claimMessages(paymentOutboxShardManager.getOwnedShards(), claimSize)
+                : List.of();
+        paymentOutboxFlowControl.onClaimed(claimSize, messagesToProcess.size());
         
         if (!messagesToProcess.isEmpty()) {
-            log.info("Processing {} PaymentOutboxMessages with ids: {}",
-                    messagesToProcess.size(),
-                    messagesToProcess.stream()
-                            .map(msg -> msg.getId().toString())
-                            .collect(Collectors.joining(",")));
+            if (log.isDebugEnabled()) {
+                log.debug("Processing {} PaymentOutboxMessages with ids: {}",
+                        messagesToProcess.size(),
+                        messagesToProcess.stream()
+                                .map(msg -> msg.getId().toString())
+                                .collect(Collectors.joining(",")));
+            }
             
-            messagesToProcess.forEach(this::publishMessage);
+            messagesToProcess.forEach(paymentOutboxDispatcher::dispatch);
             
-            log.info("{} PaymentOutboxMessages processed", messagesToProcess.size());
-        }
-    }
-    
-    private void publishMessage(PaymentOutboxMessage outboxMessage) {
-        ServiceMessageType messageType = outboxMessage.getType();
-        if (Objects.requireNonNull(messageType) == ServiceMessageType.PAYMENT_RESPONSE) {
-            paymentResponseMessagePublisher.publish(outboxMessage);
-        } else {
-            log.warn("Unknown outbox message type: {}", messageType);
+            if (log.isDebugEnabled()) {
+                log.debug("{} PaymentOutboxMessages processed", messagesToProcess.size());
+            }
         }
     }
 }
\ No newline at end of file
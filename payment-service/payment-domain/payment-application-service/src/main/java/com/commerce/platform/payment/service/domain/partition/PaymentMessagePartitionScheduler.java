@@ -0,0 +1,32 @@
+package com.commerce.platform.payment.service.domain.partition;
+
+import com.commerce.platform.payment.service.domain.ports.output.repository.PaymentMessagePartitionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+@Slf4j
+@Component
+public class PaymentMessagePartitionScheduler {
+    
+    private final PaymentMessagePartitionRepository paymentMessagePartitionRepository;
+    
+    public PaymentMessagePartitionScheduler(PaymentMessagePartitionRepository paymentMessagePartitionRepository) {
+        this.paymentMessagePartitionRepository = paymentMessagePartitionRepository;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${payment-service.message-partition-cron:0 0 * * * *}")
+    public void rotatePartitions() {
+        try {
+            paymentMessagePartitionRepository.rotatePartitions(LocalDate.now(ZoneOffset.UTC));
+        } catch (Exception e) {
+            log.error("Failed to rotate inbox/outbox partitions", e);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.commerce.platform.payment.service.domain.ports.input.service;
+
+import com.commerce.platform.inbox.parking.InboxReplayResult;
+import com.commerce.platform.inbox.parking.ParkedInboxMessage;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface PaymentInboxParkingLotService {
+
+    List<ParkedInboxMessage> findParkedMessages(ZonedDateTime parkedBefore, int limit);
+
+    InboxReplayResult replayParkedMessages(List<UUID> inboxMessageIds);
+}
@@ -2,10 +2,16 @@ package com.commerce.platform.payment.service.domain.ports.output.repository;
 
 import com.commerce.platform.domain.event.ServiceMessageType;
 import com.commerce.platform.inbox.InboxStatus;
+import com.commerce.platform.inbox.lane.InboxLaneDepth;
+import com.commerce.platform.inbox.parking.ParkedInboxMessage;
+import com.commerce.platform.inbox.retry.InboxFailure;
 import com.commerce.platform.payment.service.domain.inbox.model.PaymentInboxMessage;
 
+import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 public interface PaymentInboxRepository {
@@ -13,10 +19,30 @@ public interface PaymentInboxRepository {
     PaymentInboxMessage save(PaymentInboxMessage paymentInboxMessage);
     
     List<PaymentInboxMessage> saveAll(List<PaymentInboxMessage> paymentInboxMessages);
+    boolean saveIfAbsent(PaymentInboxMessage paymentInboxMessage);
+    Set<UUID> findSagaIdsWithUnfinishedMessages(Collection<UUID> sagaIds);
     
     Optional<PaymentInboxMessage> findByMessageId(UUID messageId);
     
     List<PaymentInboxMessage> findByStatusOrderByReceivedAtWithSkipLock(InboxStatus status, int limit);
     
-    List<PaymentInboxMessage> findByStatusAndRetryCountLessThanOrderByReceivedAtWithSkipLock(InboxStatus status, int maxRetryCount, int limit);
+    List<PaymentInboxMessage> findByStatusAndNextAttemptAtBeforeOrderByNextAttemptAtWithSkipLock(InboxStatus status, ZonedDateTime now, int limit);
+    
+    List<PaymentInboxMessage> findByStatusAndLaneSlotRangeOrderByReceivedAtWithSkipLock(InboxStatus status, int fromSlot, int toSlot, int limit);
+    
+    List<InboxLaneDepth> countByStatusGroupByLane(InboxStatus status, int laneCount);
+    
+    boolean tryLockLane(int lane);
+    
+    int findOrCreateLaneCount(int laneCount);
+    void createLanes(int laneCount);
+    
+    int bulkUpdateToProcessed(List<UUID> ids, ZonedDateTime processedAt);
+    
+    int bulkUpdateToFailed(List<InboxFailure> failures);
+    int bulkUpdateToReceived(List<UUID> ids);
+    
+    List<ParkedInboxMessage> findByStatusAndNextAttemptAtBeforeOrderByNextAttemptAtDesc(InboxStatus status, ZonedDateTime before, int limit);
+    
+    int bulkUpdateToReplayQueued(List<UUID> ids);
 }
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.commerce.platform.payment.service.domain.ports.output.repository;
+
+import java.time.LocalDate;
+
+public interface PaymentMessagePartitionRepository {
+    void rotatePartitions(LocalDate today);
+}
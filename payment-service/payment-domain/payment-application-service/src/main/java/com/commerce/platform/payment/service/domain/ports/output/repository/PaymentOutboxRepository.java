@@ -5,6 +5,7 @@ import com.commerce.platform.outbox.OutboxStatus;
 import com.commerce.platform.payment.service.domain.outbox.model.PaymentOutboxMessage;
 
 import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -19,11 +20,7 @@ public interface PaymentOutboxRepository {
     
     List<PaymentOutboxMessage> findByOutboxStatus(OutboxStatus outboxStatus, int limit);
     
-    List<PaymentOutboxMessage> findByOutboxStatusWithSkipLock(OutboxStatus outboxStatus, int limit);
+    List<PaymentOutboxMessage> claimByLease(Collection<Integer> shards, String leaseOwner, ZonedDateTime now, ZonedDateTime leaseExpiresAt, int limit);
     
-    List<PaymentOutboxMessage> findByOutboxStatusAndFetchedAtBefore(OutboxStatus outboxStatus, ZonedDateTime fetchedAtBefore, int limit);
-    
-    int deleteByOutboxStatus(OutboxStatus outboxStatus, int limit);
-    
-    int bulkUpdateStatusAndFetchedAt(List<UUID> ids, OutboxStatus status, ZonedDateTime fetchedAt);
+    int bulkUpdateStatusAndProcessedAt(List<UUID> ids, OutboxStatus status, ZonedDateTime processedAt);
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.commerce.platform.payment.service.domain;
 
+import com.commerce.platform.domain.valueobject.PaymentStatus;
 import com.commerce.platform.payment.service.domain.entity.Credit;
 import com.commerce.platform.payment.service.domain.entity.Payment;
 import com.commerce.platform.payment.service.domain.event.PaymentCancelledEvent;
@@ -43,6 +44,11 @@ public class PaymentDomainServiceImpl implements PaymentDomainService {
     
     @Override
     public PaymentCancelledEvent cancelPayment(Payment payment, Credit credit, List<String> failureMessages) {
+        // 주문의 재고 예약이 만료되어 들어온 취소 요청은 결제가 이미 실패했거나 취소된 뒤일 수 있다. 차감한 금액이 없으므로 환불하지 않는다
+        if (payment.getPaymentStatus() == PaymentStatus.FAILED || payment.getPaymentStatus() == PaymentStatus.CANCELLED) {
+            log.info("Payment with id: {} is already {}, nothing to refund", payment.getId().getValue(), payment.getPaymentStatus());
+            return new PaymentCancelledEvent(payment, ZonedDateTime.now(ZoneOffset.UTC), failureMessages);
+        }
         payment.cancelPayment(failureMessages);
         credit.addAmount(payment.getPrice());
         
@@ -0,0 +1,34 @@
+package com.commerce.platform.payment.service.messaging.inbox;
+
+import com.commerce.platform.inbox.payload.InboxPayloadCodec;
+import com.commerce.platform.kafka.avro.AvroBinaryCodec;
+import com.commerce.platform.kafka.order.avro.model.PaymentRequestAvroModel;
+import com.commerce.platform.payment.service.domain.dto.PaymentRequest;
+import com.commerce.platform.payment.service.messaging.mapper.PaymentMessagingDataMapper;
+import org.springframework.stereotype.Component;
+
+@Component
+public class PaymentRequestInboxPayloadCodec implements InboxPayloadCodec<PaymentRequest> {
+
+    private final AvroBinaryCodec<PaymentRequestAvroModel> avroBinaryCodec = new AvroBinaryCodec<>(PaymentRequestAvroModel.class);
+    private final PaymentMessagingDataMapper paymentMessagingDataMapper;
+
+    public PaymentRequestInboxPayloadCodec(PaymentMessagingDataMapper paymentMessagingDataMapper) {
+        this.paymentMessagingDataMapper = paymentMessagingDataMapper;
+    }
+
+    @Override
+    public long schemaFingerprint() {
+        return avroBinaryCodec.getSchemaFingerprint();
+    }
+
+    @Override
+    public byte[] encode(PaymentRequest message) {
+        return avroBinaryCodec.encode(paymentMessagingDataMapper.paymentRequestToPaymentRequestAvroModel(message));
+    }
+
+    @Override
+    public PaymentRequest decode(byte[] payload, long schemaFingerprint) {
+        return paymentMessagingDataMapper.paymentRequestAvroModelToPaymentRequest(avroBinaryCodec.decode(payload, schemaFingerprint));
+    }
+}
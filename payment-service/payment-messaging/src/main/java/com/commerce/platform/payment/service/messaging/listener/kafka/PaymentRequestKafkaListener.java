@@ -1,7 +1,9 @@
 package com.commerce.platform.payment.service.messaging.listener.kafka;
 
 import com.commerce.platform.kafka.order.avro.model.PaymentRequestAvroModel;
+import com.commerce.platform.kafka.consumer.KafkaBatchRecords;
 import com.commerce.platform.kafka.consumer.KafkaConsumer;
+import com.commerce.platform.payment.service.domain.dto.PaymentRequest;
 import com.commerce.platform.payment.service.domain.ports.input.message.listener.PaymentRequestMessageListener;
 import com.commerce.platform.payment.service.messaging.mapper.PaymentMessagingDataMapper;
 import lombok.extern.slf4j.Slf4j;
@@ -32,14 +34,17 @@ public class PaymentRequestKafkaListener implements KafkaConsumer<PaymentRequest
                         @Header(KafkaHeaders.RECEIVED_KEY) List<String> keys,
                         @Header(KafkaHeaders.RECEIVED_PARTITION) List<Integer> partitions,
                         @Header(KafkaHeaders.OFFSET) List<Long> offsets) {
-        log.info("{} number of payment requests received with keys:{}, partitions:{} and offsets: {}",
-                messages.size(),
-                keys.toString(),
-                partitions.toString(),
-                offsets.toString());
-
-        paymentRequestMessageListener.saveToInbox(
-                paymentMessagingDataMapper.paymentRequestAvroModelsToPaymentRequests(messages)
-        );
+        if (log.isDebugEnabled()) {
+            log.debug("{} number of payment requests received with keys:{}, partitions:{} and offsets: {}",
+                    messages.size(),
+                    keys,
+                    partitions,
+                    offsets);
+        }
+
+        List<PaymentRequest> requests = KafkaBatchRecords.mapEach(messages,
+                paymentMessagingDataMapper::paymentRequestAvroModelToPaymentRequest);
+
+        KafkaBatchRecords.handleIsolatingFailures(requests, paymentRequestMessageListener::saveToInbox);
     }
 }
\ No newline at end of file
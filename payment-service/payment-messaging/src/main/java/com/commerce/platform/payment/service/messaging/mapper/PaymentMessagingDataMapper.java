@@ -27,6 +27,19 @@ public class PaymentMessagingDataMapper {
                 .build();
     }
 
+    public PaymentRequestAvroModel paymentRequestToPaymentRequestAvroModel(PaymentRequest paymentRequest) {
+        return PaymentRequestAvroModel.newBuilder()
+                .setId(paymentRequest.getId())
+                .setSagaId(paymentRequest.getSagaId())
+                .setOrderId(paymentRequest.getOrderId())
+                .setCustomerId(paymentRequest.getCustomerId())
+                .setPrice(paymentRequest.getPrice())
+                .setCreatedAt(paymentRequest.getCreatedAt())
+                .setPaymentOrderStatus(com.commerce.platform.kafka.order.avro.model.PaymentOrderStatus.valueOf(
+                        paymentRequest.getPaymentOrderStatus().name()))
+                .build();
+    }
+
     public List<PaymentRequest> paymentRequestAvroModelsToPaymentRequests(List<PaymentRequestAvroModel> paymentRequestAvroModels) {
         return paymentRequestAvroModels.stream()
                 .map(this::paymentRequestAvroModelToPaymentRequest)
@@ -0,0 +1,40 @@
+package com.commerce.platform.payment.service.messaging.publisher.kafka;
+
+import com.commerce.platform.domain.event.ServiceMessageType;
+import com.commerce.platform.kafka.order.avro.model.PaymentResponseAvroModel;
+import com.commerce.platform.kafka.producer.AvroValueEncoder;
+import com.commerce.platform.outbox.payload.SerializedOutboxPayload;
+import com.commerce.platform.payment.service.domain.config.PaymentServiceConfigData;
+import com.commerce.platform.payment.service.domain.exception.PaymentDomainException;
+import com.commerce.platform.payment.service.domain.outbox.model.PaymentEventPayload;
+import com.commerce.platform.payment.service.domain.ports.output.message.publisher.PaymentOutboxPayloadSerializer;
+import com.commerce.platform.payment.service.messaging.mapper.PaymentMessagingDataMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+public class PaymentOutboxPayloadKafkaSerializer implements PaymentOutboxPayloadSerializer, InitializingBean {
+    
+    private final PaymentMessagingDataMapper paymentMessagingDataMapper;
+    private final PaymentServiceConfigData paymentServiceConfigData;
+    private final AvroValueEncoder avroValueEncoder;
+    
+    @Override
+    public void afterPropertiesSet() {
+        avroValueEncoder.pin(paymentServiceConfigData.getPaymentResponseTopicName(), PaymentResponseAvroModel.class);
+    }
+
+    @Override
+    public SerializedOutboxPayload serialize(ServiceMessageType messageType, UUID messageId, UUID sagaId, Object eventPayload) {
+        if (messageType != ServiceMessageType.PAYMENT_RESPONSE) {
+            throw new PaymentDomainException("Unsupported outbox message type: " + messageType);
+        }
+        return avroValueEncoder.encode(paymentServiceConfigData.getPaymentResponseTopicName(),
+                paymentMessagingDataMapper.paymentEventPayloadToPaymentResponseAvroModel(messageId, sagaId,
+                        (PaymentEventPayload) eventPayload));
+    }
+}
@@ -3,16 +3,18 @@ package com.commerce.platform.payment.service.messaging.publisher.kafka;
 import com.commerce.platform.kafka.order.avro.model.PaymentResponseAvroModel;
 import com.commerce.platform.kafka.producer.KafkaMessageHelper;
 import com.commerce.platform.kafka.producer.service.KafkaProducer;
+import com.commerce.platform.kafka.producer.service.SerializedKafkaProducer;
 import com.commerce.platform.outbox.OutboxStatus;
 import com.commerce.platform.payment.service.domain.config.PaymentServiceConfigData;
 import com.commerce.platform.payment.service.domain.outbox.model.PaymentEventPayload;
 import com.commerce.platform.payment.service.domain.outbox.model.PaymentOutboxMessage;
-import com.commerce.platform.payment.service.domain.outbox.scheduler.PaymentOutboxHelper;
+import com.commerce.platform.payment.service.domain.outbox.scheduler.PaymentOutboxAcknowledger;
 import com.commerce.platform.payment.service.domain.ports.output.message.publisher.PaymentResponseMessagePublisher;
 import com.commerce.platform.payment.service.messaging.mapper.PaymentMessagingDataMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.util.UUID;
 
 @Slf4j
@@ -21,31 +23,63 @@ public class PaymentResponseKafkaMessagePublisher implements PaymentResponseMess
 
     private final PaymentMessagingDataMapper paymentMessagingDataMapper;
     private final KafkaProducer<UUID, PaymentResponseAvroModel> kafkaProducer;
+    private final SerializedKafkaProducer<UUID> serializedKafkaProducer;
     private final PaymentServiceConfigData paymentServiceConfigData;
     private final KafkaMessageHelper kafkaMessageHelper;
-    private final PaymentOutboxHelper paymentOutboxHelper;
+    private final PaymentOutboxAcknowledger paymentOutboxAcknowledger;
 
     public PaymentResponseKafkaMessagePublisher(PaymentMessagingDataMapper paymentMessagingDataMapper,
                                                 KafkaProducer<UUID, PaymentResponseAvroModel> kafkaProducer,
+                                                SerializedKafkaProducer<UUID> serializedKafkaProducer,
                                                 PaymentServiceConfigData paymentServiceConfigData,
                                                 KafkaMessageHelper kafkaMessageHelper,
-                                                PaymentOutboxHelper paymentOutboxHelper) {
+                                                PaymentOutboxAcknowledger paymentOutboxAcknowledger) {
         this.paymentMessagingDataMapper = paymentMessagingDataMapper;
         this.kafkaProducer = kafkaProducer;
+        this.serializedKafkaProducer = serializedKafkaProducer;
         this.paymentServiceConfigData = paymentServiceConfigData;
         this.kafkaMessageHelper = kafkaMessageHelper;
-        this.paymentOutboxHelper = paymentOutboxHelper;
+        this.paymentOutboxAcknowledger = paymentOutboxAcknowledger;
     }
 
     @Override
     public void publish(PaymentOutboxMessage paymentOutboxMessage) {
+        if (paymentOutboxMessage.getPayloadSchemaId() == null) {
+            publishLegacyPayload(paymentOutboxMessage);
+            return;
+        }
+
+        UUID sagaId = paymentOutboxMessage.getSagaId();
+        String topicName = paymentServiceConfigData.getPaymentResponseTopicName();
+
+        try {
+            serializedKafkaProducer.send(topicName, sagaId, paymentOutboxMessage.getPayload())
+                    .whenComplete(kafkaMessageHelper.getSerializedKafkaCallback(topicName,
+                            paymentOutboxMessage,
+                            paymentOutboxMessage.getCreatedAt(),
+                            (message, status) -> {
+                                log.debug("Kafka callback invoked for message id: {} with status: {}", message.getId(), status);
+                                paymentOutboxAcknowledger.acknowledge(message.getId(), status);
+                            },
+                            sagaId,
+                            "PaymentResponseAvroModel"));
+
+            log.debug("PaymentResponseAvroModel sent to Kafka for saga id: {}", sagaId);
+        } catch (Exception e) {
+            log.error("Error while sending PaymentResponseAvroModel to kafka with saga id: {}, error: {}",
+                    sagaId, e.getMessage());
+            paymentOutboxAcknowledger.acknowledge(paymentOutboxMessage.getId(), OutboxStatus.FAILED);
+        }
+    }
+
+    private void publishLegacyPayload(PaymentOutboxMessage paymentOutboxMessage) {
         PaymentEventPayload paymentEventPayload =
-                kafkaMessageHelper.getOrderEventPayload(paymentOutboxMessage.getPayload(),
+                kafkaMessageHelper.getOrderEventPayload(new String(paymentOutboxMessage.getPayload(), StandardCharsets.UTF_8),
                         PaymentEventPayload.class);
 
         UUID sagaId = paymentOutboxMessage.getSagaId();
 
-        log.info("Received PaymentOutboxMessage for order id: {} and saga id: {}",
+        log.debug("Received PaymentOutboxMessage for order id: {} and saga id: {}",
                 paymentEventPayload.getOrderId(),
                 sagaId);
 
@@ -59,20 +93,21 @@ public class PaymentResponseKafkaMessagePublisher implements PaymentResponseMess
                     .whenComplete(kafkaMessageHelper.getKafkaCallback(paymentServiceConfigData.getPaymentResponseTopicName(),
                             paymentResponseAvroModel,
                             paymentOutboxMessage,
+                            paymentOutboxMessage.getCreatedAt(),
                             (message, status) -> {
-                                log.info("Kafka callback invoked for message id: {} with status: {}", message.getId(), status);
-                                paymentOutboxHelper.updateOutboxMessageStatus(message.getId(), status);
+                                log.debug("Kafka callback invoked for message id: {} with status: {}", message.getId(), status);
+                                paymentOutboxAcknowledger.acknowledge(message.getId(), status);
                             },
                             paymentEventPayload.getOrderId(),
                             "PaymentResponseAvroModel"));
 
-            log.info("PaymentEventPayload sent to Kafka for order id: {} and saga id: {}",
+            log.debug("PaymentEventPayload sent to Kafka for order id: {} and saga id: {}",
                     paymentEventPayload.getOrderId(), sagaId);
         } catch (Exception e) {
             log.error("Error while sending PaymentEventPayload" +
                             " to kafka with order id: {} and saga id: {}, error: {}",
                     paymentEventPayload.getOrderId(), sagaId, e.getMessage());
-            paymentOutboxHelper.updateOutboxMessageStatus(paymentOutboxMessage.getId(), OutboxStatus.FAILED);
+            paymentOutboxAcknowledger.acknowledge(paymentOutboxMessage.getId(), OutboxStatus.FAILED);
         }
     }
 }
\ No newline at end of file
@@ -4,6 +4,8 @@ import com.commerce.platform.product.service.domain.dto.create.CreateProductComm
 import com.commerce.platform.product.service.domain.dto.create.CreateProductResponse;
 import com.commerce.platform.product.service.domain.dto.query.SearchProductsQuery;
 import com.commerce.platform.product.service.domain.dto.query.SearchProductsResponse;
+import com.commerce.platform.product.service.domain.dto.stock.UpdateStockBucketCommand;
+import com.commerce.platform.product.service.domain.dto.stock.UpdateStockBucketResponse;
 import com.commerce.platform.product.service.domain.ports.input.service.ProductApplicationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -14,6 +16,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
+import java.util.UUID;
 
 @Slf4j
 @RestController
@@ -53,4 +56,18 @@ public class ProductController {
         log.info("Found {} products", searchProductsResponse.getProducts().size());
         return ResponseEntity.ok(searchProductsResponse);
     }
-} 
\ No newline at end of file
+
+    @PutMapping("/{productId}/stock-buckets")
+    @Operation(summary = "Split product stock into buckets",
+            description = "Spreads the stock of a hot product across bucket rows so reservations do not contend on one row. 0 merges it back")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stock buckets updated"),
+            @ApiResponse(responseCode = "400", description = "Invalid bucket count")
+    })
+    public ResponseEntity<UpdateStockBucketResponse> updateStockBucketCount(
+            @PathVariable UUID productId,
+            @Valid @RequestBody UpdateStockBucketCommand updateStockBucketCommand) {
+        log.info("Updating stock bucket count of product {} to {}", productId, updateStockBucketCommand.getBucketCount());
+        return ResponseEntity.ok(productApplicationService.updateStockBucketCount(productId, updateStockBucketCommand));
+    }
+}
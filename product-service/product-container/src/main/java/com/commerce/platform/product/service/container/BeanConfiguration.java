@@ -1,6 +1,8 @@
 package com.commerce.platform.product.service.container;
 
 
+import com.commerce.platform.domain.util.UuidGenerator;
+import com.commerce.platform.outbox.lease.OutboxLeaseOwner;
 import com.commerce.platform.product.service.domain.ProductDomainService;
 import com.commerce.platform.product.service.domain.ProductDomainServiceImpl;
 import com.commerce.platform.product.service.domain.ProductReservationDomainService;
@@ -23,6 +25,11 @@ public class BeanConfiguration {
     public ProductReservationDomainService productReservationDomainService() {
         return new ProductReservationDomainServiceImpl();
     }
+
+    @Bean
+    public OutboxLeaseOwner outboxLeaseOwner() {
+        return new OutboxLeaseOwner("product-service", UuidGenerator.generate());
+    }
     
     @Bean
     public ObjectMapper objectMapper() {
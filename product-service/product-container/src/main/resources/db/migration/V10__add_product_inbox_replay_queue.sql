@@ -0,0 +1,2 @@
+ALTER TABLE `product_inbox`
+    MODIFY COLUMN status ENUM('RECEIVED', 'PROCESSED', 'FAILED', 'PARKED', 'REPLAY_QUEUED') NOT NULL DEFAULT 'RECEIVED';
@@ -0,0 +1,15 @@
+ALTER TABLE `products`
+    ADD COLUMN stock_bucket_count INT NOT NULL DEFAULT 0 AFTER reserved_quantity;
+
+CREATE TABLE IF NOT EXISTS `product_stock_buckets`
+(
+    product_id        BINARY(16) NOT NULL,
+    bucket_no         INT        NOT NULL,
+    quantity          INT        NOT NULL,
+    reserved_quantity INT        NOT NULL DEFAULT 0,
+    PRIMARY KEY (product_id, bucket_no),
+    CONSTRAINT `fk_product_stock_buckets_products` FOREIGN KEY (product_id) REFERENCES `products` (id) ON DELETE CASCADE
+);
+
+ALTER TABLE `product_reservations`
+    ADD COLUMN stock_bucket INT NULL AFTER status;
@@ -0,0 +1,7 @@
+CREATE TABLE IF NOT EXISTS `product_inventory_checkpoint`
+(
+    partition_no INT         NOT NULL,
+    journal_seq  BIGINT      NOT NULL,
+    updated_at   DATETIME(3) NOT NULL,
+    PRIMARY KEY (partition_no)
+);
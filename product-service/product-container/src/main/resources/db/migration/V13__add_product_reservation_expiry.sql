@@ -0,0 +1,6 @@
+ALTER TABLE `product_reservations`
+    MODIFY COLUMN status ENUM('PENDING', 'CONFIRMED', 'CANCELLED', 'EXPIRED') NOT NULL DEFAULT 'PENDING',
+    ADD COLUMN saga_id BINARY(16) NULL AFTER order_id,
+    ADD COLUMN expires_at TIMESTAMP(6) NULL AFTER stock_bucket;
+
+CREATE INDEX `idx_product_reservations_status_expires_at` ON `product_reservations` (status, expires_at);
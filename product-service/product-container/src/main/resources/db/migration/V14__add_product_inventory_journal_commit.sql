@@ -0,0 +1,6 @@
+CREATE TABLE IF NOT EXISTS `product_inventory_journal_commit`
+(
+    partition_no INT    NOT NULL,
+    journal_seq  BIGINT NOT NULL,
+    PRIMARY KEY (partition_no, journal_seq)
+);
@@ -0,0 +1,7 @@
+ALTER TABLE `product_inbox`
+    MODIFY COLUMN status ENUM('RECEIVED', 'PROCESSED', 'FAILED', 'PARKED') NOT NULL DEFAULT 'RECEIVED',
+    ADD COLUMN next_attempt_at TIMESTAMP(6) NULL AFTER processed_at;
+
+UPDATE `product_inbox` SET next_attempt_at = received_at WHERE status = 'FAILED';
+
+CREATE INDEX `idx_product_inbox_status_next_attempt` ON `product_inbox` (status, next_attempt_at);
@@ -0,0 +1,3 @@
+ALTER TABLE `product_inbox`
+    MODIFY COLUMN payload MEDIUMBLOB NOT NULL,
+    ADD COLUMN payload_schema_fingerprint BIGINT NULL AFTER payload;
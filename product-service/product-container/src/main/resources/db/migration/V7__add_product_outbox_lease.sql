@@ -0,0 +1,9 @@
+ALTER TABLE `product_outbox`
+    ADD COLUMN lease_owner VARCHAR(64) NULL AFTER fetched_at,
+    ADD COLUMN lease_expires_at DATETIME(3) NULL AFTER lease_owner;
+
+UPDATE `product_outbox` SET lease_expires_at = COALESCE(fetched_at, created_at) WHERE outbox_status = 'PROCESSING';
+
+DROP INDEX `idx_product_outbox_fetch` ON `product_outbox`;
+
+CREATE INDEX `idx_product_outbox_lease` ON `product_outbox` (outbox_status, lease_expires_at);
@@ -0,0 +1,3 @@
+ALTER TABLE `product_outbox`
+    MODIFY COLUMN payload MEDIUMBLOB NOT NULL,
+    ADD COLUMN payload_schema_id INT NULL AFTER payload;
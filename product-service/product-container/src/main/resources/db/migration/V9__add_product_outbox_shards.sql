@@ -0,0 +1,21 @@
+ALTER TABLE `product_outbox`
+    ADD COLUMN shard INT NOT NULL DEFAULT 0 AFTER saga_id;
+
+UPDATE `product_outbox` SET shard = ORD(SUBSTRING(saga_id, 16, 1)) % 32 WHERE outbox_status IN ('STARTED', 'PROCESSING');
+
+CREATE INDEX `idx_product_outbox_shard_status` ON `product_outbox` (shard, outbox_status, created_at);
+
+CREATE TABLE IF NOT EXISTS `product_outbox_shard`
+(
+    shard            INT         NOT NULL,
+    owner            VARCHAR(64) NULL,
+    lease_expires_at DATETIME(3) NULL,
+    PRIMARY KEY (shard)
+);
+
+CREATE TABLE IF NOT EXISTS `product_outbox_dispatcher`
+(
+    instance_id          VARCHAR(64) NOT NULL,
+    heartbeat_expires_at DATETIME(3) NOT NULL,
+    PRIMARY KEY (instance_id)
+);
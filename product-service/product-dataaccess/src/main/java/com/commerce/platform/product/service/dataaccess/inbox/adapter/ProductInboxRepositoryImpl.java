@@ -3,19 +3,38 @@ package com.commerce.platform.product.service.dataaccess.inbox.adapter;
 import com.commerce.platform.domain.event.ServiceMessageType;
 import com.commerce.platform.product.service.dataaccess.inbox.mapper.ProductInboxDataAccessMapper;
 import com.commerce.platform.product.service.dataaccess.inbox.repository.ProductInboxJpaRepository;
+import com.commerce.platform.inbox.InboxPartitions;
 import com.commerce.platform.inbox.InboxStatus;
+import com.commerce.platform.inbox.lane.InboxLaneDepth;
+import com.commerce.platform.inbox.lane.InboxLanes;
+import com.commerce.platform.inbox.parking.ParkedInboxMessage;
+import com.commerce.platform.inbox.retry.InboxFailure;
 import com.commerce.platform.product.service.domain.inbox.model.ProductInboxMessage;
 import com.commerce.platform.product.service.domain.ports.output.repository.ProductInboxRepository;
 import org.jooq.DSLContext;
-import org.jooq.JSON;
 import org.jooq.Record;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import lombok.extern.slf4j.Slf4j;
 
 import static com.commerce.platform.product.service.dataaccess.jooq.tables.ProductInbox.PRODUCT_INBOX;
+import static com.commerce.platform.product.service.dataaccess.jooq.tables.ProductInboxLane.PRODUCT_INBOX_LANE;
+import static com.commerce.platform.product.service.dataaccess.jooq.tables.ProductInboxLaneConfig.PRODUCT_INBOX_LANE_CONFIG;
+import static org.jooq.impl.DSL.case_;
+import static org.jooq.impl.DSL.count;
+import static org.jooq.impl.DSL.min;
+import static org.jooq.impl.DSL.notExists;
+import static org.jooq.impl.DSL.selectOne;
+import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Slf4j
@@ -25,6 +44,9 @@ public class ProductInboxRepositoryImpl implements ProductInboxRepository {
     private final ProductInboxJpaRepository productInboxJpaRepository;
     private final ProductInboxDataAccessMapper productInboxDataAccessMapper;
     private final DSLContext dsl;
+    
+    @Value("${product-service.inbox-insert-chunk-size:100}")
+    private int insertChunkSize;
 
     public ProductInboxRepositoryImpl(ProductInboxJpaRepository productInboxJpaRepository,
                                      ProductInboxDataAccessMapper productInboxDataAccessMapper,
@@ -49,37 +71,91 @@ public class ProductInboxRepositoryImpl implements ProductInboxRepository {
             return productInboxMessages;
         }
         
-        int insertedCount = 0;
-        for (ProductInboxMessage message : productInboxMessages) {
-            int result = dsl.insertInto(PRODUCT_INBOX)
-                .columns(
-                    PRODUCT_INBOX.ID,
-                    PRODUCT_INBOX.MESSAGE_ID,
-                    PRODUCT_INBOX.SAGA_ID,
-                    PRODUCT_INBOX.TYPE,
-                    PRODUCT_INBOX.PAYLOAD,
-                    PRODUCT_INBOX.STATUS,
-                    PRODUCT_INBOX.RECEIVED_AT,
-                    PRODUCT_INBOX.RETRY_COUNT
-                )
-                .values(
+        List<ProductInboxMessage> inserted = new ArrayList<>(productInboxMessages.size());
+        for (int from = 0; from < productInboxMessages.size(); from += insertChunkSize) {
+            List<ProductInboxMessage> chunk = productInboxMessages.subList(from,
+                Math.min(from + insertChunkSize, productInboxMessages.size()));
+            
+            var insertQuery = dsl.insertInto(PRODUCT_INBOX,
+                PRODUCT_INBOX.ID,
+                PRODUCT_INBOX.MESSAGE_ID,
+                PRODUCT_INBOX.SAGA_ID,
+                PRODUCT_INBOX.LANE_SLOT,
+                PRODUCT_INBOX.TYPE,
+                PRODUCT_INBOX.PAYLOAD,
+                PRODUCT_INBOX.PAYLOAD_SCHEMA_FINGERPRINT,
+                PRODUCT_INBOX.STATUS,
+                PRODUCT_INBOX.RECEIVED_AT,
+                PRODUCT_INBOX.PARTITION_DATE,
+                PRODUCT_INBOX.RETRY_COUNT);
+            
+            for (ProductInboxMessage message : chunk) {
+                insertQuery = insertQuery.values(
                     message.getId(),
                     message.getMessageId(),
                     message.getSagaId(),
+                    InboxLanes.slotOf(message.getSagaId()),
                     message.getType().name(),
-                    JSON.json(message.getPayload()),
+                    message.getPayload(),
+                    message.getPayloadSchemaFingerprint(),
                     message.getStatus().name(),
                     message.getReceivedAt().toLocalDateTime(),
+                    InboxPartitions.partitionDateOf(message.getMessageId(), message.getReceivedAt()),
                     message.getRetryCount()
-                )
-                .onDuplicateKeyIgnore()
-                .execute();
-            insertedCount += result;
+                );
+            }
+            
+            int insertedCount = insertQuery.onDuplicateKeyIgnore().execute();
+            if (insertedCount == chunk.size()) {
+                inserted.addAll(chunk);
+                continue;
+            }
+            // 중복으로 무시된 메시지는 이미 다른 id 로 저장돼 있으므로 이번에 넣은 id 로 실제 저장된 행만 고른다
+            Set<UUID> insertedIds = dsl.select(PRODUCT_INBOX.ID)
+                .from(PRODUCT_INBOX)
+                .where(PRODUCT_INBOX.ID.in(chunk.stream().map(ProductInboxMessage::getId).toList()))
+                .fetchSet(PRODUCT_INBOX.ID);
+            chunk.stream()
+                .filter(message -> insertedIds.contains(message.getId()))
+                .forEach(inserted::add);
         }
         
-        log.info("Inserted {} new messages out of {} total messages to inbox", insertedCount, productInboxMessages.size());
+        log.debug("Inserted {} new messages out of {} total messages to inbox, {} duplicates ignored",
+            inserted.size(), productInboxMessages.size(), productInboxMessages.size() - inserted.size());
         
-        return productInboxMessages;
+        return inserted;
+    }
+
+    @Override
+    public boolean saveIfAbsent(ProductInboxMessage productInboxMessage) {
+        return dsl.insertInto(PRODUCT_INBOX)
+            .set(PRODUCT_INBOX.ID, productInboxMessage.getId())
+            .set(PRODUCT_INBOX.MESSAGE_ID, productInboxMessage.getMessageId())
+            .set(PRODUCT_INBOX.SAGA_ID, productInboxMessage.getSagaId())
+            .set(PRODUCT_INBOX.LANE_SLOT, InboxLanes.slotOf(productInboxMessage.getSagaId()))
+            .set(PRODUCT_INBOX.TYPE, productInboxMessage.getType().name())
+            .set(PRODUCT_INBOX.PAYLOAD, productInboxMessage.getPayload())
+            .set(PRODUCT_INBOX.PAYLOAD_SCHEMA_FINGERPRINT, productInboxMessage.getPayloadSchemaFingerprint())
+            .set(PRODUCT_INBOX.STATUS, productInboxMessage.getStatus().name())
+            .set(PRODUCT_INBOX.RECEIVED_AT, productInboxMessage.getReceivedAt().toLocalDateTime())
+            .set(PRODUCT_INBOX.PARTITION_DATE, InboxPartitions.partitionDateOf(productInboxMessage.getMessageId(), productInboxMessage.getReceivedAt()))
+            .set(PRODUCT_INBOX.PROCESSED_AT, productInboxMessage.getProcessedAt() != null ? productInboxMessage.getProcessedAt().toLocalDateTime() : null)
+            .set(PRODUCT_INBOX.RETRY_COUNT, productInboxMessage.getRetryCount())
+            .onDuplicateKeyIgnore()
+            .execute() == 1;
+    }
+
+    @Override
+    public Set<UUID> findSagaIdsWithUnfinishedMessages(Collection<UUID> sagaIds) {
+        if (sagaIds.isEmpty()) {
+            return Set.of();
+        }
+
+        return dsl.selectDistinct(PRODUCT_INBOX.SAGA_ID)
+            .from(PRODUCT_INBOX)
+            .where(PRODUCT_INBOX.SAGA_ID.in(sagaIds)
+                .and(PRODUCT_INBOX.STATUS.in(InboxStatus.RECEIVED.name(), InboxStatus.FAILED.name(), InboxStatus.REPLAY_QUEUED.name())))
+            .fetchSet(PRODUCT_INBOX.SAGA_ID);
     }
 
     @Override
@@ -101,10 +177,31 @@ public class ProductInboxRepositoryImpl implements ProductInboxRepository {
     }
     
     @Override
-    public List<ProductInboxMessage> findByStatusAndRetryCountLessThanOrderByReceivedAtWithSkipLock(InboxStatus status, int maxRetryCount, int limit) {
+    public List<ProductInboxMessage> findByStatusAndNextAttemptAtBeforeOrderByNextAttemptAtWithSkipLock(InboxStatus status, ZonedDateTime now, int limit) {
+        var result = dsl.selectFrom(PRODUCT_INBOX)
+            .where(PRODUCT_INBOX.STATUS.eq(status.name())
+                .and(PRODUCT_INBOX.NEXT_ATTEMPT_AT.le(now.toLocalDateTime())))
+            .orderBy(PRODUCT_INBOX.NEXT_ATTEMPT_AT)
+            .limit(limit)
+            .forUpdate().skipLocked()
+            .fetch();
+        
+        return result.map(this::mapToProductInboxMessage);
+    }
+    
+    @Override
+    public List<ProductInboxMessage> findByStatusAndLaneSlotRangeOrderByReceivedAtWithSkipLock(InboxStatus status, int fromSlot, int toSlot, int limit) {
+        // 같은 saga 의 앞선 메시지가 재시도나 replay 를 기다리거나 PARKED 로 멈춰 있는 동안에는 뒤 메시지를 가져오지 않는다
+        var earlier = PRODUCT_INBOX.as("earlier");
         var result = dsl.selectFrom(PRODUCT_INBOX)
             .where(PRODUCT_INBOX.STATUS.eq(status.name())
-                .and(PRODUCT_INBOX.RETRY_COUNT.lt(maxRetryCount)))
+                .and(PRODUCT_INBOX.LANE_SLOT.ge(fromSlot))
+                .and(PRODUCT_INBOX.LANE_SLOT.lt(toSlot))
+                .and(notExists(selectOne()
+                    .from(earlier)
+                    .where(earlier.SAGA_ID.eq(PRODUCT_INBOX.SAGA_ID)
+                        .and(earlier.STATUS.in(InboxStatus.FAILED.name(), InboxStatus.PARKED.name(), InboxStatus.REPLAY_QUEUED.name()))
+                        .and(earlier.RECEIVED_AT.lt(PRODUCT_INBOX.RECEIVED_AT))))))
             .orderBy(PRODUCT_INBOX.RECEIVED_AT)
             .limit(limit)
             .forUpdate().skipLocked()
@@ -113,13 +210,149 @@ public class ProductInboxRepositoryImpl implements ProductInboxRepository {
         return result.map(this::mapToProductInboxMessage);
     }
     
+    @Override
+    public List<InboxLaneDepth> countByStatusGroupByLane(InboxStatus status, int laneCount) {
+        var depths = dsl.select(PRODUCT_INBOX.LANE_SLOT, count(), min(PRODUCT_INBOX.RECEIVED_AT))
+            .from(PRODUCT_INBOX)
+            .where(PRODUCT_INBOX.STATUS.eq(status.name()))
+            .groupBy(PRODUCT_INBOX.LANE_SLOT)
+            .fetch(record -> new InboxLaneDepth(
+                InboxLanes.laneOf(record.value1(), laneCount),
+                record.value2(),
+                record.value3() != null ? record.value3().atZone(ZoneOffset.UTC) : null));
+        
+        return InboxLanes.mergeByLane(depths);
+    }
+    
+    @Override
+    public boolean tryLockLane(int lane) {
+        return dsl.select(PRODUCT_INBOX_LANE.LANE)
+            .from(PRODUCT_INBOX_LANE)
+            .where(PRODUCT_INBOX_LANE.LANE.eq(lane))
+            .forUpdate().skipLocked()
+            .fetchOptional()
+            .isPresent();
+    }
+    
+    @Override
+    public int findOrCreateLaneCount(int laneCount) {
+        // 먼저 기록한 인스턴스의 lane 수가 남는다
+        dsl.insertInto(PRODUCT_INBOX_LANE_CONFIG)
+            .set(PRODUCT_INBOX_LANE_CONFIG.ID, (byte) 1)
+            .set(PRODUCT_INBOX_LANE_CONFIG.LANE_COUNT, laneCount)
+            .onDuplicateKeyIgnore()
+            .execute();
+        return dsl.select(PRODUCT_INBOX_LANE_CONFIG.LANE_COUNT)
+            .from(PRODUCT_INBOX_LANE_CONFIG)
+            .where(PRODUCT_INBOX_LANE_CONFIG.ID.eq((byte) 1))
+            .fetchSingle(PRODUCT_INBOX_LANE_CONFIG.LANE_COUNT);
+    }
+    
+    @Override
+    public void createLanes(int laneCount) {
+        var insert = dsl.insertInto(PRODUCT_INBOX_LANE, PRODUCT_INBOX_LANE.LANE);
+        for (int lane = 0; lane < laneCount; lane++) {
+            insert = insert.values(lane);
+        }
+        insert.onDuplicateKeyIgnore().execute();
+    }
+
+    @Override
+    public int bulkUpdateToProcessed(List<UUID> ids, ZonedDateTime processedAt) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        return dsl.update(PRODUCT_INBOX)
+            .set(PRODUCT_INBOX.STATUS, InboxStatus.PROCESSED.name())
+            .set(PRODUCT_INBOX.PROCESSED_AT, processedAt.toLocalDateTime())
+            .where(PRODUCT_INBOX.ID.in(ids))
+            .execute();
+    }
+
+    @Override
+    public int bulkUpdateToFailed(List<InboxFailure> failures) {
+        if (failures.isEmpty()) {
+            return 0;
+        }
+
+        Map<UUID, String> statuses = new HashMap<>();
+        Map<UUID, String> errorMessages = new HashMap<>();
+        Map<UUID, LocalDateTime> nextAttemptAts = new HashMap<>();
+        for (InboxFailure failure : failures) {
+            statuses.put(failure.id(), failure.status().name());
+            errorMessages.put(failure.id(), failure.errorMessage());
+            nextAttemptAts.put(failure.id(), failure.nextAttemptAt().toLocalDateTime());
+        }
+
+        return dsl.update(PRODUCT_INBOX)
+            .set(PRODUCT_INBOX.STATUS, case_(PRODUCT_INBOX.ID)
+                .mapValues(statuses)
+                .otherwise(PRODUCT_INBOX.STATUS))
+            .set(PRODUCT_INBOX.RETRY_COUNT, PRODUCT_INBOX.RETRY_COUNT.plus(1))
+            .set(PRODUCT_INBOX.ERROR_MESSAGE, case_(PRODUCT_INBOX.ID)
+                .mapValues(errorMessages)
+                .otherwise(PRODUCT_INBOX.ERROR_MESSAGE))
+            .set(PRODUCT_INBOX.NEXT_ATTEMPT_AT, case_(PRODUCT_INBOX.ID)
+                .mapValues(nextAttemptAts)
+                .otherwise(PRODUCT_INBOX.NEXT_ATTEMPT_AT))
+            .where(PRODUCT_INBOX.ID.in(statuses.keySet()))
+            .execute();
+    }
+    
+    @Override
+    public int bulkUpdateToReceived(List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        return dsl.update(PRODUCT_INBOX)
+            .set(PRODUCT_INBOX.STATUS, InboxStatus.RECEIVED.name())
+            .setNull(PRODUCT_INBOX.NEXT_ATTEMPT_AT)
+            .where(PRODUCT_INBOX.ID.in(ids))
+            .execute();
+    }
+    
+    @Override
+    public List<ParkedInboxMessage> findByStatusAndNextAttemptAtBeforeOrderByNextAttemptAtDesc(InboxStatus status, ZonedDateTime before, int limit) {
+        return dsl.selectFrom(PRODUCT_INBOX)
+            .where(PRODUCT_INBOX.STATUS.eq(status.name())
+                .and(PRODUCT_INBOX.NEXT_ATTEMPT_AT.lt(before.withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime())))
+            .orderBy(PRODUCT_INBOX.NEXT_ATTEMPT_AT.desc())
+            .limit(limit)
+            .fetch(record -> new ParkedInboxMessage(
+                record.getValue(PRODUCT_INBOX.ID),
+                record.getValue(PRODUCT_INBOX.MESSAGE_ID),
+                record.getValue(PRODUCT_INBOX.SAGA_ID),
+                record.getValue(PRODUCT_INBOX.TYPE),
+                InboxStatus.valueOf(record.getValue(PRODUCT_INBOX.STATUS)),
+                record.getValue(PRODUCT_INBOX.RETRY_COUNT),
+                record.getValue(PRODUCT_INBOX.ERROR_MESSAGE),
+                record.getValue(PRODUCT_INBOX.RECEIVED_AT).atZone(ZoneOffset.UTC),
+                record.getValue(PRODUCT_INBOX.NEXT_ATTEMPT_AT).atZone(ZoneOffset.UTC)));
+    }
+
+    @Override
+    public int bulkUpdateToReplayQueued(List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        return dsl.update(PRODUCT_INBOX)
+            .set(PRODUCT_INBOX.STATUS, InboxStatus.REPLAY_QUEUED.name())
+            .where(PRODUCT_INBOX.ID.in(ids)
+                .and(PRODUCT_INBOX.STATUS.eq(InboxStatus.PARKED.name())))
+            .execute();
+    }
+
     private ProductInboxMessage mapToProductInboxMessage(Record record) {
         return ProductInboxMessage.builder()
                 .id(record.getValue(PRODUCT_INBOX.ID))
                 .messageId(record.getValue(PRODUCT_INBOX.MESSAGE_ID))
                 .sagaId(record.getValue(PRODUCT_INBOX.SAGA_ID))
                 .type(ServiceMessageType.valueOf(record.getValue(PRODUCT_INBOX.TYPE)))
-                .payload(record.getValue(PRODUCT_INBOX.PAYLOAD).data())
+                .payload(record.getValue(PRODUCT_INBOX.PAYLOAD))
+                .payloadSchemaFingerprint(record.getValue(PRODUCT_INBOX.PAYLOAD_SCHEMA_FINGERPRINT))
                 .status(InboxStatus.valueOf(record.getValue(PRODUCT_INBOX.STATUS)))
                 .receivedAt(record.getValue(PRODUCT_INBOX.RECEIVED_AT).atZone(ZoneOffset.UTC))
                 .processedAt(record.getValue(PRODUCT_INBOX.PROCESSED_AT) != null ? 
@@ -28,7 +28,8 @@ public class ProductInboxEntity {
     @Enumerated(EnumType.STRING)
     private ServiceMessageType type;
     
-    private String payload;
+    private byte[] payload;
+    private Long payloadSchemaFingerprint;
     
     @Enumerated(EnumType.STRING)
     private InboxStatus status;
@@ -14,6 +14,7 @@ public class ProductInboxDataAccessMapper {
                 .sagaId(productInboxMessage.getSagaId())
                 .type(productInboxMessage.getType())
                 .payload(productInboxMessage.getPayload())
+                .payloadSchemaFingerprint(productInboxMessage.getPayloadSchemaFingerprint())
                 .status(productInboxMessage.getStatus())
                 .receivedAt(productInboxMessage.getReceivedAt())
                 .processedAt(productInboxMessage.getProcessedAt())
@@ -29,6 +30,7 @@ public class ProductInboxDataAccessMapper {
                 .sagaId(productInboxEntity.getSagaId())
                 .type(productInboxEntity.getType())
                 .payload(productInboxEntity.getPayload())
+                .payloadSchemaFingerprint(productInboxEntity.getPayloadSchemaFingerprint())
                 .status(productInboxEntity.getStatus())
                 .receivedAt(productInboxEntity.getReceivedAt())
                 .processedAt(productInboxEntity.getProcessedAt())
@@ -0,0 +1,281 @@
+package com.commerce.platform.product.service.dataaccess.inventory;
+
+import com.commerce.platform.product.service.dataaccess.product.repository.ProductJpaRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.jooq.DSLContext;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.commerce.platform.product.service.dataaccess.jooq.tables.ProductInventoryCheckpoint.PRODUCT_INVENTORY_CHECKPOINT;
+import static com.commerce.platform.product.service.dataaccess.jooq.tables.ProductInventoryJournalCommit.PRODUCT_INVENTORY_JOURNAL_COMMIT;
+
+/**
+ * 재고 수치를 메모리에 두고 상품 id 로 나눈 partition 의 writer 스레드가 결정하는 엔진.
+ * 결정은 journal 에 먼저 남기고, 바뀐 수치는 주기적으로 products 테이블과 checkpoint 에 함께 flush 한다.
+ * 트랜잭션 안에서 내린 결정은 그 트랜잭션이 product_inventory_journal_commit 에 남긴 commit 표시가 있어야 replay 되고,
+ * 커밋이 확인되기 전에는 flush 하지 않으며 그 결정이 담긴 journal segment 도 지우지 않는다.
+ * 재고를 가진 인스턴스가 하나뿐이라는 가정 위에서만 동작하므로 product-service.inventory-engine=memory 일 때만 켠다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "product-service.inventory-engine", havingValue = "memory")
+public class InMemoryInventoryEngine implements InitializingBean, DisposableBean {
+
+    private static final String PARTITION_DIRECTORY_PREFIX = "partition-";
+
+    private final ProductJpaRepository productJpaRepository;
+    private final DSLContext dsl;
+    private final TransactionTemplate transactionTemplate;
+    private final int partitionCount;
+    private final Path journalDirectory;
+    private final long commandTimeoutMs;
+    private final List<InventoryPartition> partitions = new ArrayList<>();
+
+    public InMemoryInventoryEngine(ProductJpaRepository productJpaRepository,
+                                   DSLContext dsl,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${product-service.inventory-engine-partitions:4}") int partitionCount,
+                                   @Value("${product-service.inventory-journal-dir:./data/product-inventory-journal}") String journalDirectory,
+                                   @Value("${product-service.inventory-command-timeout-ms:5000}") long commandTimeoutMs) {
+        this.productJpaRepository = productJpaRepository;
+        this.dsl = dsl;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.partitionCount = partitionCount;
+        this.journalDirectory = Path.of(journalDirectory);
+        this.commandTimeoutMs = commandTimeoutMs;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        int journalPartitionCount = journalPartitionCount();
+        if (journalPartitionCount == 0) {
+            // journal 이 없으면 replay 할 것도 없으므로 이전 기동의 checkpoint 를 남기지 않는다
+            clearCheckpoints();
+        } else if (journalPartitionCount != partitionCount) {
+            drainJournals(journalPartitionCount);
+        }
+        partitions.addAll(openPartitions(partitionCount));
+        // 복구 중 replay 된 수치를 바로 MySQL 에 반영한다
+        flush();
+    }
+
+    public InventoryOutcome apply(UUID productId, InventoryOperation operation, int quantity, boolean transactional) {
+        return apply(productId, operation, quantity, transactional, 0L);
+    }
+
+    public InventoryOutcome compensate(UUID productId, InventoryOperation operation, int quantity, long compensatesSeq) {
+        return apply(productId, operation.inverse(), quantity, false, compensatesSeq);
+    }
+
+    public Optional<InventoryStock> currentStock(UUID productId) {
+        return partitionOf(productId).currentStock(productId);
+    }
+
+    /**
+     * 커밋 직전 같은 트랜잭션 안에서 호출해, 트랜잭션이 커밋된 경우에만 그 결정들이 replay 되게 한다.
+     */
+    public void recordCommitted(List<InventoryOutcome> outcomes) {
+        if (outcomes.isEmpty()) {
+            return;
+        }
+        var insert = dsl.insertInto(PRODUCT_INVENTORY_JOURNAL_COMMIT,
+                PRODUCT_INVENTORY_JOURNAL_COMMIT.PARTITION_NO,
+                PRODUCT_INVENTORY_JOURNAL_COMMIT.JOURNAL_SEQ);
+        for (InventoryOutcome outcome : outcomes) {
+            insert = insert.values(outcome.partitionNo(), outcome.seq());
+        }
+        insert.execute();
+    }
+
+    /**
+     * 트랜잭션이 커밋된 뒤 호출해, 그 결정들을 flush 할 수치에 반영한다.
+     */
+    public void confirmCommitted(List<InventoryOutcome> outcomes) {
+        outcomes.stream()
+                .collect(Collectors.groupingBy(InventoryOutcome::partitionNo,
+                        Collectors.mapping(InventoryOutcome::seq, Collectors.toList())))
+                .forEach((partitionNo, seqs) -> partitions.get(partitionNo).committed(seqs));
+    }
+
+    @Scheduled(fixedRateString = "${product-service.inventory-flush-interval-ms:200}")
+    public void flush() {
+        for (InventoryPartition partition : partitions) {
+            try {
+                flush(partition);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Failed to flush inventory snapshot of partition {}", partition.getPartitionNo(), e);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        flush();
+        for (InventoryPartition partition : partitions) {
+            partition.stop();
+        }
+    }
+
+    private InventoryOutcome apply(UUID productId, InventoryOperation operation, int quantity,
+                                   boolean transactional, long compensatesSeq) {
+        CompletableFuture<InventoryOutcome> future =
+                partitionOf(productId).apply(productId, operation, quantity, transactional, compensatesSeq);
+        try {
+            return future.get(commandTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abandon(future, productId, operation, quantity);
+            throw new IllegalStateException("Interrupted while applying inventory command for product " + productId, e);
+        } catch (TimeoutException e) {
+            if (!future.cancel(false)) {
+                // 취소하기 직전에 결정이 끝났다
+                return future.join();
+            }
+            throw new IllegalStateException("Timed out applying inventory command " + operation + " for product " + productId, e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to apply inventory command " + operation + " for product " + productId, e);
+        }
+    }
+
+    /**
+     * 취소된 명령은 writer 가 건너뛰거나 적용 후 보상한다. 취소 전에 이미 끝났다면 여기서 되돌린다.
+     */
+    private void abandon(CompletableFuture<InventoryOutcome> future, UUID productId, InventoryOperation operation, int quantity) {
+        if (future.cancel(false) || future.isCompletedExceptionally()) {
+            return;
+        }
+        InventoryOutcome outcome = future.join();
+        if (outcome.decision() == InventoryDecision.APPLIED) {
+            partitionOf(productId).apply(productId, operation.inverse(), quantity, false, outcome.seq());
+        }
+    }
+
+    private void flush(InventoryPartition partition) throws InterruptedException, ExecutionException, TimeoutException {
+        InventorySnapshot snapshot = partition.snapshot().get(commandTimeoutMs, TimeUnit.MILLISECONDS);
+        try {
+            transactionTemplate.executeWithoutResult(status -> writeSnapshot(snapshot));
+        } catch (RuntimeException e) {
+            partition.markDirty(snapshot.stocks().keySet());
+            throw e;
+        }
+        partition.checkpointed(snapshot);
+    }
+
+    private void writeSnapshot(InventorySnapshot snapshot) {
+        snapshot.stocks().forEach((productId, stock) ->
+                productJpaRepository.overwriteStock(productId, stock.quantity(), stock.reservedQuantity()));
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        dsl.insertInto(PRODUCT_INVENTORY_CHECKPOINT,
+                        PRODUCT_INVENTORY_CHECKPOINT.PARTITION_NO,
+                        PRODUCT_INVENTORY_CHECKPOINT.JOURNAL_SEQ,
+                        PRODUCT_INVENTORY_CHECKPOINT.UPDATED_AT)
+                .values(snapshot.partitionNo(), snapshot.journalSeq(), now)
+                .onDuplicateKeyUpdate()
+                .set(PRODUCT_INVENTORY_CHECKPOINT.JOURNAL_SEQ, snapshot.journalSeq())
+                .set(PRODUCT_INVENTORY_CHECKPOINT.UPDATED_AT, now)
+                .execute();
+        if (!snapshot.committedSeqs().isEmpty()) {
+            dsl.deleteFrom(PRODUCT_INVENTORY_JOURNAL_COMMIT)
+                    .where(PRODUCT_INVENTORY_JOURNAL_COMMIT.PARTITION_NO.eq(snapshot.partitionNo()))
+                    .and(PRODUCT_INVENTORY_JOURNAL_COMMIT.JOURNAL_SEQ.in(snapshot.committedSeqs()))
+                    .execute();
+        }
+    }
+
+    private List<InventoryPartition> openPartitions(int count) throws IOException {
+        Map<Integer, Long> checkpoints = dsl.select(PRODUCT_INVENTORY_CHECKPOINT.PARTITION_NO, PRODUCT_INVENTORY_CHECKPOINT.JOURNAL_SEQ)
+                .from(PRODUCT_INVENTORY_CHECKPOINT)
+                .fetchMap(PRODUCT_INVENTORY_CHECKPOINT.PARTITION_NO, PRODUCT_INVENTORY_CHECKPOINT.JOURNAL_SEQ);
+        Map<Integer, Set<Long>> committedSeqs = dsl.select(PRODUCT_INVENTORY_JOURNAL_COMMIT.PARTITION_NO, PRODUCT_INVENTORY_JOURNAL_COMMIT.JOURNAL_SEQ)
+                .from(PRODUCT_INVENTORY_JOURNAL_COMMIT)
+                .fetchGroups(PRODUCT_INVENTORY_JOURNAL_COMMIT.PARTITION_NO, PRODUCT_INVENTORY_JOURNAL_COMMIT.JOURNAL_SEQ)
+                .entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> new HashSet<>(entry.getValue())));
+        List<InventoryPartition> opened = new ArrayList<>();
+        for (int partitionNo = 0; partitionNo < count; partitionNo++) {
+            InventoryJournal journal = new InventoryJournal(journalDirectory.resolve(PARTITION_DIRECTORY_PREFIX + partitionNo));
+            InventoryPartition partition = new InventoryPartition(partitionNo, journal, productJpaRepository::findById);
+            partition.recover(checkpoints.getOrDefault(partitionNo, 0L), committedSeqs.getOrDefault(partitionNo, Set.of()));
+            partition.start();
+            opened.add(partition);
+        }
+        return opened;
+    }
+
+    /**
+     * partition 수가 바뀌면 상품이 다른 partition 으로 옮겨 가므로, 이전 배치대로 journal 을 replay 해 MySQL 에 flush 한 뒤
+     * journal 과 checkpoint 를 비우고 새 배치로 시작한다. flush 하지 못하면 journal 을 남긴 채 기동을 멈춘다.
+     * journal 을 먼저 지우므로 중간에 멈추면 남은 journal 을 기존 checkpoint 로 다시 drain 한다.
+     */
+    private void drainJournals(int journalPartitionCount) throws Exception {
+        log.warn("Inventory partition count changed from {} to {}, draining the previous journals",
+                journalPartitionCount, partitionCount);
+        List<InventoryPartition> previous = openPartitions(journalPartitionCount);
+        try {
+            for (InventoryPartition partition : previous) {
+                flush(partition);
+            }
+        } catch (Exception e) {
+            for (InventoryPartition partition : previous) {
+                partition.stop();
+            }
+            throw new IllegalStateException("Could not drain inventory journals of " + journalPartitionCount + " partitions", e);
+        }
+        for (InventoryPartition partition : previous) {
+            partition.discard();
+        }
+        clearCheckpoints();
+    }
+
+    private void clearCheckpoints() {
+        transactionTemplate.executeWithoutResult(status -> {
+            dsl.deleteFrom(PRODUCT_INVENTORY_CHECKPOINT).execute();
+            dsl.deleteFrom(PRODUCT_INVENTORY_JOURNAL_COMMIT).execute();
+        });
+    }
+
+    private int journalPartitionCount() throws IOException {
+        if (!Files.isDirectory(journalDirectory)) {
+            return 0;
+        }
+        try (Stream<Path> directories = Files.list(journalDirectory)) {
+            return directories.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(PARTITION_DIRECTORY_PREFIX))
+                    .mapToInt(name -> Integer.parseInt(name.substring(PARTITION_DIRECTORY_PREFIX.length())) + 1)
+                    .max()
+                    .orElse(0);
+        }
+    }
+
+    private InventoryPartition partitionOf(UUID productId) {
+        return partitions.get(Math.floorMod(productId.hashCode(), partitions.size()));
+    }
+}
@@ -0,0 +1,187 @@
+package com.commerce.platform.product.service.dataaccess.inventory;
+
+import com.commerce.platform.inbox.InboxSavepointSynchronization;
+import com.commerce.platform.product.service.dataaccess.product.adapter.ProductRepositoryImpl;
+import com.commerce.platform.product.service.domain.entity.Product;
+import com.commerce.platform.product.service.domain.entity.ProductReservation;
+import com.commerce.platform.product.service.domain.exception.ProductDomainException;
+import com.commerce.platform.product.service.domain.ports.output.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * 재고 변경을 InMemoryInventoryEngine 으로 보내는 ProductRepository.
+ * bucket 으로 나눈 상품과 bucket 에 배정된 예약은 엔진이 관리하지 않으므로 SQL 구현으로 넘기고,
+ * 트랜잭션 안에서 엔진에 반영한 결정은 커밋 직전에 commit 표시를 남기고 커밋된 뒤 엔진에 알리며,
+ * 트랜잭션이나 inbox 메시지 단위 savepoint 가 롤백되면 반대 연산으로 되돌린다.
+ */
+@Slf4j
+@Primary
+@Component
+@ConditionalOnProperty(name = "product-service.inventory-engine", havingValue = "memory")
+public class InMemoryInventoryProductRepository implements ProductRepository {
+
+    private final ProductRepositoryImpl productRepositoryImpl;
+    private final InMemoryInventoryEngine inMemoryInventoryEngine;
+
+    public InMemoryInventoryProductRepository(ProductRepositoryImpl productRepositoryImpl,
+                                              InMemoryInventoryEngine inMemoryInventoryEngine) {
+        this.productRepositoryImpl = productRepositoryImpl;
+        this.inMemoryInventoryEngine = inMemoryInventoryEngine;
+    }
+
+    @Override
+    public Product save(Product product) {
+        return productRepositoryImpl.save(product);
+    }
+
+    @Override
+    public List<Product> saveAll(List<Product> products) {
+        return productRepositoryImpl.saveAll(products);
+    }
+
+    @Override
+    public Optional<Product> findById(UUID productId) {
+        return productRepositoryImpl.findById(productId).map(this::withEngineStock);
+    }
+
+    @Override
+    public List<Product> findByIds(List<UUID> productIds) {
+        return productRepositoryImpl.findByIds(productIds).stream().map(this::withEngineStock).toList();
+    }
+
+    @Override
+    public List<Product> findByIdsForUpdate(List<UUID> productIds) {
+        return productRepositoryImpl.findByIdsForUpdate(productIds).stream().map(this::withEngineStock).toList();
+    }
+
+    @Override
+    public boolean reserveQuantity(ProductReservation reservation) {
+        return applyReservation(reservation, InventoryOperation.RESERVE,
+                () -> productRepositoryImpl.reserveQuantity(reservation));
+    }
+
+    @Override
+    public boolean reserveTotalQuantity(UUID productId, int totalQuantity) {
+        return applyToEngine(productId, InventoryOperation.RESERVE, totalQuantity,
+                () -> productRepositoryImpl.reserveTotalQuantity(productId, totalQuantity));
+    }
+
+    @Override
+    public boolean releaseReservedQuantity(ProductReservation reservation) {
+        return applyReservation(reservation, InventoryOperation.RELEASE,
+                () -> productRepositoryImpl.releaseReservedQuantity(reservation));
+    }
+
+    @Override
+    public boolean releaseTotalQuantity(UUID productId, int totalQuantity) {
+        return applyToEngine(productId, InventoryOperation.RELEASE, totalQuantity,
+                () -> productRepositoryImpl.releaseTotalQuantity(productId, totalQuantity));
+    }
+
+    @Override
+    public boolean confirmReservedQuantity(ProductReservation reservation) {
+        return applyReservation(reservation, InventoryOperation.CONFIRM,
+                () -> productRepositoryImpl.confirmReservedQuantity(reservation));
+    }
+
+    @Override
+    public boolean revertConfirmedQuantity(ProductReservation reservation) {
+        return applyReservation(reservation, InventoryOperation.REVERT_CONFIRM,
+                () -> productRepositoryImpl.revertConfirmedQuantity(reservation));
+    }
+
+    @Override
+    public boolean updateStockBucketCount(UUID productId, int bucketCount) {
+        throw new ProductDomainException("Stock buckets cannot be changed while the in-memory inventory engine is enabled");
+    }
+
+    private boolean applyReservation(ProductReservation reservation, InventoryOperation operation, Supplier<Boolean> sqlFallback) {
+        if (reservation.getStockBucket() != null) {
+            return sqlFallback.get();
+        }
+        return applyToEngine(reservation.getProductId().getValue(), operation, reservation.getQuantity(), sqlFallback);
+    }
+
+    private boolean applyToEngine(UUID productId, InventoryOperation operation, int quantity, Supplier<Boolean> sqlFallback) {
+        boolean transactional = TransactionSynchronizationManager.isSynchronizationActive();
+        InventoryOutcome outcome = inMemoryInventoryEngine.apply(productId, operation, quantity, transactional);
+        if (outcome.decision() == InventoryDecision.UNMANAGED) {
+            return sqlFallback.get();
+        }
+        if (outcome.decision() == InventoryDecision.APPLIED && transactional) {
+            track(new AppliedDecision(productId, operation, quantity, outcome));
+        }
+        return outcome.decision() == InventoryDecision.APPLIED;
+    }
+
+    private void track(AppliedDecision decision) {
+        TransactionDecisions decisions = (TransactionDecisions) TransactionSynchronizationManager.getResource(this);
+        if (decisions == null) {
+            decisions = new TransactionDecisions();
+            TransactionSynchronizationManager.bindResource(this, decisions);
+            TransactionSynchronizationManager.registerSynchronization(decisions);
+        }
+        decisions.applied.add(decision);
+        TransactionDecisions current = decisions;
+        InboxSavepointSynchronization.onRollback(() -> {
+            current.applied.remove(decision);
+            compensate(decision);
+        });
+    }
+
+    private void compensate(AppliedDecision decision) {
+        InventoryOutcome outcome = inMemoryInventoryEngine.compensate(
+                decision.productId(), decision.operation(), decision.quantity(), decision.outcome().seq());
+        if (outcome.decision() != InventoryDecision.APPLIED) {
+            log.error("Could not compensate inventory {} of {} for product {} after rollback: {}",
+                    decision.operation(), decision.quantity(), decision.productId(), outcome.decision());
+        }
+    }
+
+    private Product withEngineStock(Product product) {
+        inMemoryInventoryEngine.currentStock(product.getId().getValue()).ifPresent(stock -> {
+            product.setQuantity(stock.quantity());
+            product.setReservedQuantity(stock.reservedQuantity());
+        });
+        return product;
+    }
+
+    private record AppliedDecision(UUID productId, InventoryOperation operation, int quantity, InventoryOutcome outcome) {
+    }
+
+    private final class TransactionDecisions implements TransactionSynchronization {
+
+        private final List<AppliedDecision> applied = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            inMemoryInventoryEngine.recordCommitted(applied.stream().map(AppliedDecision::outcome).toList());
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(InMemoryInventoryProductRepository.this);
+            if (status == STATUS_COMMITTED) {
+                inMemoryInventoryEngine.confirmCommitted(applied.stream().map(AppliedDecision::outcome).toList());
+                return;
+            }
+            if (status != STATUS_ROLLED_BACK) {
+                return;
+            }
+            for (int i = applied.size() - 1; i >= 0; i--) {
+                compensate(applied.get(i));
+            }
+        }
+    }
+}
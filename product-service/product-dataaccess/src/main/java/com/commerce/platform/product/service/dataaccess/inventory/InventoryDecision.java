@@ -0,0 +1,7 @@
+package com.commerce.platform.product.service.dataaccess.inventory;
+
+public enum InventoryDecision {
+    APPLIED,
+    REJECTED,
+    UNMANAGED
+}
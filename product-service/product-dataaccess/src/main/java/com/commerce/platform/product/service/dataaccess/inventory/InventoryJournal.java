@@ -0,0 +1,150 @@
+package com.commerce.platform.product.service.dataaccess.inventory;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * partition 하나의 재고 결정을 순서대로 남기는 append-only 파일.
+ * snapshot 을 뜰 때마다 새 segment 로 넘어가고, MySQL checkpoint 에 반영된 segment 는 지운다.
+ */
+@Slf4j
+public class InventoryJournal implements Closeable {
+
+    private static final int RECORD_SIZE = Long.BYTES + Long.BYTES * 2 + Byte.BYTES + Integer.BYTES + Byte.BYTES + Long.BYTES;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final Path directory;
+    private final ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE * 1024);
+    private FileChannel channel;
+    private long segmentStartSeq;
+    private long syncedPosition;
+
+    public InventoryJournal(Path directory) throws IOException {
+        this.directory = Files.createDirectories(directory);
+    }
+
+    public void openSegment(long startSeq) throws IOException {
+        this.segmentStartSeq = startSeq;
+        this.channel = FileChannel.open(segmentPath(startSeq),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.syncedPosition = channel.size();
+    }
+
+    public void append(InventoryJournalEntry entry) throws IOException {
+        if (buffer.remaining() < RECORD_SIZE) {
+            writeBuffer();
+        }
+        buffer.putLong(entry.seq())
+                .putLong(entry.productId().getMostSignificantBits())
+                .putLong(entry.productId().getLeastSignificantBits())
+                .put((byte) entry.operation().ordinal())
+                .putInt(entry.quantity())
+                .put((byte) (entry.transactional() ? 1 : 0))
+                .putLong(entry.compensatesSeq());
+    }
+
+    public void sync() throws IOException {
+        writeBuffer();
+        channel.force(false);
+        syncedPosition = channel.size();
+    }
+
+    public void discardUnsynced() throws IOException {
+        buffer.clear();
+        channel.truncate(syncedPosition);
+        channel.force(false);
+    }
+
+    public void rotate(long nextSeq) throws IOException {
+        if (nextSeq == segmentStartSeq) {
+            return;
+        }
+        sync();
+        channel.close();
+        openSegment(nextSeq);
+    }
+
+    public void deleteSegmentsUpTo(long seq) throws IOException {
+        List<Long> startSeqs = segmentStartSeqs();
+        for (int i = 0; i < startSeqs.size() - 1; i++) {
+            if (startSeqs.get(i + 1) - 1 <= seq && startSeqs.get(i) != segmentStartSeq) {
+                Files.deleteIfExists(segmentPath(startSeqs.get(i)));
+            }
+        }
+    }
+
+    public long replay(long afterSeq, Consumer<InventoryJournalEntry> consumer) throws IOException {
+        long lastSeq = afterSeq;
+        InventoryOperation[] operations = InventoryOperation.values();
+        for (long startSeq : segmentStartSeqs()) {
+            ByteBuffer segment = ByteBuffer.wrap(Files.readAllBytes(segmentPath(startSeq)));
+            while (segment.remaining() >= RECORD_SIZE) {
+                InventoryJournalEntry entry = new InventoryJournalEntry(segment.getLong(),
+                        new UUID(segment.getLong(), segment.getLong()),
+                        operations[segment.get()],
+                        segment.getInt(),
+                        segment.get() == 1,
+                        segment.getLong());
+                if (entry.seq() > lastSeq) {
+                    consumer.accept(entry);
+                    lastSeq = entry.seq();
+                }
+            }
+            if (segment.hasRemaining()) {
+                log.warn("Ignoring {} trailing bytes of partially written inventory journal segment {}",
+                        segment.remaining(), segmentPath(startSeq));
+            }
+        }
+        return lastSeq;
+    }
+
+    public void delete() throws IOException {
+        close();
+        for (long startSeq : segmentStartSeqs()) {
+            Files.deleteIfExists(segmentPath(startSeq));
+        }
+        Files.deleteIfExists(directory);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null && channel.isOpen()) {
+            sync();
+            channel.close();
+        }
+    }
+
+    private void writeBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private List<Long> segmentStartSeqs() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Path segmentPath(long startSeq) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, startSeq, SEGMENT_SUFFIX));
+    }
+}
@@ -0,0 +1,15 @@
+package com.commerce.platform.product.service.dataaccess.inventory;
+
+import java.util.UUID;
+
+/**
+ * transactional 결정은 MySQL 트랜잭션이 커밋되어 commit 표시가 남은 경우에만 replay 한다.
+ * compensatesSeq 가 있으면 그 결정을 되돌린 보상 결정이며, 원래 결정이 반영된 경우에만 replay 한다.
+ */
+public record InventoryJournalEntry(long seq, UUID productId, InventoryOperation operation, int quantity,
+                                    boolean transactional, long compensatesSeq) {
+
+    public boolean isCompensation() {
+        return compensatesSeq > 0;
+    }
+}
@@ -0,0 +1,39 @@
+package com.commerce.platform.product.service.dataaccess.inventory;
+
+public enum InventoryOperation {
+    RESERVE,
+    RELEASE,
+    CONFIRM,
+    REVERT_CONFIRM;
+
+    public InventoryStock apply(InventoryStock stock, int quantity) {
+        boolean allowed = switch (this) {
+            case RESERVE -> stock.quantity() - stock.reservedQuantity() >= quantity;
+            case RELEASE -> stock.reservedQuantity() >= quantity;
+            case CONFIRM -> stock.reservedQuantity() >= quantity && stock.quantity() >= quantity;
+            case REVERT_CONFIRM -> true;
+        };
+        return allowed ? shift(stock, quantity) : null;
+    }
+
+    /**
+     * 검증 없이 수치만 옮긴다. writer 가 이미 검증한 결정을 커밋된 수치에 뒤늦게 반영할 때 쓴다.
+     */
+    public InventoryStock shift(InventoryStock stock, int quantity) {
+        return switch (this) {
+            case RESERVE -> new InventoryStock(stock.quantity(), stock.reservedQuantity() + quantity);
+            case RELEASE -> new InventoryStock(stock.quantity(), stock.reservedQuantity() - quantity);
+            case CONFIRM -> new InventoryStock(stock.quantity() - quantity, stock.reservedQuantity() - quantity);
+            case REVERT_CONFIRM -> new InventoryStock(stock.quantity() + quantity, stock.reservedQuantity() + quantity);
+        };
+    }
+
+    public InventoryOperation inverse() {
+        return switch (this) {
+            case RESERVE -> RELEASE;
+            case RELEASE -> RESERVE;
+            case CONFIRM -> REVERT_CONFIRM;
+            case REVERT_CONFIRM -> CONFIRM;
+        };
+    }
+}
@@ -0,0 +1,8 @@
+package com.commerce.platform.product.service.dataaccess.inventory;
+
+public record InventoryOutcome(InventoryDecision decision, int partitionNo, long seq) {
+
+    static InventoryOutcome of(InventoryDecision decision, int partitionNo) {
+        return new InventoryOutcome(decision, partitionNo, 0L);
+    }
+}
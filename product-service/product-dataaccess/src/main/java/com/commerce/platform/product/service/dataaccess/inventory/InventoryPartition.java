@@ -0,0 +1,331 @@
+package com.commerce.platform.product.service.dataaccess.inventory;
+
+import com.commerce.platform.product.service.dataaccess.product.entity.ProductEntity;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 한 partition 의 재고 수치를 전용 writer 스레드 하나가 순서대로 바꾼다.
+ * 큐에서 꺼낸 명령을 한꺼번에 적용하고 journal 을 한 번 fsync 한 뒤에야 호출자에게 결과를 돌려주며,
+ * fsync 가 실패하면 그 묶음에서 바꾼 수치와 아직 sync 되지 않은 journal 을 되돌리고 호출자에게 실패를 돌려준다.
+ * 호출자가 기다리다 포기한 명령은 적용하지 않고, 이미 적용했다면 반대 연산을 보상 결정으로 남긴다.
+ * transactional 결정은 커밋이 확인될 때까지 committed 수치에 넣지 않으므로 snapshot 은 커밋된 상태만 MySQL 에 쓴다.
+ */
+@Slf4j
+public class InventoryPartition {
+
+    private static final int MAX_COMMANDS_PER_SYNC = 512;
+
+    private final int partitionNo;
+    private final InventoryJournal journal;
+    private final Function<UUID, Optional<ProductEntity>> productLoader;
+    private final BlockingQueue<Runnable> commands = new LinkedBlockingQueue<>();
+    private final Map<UUID, InventoryStock> stocks = new ConcurrentHashMap<>();
+    private final Map<UUID, InventoryStock> committed = new HashMap<>();
+    private final NavigableMap<Long, InventoryJournalEntry> pending = new TreeMap<>();
+    private final Set<Long> committedSeqs = new HashSet<>();
+    private final Set<UUID> unmanaged = ConcurrentHashMap.newKeySet();
+    private final Set<UUID> dirty = new HashSet<>();
+    private final List<Completion<?>> completions = new ArrayList<>();
+    private final Map<UUID, InventoryStock> undo = new HashMap<>();
+    private final List<InventoryJournalEntry> batchFolded = new ArrayList<>();
+    private final List<InventoryJournalEntry> batchVoided = new ArrayList<>();
+    private final Thread writer;
+    private volatile boolean running = true;
+    private long lastSeq;
+
+    public InventoryPartition(int partitionNo, InventoryJournal journal, Function<UUID, Optional<ProductEntity>> productLoader) {
+        this.partitionNo = partitionNo;
+        this.journal = journal;
+        this.productLoader = productLoader;
+        this.writer = new Thread(this::run, "product-inventory-writer-" + partitionNo);
+    }
+
+    /**
+     * checkpoint 이전이라도 snapshot 당시 커밋 여부를 몰랐던 결정은 남겨 둔 journal 에서 commit 표시를 보고 replay 한다.
+     */
+    public void recover(long checkpointSeq, Set<Long> recordedCommitSeqs) throws IOException {
+        Set<Long> transactionalSeqs = new HashSet<>();
+        Set<Long> replayed = new HashSet<>();
+        long journalSeq = journal.replay(0L, entry -> {
+            if (entry.transactional() && !entry.isCompensation()) {
+                transactionalSeqs.add(entry.seq());
+            }
+            if (!isReplayable(entry, checkpointSeq, recordedCommitSeqs, transactionalSeqs, replayed)) {
+                return;
+            }
+            InventoryStock stock = stocks.get(entry.productId());
+            if (stock == null && !unmanaged.contains(entry.productId())) {
+                stock = load(entry.productId());
+            }
+            InventoryStock next = stock != null ? entry.operation().apply(stock, entry.quantity()) : null;
+            if (next == null) {
+                log.warn("Skipping inventory journal entry {} of partition {} that no longer applies", entry.seq(), partitionNo);
+                return;
+            }
+            stocks.put(entry.productId(), next);
+            dirty.add(entry.productId());
+            replayed.add(entry.seq());
+        });
+        lastSeq = Math.max(checkpointSeq, journalSeq);
+        committed.putAll(stocks);
+        // replay 했거나 더는 적용할 수 없는 결정의 commit 표시는 다음 snapshot 과 함께 지운다
+        committedSeqs.addAll(recordedCommitSeqs);
+        journal.openSegment(lastSeq + 1);
+        log.info("Inventory partition {} recovered up to journal seq {} with {} replayed products", partitionNo, lastSeq, dirty.size());
+    }
+
+    public void start() {
+        writer.start();
+    }
+
+    public int getPartitionNo() {
+        return partitionNo;
+    }
+
+    public CompletableFuture<InventoryOutcome> apply(UUID productId, InventoryOperation operation, int quantity,
+                                                     boolean transactional, long compensatesSeq) {
+        CompletableFuture<InventoryOutcome> future = new CompletableFuture<>();
+        commands.add(() -> {
+            if (future.isCancelled()) {
+                return;
+            }
+            InventoryOutcome outcome = decide(productId, operation, quantity, transactional, compensatesSeq);
+            Runnable onAbandoned = outcome.decision() == InventoryDecision.APPLIED
+                    ? () -> compensateAbandoned(productId, operation, quantity, outcome.seq())
+                    : null;
+            completions.add(new Completion<>(future, outcome, onAbandoned));
+        });
+        return future;
+    }
+
+    public Optional<InventoryStock> currentStock(UUID productId) {
+        return Optional.ofNullable(stocks.get(productId));
+    }
+
+    public CompletableFuture<InventorySnapshot> snapshot() {
+        CompletableFuture<InventorySnapshot> future = new CompletableFuture<>();
+        commands.add(() -> {
+            Map<UUID, InventoryStock> changed = new HashMap<>();
+            dirty.forEach(productId -> changed.put(productId, committed.get(productId)));
+            dirty.clear();
+            try {
+                journal.rotate(lastSeq + 1);
+            } catch (IOException e) {
+                log.error("Failed to rotate inventory journal of partition {}", partitionNo, e);
+            }
+            long retainedSeq = pending.isEmpty() ? lastSeq + 1 : pending.firstKey();
+            InventorySnapshot snapshot = new InventorySnapshot(partitionNo, lastSeq, retainedSeq, changed, Set.copyOf(committedSeqs));
+            completions.add(new Completion<>(future, snapshot));
+        });
+        return future;
+    }
+
+    public void markDirty(Collection<UUID> productIds) {
+        commands.add(() -> dirty.addAll(productIds));
+    }
+
+    /**
+     * 트랜잭션이 커밋된 결정을 committed 수치에 반영한다. 보상으로 이미 취소된 결정은 건너뛴다.
+     */
+    public void committed(Collection<Long> seqs) {
+        commands.add(() -> seqs.forEach(seq -> {
+            InventoryJournalEntry entry = pending.remove(seq);
+            if (entry != null) {
+                fold(entry);
+                committedSeqs.add(seq);
+            }
+        }));
+    }
+
+    public void checkpointed(InventorySnapshot snapshot) {
+        commands.add(() -> {
+            committedSeqs.removeAll(snapshot.committedSeqs());
+            try {
+                journal.deleteSegmentsUpTo(snapshot.retainedSeq() - 1);
+            } catch (IOException e) {
+                log.warn("Failed to delete inventory journal segments of partition {} up to {}",
+                        partitionNo, snapshot.retainedSeq() - 1, e);
+            }
+        });
+    }
+
+    public void stop() throws InterruptedException, IOException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        journal.close();
+    }
+
+    public void discard() throws InterruptedException, IOException {
+        stop();
+        journal.delete();
+    }
+
+    private boolean isReplayable(InventoryJournalEntry entry, long checkpointSeq, Set<Long> recordedCommitSeqs,
+                                 Set<Long> transactionalSeqs, Set<Long> replayed) {
+        if (entry.isCompensation()) {
+            // 보상 대상인 transactional 결정은 커밋되지 않았으므로 flush 된 수치에도, replay 한 수치에도 없다
+            if (entry.seq() <= checkpointSeq || transactionalSeqs.contains(entry.compensatesSeq())) {
+                return false;
+            }
+            return entry.compensatesSeq() <= checkpointSeq || replayed.contains(entry.compensatesSeq());
+        }
+        if (entry.transactional()) {
+            // flush 된 수치에 들어간 결정의 commit 표시는 그 snapshot 과 함께 지워진다
+            return recordedCommitSeqs.contains(entry.seq());
+        }
+        return entry.seq() > checkpointSeq;
+    }
+
+    private InventoryOutcome decide(UUID productId, InventoryOperation operation, int quantity,
+                                    boolean transactional, long compensatesSeq) {
+        if (unmanaged.contains(productId)) {
+            return InventoryOutcome.of(InventoryDecision.UNMANAGED, partitionNo);
+        }
+        InventoryStock stock = stocks.get(productId);
+        if (stock == null) {
+            stock = load(productId);
+            if (stock == null) {
+                return InventoryOutcome.of(unmanaged.contains(productId) ? InventoryDecision.UNMANAGED : InventoryDecision.REJECTED, partitionNo);
+            }
+        }
+        InventoryStock next = operation.apply(stock, quantity);
+        if (next == null) {
+            return InventoryOutcome.of(InventoryDecision.REJECTED, partitionNo);
+        }
+        InventoryJournalEntry entry = new InventoryJournalEntry(lastSeq + 1, productId, operation, quantity, transactional, compensatesSeq);
+        try {
+            journal.append(entry);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to append inventory journal of partition " + partitionNo, e);
+        }
+        lastSeq++;
+        undo.putIfAbsent(productId, stock);
+        stocks.put(productId, next);
+        track(entry);
+        return new InventoryOutcome(InventoryDecision.APPLIED, partitionNo, lastSeq);
+    }
+
+    private void track(InventoryJournalEntry entry) {
+        if (entry.isCompensation()) {
+            InventoryJournalEntry voided = pending.remove(entry.compensatesSeq());
+            if (voided != null) {
+                batchVoided.add(voided);
+                return;
+            }
+        } else if (entry.transactional()) {
+            pending.put(entry.seq(), entry);
+            return;
+        }
+        fold(entry);
+        batchFolded.add(entry);
+    }
+
+    private void fold(InventoryJournalEntry entry) {
+        committed.put(entry.productId(), entry.operation().shift(committed.get(entry.productId()), entry.quantity()));
+        dirty.add(entry.productId());
+    }
+
+    private void compensateAbandoned(UUID productId, InventoryOperation operation, int quantity, long seq) {
+        log.warn("Caller abandoned inventory {} of {} for product {} at journal seq {}, compensating it",
+                operation, quantity, productId, seq);
+        apply(productId, operation.inverse(), quantity, false, seq);
+    }
+
+    private InventoryStock load(UUID productId) {
+        Optional<ProductEntity> product = productLoader.apply(productId);
+        if (product.isEmpty()) {
+            return null;
+        }
+        if (product.get().getStockBucketCount() > 0) {
+            unmanaged.add(productId);
+            return null;
+        }
+        InventoryStock stock = new InventoryStock(product.get().getQuantity(), product.get().getReservedQuantity());
+        stocks.put(productId, stock);
+        committed.put(productId, stock);
+        return stock;
+    }
+
+    private void run() {
+        List<Runnable> batch = new ArrayList<>(MAX_COMMANDS_PER_SYNC);
+        while (running || !commands.isEmpty()) {
+            try {
+                Runnable first = commands.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                commands.drainTo(batch, MAX_COMMANDS_PER_SYNC - 1);
+                executeBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void executeBatch(List<Runnable> batch) {
+        long batchStartSeq = lastSeq;
+        try {
+            batch.forEach(Runnable::run);
+            journal.sync();
+            completions.forEach(Completion::complete);
+        } catch (Exception e) {
+            log.error("Failed to apply inventory commands of partition {}, rolling back {} decisions",
+                    partitionNo, lastSeq - batchStartSeq, e);
+            rollback(batchStartSeq);
+            completions.forEach(completion -> completion.future().completeExceptionally(e));
+        } finally {
+            completions.clear();
+            undo.clear();
+            batchFolded.clear();
+            batchVoided.clear();
+        }
+    }
+
+    private void rollback(long batchStartSeq) {
+        stocks.putAll(undo);
+        for (int i = batchFolded.size() - 1; i >= 0; i--) {
+            InventoryJournalEntry entry = batchFolded.get(i);
+            committed.put(entry.productId(), entry.operation().inverse().shift(committed.get(entry.productId()), entry.quantity()));
+        }
+        // 묶음 안에서 내린 결정은 없던 일이 되고, 묶음 안의 보상이 취소한 이전 결정은 다시 커밋을 기다린다
+        pending.tailMap(batchStartSeq, false).clear();
+        batchVoided.stream()
+                .filter(entry -> entry.seq() <= batchStartSeq)
+                .forEach(entry -> pending.put(entry.seq(), entry));
+        // 묶음 안에서 snapshot 이 dirty 를 비웠을 수 있으므로 다음 flush 에서 전부 다시 쓴다
+        dirty.addAll(stocks.keySet());
+        lastSeq = batchStartSeq;
+        try {
+            journal.discardUnsynced();
+        } catch (IOException e) {
+            running = false;
+            log.error("Failed to discard unsynced inventory journal of partition {}, stopping its writer", partitionNo, e);
+        }
+    }
+
+    private record Completion<T>(CompletableFuture<T> future, T value, Runnable onAbandoned) {
+
+        Completion(CompletableFuture<T> future, T value) {
+            this(future, value, null);
+        }
+
+        void complete() {
+            if (!future.complete(value) && onAbandoned != null) {
+                onAbandoned.run();
+            }
+        }
+    }
+}
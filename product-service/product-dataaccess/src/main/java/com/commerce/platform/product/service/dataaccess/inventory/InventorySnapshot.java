@@ -0,0 +1,13 @@
+package com.commerce.platform.product.service.dataaccess.inventory;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * stocks 는 커밋이 확인된 결정만 반영한 수치다. retainedSeq 부터는 아직 커밋 여부를 모르는 결정이 있어 journal 을 남겨 둔다.
+ * committedSeqs 는 stocks 에 새로 반영된 transactional 결정이며, 함께 기록하면 commit 표시를 지운다.
+ */
+public record InventorySnapshot(int partitionNo, long journalSeq, long retainedSeq,
+                                Map<UUID, InventoryStock> stocks, Set<Long> committedSeqs) {
+}
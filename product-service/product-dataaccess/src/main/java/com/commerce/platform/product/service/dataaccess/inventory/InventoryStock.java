@@ -0,0 +1,4 @@
+package com.commerce.platform.product.service.dataaccess.inventory;
+
+public record InventoryStock(int quantity, int reservedQuantity) {
+}
@@ -16,6 +16,7 @@ import static com.commerce.platform.product.service.dataaccess.jooq.tables.Produ
 import static org.jooq.impl.DSL.*;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -55,11 +56,6 @@ public class ProductOutboxRepositoryImpl implements ProductOutboxRepository {
                 .collect(Collectors.toList());
     }
 
-    @Override
-    public void deleteByOutboxStatus(OutboxStatus outboxStatus) {
-        outboxJpaRepository.deleteByOutboxStatus(outboxStatus);
-    }
-
     @Override
     public List<ProductOutboxMessage> findByOutboxStatus(OutboxStatus outboxStatus, int limit) {
         return outboxJpaRepository.findByOutboxStatus(outboxStatus, org.springframework.data.domain.PageRequest.of(0, limit))
@@ -67,48 +63,57 @@ public class ProductOutboxRepositoryImpl implements ProductOutboxRepository {
                 .map(outboxDataAccessMapper::productOutboxEntityToOutboxMessage)
                 .collect(Collectors.toList());
     }
-    
+
     @Override
-    public List<ProductOutboxMessage> findByOutboxStatusWithSkipLock(OutboxStatus outboxStatus, int limit) {
-        var result = dsl.selectFrom(PRODUCT_OUTBOX)
-            .where(PRODUCT_OUTBOX.OUTBOX_STATUS.eq(outboxStatus.name()))
-            .orderBy(PRODUCT_OUTBOX.CREATED_AT)
-            .limit(limit)
-            .forUpdate().skipLocked()
-            .fetch();
-        
-        return result.map(this::mapToProductOutboxMessage);
+    public Optional<ProductOutboxMessage> findById(UUID id) {
+        return outboxJpaRepository.findById(id)
+                .map(outboxDataAccessMapper::productOutboxEntityToOutboxMessage);
     }
-    
+
     @Override
-    public List<ProductOutboxMessage> findByOutboxStatusAndFetchedAtBefore(OutboxStatus outboxStatus, ZonedDateTime fetchedAtBefore, int limit) {
-        var result = dsl.selectFrom(PRODUCT_OUTBOX)
-            .where(PRODUCT_OUTBOX.OUTBOX_STATUS.eq(outboxStatus.name())
-                .and(PRODUCT_OUTBOX.FETCHED_AT.lt(fetchedAtBefore.toLocalDateTime())))
+    @Transactional
+    public List<ProductOutboxMessage> claimByLease(Collection<Integer> shards, String leaseOwner, ZonedDateTime now, ZonedDateTime leaseExpiresAt, int limit) {
+        if (shards.isEmpty()) {
+            return List.of();
+        }
+
+        int claimedCount = dsl.update(PRODUCT_OUTBOX)
+            .set(PRODUCT_OUTBOX.OUTBOX_STATUS, OutboxStatus.PROCESSING.name())
+            .set(PRODUCT_OUTBOX.FETCHED_AT, now.toLocalDateTime())
+            .set(PRODUCT_OUTBOX.LEASE_OWNER, leaseOwner)
+            .set(PRODUCT_OUTBOX.LEASE_EXPIRES_AT, leaseExpiresAt.toLocalDateTime())
+            .where(PRODUCT_OUTBOX.SHARD.in(shards)
+                .and(PRODUCT_OUTBOX.OUTBOX_STATUS.eq(OutboxStatus.STARTED.name())
+                    .or(PRODUCT_OUTBOX.OUTBOX_STATUS.eq(OutboxStatus.PROCESSING.name())
+                        .and(PRODUCT_OUTBOX.LEASE_EXPIRES_AT.lt(now.toLocalDateTime())))))
             .orderBy(PRODUCT_OUTBOX.CREATED_AT)
             .limit(limit)
-            .fetch();
-        
-        return result.map(this::mapToProductOutboxMessage);
-    }
-    
-    @Override
-    public Optional<ProductOutboxMessage> findById(UUID id) {
-        return outboxJpaRepository.findById(id)
-                .map(outboxDataAccessMapper::productOutboxEntityToOutboxMessage);
+            .execute();
+
+        if (claimedCount == 0) {
+            return List.of();
+        }
+
+        return dsl.selectFrom(PRODUCT_OUTBOX)
+            .where(PRODUCT_OUTBOX.OUTBOX_STATUS.eq(OutboxStatus.PROCESSING.name())
+                .and(PRODUCT_OUTBOX.LEASE_EXPIRES_AT.eq(leaseExpiresAt.toLocalDateTime()))
+                .and(PRODUCT_OUTBOX.LEASE_OWNER.eq(leaseOwner)))
+            .orderBy(PRODUCT_OUTBOX.CREATED_AT)
+            .fetch()
+            .map(this::mapToProductOutboxMessage);
     }
-    
+
     @Override
     @Transactional
-    public int bulkUpdateStatusAndFetchedAt(List<UUID> ids, OutboxStatus status, ZonedDateTime fetchedAt) {
+    public int bulkUpdateStatusAndProcessedAt(List<UUID> ids, OutboxStatus status, ZonedDateTime processedAt) {
         if (ids.isEmpty()) {
             return 0;
         }
 
         return dsl.update(PRODUCT_OUTBOX)
             .set(PRODUCT_OUTBOX.OUTBOX_STATUS, status.name())
-            .set(PRODUCT_OUTBOX.FETCHED_AT, fetchedAt != null ? 
-                fetchedAt.toLocalDateTime() : null)
+            .set(PRODUCT_OUTBOX.PROCESSED_AT, processedAt.toLocalDateTime())
+            .set(PRODUCT_OUTBOX.VERSION, PRODUCT_OUTBOX.VERSION.plus(1))
             .where(PRODUCT_OUTBOX.ID.in(ids))
             .execute();
     }
@@ -118,14 +123,19 @@ public class ProductOutboxRepositoryImpl implements ProductOutboxRepository {
                 .id(record.getValue(PRODUCT_OUTBOX.ID))
                 .messageId(record.getValue(PRODUCT_OUTBOX.MESSAGE_ID))
                 .sagaId(record.getValue(PRODUCT_OUTBOX.SAGA_ID))
+                .shard(record.getValue(PRODUCT_OUTBOX.SHARD))
                 .type(ServiceMessageType.valueOf(record.getValue(PRODUCT_OUTBOX.TYPE)))
-                .payload(record.getValue(PRODUCT_OUTBOX.PAYLOAD).data())
+                .payload(record.getValue(PRODUCT_OUTBOX.PAYLOAD))
+                .payloadSchemaId(record.getValue(PRODUCT_OUTBOX.PAYLOAD_SCHEMA_ID))
                 .outboxStatus(OutboxStatus.valueOf(record.getValue(PRODUCT_OUTBOX.OUTBOX_STATUS)))
                 .createdAt(record.getValue(PRODUCT_OUTBOX.CREATED_AT).atZone(ZoneOffset.UTC))
                 .processedAt(record.getValue(PRODUCT_OUTBOX.PROCESSED_AT) != null ? 
                     record.getValue(PRODUCT_OUTBOX.PROCESSED_AT).atZone(ZoneOffset.UTC) : null)
                 .fetchedAt(record.getValue(PRODUCT_OUTBOX.FETCHED_AT) != null ? 
                     record.getValue(PRODUCT_OUTBOX.FETCHED_AT).atZone(ZoneOffset.UTC) : null)
+                .leaseOwner(record.getValue(PRODUCT_OUTBOX.LEASE_OWNER))
+                .leaseExpiresAt(record.getValue(PRODUCT_OUTBOX.LEASE_EXPIRES_AT) != null ? 
+                    record.getValue(PRODUCT_OUTBOX.LEASE_EXPIRES_AT).atZone(ZoneOffset.UTC) : null)
                 .version(record.getValue(PRODUCT_OUTBOX.VERSION))
                 .build();
     }
@@ -0,0 +1,105 @@
+package com.commerce.platform.product.service.dataaccess.outbox.adapter;
+
+import com.commerce.platform.product.service.domain.ports.output.repository.ProductOutboxShardRepository;
+import lombok.RequiredArgsConstructor;
+import org.jooq.DSLContext;
+import org.springframework.stereotype.Component;
+
+import static com.commerce.platform.product.service.dataaccess.jooq.tables.ProductOutboxDispatcher.PRODUCT_OUTBOX_DISPATCHER;
+import static com.commerce.platform.product.service.dataaccess.jooq.tables.ProductOutboxShard.PRODUCT_OUTBOX_SHARD;
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class ProductOutboxShardRepositoryImpl implements ProductOutboxShardRepository {
+
+    private final DSLContext dsl;
+
+    @Override
+    public void createShards(int shardCount) {
+        var insert = dsl.insertInto(PRODUCT_OUTBOX_SHARD, PRODUCT_OUTBOX_SHARD.SHARD);
+        for (int shard = 0; shard < shardCount; shard++) {
+            insert = insert.values(shard);
+        }
+        insert.onDuplicateKeyIgnore().execute();
+    }
+
+    @Override
+    public void heartbeat(String instanceId, ZonedDateTime expiresAt) {
+        dsl.insertInto(PRODUCT_OUTBOX_DISPATCHER)
+                .set(PRODUCT_OUTBOX_DISPATCHER.INSTANCE_ID, instanceId)
+                .set(PRODUCT_OUTBOX_DISPATCHER.HEARTBEAT_EXPIRES_AT, expiresAt.toLocalDateTime())
+                .onDuplicateKeyUpdate()
+                .set(PRODUCT_OUTBOX_DISPATCHER.HEARTBEAT_EXPIRES_AT, expiresAt.toLocalDateTime())
+                .execute();
+    }
+
+    @Override
+    public void removeExpiredInstances(ZonedDateTime now) {
+        dsl.deleteFrom(PRODUCT_OUTBOX_DISPATCHER)
+                .where(PRODUCT_OUTBOX_DISPATCHER.HEARTBEAT_EXPIRES_AT.lt(now.toLocalDateTime()))
+                .execute();
+    }
+
+    @Override
+    public void removeInstance(String instanceId) {
+        dsl.deleteFrom(PRODUCT_OUTBOX_DISPATCHER)
+                .where(PRODUCT_OUTBOX_DISPATCHER.INSTANCE_ID.eq(instanceId))
+                .execute();
+    }
+
+    @Override
+    public int countLiveInstances(ZonedDateTime now) {
+        return dsl.fetchCount(PRODUCT_OUTBOX_DISPATCHER,
+                PRODUCT_OUTBOX_DISPATCHER.HEARTBEAT_EXPIRES_AT.ge(now.toLocalDateTime()));
+    }
+
+    @Override
+    public List<Integer> renewShards(String owner, ZonedDateTime expiresAt) {
+        dsl.update(PRODUCT_OUTBOX_SHARD)
+                .set(PRODUCT_OUTBOX_SHARD.LEASE_EXPIRES_AT, expiresAt.toLocalDateTime())
+                .where(PRODUCT_OUTBOX_SHARD.OWNER.eq(owner))
+                .execute();
+
+        return findOwnedShards(owner);
+    }
+
+    @Override
+    public List<Integer> acquireShards(String owner, ZonedDateTime now, ZonedDateTime expiresAt, int limit) {
+        dsl.update(PRODUCT_OUTBOX_SHARD)
+                .set(PRODUCT_OUTBOX_SHARD.OWNER, owner)
+                .set(PRODUCT_OUTBOX_SHARD.LEASE_EXPIRES_AT, expiresAt.toLocalDateTime())
+                .where(PRODUCT_OUTBOX_SHARD.OWNER.isNull()
+                        .or(PRODUCT_OUTBOX_SHARD.LEASE_EXPIRES_AT.lt(now.toLocalDateTime())))
+                .orderBy(PRODUCT_OUTBOX_SHARD.SHARD)
+                .limit(limit)
+                .execute();
+
+        return findOwnedShards(owner);
+    }
+
+    @Override
+    public void releaseShards(String owner, Collection<Integer> shards) {
+        if (shards.isEmpty()) {
+            return;
+        }
+
+        dsl.update(PRODUCT_OUTBOX_SHARD)
+                .set(PRODUCT_OUTBOX_SHARD.OWNER, (String) null)
+                .set(PRODUCT_OUTBOX_SHARD.LEASE_EXPIRES_AT, (LocalDateTime) null)
+                .where(PRODUCT_OUTBOX_SHARD.OWNER.eq(owner)
+                        .and(PRODUCT_OUTBOX_SHARD.SHARD.in(shards)))
+                .execute();
+    }
+
+    private List<Integer> findOwnedShards(String owner) {
+        return dsl.select(PRODUCT_OUTBOX_SHARD.SHARD)
+                .from(PRODUCT_OUTBOX_SHARD)
+                .where(PRODUCT_OUTBOX_SHARD.OWNER.eq(owner))
+                .orderBy(PRODUCT_OUTBOX_SHARD.SHARD)
+                .fetch(PRODUCT_OUTBOX_SHARD.SHARD);
+    }
+}
@@ -22,12 +22,16 @@ public class ProductOutboxEntity {
     private UUID id;
     private UUID messageId;
     private UUID sagaId;
+    private int shard;
     private ZonedDateTime createdAt;
     private ZonedDateTime fetchedAt;
+    private String leaseOwner;
+    private ZonedDateTime leaseExpiresAt;
     private ZonedDateTime processedAt;
     @Enumerated(EnumType.STRING)
     private ServiceMessageType type;
-    private String payload;
+    private byte[] payload;
+    private Integer payloadSchemaId;
     @Enumerated(EnumType.STRING)
     private OutboxStatus outboxStatus;
     @Version
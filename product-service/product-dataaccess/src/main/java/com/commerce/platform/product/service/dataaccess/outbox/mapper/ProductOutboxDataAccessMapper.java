@@ -13,11 +13,15 @@ public class ProductOutboxDataAccessMapper {
                 .id(outboxMessage.getId())
                 .messageId(outboxMessage.getMessageId())
                 .sagaId(outboxMessage.getSagaId())
+                .shard(outboxMessage.getShard())
                 .createdAt(outboxMessage.getCreatedAt())
                 .fetchedAt(outboxMessage.getFetchedAt())
+                .leaseOwner(outboxMessage.getLeaseOwner())
+                .leaseExpiresAt(outboxMessage.getLeaseExpiresAt())
                 .processedAt(outboxMessage.getProcessedAt())
                 .type(outboxMessage.getType())
                 .payload(outboxMessage.getPayload())
+                .payloadSchemaId(outboxMessage.getPayloadSchemaId())
                 .outboxStatus(outboxMessage.getOutboxStatus())
                 .version(outboxMessage.getVersion())
                 .build();
@@ -29,11 +33,15 @@ public class ProductOutboxDataAccessMapper {
                 .id(outboxEntity.getId())
                 .messageId(outboxEntity.getMessageId())
                 .sagaId(outboxEntity.getSagaId())
+                .shard(outboxEntity.getShard())
                 .createdAt(outboxEntity.getCreatedAt())
                 .fetchedAt(outboxEntity.getFetchedAt())
+                .leaseOwner(outboxEntity.getLeaseOwner())
+                .leaseExpiresAt(outboxEntity.getLeaseExpiresAt())
                 .processedAt(outboxEntity.getProcessedAt())
                 .type(outboxEntity.getType())
                 .payload(outboxEntity.getPayload())
+                .payloadSchemaId(outboxEntity.getPayloadSchemaId())
                 .outboxStatus(outboxEntity.getOutboxStatus())
                 .version(outboxEntity.getVersion())
                 .build();
@@ -1,27 +1,38 @@
 package com.commerce.platform.product.service.dataaccess.product.adapter;
 
 import com.commerce.platform.product.service.dataaccess.product.entity.ProductEntity;
+import com.commerce.platform.product.service.dataaccess.product.entity.ProductStockBucketEntity;
 import com.commerce.platform.product.service.dataaccess.product.mapper.ProductDataAccessMapper;
 import com.commerce.platform.product.service.dataaccess.product.repository.ProductJpaRepository;
+import com.commerce.platform.product.service.dataaccess.product.repository.ProductStockBucketJpaRepository;
 import com.commerce.platform.product.service.domain.entity.Product;
+import com.commerce.platform.product.service.domain.entity.ProductReservation;
 import com.commerce.platform.product.service.domain.ports.output.repository.ProductRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Component
 public class ProductRepositoryImpl implements ProductRepository {
     
     private final ProductJpaRepository productJpaRepository;
+    private final ProductStockBucketJpaRepository productStockBucketJpaRepository;
+    private final ProductStockBucketAllocator productStockBucketAllocator;
     private final ProductDataAccessMapper productDataAccessMapper;
 
     public ProductRepositoryImpl(ProductJpaRepository productJpaRepository,
+                                 ProductStockBucketJpaRepository productStockBucketJpaRepository,
+                                 ProductStockBucketAllocator productStockBucketAllocator,
                                  ProductDataAccessMapper productDataAccessMapper) {
         this.productJpaRepository = productJpaRepository;
+        this.productStockBucketJpaRepository = productStockBucketJpaRepository;
+        this.productStockBucketAllocator = productStockBucketAllocator;
         this.productDataAccessMapper = productDataAccessMapper;
     }
 
@@ -46,20 +57,112 @@ public class ProductRepositoryImpl implements ProductRepository {
     @Override
     public Optional<Product> findById(UUID productId) {
         return productJpaRepository.findById(productId)
-                .map(productDataAccessMapper::productEntityToProduct);
+                .map(productEntity -> withBucketStock(List.of(productEntity)).get(0));
     }
 
     @Override
     public List<Product> findByIds(List<UUID> productIds) {
         List<ProductEntity> productEntities = productJpaRepository.findByIdIn(productIds);
-        log.info("Found {} products for {} requested product IDs", productEntities.size(), productIds.size());
-        return productDataAccessMapper.productEntitiesToProducts(productEntities);
+        if (log.isDebugEnabled()) {
+            log.debug("Found {} products for {} requested product IDs", productEntities.size(), productIds.size());
+        }
+        return withBucketStock(productEntities);
     }
 
     @Override
     public List<Product> findByIdsForUpdate(List<UUID> productIds) {
         List<ProductEntity> productEntities = productJpaRepository.findByIdsForUpdate(productIds);
-        log.info("Found {} products with X-lock for {} requested product IDs", productEntities.size(), productIds.size());
-        return productDataAccessMapper.productEntitiesToProducts(productEntities);
+        if (log.isDebugEnabled()) {
+            log.debug("Found {} products with X-lock for {} requested product IDs", productEntities.size(), productIds.size());
+        }
+        return withBucketStock(productEntities);
     }
-} 
\ No newline at end of file
+
+    @Override
+    public boolean reserveQuantity(ProductReservation reservation) {
+        UUID productId = reservation.getProductId().getValue();
+        if (reservation.getStockBucket() != null) {
+            return productStockBucketJpaRepository.reserveQuantity(productId, reservation.getStockBucket(), reservation.getQuantity()) == 1;
+        }
+        Integer stockBucketCount = productJpaRepository.findStockBucketCountById(productId);
+        if (stockBucketCount == null) {
+            return false;
+        }
+        if (stockBucketCount == 0) {
+            return productJpaRepository.reserveQuantity(productId, reservation.getQuantity()) == 1;
+        }
+        Optional<Integer> bucketNo = productStockBucketAllocator.reserve(productId, reservation.getQuantity());
+        bucketNo.ifPresent(reservation::assignStockBucket);
+        return bucketNo.isPresent();
+    }
+
+    @Override
+    public boolean reserveTotalQuantity(UUID productId, int totalQuantity) {
+        return productJpaRepository.reserveQuantity(productId, totalQuantity) == 1;
+    }
+
+    @Override
+    public boolean releaseReservedQuantity(ProductReservation reservation) {
+        UUID productId = reservation.getProductId().getValue();
+        if (reservation.getStockBucket() != null) {
+            return productStockBucketJpaRepository.releaseReservedQuantity(productId, reservation.getStockBucket(), reservation.getQuantity()) == 1;
+        }
+        return productJpaRepository.releaseReservedQuantity(productId, reservation.getQuantity()) == 1;
+    }
+
+    @Override
+    public boolean releaseTotalQuantity(UUID productId, int totalQuantity) {
+        return productJpaRepository.releaseReservedQuantity(productId, totalQuantity) == 1;
+    }
+
+    @Override
+    public boolean confirmReservedQuantity(ProductReservation reservation) {
+        UUID productId = reservation.getProductId().getValue();
+        if (reservation.getStockBucket() != null) {
+            return productStockBucketJpaRepository.confirmReservedQuantity(productId, reservation.getStockBucket(), reservation.getQuantity()) == 1;
+        }
+        return productJpaRepository.confirmReservedQuantity(productId, reservation.getQuantity()) == 1;
+    }
+
+    @Override
+    public boolean revertConfirmedQuantity(ProductReservation reservation) {
+        UUID productId = reservation.getProductId().getValue();
+        if (reservation.getStockBucket() != null) {
+            return productStockBucketJpaRepository.revertConfirmedQuantity(productId, reservation.getStockBucket(), reservation.getQuantity()) == 1;
+        }
+        return productJpaRepository.revertConfirmedQuantity(productId, reservation.getQuantity()) == 1;
+    }
+
+    @Override
+    public boolean updateStockBucketCount(UUID productId, int bucketCount) {
+        List<ProductEntity> productEntities = productJpaRepository.findByIdsForUpdate(List.of(productId));
+        if (productEntities.isEmpty()) {
+            return false;
+        }
+        productStockBucketAllocator.redistribute(productEntities.get(0), bucketCount);
+        log.info("Stock of product {} is split into {} buckets", productId, bucketCount);
+        return true;
+    }
+
+    private List<Product> withBucketStock(List<ProductEntity> productEntities) {
+        List<Product> products = productDataAccessMapper.productEntitiesToProducts(productEntities);
+        List<UUID> bucketedProductIds = productEntities.stream()
+                .filter(productEntity -> productEntity.getStockBucketCount() > 0)
+                .map(ProductEntity::getId)
+                .toList();
+        if (bucketedProductIds.isEmpty()) {
+            return products;
+        }
+        Map<UUID, List<ProductStockBucketEntity>> bucketsByProductId = productStockBucketJpaRepository
+                .findByProductIdIn(bucketedProductIds).stream()
+                .collect(Collectors.groupingBy(ProductStockBucketEntity::getProductId));
+        for (Product product : products) {
+            List<ProductStockBucketEntity> buckets = bucketsByProductId.get(product.getId().getValue());
+            if (buckets != null) {
+                product.setQuantity(buckets.stream().mapToInt(ProductStockBucketEntity::getQuantity).sum());
+                product.setReservedQuantity(buckets.stream().mapToInt(ProductStockBucketEntity::getReservedQuantity).sum());
+            }
+        }
+        return products;
+    }
+}
@@ -8,8 +8,10 @@ import com.commerce.platform.product.service.dataaccess.product.repository.Produ
 import com.commerce.platform.product.service.domain.entity.ProductReservation;
 import com.commerce.platform.product.service.domain.ports.output.repository.ProductReservationRepository;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
 
+import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -57,6 +59,28 @@ public class ProductReservationRepositoryImpl implements ProductReservationRepos
         return productReservationDataAccessMapper.productReservationEntitiesToProductReservations(productReservationEntities);
     }
 
+    @Override
+    public List<ProductReservation> findByOrderIdsForUpdate(List<OrderId> orderIds) {
+        List<ProductReservationEntity> productReservationEntities = productReservationJpaRepository.findByOrderIdsForUpdate(
+                orderIds.stream().map(OrderId::getValue).toList());
+        return productReservationDataAccessMapper.productReservationEntitiesToProductReservations(productReservationEntities);
+    }
+
+    @Override
+    public List<ProductReservation> findExpiredForUpdate(ZonedDateTime now, int limit) {
+        List<ProductReservationEntity> productReservationEntities = productReservationJpaRepository.findExpiredForUpdate(now, PageRequest.of(0, limit));
+        return productReservationDataAccessMapper.productReservationEntitiesToProductReservations(productReservationEntities);
+    }
+
+    @Override
+    public long markExpired(List<ProductReservation> productReservations, ZonedDateTime expiredAt) {
+        long expiredCount = productReservationJpaRepository.markExpired(
+                productReservations.stream().map(productReservation -> productReservation.getId().getValue()).toList(),
+                expiredAt);
+        log.info("{} product reservations are marked as expired", expiredCount);
+        return expiredCount;
+    }
+
     @Override
     public List<ProductReservation> findByProductId(ProductId productId) {
         List<ProductReservationEntity> productReservationEntities = productReservationJpaRepository.findByProductId(productId.getValue());
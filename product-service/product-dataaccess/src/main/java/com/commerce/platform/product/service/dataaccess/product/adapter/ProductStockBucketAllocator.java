@@ -0,0 +1,141 @@
+package com.commerce.platform.product.service.dataaccess.product.adapter;
+
+import com.commerce.platform.product.service.dataaccess.product.entity.ProductEntity;
+import com.commerce.platform.product.service.dataaccess.product.entity.ProductReservationEntity;
+import com.commerce.platform.product.service.dataaccess.product.entity.ProductStockBucketEntity;
+import com.commerce.platform.product.service.dataaccess.product.repository.ProductReservationJpaRepository;
+import com.commerce.platform.product.service.dataaccess.product.repository.ProductStockBucketJpaRepository;
+import com.commerce.platform.product.service.dataaccess.product.repository.ProductStockBucketStock;
+import com.commerce.platform.product.service.domain.valueobject.ProductReservationStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 재고를 여러 bucket row 로 나눠 둔 hot product 의 예약을 bucket 단위로 처리한다.
+ * 예약은 남은 재고가 있는 bucket 하나만 갱신하고, 어느 bucket 에도 통째로 들어가지 않으면 다른 bucket 의 가용 재고를 빌려 온다.
+ */
+@Slf4j
+@Component
+public class ProductStockBucketAllocator {
+
+    private final ProductStockBucketJpaRepository productStockBucketJpaRepository;
+    private final ProductReservationJpaRepository productReservationJpaRepository;
+
+    public ProductStockBucketAllocator(ProductStockBucketJpaRepository productStockBucketJpaRepository,
+                                       ProductReservationJpaRepository productReservationJpaRepository) {
+        this.productStockBucketJpaRepository = productStockBucketJpaRepository;
+        this.productReservationJpaRepository = productReservationJpaRepository;
+    }
+
+    public Optional<Integer> reserve(UUID productId, int quantity) {
+        List<ProductStockBucketStock> buckets = productStockBucketJpaRepository.findStocksByProductId(productId);
+        if (buckets.isEmpty()) {
+            return Optional.empty();
+        }
+        int start = ThreadLocalRandom.current().nextInt(buckets.size());
+        for (int i = 0; i < buckets.size(); i++) {
+            ProductStockBucketStock bucket = buckets.get((start + i) % buckets.size());
+            if (bucket.available() >= quantity
+                    && productStockBucketJpaRepository.reserveQuantity(productId, bucket.bucketNo(), quantity) == 1) {
+                return Optional.of(bucket.bucketNo());
+            }
+        }
+        return borrowAndReserve(productId, buckets.get(start).bucketNo(), quantity);
+    }
+
+    // 빌려 주는 쪽과 받는 쪽이 엇갈린 두 예약이 deadlock 에 빠지지 않도록 bucket 을 bucket_no 순서로 모두 잠근 뒤 최신 수량으로 옮긴다
+    private Optional<Integer> borrowAndReserve(UUID productId, int targetBucketNo, int quantity) {
+        List<ProductStockBucketStock> buckets = productStockBucketJpaRepository.findStocksByProductIdForUpdate(productId);
+        int totalAvailable = buckets.stream().mapToInt(ProductStockBucketStock::available).sum();
+        if (totalAvailable < quantity) {
+            return Optional.empty();
+        }
+        int targetAvailable = buckets.stream()
+                .filter(bucket -> bucket.bucketNo() == targetBucketNo)
+                .mapToInt(ProductStockBucketStock::available)
+                .findFirst()
+                .orElse(0);
+        int needed = quantity - Math.max(0, targetAvailable);
+        for (ProductStockBucketStock donor : buckets) {
+            if (needed <= 0) {
+                break;
+            }
+            int borrowed = Math.min(needed, donor.available());
+            if (donor.bucketNo() == targetBucketNo || borrowed <= 0) {
+                continue;
+            }
+            if (productStockBucketJpaRepository.takeAvailableQuantity(productId, donor.bucketNo(), borrowed) == 1) {
+                productStockBucketJpaRepository.addQuantity(productId, targetBucketNo, borrowed);
+                needed -= borrowed;
+            }
+        }
+        if (productStockBucketJpaRepository.reserveQuantity(productId, targetBucketNo, quantity) == 1) {
+            log.debug("Borrowed stock into bucket {} of product {} for quantity {}", targetBucketNo, productId, quantity);
+            return Optional.of(targetBucketNo);
+        }
+        return Optional.empty();
+    }
+
+    public void redistribute(ProductEntity product, int bucketCount) {
+        UUID productId = product.getId();
+        List<ProductStockBucketEntity> buckets = productStockBucketJpaRepository.findByProductIdForUpdate(productId);
+        int quantity = product.getQuantity() + buckets.stream().mapToInt(ProductStockBucketEntity::getQuantity).sum();
+        int reservedQuantity = product.getReservedQuantity()
+                + buckets.stream().mapToInt(ProductStockBucketEntity::getReservedQuantity).sum();
+        productStockBucketJpaRepository.deleteAll(buckets);
+        productStockBucketJpaRepository.flush();
+
+        List<ProductReservationEntity> pendingReservations =
+                productReservationJpaRepository.findByProductIdAndStatus(productId, ProductReservationStatus.PENDING);
+        if (bucketCount == 0) {
+            pendingReservations.forEach(reservation -> reservation.setStockBucket(null));
+            product.setQuantity(quantity);
+            product.setReservedQuantity(reservedQuantity);
+            product.setStockBucketCount(0);
+            return;
+        }
+
+        // 진행 중인 예약을 bucket 에 다시 배정하고, bucket 의 reserved 는 배정된 예약 수량의 합으로 맞춘다
+        int[] reserved = new int[bucketCount];
+        pendingReservations.stream()
+                .sorted(Comparator.comparing(ProductReservationEntity::getQuantity).reversed())
+                .forEach(reservation -> {
+                    int bucketNo = leastReservedBucket(reserved);
+                    reservation.setStockBucket(bucketNo);
+                    reserved[bucketNo] += reservation.getQuantity();
+                });
+
+        int available = quantity - reservedQuantity;
+        List<ProductStockBucketEntity> newBuckets = new ArrayList<>(bucketCount);
+        for (int bucketNo = 0; bucketNo < bucketCount; bucketNo++) {
+            int bucketAvailable = available / bucketCount + (bucketNo < available % bucketCount ? 1 : 0);
+            newBuckets.add(ProductStockBucketEntity.builder()
+                    .productId(productId)
+                    .bucketNo(bucketNo)
+                    .quantity(reserved[bucketNo] + bucketAvailable)
+                    .reservedQuantity(reserved[bucketNo])
+                    .build());
+        }
+        productStockBucketJpaRepository.saveAll(newBuckets);
+        product.setQuantity(0);
+        product.setReservedQuantity(0);
+        product.setStockBucketCount(bucketCount);
+    }
+
+    private int leastReservedBucket(int[] reserved) {
+        int bucketNo = 0;
+        for (int i = 1; i < reserved.length; i++) {
+            if (reserved[i] < reserved[bucketNo]) {
+                bucketNo = i;
+            }
+        }
+        return bucketNo;
+    }
+}
@@ -23,6 +23,8 @@ public class ProductEntity {
     private BigDecimal price;
     private Integer quantity;
     private Integer reservedQuantity;
+    @Builder.Default
+    private Integer stockBucketCount = 0;
     private Boolean enabled;
     private ZonedDateTime createdAt;
 
@@ -21,9 +21,12 @@ public class ProductReservationEntity {
     private UUID id;
     private UUID productId;
     private UUID orderId;
+    private UUID sagaId;
     private Integer quantity; 
     @Enumerated(EnumType.STRING)
     private ProductReservationStatus status;
+    private Integer stockBucket;
+    private ZonedDateTime expiresAt;
     private ZonedDateTime createdAt;
     private ZonedDateTime updatedAt;
 
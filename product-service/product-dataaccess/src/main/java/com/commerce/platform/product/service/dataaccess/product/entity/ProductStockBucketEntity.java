@@ -0,0 +1,38 @@
+package com.commerce.platform.product.service.dataaccess.product.entity;
+
+import lombok.*;
+
+import jakarta.persistence.*;
+import java.util.Objects;
+import java.util.UUID;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@IdClass(ProductStockBucketEntityId.class)
+@Table(name = "product_stock_buckets")
+@Entity
+public class ProductStockBucketEntity {
+
+    @Id
+    private UUID productId;
+    @Id
+    private Integer bucketNo;
+    private Integer quantity;
+    private Integer reservedQuantity;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ProductStockBucketEntity that = (ProductStockBucketEntity) o;
+        return Objects.equals(productId, that.productId) && Objects.equals(bucketNo, that.bucketNo);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(productId, bucketNo);
+    }
+}
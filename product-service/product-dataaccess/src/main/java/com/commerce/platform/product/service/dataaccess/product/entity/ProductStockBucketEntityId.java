@@ -0,0 +1,31 @@
+package com.commerce.platform.product.service.dataaccess.product.entity;
+
+import lombok.*;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.UUID;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductStockBucketEntityId implements Serializable {
+
+    private UUID productId;
+    private Integer bucketNo;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ProductStockBucketEntityId that = (ProductStockBucketEntityId) o;
+        return productId.equals(that.productId) && bucketNo.equals(that.bucketNo);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(productId, bucketNo);
+    }
+}
@@ -20,6 +20,7 @@ public class ProductDataAccessMapper {
                 .quantity(product.getQuantity())
                 .reservedQuantity(product.getReservedQuantity())
                 .enabled(product.isEnabled())
+                .stockBucketCount(product.getStockBucketCount())
                 .createdAt(product.getCreatedAt())
                 .build();
     }
@@ -32,6 +33,7 @@ public class ProductDataAccessMapper {
                 .quantity(productEntity.getQuantity())
                 .reservedQuantity(productEntity.getReservedQuantity())
                 .enabled(productEntity.getEnabled())
+                .stockBucketCount(productEntity.getStockBucketCount())
                 .createdAt(productEntity.getCreatedAt())
                 .build();
     }
@@ -3,6 +3,7 @@ package com.commerce.platform.product.service.dataaccess.product.mapper;
 import com.commerce.platform.product.service.dataaccess.product.entity.ProductReservationEntity;
 import com.commerce.platform.product.service.domain.entity.ProductReservation;
 import com.commerce.platform.product.service.domain.valueobject.ProductReservationId;
+import com.commerce.platform.product.service.domain.valueobject.SagaId;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -18,8 +19,11 @@ public class ProductReservationDataAccessMapper {
                 .id(productReservation.getId().getValue())
                 .productId(productReservation.getProductId().getValue())
                 .orderId(productReservation.getOrderId().getValue())
+                .sagaId(productReservation.getSagaId() != null ? productReservation.getSagaId().getValue() : null)
                 .quantity(productReservation.getQuantity())
                 .status(productReservation.getStatus())
+                .stockBucket(productReservation.getStockBucket())
+                .expiresAt(productReservation.getExpiresAt())
                 .createdAt(productReservation.getCreatedAt())
                 .updatedAt(productReservation.getUpdatedAt())
                 .build();
@@ -30,8 +34,11 @@ public class ProductReservationDataAccessMapper {
                 .productReservationId(new ProductReservationId(productReservationEntity.getId()))
                 .productId(new ProductId(productReservationEntity.getProductId()))
                 .orderId(new OrderId(productReservationEntity.getOrderId()))
+                .sagaId(productReservationEntity.getSagaId() != null ? new SagaId(productReservationEntity.getSagaId()) : null)
                 .quantity(productReservationEntity.getQuantity())
                 .status(productReservationEntity.getStatus())
+                .stockBucket(productReservationEntity.getStockBucket())
+                .expiresAt(productReservationEntity.getExpiresAt())
                 .createdAt(productReservationEntity.getCreatedAt())
                 .updatedAt(productReservationEntity.getUpdatedAt())
                 .build();
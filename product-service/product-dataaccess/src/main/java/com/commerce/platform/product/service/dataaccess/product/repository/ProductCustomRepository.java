@@ -7,4 +7,16 @@ import java.util.UUID;
 
 public interface ProductCustomRepository {
     List<ProductEntity> findByIdsForUpdate(List<UUID> productIds);
+
+    long reserveQuantity(UUID productId, int quantity);
+
+    long releaseReservedQuantity(UUID productId, int quantity);
+
+    long confirmReservedQuantity(UUID productId, int quantity);
+
+    long revertConfirmedQuantity(UUID productId, int quantity);
+
+    Integer findStockBucketCountById(UUID productId);
+
+    long overwriteStock(UUID productId, int quantity, int reservedQuantity);
 } 
\ No newline at end of file
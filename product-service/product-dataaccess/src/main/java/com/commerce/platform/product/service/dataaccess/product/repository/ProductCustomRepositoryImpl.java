@@ -37,4 +37,65 @@ public class ProductCustomRepositoryImpl implements ProductCustomRepository {
 
         return products;
     }
-} 
\ No newline at end of file
+
+    @Override
+    public long reserveQuantity(UUID productId, int quantity) {
+        return queryFactory
+                .update(product)
+                .set(product.reservedQuantity, product.reservedQuantity.add(quantity))
+                .where(product.id.eq(productId),
+                        product.quantity.subtract(product.reservedQuantity).goe(quantity))
+                .execute();
+    }
+
+    @Override
+    public long releaseReservedQuantity(UUID productId, int quantity) {
+        return queryFactory
+                .update(product)
+                .set(product.reservedQuantity, product.reservedQuantity.subtract(quantity))
+                .where(product.id.eq(productId),
+                        product.reservedQuantity.goe(quantity))
+                .execute();
+    }
+
+    @Override
+    public long confirmReservedQuantity(UUID productId, int quantity) {
+        return queryFactory
+                .update(product)
+                .set(product.quantity, product.quantity.subtract(quantity))
+                .set(product.reservedQuantity, product.reservedQuantity.subtract(quantity))
+                .where(product.id.eq(productId),
+                        product.reservedQuantity.goe(quantity),
+                        product.quantity.goe(quantity))
+                .execute();
+    }
+
+    @Override
+    public long revertConfirmedQuantity(UUID productId, int quantity) {
+        return queryFactory
+                .update(product)
+                .set(product.quantity, product.quantity.add(quantity))
+                .set(product.reservedQuantity, product.reservedQuantity.add(quantity))
+                .where(product.id.eq(productId))
+                .execute();
+    }
+
+    @Override
+    public Integer findStockBucketCountById(UUID productId) {
+        return queryFactory
+                .select(product.stockBucketCount)
+                .from(product)
+                .where(product.id.eq(productId))
+                .fetchOne();
+    }
+
+    @Override
+    public long overwriteStock(UUID productId, int quantity, int reservedQuantity) {
+        return queryFactory
+                .update(product)
+                .set(product.quantity, quantity)
+                .set(product.reservedQuantity, reservedQuantity)
+                .where(product.id.eq(productId))
+                .execute();
+    }
+}
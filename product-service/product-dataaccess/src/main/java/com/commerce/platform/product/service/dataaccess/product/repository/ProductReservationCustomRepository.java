@@ -0,0 +1,13 @@
+package com.commerce.platform.product.service.dataaccess.product.repository;
+
+import com.commerce.platform.product.service.dataaccess.product.entity.ProductReservationEntity;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface ProductReservationCustomRepository {
+    List<ProductReservationEntity> findByOrderIdsForUpdate(List<UUID> orderIds);
+
+    long markExpired(List<UUID> reservationIds, ZonedDateTime expiredAt);
+}
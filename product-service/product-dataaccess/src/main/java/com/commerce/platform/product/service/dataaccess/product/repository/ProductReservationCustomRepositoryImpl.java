@@ -0,0 +1,53 @@
+package com.commerce.platform.product.service.dataaccess.product.repository;
+
+import com.commerce.platform.product.service.dataaccess.product.entity.ProductReservationEntity;
+import com.commerce.platform.product.service.dataaccess.product.entity.QProductReservationEntity;
+import com.commerce.platform.product.service.domain.valueobject.ProductReservationStatus;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import org.springframework.stereotype.Repository;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public class ProductReservationCustomRepositoryImpl implements ProductReservationCustomRepository {
+
+    private final JPAQueryFactory queryFactory;
+    private final QProductReservationEntity productReservation = QProductReservationEntity.productReservationEntity;
+
+    public ProductReservationCustomRepositoryImpl(EntityManager entityManager) {
+        this.queryFactory = new JPAQueryFactory(entityManager);
+    }
+
+    @Override
+    public List<ProductReservationEntity> findByOrderIdsForUpdate(List<UUID> orderIds) {
+        if (orderIds == null || orderIds.isEmpty()) {
+            return List.of();
+        }
+
+        return queryFactory
+                .selectFrom(productReservation)
+                .where(productReservation.orderId.in(orderIds))
+                .orderBy(productReservation.orderId.asc(), productReservation.productId.asc())
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .fetch();
+    }
+
+    @Override
+    public long markExpired(List<UUID> reservationIds, ZonedDateTime expiredAt) {
+        if (reservationIds.isEmpty()) {
+            return 0;
+        }
+
+        return queryFactory
+                .update(productReservation)
+                .set(productReservation.status, ProductReservationStatus.EXPIRED)
+                .set(productReservation.updatedAt, expiredAt)
+                .where(productReservation.id.in(reservationIds),
+                        productReservation.status.eq(ProductReservationStatus.PENDING))
+                .execute();
+    }
+}
@@ -1,16 +1,26 @@
 package com.commerce.platform.product.service.dataaccess.product.repository;
 
 import com.commerce.platform.product.service.dataaccess.product.entity.ProductReservationEntity;
+import com.commerce.platform.product.service.domain.valueobject.ProductReservationStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
-public interface ProductReservationJpaRepository extends JpaRepository<ProductReservationEntity, UUID> {
+public interface ProductReservationJpaRepository extends JpaRepository<ProductReservationEntity, UUID>, ProductReservationCustomRepository {
     
     List<ProductReservationEntity> findByOrderId(UUID orderId);
     
     List<ProductReservationEntity> findByProductId(UUID productId);
+
+    List<ProductReservationEntity> findByProductIdAndStatus(UUID productId, ProductReservationStatus status);
+
+    @Query(value = "SELECT * FROM product_reservations WHERE status = 'PENDING' AND expires_at <= :now ORDER BY expires_at LIMIT :#{#pageable.pageSize} FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<ProductReservationEntity> findExpiredForUpdate(ZonedDateTime now, Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.commerce.platform.product.service.dataaccess.product.repository;
+
+import com.commerce.platform.product.service.dataaccess.product.entity.ProductStockBucketEntity;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface ProductStockBucketCustomRepository {
+    List<ProductStockBucketEntity> findByProductIdForUpdate(UUID productId);
+
+    List<ProductStockBucketStock> findStocksByProductId(UUID productId);
+
+    List<ProductStockBucketStock> findStocksByProductIdForUpdate(UUID productId);
+
+    long reserveQuantity(UUID productId, int bucketNo, int quantity);
+
+    long releaseReservedQuantity(UUID productId, int bucketNo, int quantity);
+
+    long confirmReservedQuantity(UUID productId, int bucketNo, int quantity);
+
+    long revertConfirmedQuantity(UUID productId, int bucketNo, int quantity);
+
+    long takeAvailableQuantity(UUID productId, int bucketNo, int quantity);
+
+    long addQuantity(UUID productId, int bucketNo, int quantity);
+}
@@ -0,0 +1,135 @@
+package com.commerce.platform.product.service.dataaccess.product.repository;
+
+import com.commerce.platform.product.service.dataaccess.product.entity.ProductStockBucketEntity;
+import com.commerce.platform.product.service.dataaccess.product.entity.QProductStockBucketEntity;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public class ProductStockBucketCustomRepositoryImpl implements ProductStockBucketCustomRepository {
+
+    private final EntityManager entityManager;
+    private final JPAQueryFactory queryFactory;
+    private final QProductStockBucketEntity bucket = QProductStockBucketEntity.productStockBucketEntity;
+
+    public ProductStockBucketCustomRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+        this.queryFactory = new JPAQueryFactory(entityManager);
+    }
+
+    @Override
+    public List<ProductStockBucketEntity> findByProductIdForUpdate(UUID productId) {
+        List<ProductStockBucketEntity> buckets = queryFactory
+                .selectFrom(bucket)
+                .where(bucket.productId.eq(productId))
+                .orderBy(bucket.bucketNo.asc())
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .fetch();
+        // 이미 영속성 컨텍스트에 있던 bucket 은 bulk UPDATE 이전 값을 들고 있으므로 잠근 상태로 다시 읽는다
+        buckets.forEach(stockBucket -> entityManager.refresh(stockBucket, LockModeType.PESSIMISTIC_WRITE));
+        return buckets;
+    }
+
+    // 재고 변경은 모두 bulk UPDATE 라 영속성 컨텍스트를 거치지 않으므로 엔티티 대신 수량만 읽는다
+    @Override
+    public List<ProductStockBucketStock> findStocksByProductId(UUID productId) {
+        return queryFactory
+                .select(bucket.bucketNo, bucket.quantity, bucket.reservedQuantity)
+                .from(bucket)
+                .where(bucket.productId.eq(productId))
+                .orderBy(bucket.bucketNo.asc())
+                .fetch()
+                .stream()
+                .map(row -> new ProductStockBucketStock(row.get(bucket.bucketNo),
+                        row.get(bucket.quantity),
+                        row.get(bucket.reservedQuantity)))
+                .toList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<ProductStockBucketStock> findStocksByProductIdForUpdate(UUID productId) {
+        List<Object[]> rows = entityManager.createNativeQuery(
+                        "SELECT bucket_no, quantity, reserved_quantity FROM product_stock_buckets " +
+                                "WHERE product_id = :productId ORDER BY bucket_no FOR UPDATE")
+                .setParameter("productId", productId)
+                .getResultList();
+        return rows.stream()
+                .map(row -> new ProductStockBucketStock(((Number) row[0]).intValue(),
+                        ((Number) row[1]).intValue(),
+                        ((Number) row[2]).intValue()))
+                .toList();
+    }
+
+    @Override
+    public long reserveQuantity(UUID productId, int bucketNo, int quantity) {
+        return queryFactory
+                .update(bucket)
+                .set(bucket.reservedQuantity, bucket.reservedQuantity.add(quantity))
+                .where(bucket.productId.eq(productId),
+                        bucket.bucketNo.eq(bucketNo),
+                        bucket.quantity.subtract(bucket.reservedQuantity).goe(quantity))
+                .execute();
+    }
+
+    @Override
+    public long releaseReservedQuantity(UUID productId, int bucketNo, int quantity) {
+        return queryFactory
+                .update(bucket)
+                .set(bucket.reservedQuantity, bucket.reservedQuantity.subtract(quantity))
+                .where(bucket.productId.eq(productId),
+                        bucket.bucketNo.eq(bucketNo),
+                        bucket.reservedQuantity.goe(quantity))
+                .execute();
+    }
+
+    @Override
+    public long confirmReservedQuantity(UUID productId, int bucketNo, int quantity) {
+        return queryFactory
+                .update(bucket)
+                .set(bucket.quantity, bucket.quantity.subtract(quantity))
+                .set(bucket.reservedQuantity, bucket.reservedQuantity.subtract(quantity))
+                .where(bucket.productId.eq(productId),
+                        bucket.bucketNo.eq(bucketNo),
+                        bucket.reservedQuantity.goe(quantity),
+                        bucket.quantity.goe(quantity))
+                .execute();
+    }
+
+    @Override
+    public long revertConfirmedQuantity(UUID productId, int bucketNo, int quantity) {
+        return queryFactory
+                .update(bucket)
+                .set(bucket.quantity, bucket.quantity.add(quantity))
+                .set(bucket.reservedQuantity, bucket.reservedQuantity.add(quantity))
+                .where(bucket.productId.eq(productId),
+                        bucket.bucketNo.eq(bucketNo))
+                .execute();
+    }
+
+    @Override
+    public long takeAvailableQuantity(UUID productId, int bucketNo, int quantity) {
+        return queryFactory
+                .update(bucket)
+                .set(bucket.quantity, bucket.quantity.subtract(quantity))
+                .where(bucket.productId.eq(productId),
+                        bucket.bucketNo.eq(bucketNo),
+                        bucket.quantity.subtract(bucket.reservedQuantity).goe(quantity))
+                .execute();
+    }
+
+    @Override
+    public long addQuantity(UUID productId, int bucketNo, int quantity) {
+        return queryFactory
+                .update(bucket)
+                .set(bucket.quantity, bucket.quantity.add(quantity))
+                .where(bucket.productId.eq(productId),
+                        bucket.bucketNo.eq(bucketNo))
+                .execute();
+    }
+}
@@ -0,0 +1,16 @@
+package com.commerce.platform.product.service.dataaccess.product.repository;
+
+import com.commerce.platform.product.service.dataaccess.product.entity.ProductStockBucketEntity;
+import com.commerce.platform.product.service.dataaccess.product.entity.ProductStockBucketEntityId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ProductStockBucketJpaRepository extends JpaRepository<ProductStockBucketEntity, ProductStockBucketEntityId>,
+        ProductStockBucketCustomRepository {
+
+    List<ProductStockBucketEntity> findByProductIdIn(List<UUID> productIds);
+}
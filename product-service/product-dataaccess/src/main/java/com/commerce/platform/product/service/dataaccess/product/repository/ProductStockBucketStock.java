@@ -0,0 +1,8 @@
+package com.commerce.platform.product.service.dataaccess.product.repository;
+
+public record ProductStockBucketStock(int bucketNo, int quantity, int reservedQuantity) {
+
+    public int available() {
+        return quantity - reservedQuantity;
+    }
+}
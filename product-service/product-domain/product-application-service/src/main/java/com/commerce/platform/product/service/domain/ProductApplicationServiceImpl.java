@@ -5,16 +5,23 @@ import com.commerce.platform.product.service.domain.dto.create.CreateProductComm
 import com.commerce.platform.product.service.domain.dto.create.CreateProductResponse;
 import com.commerce.platform.product.service.domain.dto.query.SearchProductsQuery;
 import com.commerce.platform.product.service.domain.dto.query.SearchProductsResponse;
+import com.commerce.platform.product.service.domain.dto.stock.UpdateStockBucketCommand;
+import com.commerce.platform.product.service.domain.dto.stock.UpdateStockBucketResponse;
 import com.commerce.platform.product.service.domain.entity.Product;
+import com.commerce.platform.product.service.domain.exception.ProductDomainException;
+import com.commerce.platform.product.service.domain.exception.ProductNotFoundException;
 import com.commerce.platform.product.service.domain.mapper.ProductDataMapper;
 import com.commerce.platform.product.service.domain.ports.input.service.ProductApplicationService;
 import com.commerce.platform.product.service.domain.ports.output.repository.ProductRepository;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 
 import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.UUID;
 
 @Slf4j
 @Validated
@@ -24,13 +31,16 @@ class ProductApplicationServiceImpl implements ProductApplicationService {
     private final ProductDomainService productDomainService;
     private final ProductRepository productRepository;
     private final ProductDataMapper productDataMapper;
+    private final int stockBucketMaxCount;
 
     public ProductApplicationServiceImpl(ProductDomainService productDomainService,
                                          ProductRepository productRepository,
-                                         ProductDataMapper productDataMapper) {
+                                         ProductDataMapper productDataMapper,
+                                         @Value("${product-service.stock-bucket-max-count:64}") int stockBucketMaxCount) {
         this.productDomainService = productDomainService;
         this.productRepository = productRepository;
         this.productDataMapper = productDataMapper;
+        this.stockBucketMaxCount = stockBucketMaxCount;
     }
 
     @Override
@@ -52,4 +62,21 @@ class ProductApplicationServiceImpl implements ProductApplicationService {
                 products.size(), searchProductsQuery.getProductIds().size());
         return productDataMapper.productsToSearchProductsResponse(products);
     }
-} 
\ No newline at end of file
+
+    @Override
+    @Transactional
+    public UpdateStockBucketResponse updateStockBucketCount(UUID productId, UpdateStockBucketCommand updateStockBucketCommand) {
+        int bucketCount = updateStockBucketCommand.getBucketCount();
+        if (bucketCount > stockBucketMaxCount) {
+            throw new ProductDomainException("Stock bucket count cannot exceed " + stockBucketMaxCount);
+        }
+        if (!productRepository.updateStockBucketCount(productId, bucketCount)) {
+            throw new ProductNotFoundException("Product not found with id: " + productId);
+        }
+        return UpdateStockBucketResponse.builder()
+                .productId(productId)
+                .bucketCount(bucketCount)
+                .message(bucketCount == 0 ? "Product stock merged into a single row" : "Product stock split into buckets")
+                .build();
+    }
+}
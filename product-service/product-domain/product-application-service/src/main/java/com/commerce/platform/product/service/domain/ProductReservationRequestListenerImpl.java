@@ -2,19 +2,22 @@ package com.commerce.platform.product.service.domain;
 
 import com.commerce.platform.domain.event.ServiceMessageType;
 import com.commerce.platform.product.service.domain.dto.message.ProductReservationRequest;
-import com.commerce.platform.product.service.domain.exception.ProductDomainException;
+import com.commerce.platform.inbox.InboxFastPath;
+import com.commerce.platform.inbox.InboxScheduler;
 import com.commerce.platform.inbox.InboxStatus;
+import com.commerce.platform.inbox.payload.InboxPayloadCodec;
 import com.commerce.platform.product.service.domain.inbox.model.ProductInboxMessage;
+import com.commerce.platform.product.service.domain.inbox.scheduler.ProductInboxMessageProcessor;
+import com.commerce.platform.product.service.domain.inbox.scheduler.ProductInboxTransactionService;
 import com.commerce.platform.product.service.domain.ports.input.message.listener.ProductReservationRequestListener;
 import com.commerce.platform.product.service.domain.ports.output.repository.ProductInboxRepository;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 import com.commerce.platform.domain.util.UuidGenerator;
 
+import java.time.Duration;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.List;
@@ -25,52 +28,80 @@ import java.util.List;
 class ProductReservationRequestListenerImpl implements ProductReservationRequestListener {
 
     private final ProductInboxRepository productInboxRepository;
-    private final ObjectMapper objectMapper;
+    private final InboxPayloadCodec<ProductReservationRequest> productReservationRequestInboxPayloadCodec;
+    private final InboxScheduler inboxScheduler;
+    private final InboxFastPath inboxFastPath;
+    private final ProductInboxMessageProcessor productInboxMessageProcessor;
+    private final ProductInboxTransactionService productInboxTransactionService;
+    
+    @Value("${product-service.inbox-fast-path-enabled:false}")
+    private boolean fastPathEnabled;
+    
+    @Value("${product-service.inbox-fast-path-time-budget-ms:200}")
+    private long fastPathTimeBudgetMs;
 
     public ProductReservationRequestListenerImpl(ProductInboxRepository productInboxRepository,
-                                                 ObjectMapper objectMapper) {
+                                                 InboxPayloadCodec<ProductReservationRequest> productReservationRequestInboxPayloadCodec,
+                                                 InboxScheduler inboxScheduler,
+                                                 InboxFastPath inboxFastPath,
+                                                 ProductInboxMessageProcessor productInboxMessageProcessor,
+                                                 ProductInboxTransactionService productInboxTransactionService) {
         this.productInboxRepository = productInboxRepository;
-        this.objectMapper = objectMapper;
+        this.productReservationRequestInboxPayloadCodec = productReservationRequestInboxPayloadCodec;
+        this.inboxScheduler = inboxScheduler;
+        this.inboxFastPath = inboxFastPath;
+        this.productInboxMessageProcessor = productInboxMessageProcessor;
+        this.productInboxTransactionService = productInboxTransactionService;
     }
 
     @Override
-    @Transactional
     public void saveToInbox(List<ProductReservationRequest> productReservationRequests) {
         if (productReservationRequests.isEmpty()) {
             return;
         }
         
         ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC);
+        if (fastPathEnabled) {
+            inboxFastPath.process(productReservationRequests,
+                    ProductReservationRequest::getSagaId,
+                    productInboxRepository::findSagaIdsWithUnfinishedMessages,
+                    Duration.ofMillis(fastPathTimeBudgetMs),
+                    request -> {
+                        if (productInboxRepository.saveIfAbsent(createInboxMessage(request, now, InboxStatus.PROCESSED))) {
+                            productInboxMessageProcessor.processProductReservationRequest(request);
+                            productInboxTransactionService.recordProcessed(now);
+                        }
+                    },
+                    pendingRequests -> saveReceived(pendingRequests, now));
+            return;
+        }
+        
+        inboxFastPath.writeToInbox(productReservationRequests, pendingRequests -> saveReceived(pendingRequests, now));
+    }
+
+    private void saveReceived(List<ProductReservationRequest> productReservationRequests, ZonedDateTime receivedAt) {
         List<ProductInboxMessage> inboxMessages = productReservationRequests.stream()
-                .map(request -> createInboxMessage(request, now))
+                .map(request -> createInboxMessage(request, receivedAt, InboxStatus.RECEIVED))
                 .toList();
         
-        productInboxRepository.saveAll(inboxMessages);
+        List<ProductInboxMessage> savedMessages = productInboxRepository.saveAll(inboxMessages);
+        inboxScheduler.wakeUp(savedMessages.stream().map(ProductInboxMessage::getSagaId).toList());
         
-        log.info("Saved {} ProductReservationRequest messages to inbox", inboxMessages.size());
+        log.debug("Saved {} of {} ProductReservationRequest messages to inbox", savedMessages.size(), inboxMessages.size());
     }
     
-    private ProductInboxMessage createInboxMessage(ProductReservationRequest productReservationRequest, ZonedDateTime receivedAt) {
+    private ProductInboxMessage createInboxMessage(ProductReservationRequest productReservationRequest, ZonedDateTime receivedAt, InboxStatus status) {
         return ProductInboxMessage.builder()
                 .id(UuidGenerator.generate())
                 .messageId(productReservationRequest.getId())
                 .sagaId(productReservationRequest.getSagaId())
                 .type(ServiceMessageType.PRODUCT_RESERVATION_REQUEST)
-                .payload(createPayload(productReservationRequest))
-                .status(InboxStatus.RECEIVED)
+                .payload(productReservationRequestInboxPayloadCodec.encode(productReservationRequest))
+                .payloadSchemaFingerprint(productReservationRequestInboxPayloadCodec.schemaFingerprint())
+                .status(status)
                 .receivedAt(receivedAt)
+                .processedAt(status == InboxStatus.PROCESSED ? receivedAt : null)
                 .retryCount(0)
                 .build();
     }
-
-    private String createPayload(ProductReservationRequest productReservationRequest) {
-        try {
-            return objectMapper.writeValueAsString(productReservationRequest);
-        } catch (JsonProcessingException e) {
-            log.error("Could not create ProductReservationRequest object for saga id: {}",
-                    productReservationRequest.getSagaId(), e);
-            throw new ProductDomainException("Could not create ProductReservationRequest object for saga id " +
-                    productReservationRequest.getSagaId(), e);
-        }
-    }
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.commerce.platform.product.service.domain.dto.stock;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class UpdateStockBucketCommand {
+
+    @NotNull(message = "Stock bucket count is required")
+    @Min(value = 0, message = "Stock bucket count cannot be negative")
+    private Integer bucketCount;
+}
@@ -0,0 +1,16 @@
+package com.commerce.platform.product.service.domain.dto.stock;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.UUID;
+
+@Getter
+@Builder
+@AllArgsConstructor
+public class UpdateStockBucketResponse {
+    private final UUID productId;
+    private final int bucketCount;
+    private final String message;
+}
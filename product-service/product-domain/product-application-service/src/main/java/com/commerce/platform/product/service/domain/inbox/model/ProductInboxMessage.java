@@ -17,7 +17,8 @@ public class ProductInboxMessage {
     private UUID messageId;
     private UUID sagaId;
     private ServiceMessageType type;
-    private String payload;
+    private byte[] payload;
+    private Long payloadSchemaFingerprint;
     private InboxStatus status;
     private ZonedDateTime receivedAt;
     private ZonedDateTime processedAt;
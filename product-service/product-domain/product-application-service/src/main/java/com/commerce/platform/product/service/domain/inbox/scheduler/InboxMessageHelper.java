@@ -12,7 +12,9 @@ import com.commerce.platform.product.service.domain.mapper.ProductDataMapper;
 import com.commerce.platform.product.service.domain.entity.Product;
 import com.commerce.platform.product.service.domain.entity.ProductReservation;
 import com.commerce.platform.product.service.domain.exception.ProductDomainException;
+import com.commerce.platform.inbox.InboxBatchAbortedException;
 import com.commerce.platform.inbox.InboxStatus;
+import com.commerce.platform.inbox.lane.InboxLaneDepth;
 import com.commerce.platform.product.service.domain.inbox.model.ProductInboxMessage;
 import com.commerce.platform.product.service.domain.outbox.helper.ProductOutboxHelper;
 import com.commerce.platform.product.service.domain.outbox.model.ProductOutboxMessage;
@@ -23,12 +25,14 @@ import com.commerce.platform.product.service.domain.ports.output.repository.Prod
 import com.commerce.platform.product.service.domain.ports.output.repository.ProductReservationRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.ZonedDateTime;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import com.commerce.platform.domain.util.UuidGenerator;
 
@@ -37,21 +41,77 @@ import com.commerce.platform.domain.util.UuidGenerator;
 public class InboxMessageHelper {
     
     private final ProductInboxTransactionService productInboxTransactionService;
+    private final long coalescingLingerMs;
+    private final Set<Integer> lanesWithPendingReservations = ConcurrentHashMap.newKeySet();
     
-    public InboxMessageHelper(ProductInboxTransactionService productInboxTransactionService) {
+    public InboxMessageHelper(ProductInboxTransactionService productInboxTransactionService,
+                              @Value("${product-service.inbox-coalescing-enabled:false}") boolean coalescingEnabled,
+                              @Value("${product-service.inbox-coalescing-linger-ms:0}") long coalescingLingerMs) {
         this.productInboxTransactionService = productInboxTransactionService;
+        this.coalescingLingerMs = coalescingEnabled ? coalescingLingerMs : 0;
     }
     
-    public void processInboxMessages(int batchSize) {
-        for (int i = 0; i < batchSize; i++) {
-            if (!productInboxTransactionService.processNextMessage()) {
-                break;
+    public int processInboxMessages(int lane, int laneCount, int batchSize) {
+        if (lanesWithPendingReservations.contains(lane)) {
+            lingerForCoalescing();
+        }
+        LaneBatchResult result;
+        try {
+            result = processLaneMessages(lane, laneCount, batchSize, true);
+        } catch (InboxBatchAbortedException e) {
+            // 묶음 처리에서 배치가 롤백되면 원인 메시지를 특정할 수 없으므로 같은 배치를 메시지 단위로 다시 처리한다
+            log.warn("Coalesced inbox batch of lane {} was rolled back, processing it message by message", lane, e);
+            result = processLaneMessages(lane, laneCount, batchSize, false);
+        }
+        if (result.pendingReservations()) {
+            lanesWithPendingReservations.add(lane);
+        } else {
+            lanesWithPendingReservations.remove(lane);
+        }
+        return result.claimed();
+    }
+    
+    private LaneBatchResult processLaneMessages(int lane, int laneCount, int batchSize, boolean coalesce) {
+        try {
+            return productInboxTransactionService.processLaneMessages(lane, laneCount, batchSize, coalesce);
+        } catch (InboxBatchAbortedException e) {
+            if (e.getMessageId() == null) {
+                throw e;
             }
+            // 배치는 롤백됐으므로 원인 메시지만 실패로 기록하고 나머지는 다음 배치에서 다시 처리한다
+            log.error("Inbox batch of lane {} was rolled back because of message: {}", lane, e.getMessageId(), e);
+            productInboxTransactionService.recordAbortedMessage(e);
+            return LaneBatchResult.of(1);
+        }
+    }
+    
+    // 직전 배치에 PENDING 요청이 있던 lane 만, 같은 상품 요청이 한 배치에 더 모이도록 claim 전에 잠깐 기다린다.
+    // lane 마다 전용 스레드라 다른 lane 을 막지 않는다
+    private void lingerForCoalescing() {
+        if (coalescingLingerMs <= 0) {
+            return;
         }
+        try {
+            Thread.sleep(coalescingLingerMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    public List<InboxLaneDepth> getLaneDepths(int laneCount) {
+        return productInboxTransactionService.getLaneDepths(laneCount);
+    }
+    
+    public int resolveLaneCount(int configuredLaneCount) {
+        return productInboxTransactionService.resolveLaneCount(configuredLaneCount);
+    }
+    
+    public List<UUID> retryFailedMessages(int batchSize) {
+        return productInboxTransactionService.retryFailedMessages(batchSize);
     }
     
-    public void retryFailedMessages(int maxRetryCount, int batchSize) {
-        productInboxTransactionService.retryFailedMessages(maxRetryCount, batchSize);
+    public List<UUID> releaseReplayQueuedMessages(int limit) {
+        return productInboxTransactionService.releaseReplayQueuedMessages(limit);
     }
 
 }
\ No newline at end of file
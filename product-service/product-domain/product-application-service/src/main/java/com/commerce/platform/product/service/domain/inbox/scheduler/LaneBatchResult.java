@@ -0,0 +1,12 @@
+package com.commerce.platform.product.service.domain.inbox.scheduler;
+
+/**
+ * lane 배치 한 번의 결과. pendingReservations 는 배치에 묶음 처리할 PENDING 예약 요청이 있었는지를 나타내며,
+ * 다음 배치 전에 linger 할지 정하는 데 쓴다.
+ */
+public record LaneBatchResult(int claimed, boolean pendingReservations) {
+
+    public static LaneBatchResult of(int claimed) {
+        return new LaneBatchResult(claimed, false);
+    }
+}
@@ -4,7 +4,8 @@ import com.commerce.platform.domain.event.ServiceMessageType;
 import com.commerce.platform.domain.valueobject.OrderId;
 import com.commerce.platform.domain.valueobject.ProductReservationStatus;
 import com.commerce.platform.outbox.OutboxStatus;
-import com.commerce.platform.product.service.domain.ProductDomainService;
+import com.commerce.platform.outbox.payload.SerializedOutboxPayload;
+import com.commerce.platform.outbox.shard.OutboxShards;
 import com.commerce.platform.product.service.domain.ProductReservationDomainService;
 import com.commerce.platform.product.service.domain.dto.message.ProductDTO;
 import com.commerce.platform.product.service.domain.dto.message.ProductReservationRequest;
@@ -19,13 +20,18 @@ import com.commerce.platform.product.service.domain.outbox.model.ProductReservat
 import com.commerce.platform.product.service.domain.outbox.model.ProductReservationResponseEventPayload;
 import com.commerce.platform.product.service.domain.ports.output.repository.ProductRepository;
 import com.commerce.platform.product.service.domain.ports.output.repository.ProductReservationRepository;
+import com.commerce.platform.product.service.domain.valueobject.SagaId;
+import com.commerce.platform.inbox.payload.InboxPayloadCodec;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
 import java.time.ZonedDateTime;
 import java.util.*;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import com.commerce.platform.domain.util.UuidGenerator;
 
@@ -35,35 +41,42 @@ public class ProductInboxMessageProcessor {
     
     private final ProductRepository productRepository;
     private final ProductReservationRepository productReservationRepository;
-    private final ProductDomainService productDomainService;
     private final ProductReservationDomainService productReservationDomainService;
     private final ProductOutboxHelper productOutboxHelper;
     private final ObjectMapper objectMapper;
+    private final InboxPayloadCodec<ProductReservationRequest> productReservationRequestInboxPayloadCodec;
     private final ProductDataMapper productDataMapper;
+
+    @Value("${product-service.reservation-ttl-seconds:900}")
+    private long reservationTtlSeconds;
     
     public ProductInboxMessageProcessor(ProductRepository productRepository,
                                       ProductReservationRepository productReservationRepository,
-                                      ProductDomainService productDomainService,
                                       ProductReservationDomainService productReservationDomainService,
                                       ProductOutboxHelper productOutboxHelper,
                                       ObjectMapper objectMapper,
+                                      InboxPayloadCodec<ProductReservationRequest> productReservationRequestInboxPayloadCodec,
                                       ProductDataMapper productDataMapper) {
         this.productRepository = productRepository;
         this.productReservationRepository = productReservationRepository;
-        this.productDomainService = productDomainService;
         this.productReservationDomainService = productReservationDomainService;
         this.productOutboxHelper = productOutboxHelper;
         this.objectMapper = objectMapper;
+        this.productReservationRequestInboxPayloadCodec = productReservationRequestInboxPayloadCodec;
         this.productDataMapper = productDataMapper;
     }
     
     @Transactional
     public void processProductReservationRequest(ProductInboxMessage inboxMessage) throws Exception {
-        ProductReservationRequest request = objectMapper.readValue(
-                inboxMessage.getPayload(), 
-                ProductReservationRequest.class
-        );
-        
+        processProductReservationRequest(decodeReservationRequest(inboxMessage));
+    }
+    
+    ProductReservationRequest decodeReservationRequest(ProductInboxMessage inboxMessage) throws IOException {
+        return decodePayload(inboxMessage, productReservationRequestInboxPayloadCodec, ProductReservationRequest.class);
+    }
+    
+    @Transactional
+    public void processProductReservationRequest(ProductReservationRequest request) {
         UUID sagaId = request.getSagaId();
         ServiceMessageType outboxType = ServiceMessageType.PRODUCT_RESERVATION_RESPONSE;
         List<ProductDTO> productDTOs = request.getProducts();
@@ -77,17 +90,22 @@ public class ProductInboxMessageProcessor {
             switch (request.getReservationOrderStatus()) {
                 case PENDING:
                     responsePayload = processProductReservation(products, orderId, sagaId, requestTime);
-                    log.info("Successfully processed product reservation for order id: {} with saga id: {}", orderId, sagaId);
+                    log.debug("Successfully processed product reservation for order id: {} with saga id: {}", orderId, sagaId);
                     break;
                     
                 case PAID:
+                    if (hasExpiredReservations(orderId)) {
+                        // 만료 sweeper 가 재고를 풀고 CANCELLED 응답을 이미 보냈다. 확정하면 초과 판매가 되므로 무시하고 order-service 의 결제 취소를 기다린다
+                        log.warn("Reservations of order id: {} have expired, ignoring payment confirmation with saga id: {}", orderId, sagaId);
+                        return;
+                    }
                     responsePayload = confirmProductReservation(orderId, sagaId, products, requestTime);
-                    log.info("Successfully confirmed product reservation for order id: {} with saga id: {}", orderId, sagaId);
+                    log.debug("Successfully confirmed product reservation for order id: {} with saga id: {}", orderId, sagaId);
                     break;
                     
                 case CANCELLED:
                     responsePayload = cancelProductReservation(orderId, sagaId, products, requestTime);
-                    log.info("Successfully cancelled product reservation for order id: {} with saga id: {}", orderId, sagaId);
+                    log.debug("Successfully cancelled product reservation for order id: {} with saga id: {}", orderId, sagaId);
                     break;
                     
                 default:
@@ -104,80 +122,69 @@ public class ProductInboxMessageProcessor {
     private ProductReservationResponseEventPayload processProductReservation(
             List<Product> products, UUID orderId, UUID sagaId, ZonedDateTime requestTime) {
         
-        List<UUID> sortedProductIds = products.stream()
-                .map(product -> product.getId().getValue())
-                .sorted()
+        List<ProductReservation> reservations = products.stream()
+                .sorted(Comparator.comparing(product -> product.getId().getValue()))
+                .map(requestProduct -> productReservationDomainService.createProductReservation(
+                        requestProduct.getId(),
+                        new OrderId(orderId),
+                        new SagaId(sagaId),
+                        requestProduct.getQuantity(),
+                        requestTime,
+                        reservationExpiresAt(requestTime)
+                ))
                 .toList();
         
-        List<Product> existingProducts =
-                productRepository.findByIdsForUpdate(sortedProductIds);
+        applyStockChanges(reservations, productRepository::reserveQuantity, productRepository::releaseReservedQuantity,
+                "Insufficient stock");
 
-        if (existingProducts.size() != products.size()) {
-            throw new ProductDomainException(
-                    String.format("Some products not found. Requested: %d, Found: %d", 
-                            products.size(), existingProducts.size())
-            );
-        }
-
-        Map<UUID, Product> existingProductMap = existingProducts.stream()
-                .collect(Collectors.toMap(
-                        product -> product.getId().getValue(),
-                        product -> product
-                ));
-
-        for (Product requestProduct : products) {
-            Product existingProduct =
-                    existingProductMap.get(requestProduct.getId().getValue());
-            
-            if (existingProduct.getQuantity() - existingProduct.getReservedQuantity() < requestProduct.getQuantity()) {
-                throw new ProductDomainException(
-                        String.format("Insufficient stock for product %s. Available: %d, Requested: %d",
-                                existingProduct.getId().getValue(),
-                                existingProduct.getQuantity() - existingProduct.getReservedQuantity(),
-                                requestProduct.getQuantity())
-                );
-            }
-        }
-
-        List<Product> reservedProducts = new ArrayList<>();
-        List<ProductReservation> reservations = new ArrayList<>();
-
-        for (Product requestProduct : products) {
-            Product existingProduct =
-                    existingProductMap.get(requestProduct.getId().getValue());
-            
-            Product reservedProduct = productDomainService.reserveProduct(
-                    existingProduct, requestProduct.getQuantity(), requestTime
-            );
-            reservedProducts.add(reservedProduct);
-            
-            ProductReservation reservation = productReservationDomainService.createProductReservation(
-                    requestProduct.getId(), 
-                    new OrderId(orderId),
-                    requestProduct.getQuantity(), 
-                    requestTime
-            );
-            reservations.add(reservation);
-        }
-
-        productRepository.saveAll(reservedProducts);
         productReservationRepository.saveAll(reservations);
 
         return createSuccessPayload(orderId, sagaId, products, requestTime);
     }
     
+    // 실패 응답을 같은 트랜잭션에서 outbox 에 남기므로 앞서 반영된 라인은 직접 되돌린다. 해당 row lock 은 이미 잡고 있어 실패하지 않는다
+    private void applyStockChanges(List<ProductReservation> reservations,
+                                   Predicate<ProductReservation> change,
+                                   Predicate<ProductReservation> compensation,
+                                   String failureMessage) {
+        List<ProductReservation> applied = new ArrayList<>();
+        for (ProductReservation reservation : reservations) {
+            if (!change.test(reservation)) {
+                applied.forEach(compensation::test);
+                throw new ProductDomainException(describeFailure(reservation, failureMessage));
+            }
+            applied.add(reservation);
+        }
+    }
+    
+    // guarded UPDATE 는 영향받은 행 수만 알려주므로 실패했을 때만 상품을 다시 읽어 없는 상품과 재고 부족을 구분한다
+    private String describeFailure(ProductReservation reservation, String failureMessage) {
+        UUID productId = reservation.getProductId().getValue();
+        return productRepository.findById(productId)
+                .map(product -> String.format("%s for product %s. Available: %d, Requested: %d",
+                        failureMessage, productId,
+                        product.getQuantity() - product.getReservedQuantity(),
+                        reservation.getQuantity()))
+                .orElseGet(() -> String.format("Product %s not found. Requested: %d",
+                        productId, reservation.getQuantity()));
+    }
+    
+    ZonedDateTime reservationExpiresAt(ZonedDateTime requestTime) {
+        return requestTime.plusSeconds(reservationTtlSeconds);
+    }
+    
     private void saveOutboxMessage(UUID sagaId, ServiceMessageType type, ProductReservationResponseEventPayload responsePayload) {
         ProductOutboxMessage outboxMessage = createOutboxMessage(sagaId, type, responsePayload);
         productOutboxHelper.save(outboxMessage);
-        log.info("ProductOutboxMessage created for saga id: {} with status: {}", sagaId, responsePayload.getReservationStatus());
+        log.debug("ProductOutboxMessage created for saga id: {} with status: {}", sagaId, responsePayload.getReservationStatus());
     }
     
     private ProductReservationResponseEventPayload confirmProductReservation(
             UUID orderId, UUID sagaId, List<Product> products, ZonedDateTime requestTime) {
-        List<ProductReservation> reservations = productReservationRepository.findByOrderId(new OrderId(orderId));
+        List<ProductReservation> reservations = findPendingReservations(orderId);
         
         if (reservations.isEmpty()) {
-            throw new ProductDomainException("No reservations found for order id: " + orderId);
+            throw new ProductDomainException("No pending reservations found for order id: " + orderId);
         }
         
         Map<UUID, Integer> productQuantityMap = products.stream()
@@ -195,24 +202,11 @@ public class ProductInboxMessageProcessor {
             }
         }
         
-        List<UUID> productIds = reservations.stream()
-                .map(r -> r.getProductId().getValue())
-                .sorted()
-                .toList();
+        List<ProductReservation> sortedReservations = sortByProductId(reservations);
+        applyStockChanges(sortedReservations, productRepository::confirmReservedQuantity, productRepository::revertConfirmedQuantity,
+                "Cannot confirm reserved quantity");
+        sortedReservations.forEach(ProductReservation::confirm);
         
-        List<Product> productsToUpdate = productRepository.findByIdsForUpdate(productIds);
-        Map<UUID, Product> productMap = productsToUpdate.stream()
-                .collect(Collectors.toMap(p -> p.getId().getValue(), p -> p));
-        
-        for (ProductReservation reservation : reservations) {
-            Product product = productMap.get(reservation.getProductId().getValue());
-            if (product != null) {
-                product.confirmReservation(reservation.getQuantity());
-            }
-            reservation.confirm();
-        }
-        
-        productRepository.saveAll(productsToUpdate);
         productReservationRepository.saveAll(reservations);
         
         return ProductReservationResponseEventPayload.builder()
@@ -232,7 +226,7 @@ public class ProductInboxMessageProcessor {
     
     private ProductReservationResponseEventPayload cancelProductReservation(
             UUID orderId, UUID sagaId, List<Product> products, ZonedDateTime requestTime) { 
-        List<ProductReservation> reservations = productReservationRepository.findByOrderId(new OrderId(orderId));
+        List<ProductReservation> reservations = findPendingReservations(orderId);
         
         if (!reservations.isEmpty()) {
             Map<UUID, Integer> productQuantityMap = products.stream()
@@ -250,24 +244,11 @@ public class ProductInboxMessageProcessor {
                 }
             }
             
-            List<UUID> productIds = reservations.stream()
-                    .map(r -> r.getProductId().getValue())
-                    .sorted()
-                    .toList();
-            
-            List<Product> productsToUpdate = productRepository.findByIdsForUpdate(productIds);
-            Map<UUID, Product> productMap = productsToUpdate.stream()
-                    .collect(Collectors.toMap(p -> p.getId().getValue(), p -> p));
+            List<ProductReservation> sortedReservations = sortByProductId(reservations);
+            applyStockChanges(sortedReservations, productRepository::releaseReservedQuantity, productRepository::reserveQuantity,
+                    "Cannot release reserved quantity");
+            sortedReservations.forEach(ProductReservation::cancel);
             
-            for (ProductReservation reservation : reservations) {
-                Product product = productMap.get(reservation.getProductId().getValue());
-                if (product != null) {
-                    product.restoreReservedQuantity(reservation.getQuantity());
-                }
-                reservation.cancel();
-            }
-            
-            productRepository.saveAll(productsToUpdate);
             productReservationRepository.saveAll(reservations);
         }
         
@@ -286,7 +267,25 @@ public class ProductInboxMessageProcessor {
                 .build();
     }
     
-    private ProductReservationResponseEventPayload createSuccessPayload(
+    // 만료 sweeper 가 같은 예약을 동시에 EXPIRED 로 바꾸지 못하도록 잠근 뒤 PENDING 인 것만 다룬다
+    private List<ProductReservation> findPendingReservations(UUID orderId) {
+        return productReservationRepository.findByOrderIdsForUpdate(List.of(new OrderId(orderId))).stream()
+                .filter(ProductReservation::isPending)
+                .toList();
+    }
+
+    private boolean hasExpiredReservations(UUID orderId) {
+        return productReservationRepository.findByOrderIdsForUpdate(List.of(new OrderId(orderId))).stream()
+                .anyMatch(ProductReservation::isExpired);
+    }
+    
+    private List<ProductReservation> sortByProductId(List<ProductReservation> reservations) {
+        return reservations.stream()
+                .sorted(Comparator.comparing(reservation -> reservation.getProductId().getValue()))
+                .toList();
+    }
+    
+    ProductReservationResponseEventPayload createSuccessPayload(
             UUID orderId, UUID sagaId, List<Product> products, ZonedDateTime requestTime) {
         return ProductReservationResponseEventPayload.builder()
                 .orderId(orderId)
@@ -303,7 +302,7 @@ public class ProductInboxMessageProcessor {
                 .build();
     }
     
-    private ProductReservationResponseEventPayload createFailurePayload(
+    ProductReservationResponseEventPayload createFailurePayload(
             UUID orderId, UUID sagaId, List<Product> products,
             ZonedDateTime requestTime, String failureMessage) {
         
@@ -322,16 +321,28 @@ public class ProductInboxMessageProcessor {
                 .build();
     }
 
-    private ProductOutboxMessage createOutboxMessage(UUID sagaId, ServiceMessageType type, 
-                                                    ProductReservationResponseEventPayload payload) {
+    public ProductOutboxMessage createOutboxMessage(UUID sagaId, ServiceMessageType type, 
+                                                           ProductReservationResponseEventPayload payload) {
+        UUID messageId = UuidGenerator.generate();
+        SerializedOutboxPayload serializedPayload = productOutboxHelper.serializePayload(type, messageId, sagaId, payload);
         return ProductOutboxMessage.builder()
                 .id(UuidGenerator.generate())
-                .messageId(UuidGenerator.generate())
+                .messageId(messageId)
                 .sagaId(sagaId)
+                .shard(OutboxShards.shardOf(sagaId))
                 .createdAt(ZonedDateTime.now())
                 .type(type)
-                .payload(productOutboxHelper.createPayload(payload))
+                .payload(serializedPayload.value())
+                .payloadSchemaId(serializedPayload.schemaId())
                 .outboxStatus(OutboxStatus.STARTED)
                 .build();
     }
-} 
\ No newline at end of file
+    
+    private <T> T decodePayload(ProductInboxMessage inboxMessage, InboxPayloadCodec<T> codec, Class<T> type) throws IOException {
+        if (inboxMessage.getPayloadSchemaFingerprint() == null) {
+            // Avro 저장 이전에 JSON 으로 쌓인 메시지
+            return objectMapper.readValue(inboxMessage.getPayload(), type);
+        }
+        return codec.decode(inboxMessage.getPayload(), inboxMessage.getPayloadSchemaFingerprint());
+    }
+}
\ No newline at end of file
@@ -1,15 +1,32 @@
 package com.commerce.platform.product.service.domain.inbox.scheduler;
 
 import com.commerce.platform.domain.event.ServiceMessageType;
+import com.commerce.platform.inbox.InboxBatchAbortedException;
+import com.commerce.platform.inbox.InboxHopLatency;
+import com.commerce.platform.inbox.InboxSavepointExecutor;
 import com.commerce.platform.inbox.InboxStatus;
+import com.commerce.platform.inbox.lane.InboxLaneDepth;
+import com.commerce.platform.inbox.lane.InboxLanes;
+import com.commerce.platform.inbox.retry.InboxFailure;
+import com.commerce.platform.inbox.retry.InboxRetryPolicy;
 import com.commerce.platform.product.service.domain.inbox.model.ProductInboxMessage;
+import com.commerce.platform.product.service.domain.inbox.scheduler.ProductReservationCoalescer.CoalescedReservations;
 import com.commerce.platform.product.service.domain.ports.output.repository.ProductInboxRepository;
+import com.commerce.platform.product.service.domain.config.ProductServiceConfigData;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 
 @Slf4j
 @Service
@@ -17,59 +34,186 @@ public class ProductInboxTransactionService {
     
     private final ProductInboxRepository productInboxRepository;
     private final ProductInboxMessageProcessor productInboxMessageProcessor;
+    private final ProductReservationCoalescer productReservationCoalescer;
+    private final InboxSavepointExecutor inboxSavepointExecutor;
+    private final InboxRetryPolicy inboxRetryPolicy;
+    private final ProductServiceConfigData productServiceConfigData;
+    private final InboxHopLatency inboxHopLatency;
+    private final boolean coalescingEnabled;
     
     public ProductInboxTransactionService(ProductInboxRepository productInboxRepository,
-                                        ProductInboxMessageProcessor productInboxMessageProcessor) {
+                                        ProductInboxMessageProcessor productInboxMessageProcessor,
+                                        ProductReservationCoalescer productReservationCoalescer,
+                                        InboxSavepointExecutor inboxSavepointExecutor,
+                                        ProductServiceConfigData productServiceConfigData,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${product-service.inbox-max-retry-count:3}") int maxRetryCount,
+                                        @Value("${product-service.inbox-retry-backoff-base-ms:1000}") long retryBackoffBaseMs,
+                                        @Value("${product-service.inbox-retry-backoff-max-ms:60000}") long retryBackoffMaxMs,
+                                        @Value("${product-service.inbox-coalescing-enabled:false}") boolean coalescingEnabled) {
         this.productInboxRepository = productInboxRepository;
         this.productInboxMessageProcessor = productInboxMessageProcessor;
+        this.productReservationCoalescer = productReservationCoalescer;
+        this.inboxSavepointExecutor = inboxSavepointExecutor;
+        this.inboxRetryPolicy = new InboxRetryPolicy(maxRetryCount,
+                Duration.ofMillis(retryBackoffBaseMs),
+                Duration.ofMillis(retryBackoffMaxMs));
+        this.productServiceConfigData = productServiceConfigData;
+        this.inboxHopLatency = new InboxHopLatency(meterRegistry);
+        this.coalescingEnabled = coalescingEnabled;
     }
     
     @Transactional
-    public boolean processNextMessage() {
+    public LaneBatchResult processLaneMessages(int lane, int laneCount, int batchSize, boolean coalesce) {
+        if (!productInboxRepository.tryLockLane(lane)) {
+            return LaneBatchResult.of(0);
+        }
+        
         List<ProductInboxMessage> messages = productInboxRepository
-                .findByStatusOrderByReceivedAtWithSkipLock(InboxStatus.RECEIVED, 1);
+                .findByStatusAndLaneSlotRangeOrderByReceivedAtWithSkipLock(InboxStatus.RECEIVED,
+                        InboxLanes.fromSlot(lane, laneCount),
+                        InboxLanes.toSlotExclusive(lane, laneCount),
+                        batchSize);
         
         if (messages.isEmpty()) {
-            return false;
+            return LaneBatchResult.of(0);
         }
         
-        ProductInboxMessage inboxMessage = messages.getFirst();
-        ZonedDateTime processedAt = ZonedDateTime.now();
+        List<UUID> processedIds = new ArrayList<>(messages.size());
+        List<InboxFailure> failures = new ArrayList<>();
+        List<ProductInboxMessage> remaining = messages;
+        boolean pendingReservations = false;
+        if (coalescingEnabled && coalesce) {
+            CoalescedReservations coalesced = processCoalesced(messages, processedIds);
+            pendingReservations = coalesced.pendingCount() > 0;
+            Set<UUID> handledIds = new HashSet<>();
+            coalesced.handled().forEach(inboxMessage -> handledIds.add(inboxMessage.getId()));
+            remaining = messages.stream()
+                    .filter(inboxMessage -> !handledIds.contains(inboxMessage.getId()))
+                    .toList();
+        }
         
-        try {
-            if (inboxMessage.getType() == ServiceMessageType.PRODUCT_RESERVATION_REQUEST) {
-                productInboxMessageProcessor.processProductReservationRequest(inboxMessage);
+        Set<UUID> failedSagaIds = new HashSet<>();
+        for (ProductInboxMessage inboxMessage : remaining) {
+            if (failedSagaIds.contains(inboxMessage.getSagaId())) {
+                // 앞선 메시지가 실패한 saga 의 뒤 메시지는 RECEIVED 로 남겨 재시도 뒤에 처리한다
+                continue;
             }
-            
-            inboxMessage.setStatus(InboxStatus.PROCESSED);
-            inboxMessage.setProcessedAt(processedAt);
-            
-            log.info("Successfully processed inbox message: {} for saga: {}", 
-                    inboxMessage.getId(), inboxMessage.getSagaId());
-            
+            try {
+                inboxSavepointExecutor.execute(() -> {
+                    if (inboxMessage.getType() == ServiceMessageType.PRODUCT_RESERVATION_REQUEST) {
+                        productInboxMessageProcessor.processProductReservationRequest(inboxMessage);
+                    }
+                });
+                processedIds.add(inboxMessage.getId());
+                inboxHopLatency.recordProcessed(productServiceConfigData.getProductReservationRequestTopicName(),
+                        inboxMessage.getReceivedAt());
+                
+                log.debug("Successfully processed inbox message: {} for saga: {}", 
+                        inboxMessage.getId(), inboxMessage.getSagaId());
+                
+            } catch (InboxBatchAbortedException e) {
+                throw e.forMessage(inboxMessage.getId(), inboxMessage.getRetryCount());
+            } catch (Exception e) {
+                log.error("Failed to process inbox message: {}", inboxMessage.getId(), e);
+                failedSagaIds.add(inboxMessage.getSagaId());
+                InboxFailure failure = inboxRetryPolicy.failure(inboxMessage.getId(),
+                        inboxMessage.getRetryCount(),
+                        String.valueOf(e.getMessage()),
+                        ZonedDateTime.now(ZoneOffset.UTC));
+                failures.add(failure);
+                if (failure.status() == InboxStatus.PARKED) {
+                    log.warn("Inbox message: {} for saga: {} is parked after {} attempts",
+                            inboxMessage.getId(), inboxMessage.getSagaId(), inboxMessage.getRetryCount() + 1);
+                }
+            }
+        }
+        
+        productInboxRepository.bulkUpdateToProcessed(processedIds, ZonedDateTime.now());
+        productInboxRepository.bulkUpdateToFailed(failures);
+        return new LaneBatchResult(messages.size(), pendingReservations);
+    }
+    
+    private CoalescedReservations processCoalesced(List<ProductInboxMessage> messages, List<UUID> processedIds) {
+        List<CoalescedReservations> result = new ArrayList<>(1);
+        try {
+            inboxSavepointExecutor.execute(() -> result.add(productReservationCoalescer.process(messages)));
+        } catch (InboxBatchAbortedException e) {
+            throw e;
         } catch (Exception e) {
-            log.error("Failed to process inbox message: {}", inboxMessage.getId(), e);
-            
-            inboxMessage.setStatus(InboxStatus.FAILED);
-            inboxMessage.setErrorMessage(e.getMessage());
-            inboxMessage.setRetryCount(inboxMessage.getRetryCount() + 1);
+            log.warn("Coalesced reservation processing failed, falling back to per-message processing", e);
+            // 몇 건이 PENDING 이었는지 알 수 없으므로 다음 배치도 묶음 처리를 기다리게 둔다
+            return new CoalescedReservations(messages.size(), List.of());
         }
         
-        productInboxRepository.save(inboxMessage);
-        return true;
+        CoalescedReservations coalesced = result.get(0);
+        for (ProductInboxMessage inboxMessage : coalesced.handled()) {
+            processedIds.add(inboxMessage.getId());
+            inboxHopLatency.recordProcessed(productServiceConfigData.getProductReservationRequestTopicName(),
+                    inboxMessage.getReceivedAt());
+        }
+        return coalesced;
+    }
+    
+    /**
+     * fast path 로 처리한 메시지의 hop 지연을 기록한다. 커밋된 뒤에만 기록된다.
+     */
+    public void recordProcessed(ZonedDateTime receivedAt) {
+        inboxHopLatency.recordProcessed(productServiceConfigData.getProductReservationRequestTopicName(), receivedAt);
     }
     
     @Transactional
-    public void retryFailedMessages(int maxRetryCount, int batchSize) {
-        List<ProductInboxMessage> failedMessages = productInboxRepository
-                .findByStatusAndRetryCountLessThanOrderByReceivedAtWithSkipLock(InboxStatus.FAILED, maxRetryCount, batchSize);
+    public void recordAbortedMessage(InboxBatchAbortedException aborted) {
+        productInboxRepository.bulkUpdateToFailed(List.of(inboxRetryPolicy.failure(aborted.getMessageId(),
+                aborted.getRetryCount(),
+                aborted.failureMessage(),
+                ZonedDateTime.now(ZoneOffset.UTC))));
+    }
+    
+    @Transactional(readOnly = true)
+    public List<InboxLaneDepth> getLaneDepths(int laneCount) {
+        return productInboxRepository.countByStatusGroupByLane(InboxStatus.RECEIVED, laneCount);
+    }
+    
+    @Transactional
+    public int resolveLaneCount(int configuredLaneCount) {
+        int laneCount = productInboxRepository.findOrCreateLaneCount(configuredLaneCount);
+        if (laneCount != configuredLaneCount) {
+            log.warn("Using persisted inbox lane count {} instead of configured {}", laneCount, configuredLaneCount);
+        }
+        productInboxRepository.createLanes(laneCount);
+        return laneCount;
+    }
+    
+    @Transactional
+    public List<UUID> retryFailedMessages(int batchSize) {
+        List<ProductInboxMessage> dueMessages = productInboxRepository
+                .findByStatusAndNextAttemptAtBeforeOrderByNextAttemptAtWithSkipLock(InboxStatus.FAILED,
+                        ZonedDateTime.now(ZoneOffset.UTC),
+                        batchSize);
         
-        if (!failedMessages.isEmpty()) {
-            log.info("Retrying {} failed messages", failedMessages.size());
-            
-            failedMessages.forEach(message -> message.setStatus(InboxStatus.RECEIVED));
-            
-            productInboxRepository.saveAll(failedMessages);
+        if (dueMessages.isEmpty()) {
+            return List.of();
         }
+        
+        log.info("Retrying {} failed messages", dueMessages.size());
+        productInboxRepository.bulkUpdateToReceived(dueMessages.stream().map(ProductInboxMessage::getId).toList());
+        return dueMessages.stream().map(ProductInboxMessage::getSagaId).toList();
+    }
+    
+    @Transactional
+    public List<UUID> releaseReplayQueuedMessages(int limit) {
+        List<ProductInboxMessage> queuedMessages = productInboxRepository
+                .findByStatusAndNextAttemptAtBeforeOrderByNextAttemptAtWithSkipLock(InboxStatus.REPLAY_QUEUED,
+                        ZonedDateTime.now(ZoneOffset.UTC),
+                        limit);
+        
+        if (queuedMessages.isEmpty()) {
+            return List.of();
+        }
+        
+        log.info("Replaying {} parked messages", queuedMessages.size());
+        productInboxRepository.bulkUpdateToReceived(queuedMessages.stream().map(ProductInboxMessage::getId).toList());
+        return queuedMessages.stream().map(ProductInboxMessage::getSagaId).toList();
     }
 } 
\ No newline at end of file
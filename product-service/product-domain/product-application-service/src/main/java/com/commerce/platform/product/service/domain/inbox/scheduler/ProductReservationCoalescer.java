@@ -0,0 +1,184 @@
+package com.commerce.platform.product.service.domain.inbox.scheduler;
+
+import com.commerce.platform.domain.event.ServiceMessageType;
+import com.commerce.platform.domain.valueobject.OrderId;
+import com.commerce.platform.product.service.domain.ProductReservationDomainService;
+import com.commerce.platform.product.service.domain.dto.message.ProductReservationRequest;
+import com.commerce.platform.product.service.domain.entity.Product;
+import com.commerce.platform.product.service.domain.entity.ProductReservation;
+import com.commerce.platform.product.service.domain.exception.ProductDomainException;
+import com.commerce.platform.product.service.domain.inbox.model.ProductInboxMessage;
+import com.commerce.platform.product.service.domain.mapper.ProductDataMapper;
+import com.commerce.platform.product.service.domain.outbox.helper.ProductOutboxHelper;
+import com.commerce.platform.product.service.domain.outbox.model.ProductOutboxMessage;
+import com.commerce.platform.product.service.domain.outbox.model.ProductReservationResponseEventPayload;
+import com.commerce.platform.product.service.domain.ports.output.repository.ProductRepository;
+import com.commerce.platform.product.service.domain.ports.output.repository.ProductReservationRepository;
+import com.commerce.platform.product.service.domain.valueobject.ProductReservationOrderStatus;
+import com.commerce.platform.product.service.domain.valueobject.SagaId;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * lane 배치에 들어온 PENDING 예약 요청을 상품별로 모아 한 번에 처리한다.
+ * 관련 상품 row 를 한 번만 잠근 채 도착 순서대로 주문마다 승인/거절을 정하고, 상품마다 승인된 수량 합계를 UPDATE 한 번으로 반영한 뒤
+ * 예약과 응답 outbox 를 한꺼번에 저장한다. bucket 으로 나눈 상품이 포함된 주문은 건드리지 않고 개별 처리로 남긴다.
+ */
+@Slf4j
+@Component
+public class ProductReservationCoalescer {
+
+    private final ProductRepository productRepository;
+    private final ProductReservationRepository productReservationRepository;
+    private final ProductReservationDomainService productReservationDomainService;
+    private final ProductOutboxHelper productOutboxHelper;
+    private final ProductInboxMessageProcessor productInboxMessageProcessor;
+    private final ProductDataMapper productDataMapper;
+
+    public ProductReservationCoalescer(ProductRepository productRepository,
+                                       ProductReservationRepository productReservationRepository,
+                                       ProductReservationDomainService productReservationDomainService,
+                                       ProductOutboxHelper productOutboxHelper,
+                                       ProductInboxMessageProcessor productInboxMessageProcessor,
+                                       ProductDataMapper productDataMapper) {
+        this.productRepository = productRepository;
+        this.productReservationRepository = productReservationRepository;
+        this.productReservationDomainService = productReservationDomainService;
+        this.productOutboxHelper = productOutboxHelper;
+        this.productInboxMessageProcessor = productInboxMessageProcessor;
+        this.productDataMapper = productDataMapper;
+    }
+
+    public CoalescedReservations process(List<ProductInboxMessage> inboxMessages) {
+        List<PendingReservation> pendingReservations = collectPendingReservations(inboxMessages);
+        if (pendingReservations.size() < 2) {
+            return new CoalescedReservations(pendingReservations.size(), List.of());
+        }
+
+        List<UUID> productIds = pendingReservations.stream()
+                .flatMap(pendingReservation -> pendingReservation.quantities().keySet().stream())
+                .distinct()
+                .sorted()
+                .toList();
+        Map<UUID, Product> lockedProducts = productRepository.findByIdsForUpdate(productIds).stream()
+                .collect(Collectors.toMap(product -> product.getId().getValue(), Function.identity()));
+        Map<UUID, Integer> available = new HashMap<>();
+        lockedProducts.forEach((productId, product) ->
+                available.put(productId, product.getQuantity() - product.getReservedQuantity()));
+
+        ZonedDateTime requestTime = ZonedDateTime.now();
+        ZonedDateTime expiresAt = productInboxMessageProcessor.reservationExpiresAt(requestTime);
+        Map<UUID, Integer> reservedTotals = new TreeMap<>();
+        List<ProductReservation> reservations = new ArrayList<>();
+        List<ProductOutboxMessage> outboxMessages = new ArrayList<>();
+        List<ProductInboxMessage> handled = new ArrayList<>();
+
+        for (PendingReservation pendingReservation : pendingReservations) {
+            if (touchesStockBuckets(pendingReservation, lockedProducts)) {
+                continue;
+            }
+            ProductReservationRequest request = pendingReservation.request();
+            String failureMessage = findShortage(pendingReservation, available);
+            ProductReservationResponseEventPayload responsePayload;
+            if (failureMessage == null) {
+                pendingReservation.quantities().forEach((productId, quantity) -> {
+                    available.merge(productId, -quantity, Integer::sum);
+                    reservedTotals.merge(productId, quantity, Integer::sum);
+                    reservations.add(productReservationDomainService.createProductReservation(
+                            lockedProducts.get(productId).getId(),
+                            new OrderId(request.getOrderId()),
+                            new SagaId(request.getSagaId()),
+                            quantity,
+                            requestTime,
+                            expiresAt));
+                });
+                responsePayload = productInboxMessageProcessor.createSuccessPayload(
+                        request.getOrderId(), request.getSagaId(), pendingReservation.products(), requestTime);
+            } else {
+                responsePayload = productInboxMessageProcessor.createFailurePayload(
+                        request.getOrderId(), request.getSagaId(), pendingReservation.products(), requestTime, failureMessage);
+            }
+            outboxMessages.add(productInboxMessageProcessor.createOutboxMessage(
+                    request.getSagaId(), ServiceMessageType.PRODUCT_RESERVATION_RESPONSE, responsePayload));
+            handled.add(pendingReservation.inboxMessage());
+        }
+
+        reservedTotals.forEach((productId, totalQuantity) -> {
+            if (!productRepository.reserveTotalQuantity(productId, totalQuantity)) {
+                throw new ProductDomainException("Could not reserve coalesced quantity " + totalQuantity + " for product " + productId);
+            }
+        });
+        productReservationRepository.saveAll(reservations);
+        productOutboxHelper.saveAll(outboxMessages);
+
+        log.debug("Coalesced {} reservation requests over {} products", handled.size(), reservedTotals.size());
+        return new CoalescedReservations(pendingReservations.size(), handled);
+    }
+
+    private List<PendingReservation> collectPendingReservations(List<ProductInboxMessage> inboxMessages) {
+        List<PendingReservation> pendingReservations = new ArrayList<>();
+        for (ProductInboxMessage inboxMessage : inboxMessages) {
+            if (inboxMessage.getType() != ServiceMessageType.PRODUCT_RESERVATION_REQUEST) {
+                continue;
+            }
+            ProductReservationRequest request;
+            try {
+                request = productInboxMessageProcessor.decodeReservationRequest(inboxMessage);
+            } catch (Exception e) {
+                // 개별 처리에서 실패로 기록되고 재시도되도록 남긴다
+                continue;
+            }
+            if (request.getReservationOrderStatus() != ProductReservationOrderStatus.PENDING) {
+                continue;
+            }
+            List<Product> products = productDataMapper.productDTOsToProducts(request.getProducts());
+            Map<UUID, Integer> quantities = new LinkedHashMap<>();
+            for (Product product : products) {
+                quantities.merge(product.getId().getValue(),
+                        product.getQuantity() != null ? product.getQuantity() : 0, Integer::sum);
+            }
+            pendingReservations.add(new PendingReservation(inboxMessage, request, products, quantities));
+        }
+        return pendingReservations;
+    }
+
+    private boolean touchesStockBuckets(PendingReservation pendingReservation, Map<UUID, Product> lockedProducts) {
+        return pendingReservation.quantities().keySet().stream()
+                .map(lockedProducts::get)
+                .anyMatch(product -> product != null && product.isStockBucketed());
+    }
+
+    private String findShortage(PendingReservation pendingReservation, Map<UUID, Integer> available) {
+        for (Map.Entry<UUID, Integer> line : pendingReservation.quantities().entrySet()) {
+            if (line.getValue() <= 0) {
+                return "Quantity must be greater than zero for product " + line.getKey();
+            }
+            Integer productAvailable = available.get(line.getKey());
+            if (productAvailable == null) {
+                return String.format("Product %s not found. Requested: %d", line.getKey(), line.getValue());
+            }
+            if (productAvailable < line.getValue()) {
+                return String.format("Insufficient stock for product %s. Available: %d, Requested: %d",
+                        line.getKey(), productAvailable, line.getValue());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * pendingCount 는 배치에서 찾은 PENDING 요청 수, handled 는 그 중 묶음으로 처리한 메시지다.
+     */
+    public record CoalescedReservations(int pendingCount, List<ProductInboxMessage> handled) {
+    }
+
+    private record PendingReservation(ProductInboxMessage inboxMessage,
+                                      ProductReservationRequest request,
+                                      List<Product> products,
+                                      Map<UUID, Integer> quantities) {
+    }
+}
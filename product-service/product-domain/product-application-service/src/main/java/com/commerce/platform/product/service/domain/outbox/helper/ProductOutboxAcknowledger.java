@@ -0,0 +1,38 @@
+package com.commerce.platform.product.service.domain.outbox.helper;
+
+import com.commerce.platform.outbox.OutboxStatus;
+import com.commerce.platform.outbox.ack.OutboxAckCollector;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+
+@Component
+public class ProductOutboxAcknowledger implements DisposableBean {
+
+    private final OutboxAckCollector outboxAckCollector;
+    private final ProductOutboxFlowControl productOutboxFlowControl;
+
+    public ProductOutboxAcknowledger(ProductOutboxHelper productOutboxHelper,
+                                     ProductOutboxFlowControl productOutboxFlowControl,
+                                     @Value("${product-service.outbox-ack-batch-size:100}") int batchSize,
+                                     @Value("${product-service.outbox-ack-flush-interval-ms:5}") long flushIntervalMs) {
+        this.productOutboxFlowControl = productOutboxFlowControl;
+        this.outboxAckCollector = new OutboxAckCollector("product-service",
+                batchSize,
+                Duration.ofMillis(flushIntervalMs),
+                productOutboxHelper::bulkUpdateOutboxMessageStatus);
+    }
+
+    public void acknowledge(UUID outboxId, OutboxStatus status) {
+        productOutboxFlowControl.onAcknowledged(outboxId, status);
+        outboxAckCollector.acknowledge(outboxId, status);
+    }
+
+    @Override
+    public void destroy() {
+        outboxAckCollector.shutdown();
+    }
+}
@@ -2,18 +2,25 @@ package com.commerce.platform.product.service.domain.outbox.helper;
 
 import com.commerce.platform.domain.event.ServiceMessageType;
 
+import com.commerce.platform.inbox.InboxSavepointSynchronization;
 import com.commerce.platform.outbox.OutboxStatus;
+import com.commerce.platform.outbox.lease.OutboxLeaseOwner;
+import com.commerce.platform.outbox.payload.SerializedOutboxPayload;
 import com.commerce.platform.product.service.domain.exception.ProductDomainException;
 import com.commerce.platform.product.service.domain.outbox.model.ProductOutboxMessage;
+import com.commerce.platform.product.service.domain.outbox.model.ProductOutboxSavedEvent;
 import com.commerce.platform.product.service.domain.outbox.model.ProductReservationResponseEventPayload;
+import com.commerce.platform.product.service.domain.ports.output.message.publisher.ProductOutboxPayloadSerializer;
 import com.commerce.platform.product.service.domain.ports.output.repository.ProductOutboxRepository;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -24,25 +31,35 @@ import java.util.UUID;
 public class ProductOutboxHelper {
 
     private final ProductOutboxRepository outboxRepository;
-    private final ObjectMapper objectMapper;
+    private final ProductOutboxPayloadSerializer productOutboxPayloadSerializer;
+    private final ApplicationEventPublisher applicationEventPublisher;
 
-    public ProductOutboxHelper(ProductOutboxRepository outboxRepository, ObjectMapper objectMapper) {
+    private final OutboxLeaseOwner outboxLeaseOwner;
+
+    @Value("${product-service.outbox-immediate-dispatch-enabled:true}")
+    private boolean immediateDispatchEnabled;
+
+    @Value("${product-service.outbox-lease-duration-seconds:300}")
+    private long leaseDurationSeconds;
+
+    public ProductOutboxHelper(ProductOutboxRepository outboxRepository,
+                               ProductOutboxPayloadSerializer productOutboxPayloadSerializer,
+                               ApplicationEventPublisher applicationEventPublisher,
+                               OutboxLeaseOwner outboxLeaseOwner) {
         this.outboxRepository = outboxRepository;
-        this.objectMapper = objectMapper;
+        this.productOutboxPayloadSerializer = productOutboxPayloadSerializer;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.outboxLeaseOwner = outboxLeaseOwner;
     }
 
     @Transactional(readOnly = true)
     public List<ProductOutboxMessage> getProductOutboxMessageByOutboxStatus(OutboxStatus outboxStatus, int limit) {
         return outboxRepository.findByOutboxStatus(outboxStatus, limit);
     }
-    
-    @Transactional(readOnly = true)
-    public List<ProductOutboxMessage> getProductOutboxMessageByOutboxStatusWithSkipLock(OutboxStatus outboxStatus, int limit) {
-        return outboxRepository.findByOutboxStatusWithSkipLock(outboxStatus, limit);
-    }
 
     @Transactional
     public void save(ProductOutboxMessage outboxMessage) {
+        boolean dispatchAfterCommit = prepareImmediateDispatch(outboxMessage);
         ProductOutboxMessage response = outboxRepository.save(outboxMessage);
         if (response == null) {
             log.error("Could not save ProductOutboxMessage with outbox id: {}",
@@ -50,91 +67,65 @@ public class ProductOutboxHelper {
             throw new ProductDomainException("Could not save ProductOutboxMessage with outbox id: " +
                     outboxMessage.getId());
         }
-        log.info("ProductOutboxMessage saved with outbox id: {}", outboxMessage.getId());
+        log.debug("ProductOutboxMessage saved with outbox id: {}", outboxMessage.getId());
+        if (dispatchAfterCommit) {
+            publishSavedEvent(outboxMessage);
+        }
     }
 
-
-
     @Transactional
-    public void deleteProductOutboxMessageByOutboxStatus(OutboxStatus outboxStatus) {
-        outboxRepository.deleteByOutboxStatus(outboxStatus);
+    public void saveAll(List<ProductOutboxMessage> outboxMessages) {
+        if (outboxMessages.isEmpty()) {
+            return;
+        }
+        List<ProductOutboxMessage> dispatchAfterCommit = outboxMessages.stream()
+                .filter(this::prepareImmediateDispatch)
+                .toList();
+        outboxRepository.saveAll(outboxMessages);
+        log.debug("{} ProductOutboxMessages saved", outboxMessages.size());
+        dispatchAfterCommit.forEach(this::publishSavedEvent);
     }
 
-    public String createPayload(ProductReservationResponseEventPayload payload) {
-        try {
-            return objectMapper.writeValueAsString(payload);
-        } catch (JsonProcessingException e) {
-            log.error("Could not create ProductReservationResponseEventPayload object for order id: {}",
-                    payload.getOrderId(), e);
-            throw new ProductDomainException("Could not create ProductReservationResponseEventPayload object for order id: " +
-                    payload.getOrderId(), e);
-        }
+    private void publishSavedEvent(ProductOutboxMessage outboxMessage) {
+        // inbox 메시지 단위 savepoint 가 롤백되면 저장되지 않은 메시지를 커밋 후 발행하지 않도록 해제될 때 등록한다
+        InboxSavepointSynchronization.afterRelease(() ->
+                applicationEventPublisher.publishEvent(new ProductOutboxSavedEvent(outboxMessage)));
     }
-    
-    @Transactional
-    public void updateOutboxMessageStatus(UUID messageId, OutboxStatus status) {
-        ProductOutboxMessage message = outboxRepository.findById(messageId)
-                .orElseThrow(() -> new ProductDomainException("ProductOutboxMessage not found with id: " + messageId));
-        
-        message.setOutboxStatus(status);
-        if (status == OutboxStatus.COMPLETED || status == OutboxStatus.FAILED) {
-            message.setProcessedAt(ZonedDateTime.now());
+
+    private boolean prepareImmediateDispatch(ProductOutboxMessage outboxMessage) {
+        if (!immediateDispatchEnabled || outboxMessage.getOutboxStatus() != OutboxStatus.STARTED) {
+            return false;
         }
-        
-        save(message);
-        log.info("ProductOutboxMessage {} updated with status: {}", messageId, status);
+        outboxMessage.setOutboxStatus(OutboxStatus.PROCESSING);
+        outboxMessage.setFetchedAt(outboxMessage.getCreatedAt());
+        outboxMessage.setLeaseOwner(outboxLeaseOwner.getInstanceId());
+        outboxMessage.setLeaseExpiresAt(outboxMessage.getCreatedAt().plusSeconds(leaseDurationSeconds));
+        return true;
     }
 
+    public SerializedOutboxPayload serializePayload(ServiceMessageType messageType,
+                                                    UUID messageId,
+                                                    UUID sagaId,
+                                                    ProductReservationResponseEventPayload payload) {
+        return productOutboxPayloadSerializer.serialize(messageType, messageId, sagaId, payload);
+    }
+    
     @Transactional
-    public List<ProductOutboxMessage> updateMessagesToProcessing(int batchSize) {
-        List<ProductOutboxMessage> outboxMessages = getProductOutboxMessageByOutboxStatusWithSkipLock(OutboxStatus.STARTED, batchSize);
-        
-        if (!outboxMessages.isEmpty()) {
-            ZonedDateTime now = ZonedDateTime.now();
-            List<UUID> ids = outboxMessages.stream()
-                    .map(ProductOutboxMessage::getId)
-                    .toList();
-            
-            int updatedCount = outboxRepository.bulkUpdateStatusAndFetchedAt(ids, OutboxStatus.PROCESSING, now);
-            log.info("Updated {} messages to PROCESSING status", updatedCount);
-            
-            outboxMessages.forEach(message -> {
-                message.setOutboxStatus(OutboxStatus.PROCESSING);
-                message.setFetchedAt(now);
-            });
-        }
-        
-        return outboxMessages;
+    public void bulkUpdateOutboxMessageStatus(List<UUID> outboxIds, OutboxStatus status) {
+        int updatedCount = outboxRepository.bulkUpdateStatusAndProcessedAt(outboxIds, status, ZonedDateTime.now());
+        log.debug("Updated {} ProductOutboxMessages with status: {}", updatedCount, status);
     }
 
     @Transactional
-    public void resetTimedOutMessages(int processingTimeoutMinutes, int batchSize) {
-        ZonedDateTime timeoutThreshold = ZonedDateTime.now().minusMinutes(processingTimeoutMinutes);
-        List<ProductOutboxMessage> timedOutMessages = getProductOutboxMessageByOutboxStatusAndFetchedAtBefore(
-                OutboxStatus.PROCESSING,
-                timeoutThreshold,
-                batchSize);
-        if (!timedOutMessages.isEmpty()) {
-            log.warn("Found {} timed out PROCESSING messages, resetting to STARTED",
-                    timedOutMessages.size());
-            
-            List<UUID> ids = timedOutMessages.stream()
-                    .map(ProductOutboxMessage::getId)
-                    .toList();
-            
-            int updatedCount = outboxRepository.bulkUpdateStatusAndFetchedAt(ids, OutboxStatus.STARTED, null);
-            log.info("Reset {} messages to STARTED status", updatedCount);
-            
-            timedOutMessages.forEach(message -> {
-                message.setOutboxStatus(OutboxStatus.STARTED);
-                message.setFetchedAt(null);
-            });
+    public List<ProductOutboxMessage> claimMessages(Collection<Integer> shards, int batchSize) {
+        ZonedDateTime now = ZonedDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        ZonedDateTime leaseExpiresAt = now.plusSeconds(leaseDurationSeconds);
+        List<ProductOutboxMessage> outboxMessages = outboxRepository.claimByLease(shards, outboxLeaseOwner.nextClaim(), now, leaseExpiresAt, batchSize);
+
+        if (!outboxMessages.isEmpty()) {
+            log.debug("Claimed {} ProductOutboxMessages with lease until {}", outboxMessages.size(), leaseExpiresAt);
         }
-    }
 
-    @Transactional(readOnly = true)
-    public List<ProductOutboxMessage> getProductOutboxMessageByOutboxStatusAndFetchedAtBefore(
-            OutboxStatus outboxStatus, ZonedDateTime fetchedAtBefore, int limit) {
-        return outboxRepository.findByOutboxStatusAndFetchedAtBefore(outboxStatus, fetchedAtBefore, limit);
+        return outboxMessages;
     }
 }
\ No newline at end of file
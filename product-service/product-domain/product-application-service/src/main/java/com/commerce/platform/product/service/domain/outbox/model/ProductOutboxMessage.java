@@ -17,14 +17,19 @@ public class ProductOutboxMessage {
     private final UUID id;
     private final UUID messageId;
     private final UUID sagaId;
+    private final int shard;
     private final ZonedDateTime createdAt;
     @Setter
     private ZonedDateTime fetchedAt;
     @Setter
+    private String leaseOwner;
+    @Setter
+    private ZonedDateTime leaseExpiresAt;
+    @Setter
     private ZonedDateTime processedAt;
     private final ServiceMessageType type;
-    @Setter
-    private String payload;
+    private final byte[] payload;
+    private final Integer payloadSchemaId;
     @Setter
     private OutboxStatus outboxStatus;
     private int version;
@@ -0,0 +1,4 @@
+package com.commerce.platform.product.service.domain.outbox.model;
+
+public record ProductOutboxSavedEvent(ProductOutboxMessage outboxMessage) {
+}
@@ -0,0 +1,50 @@
+package com.commerce.platform.product.service.domain.outbox.scheduler;
+
+import com.commerce.platform.outbox.OutboxStatus;
+import com.commerce.platform.product.service.domain.outbox.helper.ProductOutboxFlowControl;
+import com.commerce.platform.product.service.domain.outbox.model.ProductOutboxMessage;
+import com.commerce.platform.product.service.domain.outbox.model.ProductOutboxSavedEvent;
+import com.commerce.platform.product.service.domain.ports.output.message.publisher.ProductReservationResponseMessagePublisher;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * outbox 메시지를 publisher 로 발행한다.
+ * 저장 트랜잭션이 커밋되면 바로 발행하고, 실패하거나 유실된 메시지는 ProductOutboxScheduler 가 lease 만료 후 다시 발행한다.
+ */
+@Slf4j
+@Component
+public class ProductOutboxDispatcher {
+
+    private final ProductReservationResponseMessagePublisher responseMessagePublisher;
+    private final ProductOutboxFlowControl outboxFlowControl;
+
+    public ProductOutboxDispatcher(ProductReservationResponseMessagePublisher responseMessagePublisher,
+                                   ProductOutboxFlowControl outboxFlowControl) {
+        this.responseMessagePublisher = responseMessagePublisher;
+        this.outboxFlowControl = outboxFlowControl;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void dispatchAfterCommit(ProductOutboxSavedEvent event) {
+        ProductOutboxMessage outboxMessage = event.outboxMessage();
+        try {
+            dispatch(outboxMessage);
+        } catch (Exception e) {
+            log.error("Could not dispatch ProductOutboxMessage with outbox id: {} after commit, " +
+                    "it will be republished by the scheduler", outboxMessage.getId(), e);
+        }
+    }
+
+    public void dispatch(ProductOutboxMessage outboxMessage) {
+        outboxFlowControl.onDispatched(outboxMessage.getId());
+        try {
+            responseMessagePublisher.publish(outboxMessage);
+        } catch (RuntimeException e) {
+            outboxFlowControl.onAcknowledged(outboxMessage.getId(), OutboxStatus.FAILED);
+            throw e;
+        }
+    }
+}
@@ -1,12 +1,11 @@
 package com.commerce.platform.product.service.domain.outbox.scheduler;
 
+import com.commerce.platform.product.service.domain.outbox.helper.ProductOutboxFlowControl;
 import com.commerce.platform.product.service.domain.outbox.helper.ProductOutboxHelper;
 import com.commerce.platform.product.service.domain.outbox.model.ProductOutboxMessage;
-import com.commerce.platform.product.service.domain.ports.output.message.publisher.ProductReservationResponseMessagePublisher;
 import com.commerce.platform.outbox.OutboxScheduler;
 import com.commerce.platform.outbox.OutboxStatus;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
@@ -19,18 +18,18 @@ import java.util.stream.Collectors;
 public class ProductOutboxScheduler implements OutboxScheduler {
 
     private final ProductOutboxHelper outboxHelper;
-    private final ProductReservationResponseMessagePublisher responseMessagePublisher;
-    
-    @Value("${product-service.outbox-scheduler-batch-size:10}")
-    private int batchSize;
-    
-    @Value("${product-service.outbox-processing-timeout-minutes:5}")
-    private int processingTimeoutMinutes;
+    private final ProductOutboxDispatcher outboxDispatcher;
+    private final ProductOutboxShardManager outboxShardManager;
+    private final ProductOutboxFlowControl outboxFlowControl;
 
     public ProductOutboxScheduler(ProductOutboxHelper outboxHelper,
-                                             ProductReservationResponseMessagePublisher responseMessagePublisher) {
+                                  ProductOutboxDispatcher outboxDispatcher,
+                                  ProductOutboxShardManager outboxShardManager,
+                                  ProductOutboxFlowControl outboxFlowControl) {
         this.outboxHelper = outboxHelper;
-        this.responseMessagePublisher = responseMessagePublisher;
+        this.outboxDispatcher = outboxDispatcher;
+        this.outboxShardManager = outboxShardManager;
+        this.outboxFlowControl = outboxFlowControl;
     }
 
     @Override
@@ -38,24 +37,27 @@ public class ProductOutboxScheduler implements OutboxScheduler {
             initialDelayString = "${product-service.outbox-scheduler-initial-delay}")
     @Async("outboxTaskExecutor")
     public void processOutboxMessage() {
-        outboxHelper.resetTimedOutMessages(processingTimeoutMinutes, batchSize);
-        List<ProductOutboxMessage> messagesToProcess = outboxHelper.updateMessagesToProcessing(batchSize);
+        int claimSize = outboxFlowControl.nextClaimSize();
+        List<ProductOutboxMessage> messagesToProcess = claimSize > 0
+                ? outboxHelper.claimMessages(outboxShardManager.getOwnedShards(), claimSize)
+                : List.of();
+        outboxFlowControl.onClaimed(claimSize, messagesToProcess.size());
         
         if (!messagesToProcess.isEmpty()) {
-            log.info("Processing {} ProductOutboxMessages with ids: {}",
-                    messagesToProcess.size(),
-                    messagesToProcess.stream()
-                            .map(msg -> msg.getId().toString())
-                            .collect(Collectors.joining(",")));
+            if (log.isDebugEnabled()) {
+                log.debug("Processing {} ProductOutboxMessages with ids: {}",
+                        messagesToProcess.size(),
+                        messagesToProcess.stream()
+                                .map(msg -> msg.getId().toString())
+                                .collect(Collectors.joining(",")));
+            }
             
-            messagesToProcess.forEach(this::publishMessage);
+            messagesToProcess.forEach(outboxDispatcher::dispatch);
             
-            log.info("{} ProductOutboxMessages processed", messagesToProcess.size());
+            if (log.isDebugEnabled()) {
+                log.debug("{} ProductOutboxMessages processed", messagesToProcess.size());
+            }
         }
     }
-    
-    private void publishMessage(ProductOutboxMessage outboxMessage) {
-        responseMessagePublisher.publish(outboxMessage);
-    }
 
 } 
\ No newline at end of file
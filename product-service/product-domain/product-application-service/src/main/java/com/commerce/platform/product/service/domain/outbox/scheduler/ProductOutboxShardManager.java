@@ -0,0 +1,57 @@
+package com.commerce.platform.product.service.domain.outbox.scheduler;
+
+import com.commerce.platform.outbox.lease.OutboxLeaseOwner;
+import com.commerce.platform.outbox.shard.OutboxShardOwnership;
+import com.commerce.platform.product.service.domain.ports.output.repository.ProductOutboxShardRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+
+@Slf4j
+@Component
+public class ProductOutboxShardManager implements DisposableBean {
+
+    private final OutboxShardOwnership outboxShardOwnership;
+
+    public ProductOutboxShardManager(ProductOutboxShardRepository productOutboxShardRepository,
+                                     @Value("${product-service.outbox-shard-lease-duration-seconds:15}") long leaseDurationSeconds,
+                                     OutboxLeaseOwner outboxLeaseOwner) {
+        this.outboxShardOwnership = new OutboxShardOwnership(
+                outboxLeaseOwner.getInstanceId(),
+                Duration.ofSeconds(leaseDurationSeconds),
+                productOutboxShardRepository);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void joinShards() {
+        outboxShardOwnership.createShards();
+        rebalance();
+    }
+
+    @Scheduled(fixedRateString = "${product-service.outbox-shard-rebalance-fixed-rate:5000}",
+            initialDelayString = "${product-service.outbox-shard-rebalance-fixed-rate:5000}")
+    public void rebalance() {
+        try {
+            Set<Integer> ownedShards = outboxShardOwnership.rebalance();
+            log.debug("Product outbox dispatcher owns shards {}", ownedShards);
+        } catch (Exception e) {
+            log.error("Could not rebalance product outbox shards", e);
+        }
+    }
+
+    public Set<Integer> getOwnedShards() {
+        return outboxShardOwnership.getOwnedShards();
+    }
+
+    @Override
+    public void destroy() {
+        outboxShardOwnership.release();
+    }
+}
@@ -0,0 +1,32 @@
+package com.commerce.platform.product.service.domain.partition;
+
+import com.commerce.platform.product.service.domain.ports.output.repository.ProductMessagePartitionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+@Slf4j
+@Component
+public class ProductMessagePartitionScheduler {
+    
+    private final ProductMessagePartitionRepository productMessagePartitionRepository;
+    
+    public ProductMessagePartitionScheduler(ProductMessagePartitionRepository productMessagePartitionRepository) {
+        this.productMessagePartitionRepository = productMessagePartitionRepository;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${product-service.message-partition-cron:0 0 * * * *}")
+    public void rotatePartitions() {
+        try {
+            productMessagePartitionRepository.rotatePartitions(LocalDate.now(ZoneOffset.UTC));
+        } catch (Exception e) {
+            log.error("Failed to rotate inbox/outbox partitions", e);
+        }
+    }
+}
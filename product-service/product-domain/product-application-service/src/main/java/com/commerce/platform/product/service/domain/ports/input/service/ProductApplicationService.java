@@ -4,12 +4,17 @@ import com.commerce.platform.product.service.domain.dto.create.CreateProductComm
 import com.commerce.platform.product.service.domain.dto.create.CreateProductResponse;
 import com.commerce.platform.product.service.domain.dto.query.SearchProductsQuery;
 import com.commerce.platform.product.service.domain.dto.query.SearchProductsResponse;
+import com.commerce.platform.product.service.domain.dto.stock.UpdateStockBucketCommand;
+import com.commerce.platform.product.service.domain.dto.stock.UpdateStockBucketResponse;
 
 import jakarta.validation.Valid;
+import java.util.UUID;
 
 public interface ProductApplicationService {
 
     CreateProductResponse createProduct(@Valid CreateProductCommand createProductCommand);
 
     SearchProductsResponse searchProducts(@Valid SearchProductsQuery searchProductsQuery);
+
+    UpdateStockBucketResponse updateStockBucketCount(UUID productId, @Valid UpdateStockBucketCommand updateStockBucketCommand);
 } 
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.commerce.platform.product.service.domain.ports.output.message.publisher;
+
+import com.commerce.platform.domain.event.ServiceMessageType;
+import com.commerce.platform.outbox.payload.SerializedOutboxPayload;
+
+import java.util.UUID;
+
+public interface ProductOutboxPayloadSerializer {
+
+    SerializedOutboxPayload serialize(ServiceMessageType messageType, UUID messageId, UUID sagaId, Object eventPayload);
+}
@@ -2,16 +2,34 @@ package com.commerce.platform.product.service.domain.ports.output.repository;
 
 import com.commerce.platform.domain.event.ServiceMessageType;
 import com.commerce.platform.inbox.InboxStatus;
+import com.commerce.platform.inbox.lane.InboxLaneDepth;
+import com.commerce.platform.inbox.parking.ParkedInboxMessage;
+import com.commerce.platform.inbox.retry.InboxFailure;
 import com.commerce.platform.product.service.domain.inbox.model.ProductInboxMessage;
 
+import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 public interface ProductInboxRepository {
     ProductInboxMessage save(ProductInboxMessage productInboxMessage);
     List<ProductInboxMessage> saveAll(List<ProductInboxMessage> productInboxMessages);
+    boolean saveIfAbsent(ProductInboxMessage productInboxMessage);
+    Set<UUID> findSagaIdsWithUnfinishedMessages(Collection<UUID> sagaIds);
     Optional<ProductInboxMessage> findByMessageId(UUID messageId);
     List<ProductInboxMessage> findByStatusOrderByReceivedAtWithSkipLock(InboxStatus status, int limit);
-    List<ProductInboxMessage> findByStatusAndRetryCountLessThanOrderByReceivedAtWithSkipLock(InboxStatus status, int maxRetryCount, int limit);
+    List<ProductInboxMessage> findByStatusAndNextAttemptAtBeforeOrderByNextAttemptAtWithSkipLock(InboxStatus status, ZonedDateTime now, int limit);
+    List<ProductInboxMessage> findByStatusAndLaneSlotRangeOrderByReceivedAtWithSkipLock(InboxStatus status, int fromSlot, int toSlot, int limit);
+    List<InboxLaneDepth> countByStatusGroupByLane(InboxStatus status, int laneCount);
+    boolean tryLockLane(int lane);
+    int findOrCreateLaneCount(int laneCount);
+    void createLanes(int laneCount);
+    int bulkUpdateToProcessed(List<UUID> ids, ZonedDateTime processedAt);
+    int bulkUpdateToFailed(List<InboxFailure> failures);
+    int bulkUpdateToReceived(List<UUID> ids);
+    List<ParkedInboxMessage> findByStatusAndNextAttemptAtBeforeOrderByNextAttemptAtDesc(InboxStatus status, ZonedDateTime before, int limit);
+    int bulkUpdateToReplayQueued(List<UUID> ids);
 } 
\ No newline at end of file
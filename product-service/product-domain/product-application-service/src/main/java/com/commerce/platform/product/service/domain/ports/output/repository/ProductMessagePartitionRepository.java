@@ -0,0 +1,7 @@
+package com.commerce.platform.product.service.domain.ports.output.repository;
+
+import java.time.LocalDate;
+
+public interface ProductMessagePartitionRepository {
+    void rotatePartitions(LocalDate today);
+}
@@ -6,6 +6,7 @@ import com.commerce.platform.product.service.domain.outbox.model.ProductOutboxMe
 import com.commerce.platform.outbox.OutboxStatus;
 
 import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -15,15 +16,11 @@ public interface ProductOutboxRepository {
     
     List<ProductOutboxMessage> saveAll(List<ProductOutboxMessage> outboxMessages);
 
-    void deleteByOutboxStatus(OutboxStatus outboxStatus);
-    
     List<ProductOutboxMessage> findByOutboxStatus(OutboxStatus outboxStatus, int limit);
 
-    List<ProductOutboxMessage> findByOutboxStatusWithSkipLock(OutboxStatus outboxStatus, int limit);
-    
-    List<ProductOutboxMessage> findByOutboxStatusAndFetchedAtBefore(OutboxStatus outboxStatus, ZonedDateTime fetchedAtBefore, int limit);
-    
     Optional<ProductOutboxMessage> findById(UUID id);
     
-    int bulkUpdateStatusAndFetchedAt(List<UUID> ids, OutboxStatus status, ZonedDateTime fetchedAt);
+    List<ProductOutboxMessage> claimByLease(Collection<Integer> shards, String leaseOwner, ZonedDateTime now, ZonedDateTime leaseExpiresAt, int limit);
+    
+    int bulkUpdateStatusAndProcessedAt(List<UUID> ids, OutboxStatus status, ZonedDateTime processedAt);
 } 
\ No newline at end of file
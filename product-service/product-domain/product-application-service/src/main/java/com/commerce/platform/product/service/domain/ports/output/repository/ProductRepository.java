@@ -1,6 +1,7 @@
 package com.commerce.platform.product.service.domain.ports.output.repository;
 
 import com.commerce.platform.product.service.domain.entity.Product;
+import com.commerce.platform.product.service.domain.entity.ProductReservation;
 
 import java.util.List;
 import java.util.Optional;
@@ -18,4 +19,18 @@ public interface ProductRepository {
 
     List<Product> findByIdsForUpdate(List<UUID> productIds);
 
+    boolean reserveQuantity(ProductReservation reservation);
+
+    boolean reserveTotalQuantity(UUID productId, int totalQuantity);
+
+    boolean releaseReservedQuantity(ProductReservation reservation);
+
+    boolean releaseTotalQuantity(UUID productId, int totalQuantity);
+
+    boolean confirmReservedQuantity(ProductReservation reservation);
+
+    boolean revertConfirmedQuantity(ProductReservation reservation);
+
+    boolean updateStockBucketCount(UUID productId, int bucketCount);
+
 } 
\ No newline at end of file
@@ -4,6 +4,7 @@ import com.commerce.platform.domain.valueobject.OrderId;
 import com.commerce.platform.domain.valueobject.ProductId;
 import com.commerce.platform.product.service.domain.entity.ProductReservation;
 
+import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -18,6 +19,12 @@ public interface ProductReservationRepository {
 
     List<ProductReservation> findByOrderId(OrderId orderId);
 
+    List<ProductReservation> findByOrderIdsForUpdate(List<OrderId> orderIds);
+
+    List<ProductReservation> findExpiredForUpdate(ZonedDateTime now, int limit);
+
+    long markExpired(List<ProductReservation> productReservations, ZonedDateTime expiredAt);
+
     List<ProductReservation> findByProductId(ProductId productId);
 
     void deleteById(UUID reservationId);
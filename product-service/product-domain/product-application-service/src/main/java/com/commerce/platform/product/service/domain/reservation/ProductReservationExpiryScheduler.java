@@ -0,0 +1,39 @@
+package com.commerce.platform.product.service.domain.reservation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.ZonedDateTime;
+
+@Slf4j
+@Component
+public class ProductReservationExpiryScheduler {
+
+    @Value("${product-service.reservation-expiry-batch-size:200}")
+    private int batchSize;
+
+    @Value("${product-service.reservation-expiry-max-batches-per-run:10}")
+    private int maxBatchesPerRun;
+
+    private final ProductReservationExpiryService productReservationExpiryService;
+
+    public ProductReservationExpiryScheduler(ProductReservationExpiryService productReservationExpiryService) {
+        this.productReservationExpiryService = productReservationExpiryService;
+    }
+
+    @Scheduled(fixedRateString = "${product-service.reservation-expiry-scheduler-fixed-rate:5000}")
+    public void expireReservations() {
+        try {
+            ZonedDateTime now = ZonedDateTime.now();
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                if (productReservationExpiryService.expireReservations(now, batchSize) < batchSize) {
+                    return;
+                }
+            }
+        } catch (Exception e) {
+            log.error("Failed to expire product reservations", e);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.commerce.platform.product.service.domain.reservation;
+
+import com.commerce.platform.domain.event.ServiceMessageType;
+import com.commerce.platform.domain.valueobject.OrderId;
+import com.commerce.platform.domain.valueobject.ProductReservationStatus;
+import com.commerce.platform.product.service.domain.entity.ProductReservation;
+import com.commerce.platform.product.service.domain.inbox.scheduler.ProductInboxMessageProcessor;
+import com.commerce.platform.product.service.domain.outbox.helper.ProductOutboxHelper;
+import com.commerce.platform.product.service.domain.outbox.model.ProductOutboxMessage;
+import com.commerce.platform.product.service.domain.outbox.model.ProductReservationProduct;
+import com.commerce.platform.product.service.domain.outbox.model.ProductReservationResponseEventPayload;
+import com.commerce.platform.product.service.domain.ports.output.repository.ProductRepository;
+import com.commerce.platform.product.service.domain.ports.output.repository.ProductReservationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * 결제 확정이나 취소가 오지 않아 만료된 예약을 한 배치씩 정리한다.
+ * (status, expires_at) 인덱스로 만료된 예약을 SKIP LOCKED 로 집어 주문 단위로 묶고, 재고를 상품별 합계로 돌려준 뒤
+ * 예약을 한 번의 UPDATE 로 EXPIRED 처리하고 주문마다 CANCELLED 응답을 outbox 에 남겨 order-service 가 주문을 취소하게 한다.
+ */
+@Slf4j
+@Service
+public class ProductReservationExpiryService {
+
+    private final ProductRepository productRepository;
+    private final ProductReservationRepository productReservationRepository;
+    private final ProductOutboxHelper productOutboxHelper;
+    private final ProductInboxMessageProcessor productInboxMessageProcessor;
+
+    public ProductReservationExpiryService(ProductRepository productRepository,
+                                           ProductReservationRepository productReservationRepository,
+                                           ProductOutboxHelper productOutboxHelper,
+                                           ProductInboxMessageProcessor productInboxMessageProcessor) {
+        this.productRepository = productRepository;
+        this.productReservationRepository = productReservationRepository;
+        this.productOutboxHelper = productOutboxHelper;
+        this.productInboxMessageProcessor = productInboxMessageProcessor;
+    }
+
+    @Transactional
+    public int expireReservations(ZonedDateTime now, int batchSize) {
+        List<ProductReservation> expiredReservations = productReservationRepository.findExpiredForUpdate(now, batchSize);
+        if (expiredReservations.isEmpty()) {
+            return 0;
+        }
+
+        // 한 주문의 예약은 같은 만료 시각을 가지므로, 배치 경계에 걸린 나머지 예약까지 함께 잠가 주문 단위로 만료시킨다
+        List<OrderId> orderIds = expiredReservations.stream()
+                .map(ProductReservation::getOrderId)
+                .map(OrderId::getValue)
+                .distinct()
+                .sorted()
+                .map(OrderId::new)
+                .toList();
+        List<ProductReservation> reservations = productReservationRepository.findByOrderIdsForUpdate(orderIds).stream()
+                .filter(ProductReservation::isPending)
+                .toList();
+        if (reservations.isEmpty()) {
+            return expiredReservations.size();
+        }
+
+        releaseStock(reservations);
+        productReservationRepository.markExpired(reservations, now);
+
+        Map<UUID, List<ProductReservation>> reservationsByOrderId = reservations.stream()
+                .collect(Collectors.groupingBy(reservation -> reservation.getOrderId().getValue(), LinkedHashMap::new, Collectors.toList()));
+        List<ProductOutboxMessage> outboxMessages = new ArrayList<>();
+        reservationsByOrderId.forEach((orderId, orderReservations) -> {
+            ProductReservation first = orderReservations.get(0);
+            if (first.getSagaId() == null) {
+                log.warn("Expired reservations of order id: {} have no saga id, skipping cancellation response", orderId);
+                return;
+            }
+            UUID sagaId = first.getSagaId().getValue();
+            outboxMessages.add(productInboxMessageProcessor.createOutboxMessage(sagaId,
+                    ServiceMessageType.PRODUCT_RESERVATION_RESPONSE,
+                    createExpiredPayload(orderId, sagaId, orderReservations, now)));
+        });
+        productOutboxHelper.saveAll(outboxMessages);
+
+        log.info("Expired {} product reservations of {} orders", reservations.size(), reservationsByOrderId.size());
+        return expiredReservations.size();
+    }
+
+    // bucket 에 배정되지 않은 예약은 상품별 합계로 UPDATE 한 번씩만 돌려준다. 상품 id 순서로 잠가 예약 처리와의 교착을 피한다
+    private void releaseStock(List<ProductReservation> reservations) {
+        Map<UUID, Integer> releasedTotals = new TreeMap<>();
+        List<ProductReservation> bucketReservations = new ArrayList<>();
+        for (ProductReservation reservation : reservations) {
+            if (reservation.getStockBucket() != null) {
+                bucketReservations.add(reservation);
+            } else {
+                releasedTotals.merge(reservation.getProductId().getValue(), reservation.getQuantity(), Integer::sum);
+            }
+        }
+
+        releasedTotals.forEach((productId, totalQuantity) -> {
+            if (!productRepository.releaseTotalQuantity(productId, totalQuantity)) {
+                log.error("Could not release expired reserved quantity {} for product {}", totalQuantity, productId);
+            }
+        });
+        bucketReservations.stream()
+                .sorted(Comparator.comparing((ProductReservation reservation) -> reservation.getProductId().getValue())
+                        .thenComparing(ProductReservation::getStockBucket))
+                .forEach(reservation -> {
+                    if (!productRepository.releaseReservedQuantity(reservation)) {
+                        log.error("Could not release expired reserved quantity {} for product {} bucket {}",
+                                reservation.getQuantity(), reservation.getProductId().getValue(), reservation.getStockBucket());
+                    }
+                });
+    }
+
+    private ProductReservationResponseEventPayload createExpiredPayload(UUID orderId, UUID sagaId,
+                                                                        List<ProductReservation> reservations,
+                                                                        ZonedDateTime now) {
+        return ProductReservationResponseEventPayload.builder()
+                .orderId(orderId)
+                .sagaId(sagaId)
+                .reservationStatus(ProductReservationStatus.CANCELLED.name())
+                .failureMessages(List.of("Product reservation expired at " + reservations.get(0).getExpiresAt()))
+                .createdAt(now)
+                .products(reservations.stream()
+                        .map(reservation -> ProductReservationProduct.builder()
+                                .id(reservation.getProductId().getValue())
+                                .quantity(reservation.getQuantity())
+                                .build())
+                        .collect(Collectors.toList()))
+                .build();
+    }
+}
@@ -1,6 +1,7 @@
 package com.commerce.platform.product.service.domain;
 
 import com.commerce.platform.product.service.domain.entity.ProductReservation;
+import com.commerce.platform.product.service.domain.valueobject.SagaId;
 import com.commerce.platform.domain.valueobject.ProductId;
 import com.commerce.platform.domain.valueobject.OrderId;
 
@@ -8,8 +9,8 @@ import java.time.ZonedDateTime;
 
 public interface ProductReservationDomainService {
 
-    ProductReservation createProductReservation(ProductId productId, OrderId orderId,
-                                               Integer quantity, ZonedDateTime requestTime);
+    ProductReservation createProductReservation(ProductId productId, OrderId orderId, SagaId sagaId,
+                                               Integer quantity, ZonedDateTime requestTime, ZonedDateTime expiresAt);
 
     ProductReservation confirmProductReservation(ProductReservation reservation, ZonedDateTime requestTime);
 
@@ -2,6 +2,7 @@ package com.commerce.platform.product.service.domain;
 
 import com.commerce.platform.product.service.domain.entity.ProductReservation;
 import com.commerce.platform.product.service.domain.valueobject.ProductReservationId;
+import com.commerce.platform.product.service.domain.valueobject.SagaId;
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.ZonedDateTime;
@@ -14,16 +15,17 @@ import com.commerce.platform.domain.util.UuidGenerator;
 public class ProductReservationDomainServiceImpl implements ProductReservationDomainService {
 
     @Override
-    public ProductReservation createProductReservation(ProductId productId, OrderId orderId,
-                                                      Integer quantity, ZonedDateTime requestTime) {
+    public ProductReservation createProductReservation(ProductId productId, OrderId orderId, SagaId sagaId,
+                                                      Integer quantity, ZonedDateTime requestTime, ZonedDateTime expiresAt) {
         ProductReservation reservation = ProductReservation.builder()
                 .productReservationId(new ProductReservationId(UuidGenerator.generate()))
                 .productId(productId)
                 .orderId(orderId)
+                .sagaId(sagaId)
                 .quantity(quantity)
                 .build();
         
-        reservation.initializeReservation(requestTime);
+        reservation.initializeReservation(requestTime, expiresAt);
         reservation.validateReservation();
         
         log.info("Product reservation is created with id: {} for order: {} at {}", 
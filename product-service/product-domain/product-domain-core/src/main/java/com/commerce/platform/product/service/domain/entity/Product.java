@@ -20,6 +20,7 @@ public class Product extends AggregateRoot<ProductId> {
     @Setter
     private Integer reservedQuantity;
     private final boolean enabled;
+    private final int stockBucketCount;
     @Setter
     private ZonedDateTime createdAt;
 
@@ -30,6 +31,7 @@ public class Product extends AggregateRoot<ProductId> {
                    Integer quantity,
                    Integer reservedQuantity,
                    boolean enabled,
+                   Integer stockBucketCount,
                    ZonedDateTime createdAt) {
         super.setId(productId);
         this.name = name;
@@ -37,9 +39,14 @@ public class Product extends AggregateRoot<ProductId> {
         this.quantity = quantity;
         this.reservedQuantity = reservedQuantity;
         this.enabled = enabled;
+        this.stockBucketCount = stockBucketCount != null ? stockBucketCount : 0;
         this.createdAt = createdAt;
     }
 
+    public boolean isStockBucketed() {
+        return stockBucketCount > 0;
+    }
+
     public void validateProduct() {
         validateName();
         validatePrice();
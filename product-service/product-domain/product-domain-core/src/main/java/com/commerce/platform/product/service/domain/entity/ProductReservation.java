@@ -5,6 +5,7 @@ import com.commerce.platform.domain.valueobject.OrderId;
 import com.commerce.platform.domain.valueobject.ProductId;
 import com.commerce.platform.product.service.domain.valueobject.ProductReservationId;
 import com.commerce.platform.product.service.domain.valueobject.ProductReservationStatus;
+import com.commerce.platform.product.service.domain.valueobject.SagaId;
 import lombok.Builder;
 import lombok.Getter;
 
@@ -14,8 +15,11 @@ import java.time.ZonedDateTime;
 public class ProductReservation extends AggregateRoot<ProductReservationId> {
     private final ProductId productId;
     private final OrderId orderId;
+    private final SagaId sagaId;
     private final Integer quantity;
     private ProductReservationStatus status;
+    private Integer stockBucket;
+    private ZonedDateTime expiresAt;
     private ZonedDateTime createdAt;
     private ZonedDateTime updatedAt;
 
@@ -23,22 +27,41 @@ public class ProductReservation extends AggregateRoot<ProductReservationId> {
     public ProductReservation(ProductReservationId productReservationId,
                              ProductId productId,
                              OrderId orderId,
+                             SagaId sagaId,
                              Integer quantity,
                              ProductReservationStatus status,
+                             Integer stockBucket,
+                             ZonedDateTime expiresAt,
                              ZonedDateTime createdAt,
                              ZonedDateTime updatedAt) {
         super.setId(productReservationId);
         this.productId = productId;
         this.orderId = orderId;
+        this.sagaId = sagaId;
         this.quantity = quantity;
         this.status = status != null ? status : ProductReservationStatus.PENDING;
+        this.stockBucket = stockBucket;
+        this.expiresAt = expiresAt;
         this.createdAt = createdAt;
         this.updatedAt = updatedAt;
     }
 
-    public void initializeReservation(ZonedDateTime createdAt) {
+    public void initializeReservation(ZonedDateTime createdAt, ZonedDateTime expiresAt) {
         this.createdAt = createdAt;
         this.updatedAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+
+    public boolean isPending() {
+        return status == ProductReservationStatus.PENDING;
+    }
+
+    public boolean isExpired() {
+        return status == ProductReservationStatus.EXPIRED;
+    }
+
+    public void assignStockBucket(Integer stockBucket) {
+        this.stockBucket = stockBucket;
     }
 
     public void confirm() {
@@ -1,5 +1,5 @@
 package com.commerce.platform.product.service.domain.valueobject;
 
 public enum ProductReservationStatus {
-    PENDING, CONFIRMED, CANCELLED
+    PENDING, CONFIRMED, CANCELLED, EXPIRED
 } 
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.commerce.platform.product.service.messaging.inbox;
+
+import com.commerce.platform.inbox.payload.InboxPayloadCodec;
+import com.commerce.platform.kafka.avro.AvroBinaryCodec;
+import com.commerce.platform.kafka.order.avro.model.ProductReservationRequestAvroModel;
+import com.commerce.platform.product.service.domain.dto.message.ProductReservationRequest;
+import com.commerce.platform.product.service.messaging.mapper.ProductMessagingDataMapper;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ProductReservationRequestInboxPayloadCodec implements InboxPayloadCodec<ProductReservationRequest> {
+
+    private final AvroBinaryCodec<ProductReservationRequestAvroModel> avroBinaryCodec = new AvroBinaryCodec<>(ProductReservationRequestAvroModel.class);
+    private final ProductMessagingDataMapper productMessagingDataMapper;
+
+    public ProductReservationRequestInboxPayloadCodec(ProductMessagingDataMapper productMessagingDataMapper) {
+        this.productMessagingDataMapper = productMessagingDataMapper;
+    }
+
+    @Override
+    public long schemaFingerprint() {
+        return avroBinaryCodec.getSchemaFingerprint();
+    }
+
+    @Override
+    public byte[] encode(ProductReservationRequest message) {
+        return avroBinaryCodec.encode(productMessagingDataMapper.productReservationRequestToProductReservationRequestAvroModel(message));
+    }
+
+    @Override
+    public ProductReservationRequest decode(byte[] payload, long schemaFingerprint) {
+        return productMessagingDataMapper.productReservationRequestAvroModelToProductReservation(avroBinaryCodec.decode(payload, schemaFingerprint));
+    }
+}
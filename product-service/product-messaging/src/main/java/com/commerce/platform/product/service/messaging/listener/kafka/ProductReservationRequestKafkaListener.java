@@ -1,5 +1,6 @@
 package com.commerce.platform.product.service.messaging.listener.kafka;
 
+import com.commerce.platform.kafka.consumer.KafkaBatchRecords;
 import com.commerce.platform.kafka.consumer.KafkaConsumer;
 import com.commerce.platform.kafka.order.avro.model.ProductReservationRequestAvroModel;
 import com.commerce.platform.product.service.domain.dto.message.ProductReservationRequest;
@@ -39,17 +40,18 @@ public class ProductReservationRequestKafkaListener implements KafkaConsumer<Pro
             @Header(KafkaHeaders.RECEIVED_PARTITION) List<Integer> partitions,
             @Header(KafkaHeaders.OFFSET) List<Long> offsets) {
 
-        log.info("{} number of product reservation requests received with keys {}, partitions {} and offsets {}",
-                messages.size(),
-                keys.toString(),
-                partitions.toString(),
-                offsets.toString());
-
-        List<ProductReservationRequest> requests = messages.stream()
-                .map(productMessagingDataMapper::productReservationRequestAvroModelToProductReservation)
-                .toList();
-                
-        productReservationRequestListener.saveToInbox(requests);
+        if (log.isDebugEnabled()) {
+            log.debug("{} number of product reservation requests received with keys {}, partitions {} and offsets {}",
+                    messages.size(),
+                    keys,
+                    partitions,
+                    offsets);
+        }
+
+        List<ProductReservationRequest> requests = KafkaBatchRecords.mapEach(messages,
+                productMessagingDataMapper::productReservationRequestAvroModelToProductReservation);
+
+        KafkaBatchRecords.handleIsolatingFailures(requests, productReservationRequestListener::saveToInbox);
     }
 }
 
@@ -33,6 +33,26 @@ public class ProductMessagingDataMapper {
                 .build();
     }
 
+    public ProductReservationRequestAvroModel productReservationRequestToProductReservationRequestAvroModel(
+            ProductReservationRequest productReservationRequest
+    ) {
+        return ProductReservationRequestAvroModel.newBuilder()
+                .setId(productReservationRequest.getId())
+                .setSagaId(productReservationRequest.getSagaId())
+                .setOrderId(productReservationRequest.getOrderId())
+                .setReservationOrderStatus(com.commerce.platform.kafka.order.avro.model.ProductReservationOrderStatus.valueOf(
+                        productReservationRequest.getReservationOrderStatus().name()))
+                .setProducts(productReservationRequest.getProducts().stream()
+                        .map(product -> com.commerce.platform.kafka.order.avro.model.Product.newBuilder()
+                                .setId(product.getProductId())
+                                .setQuantity(product.getQuantity())
+                                .build())
+                        .collect(Collectors.toList()))
+                .setPrice(productReservationRequest.getPrice())
+                .setCreatedAt(productReservationRequest.getCreatedAt())
+                .build();
+    }
+
     public ProductReservationResponseAvroModel productReservationResponseEventToResponseAvroModel(
             UUID messageId,
             UUID sagaId,
@@ -0,0 +1,40 @@
+package com.commerce.platform.product.service.messaging.publisher.kafka;
+
+import com.commerce.platform.domain.event.ServiceMessageType;
+import com.commerce.platform.kafka.order.avro.model.ProductReservationResponseAvroModel;
+import com.commerce.platform.kafka.producer.AvroValueEncoder;
+import com.commerce.platform.outbox.payload.SerializedOutboxPayload;
+import com.commerce.platform.product.service.domain.config.ProductServiceConfigData;
+import com.commerce.platform.product.service.domain.exception.ProductDomainException;
+import com.commerce.platform.product.service.domain.outbox.model.ProductReservationResponseEventPayload;
+import com.commerce.platform.product.service.domain.ports.output.message.publisher.ProductOutboxPayloadSerializer;
+import com.commerce.platform.product.service.messaging.mapper.ProductMessagingDataMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+public class ProductOutboxPayloadKafkaSerializer implements ProductOutboxPayloadSerializer, InitializingBean {
+
+    private final ProductMessagingDataMapper productMessagingDataMapper;
+    private final ProductServiceConfigData productServiceConfigData;
+    private final AvroValueEncoder avroValueEncoder;
+
+    @Override
+    public void afterPropertiesSet() {
+        avroValueEncoder.pin(productServiceConfigData.getProductReservationResponseTopicName(), ProductReservationResponseAvroModel.class);
+    }
+
+    @Override
+    public SerializedOutboxPayload serialize(ServiceMessageType messageType, UUID messageId, UUID sagaId, Object eventPayload) {
+        if (messageType != ServiceMessageType.PRODUCT_RESERVATION_RESPONSE) {
+            throw new ProductDomainException("Unsupported outbox message type: " + messageType);
+        }
+        return avroValueEncoder.encode(productServiceConfigData.getProductReservationResponseTopicName(),
+                productMessagingDataMapper.productReservationResponseEventToResponseAvroModel(messageId, sagaId,
+                        (ProductReservationResponseEventPayload) eventPayload));
+    }
+}
@@ -11,8 +11,10 @@ import com.commerce.platform.product.service.messaging.mapper.ProductMessagingDa
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import com.commerce.platform.kafka.producer.service.KafkaProducer;
-import com.commerce.platform.product.service.domain.outbox.helper.ProductOutboxHelper;
+import com.commerce.platform.kafka.producer.service.SerializedKafkaProducer;
+import com.commerce.platform.product.service.domain.outbox.helper.ProductOutboxAcknowledger;
 
+import java.nio.charset.StandardCharsets;
 import java.util.UUID;
 
 @Slf4j
@@ -21,31 +23,63 @@ public class ProductReservationEventKafkaPublisher implements ProductReservation
 
     private final ProductServiceConfigData productServiceConfigData;
     private final KafkaProducer<UUID, ProductReservationResponseAvroModel> kafkaProducer;
+    private final SerializedKafkaProducer<UUID> serializedKafkaProducer;
     private final ProductMessagingDataMapper productMessagingDataMapper;
     private final KafkaMessageHelper kafkaMessageHelper;
-    private final ProductOutboxHelper productOutboxHelper;
+    private final ProductOutboxAcknowledger productOutboxAcknowledger;
 
     public ProductReservationEventKafkaPublisher(ProductServiceConfigData productServiceConfigData,
                                                  KafkaProducer<UUID, ProductReservationResponseAvroModel> kafkaProducer,
+                                                 SerializedKafkaProducer<UUID> serializedKafkaProducer,
                                                  ProductMessagingDataMapper productMessagingDataMapper,
                                                  KafkaMessageHelper kafkaMessageHelper,
-                                                 ProductOutboxHelper productOutboxHelper) {
+                                                 ProductOutboxAcknowledger productOutboxAcknowledger) {
         this.productServiceConfigData = productServiceConfigData;
         this.kafkaProducer = kafkaProducer;
+        this.serializedKafkaProducer = serializedKafkaProducer;
         this.productMessagingDataMapper = productMessagingDataMapper;
         this.kafkaMessageHelper = kafkaMessageHelper;
-        this.productOutboxHelper = productOutboxHelper;
+        this.productOutboxAcknowledger = productOutboxAcknowledger;
     }
 
     @Override
     public void publish(ProductOutboxMessage outboxMessage) {
+        if (outboxMessage.getPayloadSchemaId() == null) {
+            publishLegacyPayload(outboxMessage);
+            return;
+        }
+
+        UUID sagaId = outboxMessage.getSagaId();
+        String topicName = productServiceConfigData.getProductReservationResponseTopicName();
+
+        try {
+            serializedKafkaProducer.send(topicName, sagaId, outboxMessage.getPayload())
+                    .whenComplete(kafkaMessageHelper.getSerializedKafkaCallback(topicName,
+                            outboxMessage,
+                            outboxMessage.getCreatedAt(),
+                            (message, status) -> {
+                                log.debug("Kafka callback invoked for message id: {} with status: {}", message.getId(), status);
+                                productOutboxAcknowledger.acknowledge(message.getId(), status);
+                            },
+                            sagaId,
+                            "ProductReservationResponseAvroModel"));
+
+            log.debug("ProductReservationResponseAvroModel sent to Kafka for saga id: {}", sagaId);
+        } catch (Exception e) {
+            log.error("Error while sending ProductReservationResponseAvroModel to kafka with saga id: {}, error: {}",
+                    sagaId, e.getMessage());
+            productOutboxAcknowledger.acknowledge(outboxMessage.getId(), OutboxStatus.FAILED);
+        }
+    }
+
+    private void publishLegacyPayload(ProductOutboxMessage outboxMessage) {
         var responseEventPayload =
-                kafkaMessageHelper.getOrderEventPayload(outboxMessage.getPayload(),
+                kafkaMessageHelper.getOrderEventPayload(new String(outboxMessage.getPayload(), StandardCharsets.UTF_8),
                         ProductReservationResponseEventPayload.class);
 
         var sagaId = outboxMessage.getSagaId();
 
-        log.info("Received ProductReservationResponseEvent for order id: {} and saga id: {}",
+        log.debug("Received ProductReservationResponseEvent for order id: {} and saga id: {}",
                 responseEventPayload.getOrderId(),
                 sagaId);
 
@@ -60,20 +94,21 @@ public class ProductReservationEventKafkaPublisher implements ProductReservation
                             productServiceConfigData.getProductReservationResponseTopicName(),
                             productReservationResponseAvroModel,
                             outboxMessage,
+                            outboxMessage.getCreatedAt(),
                             (message, status) -> {
-                                log.info("Kafka callback invoked for message id: {} with status: {}", message.getId(), status);
-                                productOutboxHelper.updateOutboxMessageStatus(message.getId(), status);
+                                log.debug("Kafka callback invoked for message id: {} with status: {}", message.getId(), status);
+                                productOutboxAcknowledger.acknowledge(message.getId(), status);
                             },
                             responseEventPayload.getOrderId(),
                             "ProductReservationResponseAvroModel"));
 
-            log.info("ProductReservationResponseEventPayload sent to Kafka for order id: {} and saga id: {}",
+            log.debug("ProductReservationResponseEventPayload sent to Kafka for order id: {} and saga id: {}",
                     responseEventPayload.getOrderId(), sagaId);
         } catch (Exception e) {
             log.error("Error while sending ProductReservationResponseEventPayload" +
                             " to kafka with order id: {} and saga id: {}, error: {}",
                     responseEventPayload.getOrderId(), sagaId, e.getMessage());
-            productOutboxHelper.updateOutboxMessageStatus(outboxMessage.getId(), OutboxStatus.FAILED);
+            productOutboxAcknowledger.acknowledge(outboxMessage.getId(), OutboxStatus.FAILED);
         }
     }
 